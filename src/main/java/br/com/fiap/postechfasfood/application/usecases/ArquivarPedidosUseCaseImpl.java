@@ -0,0 +1,35 @@
+package br.com.fiap.postechfasfood.application.usecases;
+
+import br.com.fiap.postechfasfood.domain.ports.input.ArquivarPedidosUseCase;
+import br.com.fiap.postechfasfood.domain.ports.output.PedidoRepositoryPort;
+
+import java.time.LocalDateTime;
+
+public class ArquivarPedidosUseCaseImpl implements ArquivarPedidosUseCase {
+
+    private final PedidoRepositoryPort pedidoRepository;
+
+    public ArquivarPedidosUseCaseImpl(PedidoRepositoryPort pedidoRepository) {
+        this.pedidoRepository = pedidoRepository;
+    }
+
+    @Override
+    public int executar(LocalDateTime limite, int tamanhoLote) {
+        if (limite == null) {
+            throw new IllegalArgumentException("Data limite do arquivamento não pode ser nula");
+        }
+        if (tamanhoLote < 1) {
+            throw new IllegalArgumentException("Tamanho do lote de arquivamento deve ser maior que zero");
+        }
+
+        // Cada lote é uma transação curta; um lote incompleto indica que não há mais o que arquivar
+        int total = 0;
+        int arquivados;
+        do {
+            arquivados = pedidoRepository.arquivarEncerradosAntesDe(limite, tamanhoLote);
+            total += arquivados;
+        } while (arquivados == tamanhoLote);
+
+        return total;
+    }
+}
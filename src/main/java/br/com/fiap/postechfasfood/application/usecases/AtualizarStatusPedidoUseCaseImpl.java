@@ -1,8 +1,10 @@
 package br.com.fiap.postechfasfood.application.usecases;
 
 import br.com.fiap.postechfasfood.domain.entities.Pedido;
+import br.com.fiap.postechfasfood.domain.exception.ConflitoAtualizacaoPedidoException;
 import br.com.fiap.postechfasfood.domain.ports.input.AtualizarStatusPedidoUseCase;
 import br.com.fiap.postechfasfood.domain.ports.output.PedidoRepositoryPort;
+import br.com.fiap.postechfasfood.domain.valueobjects.ResultadoTransicaoStatus;
 import br.com.fiap.postechfasfood.domain.valueobjects.StatusPedido;
 
 public class AtualizarStatusPedidoUseCaseImpl implements AtualizarStatusPedidoUseCase {
@@ -22,11 +24,29 @@ public class AtualizarStatusPedidoUseCaseImpl implements AtualizarStatusPedidoUs
             throw new IllegalArgumentException("Novo status é obrigatório");
         }
 
+        // Uma leitura só, do pedido completo: a versão lida alimenta o compare-and-set e o
+        // próprio pedido vira a resposta, sem reler depois da gravação
         Pedido pedido = pedidoRepository.buscarPorId(pedidoId)
             .orElseThrow(() -> new IllegalArgumentException("Pedido não encontrado: " + pedidoId));
 
-        pedido.atualizarStatus(novoStatus);
+        StatusPedido statusAtual = pedido.getStatus();
+        if (!statusAtual.podeTransicionarPara(novoStatus)) {
+            throw new IllegalStateException(
+                String.format("Não é possível transicionar de %s para %s", 
+                    statusAtual, novoStatus)
+            );
+        }
+
+        // Só grava se ninguém alterou o pedido desde a leitura acima
+        ResultadoTransicaoStatus resultado = pedidoRepository.transicionarStatus(
+            pedidoId, statusAtual, pedido.getVersao(), novoStatus);
 
-        return pedidoRepository.atualizar(pedido);
+        if (resultado == ResultadoTransicaoStatus.CONFLITO) {
+            throw new ConflitoAtualizacaoPedidoException(
+                "Pedido " + pedidoId + " foi alterado por outra requisição; recarregue e tente novamente");
+        }
+
+        pedido.atualizarStatus(novoStatus);
+        return pedido;
     }
 }
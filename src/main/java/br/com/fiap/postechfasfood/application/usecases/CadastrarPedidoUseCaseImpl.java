@@ -3,45 +3,85 @@ package br.com.fiap.postechfasfood.application.usecases;
 import br.com.fiap.postechfasfood.domain.entities.ItemPedido;
 import br.com.fiap.postechfasfood.domain.entities.Pedido;
 import br.com.fiap.postechfasfood.domain.entities.Produto;
+import br.com.fiap.postechfasfood.domain.exception.CatalogoIndisponivelException;
 import br.com.fiap.postechfasfood.domain.ports.input.CadastrarPedidoUseCase;
 import br.com.fiap.postechfasfood.domain.ports.output.CatalogoServicePort;
+import br.com.fiap.postechfasfood.domain.ports.output.GeradorIdentificadorPort;
 import br.com.fiap.postechfasfood.domain.ports.output.PedidoRepositoryPort;
 import br.com.fiap.postechfasfood.domain.valueobjects.StatusPedido;
 import br.com.fiap.postechfasfood.infrastructure.external.service.PessoaExternaService;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 public class CadastrarPedidoUseCaseImpl implements CadastrarPedidoUseCase {
     
     private final PedidoRepositoryPort pedidoRepository;
     private final CatalogoServicePort catalogoService;
     private final PessoaExternaService pessoaExternaService;
+    private final GeradorIdentificadorPort geradorIdentificador;
+    private final ExecutorService executorEtapas;
+    private final Duration prazoResolucaoProdutos;
 
     public CadastrarPedidoUseCaseImpl(
             PedidoRepositoryPort pedidoRepository,
             CatalogoServicePort catalogoService,
-            PessoaExternaService pessoaExternaService) {
+            PessoaExternaService pessoaExternaService,
+            GeradorIdentificadorPort geradorIdentificador,
+            ExecutorService executorEtapas,
+            Duration prazoResolucaoProdutos) {
         this.pedidoRepository = pedidoRepository;
         this.catalogoService = catalogoService;
         this.pessoaExternaService = pessoaExternaService;
+        this.geradorIdentificador = geradorIdentificador;
+        this.executorEtapas = executorEtapas;
+        this.prazoResolucaoProdutos = prazoResolucaoProdutos;
     }
     
+    // Validar o CPF, resolver os produtos e reservar o número do pedido não dependem um do
+    // outro: as três etapas rodam juntas e a latência do checkout fica na da mais lenta.
+    // A primeira falha cancela as demais; um número reservado para um pedido recusado vira
+    // só uma lacuna na sequência, como já acontece com os blocos do alocador
     @Override
     public Pedido executar(CadastrarPedidoRequest request) {
         if (request == null || request.itens() == null || request.itens().isEmpty()) {
             throw new IllegalArgumentException("Pedido deve conter pelo menos um item");
         }
 
-        pessoaExternaService.verificarSeCpfExiste(request.documentoCliente());
+        Set<String> codigos = new LinkedHashSet<>();
+        request.itens().forEach(item -> codigos.add(item.idProduto()));
+
+        Map<String, Produto> produtos;
+        Integer numeroPedido;
+        try (EtapasConcorrentes etapas = new EtapasConcorrentes(executorEtapas)) {
+            Future<Void> validacaoCliente = etapas.iniciar(() -> {
+                pessoaExternaService.verificarSeCpfExiste(request.documentoCliente());
+                return null;
+            });
+            // Os produtos distintos vão numa única consulta em lote ao catálogo, com prazo
+            Future<Map<String, Produto>> consultaProdutos =
+                etapas.iniciar(() -> catalogoService.buscarProdutosPorCodigos(codigos));
+            Future<Integer> reservaNumero = etapas.iniciar(pedidoRepository::gerarProximoNumeroPedido);
+
+            produtos = etapas.aguardar(consultaProdutos, prazoResolucaoProdutos, () ->
+                new CatalogoIndisponivelException("Tempo esgotado ao consultar o catálogo de produtos"));
+            etapas.aguardar(validacaoCliente);
+            numeroPedido = etapas.aguardar(reservaNumero);
+        }
 
         List<ItemPedido> itensPedido = new ArrayList<>();
         for (var itemRequest : request.itens()) {
-            Produto produto = catalogoService.buscarProdutoPorCodigo(itemRequest.idProduto())
-                .orElseThrow(() -> new IllegalArgumentException(
-                    "Produto não encontrado: " + itemRequest.idProduto()));
+            Produto produto = produtos.get(itemRequest.idProduto());
+            if (produto == null) {
+                throw new IllegalArgumentException("Produto não encontrado: " + itemRequest.idProduto());
+            }
 
             if (!produto.isAtivo()) {
                 throw new IllegalArgumentException(
@@ -57,10 +97,8 @@ public class CadastrarPedidoUseCaseImpl implements CadastrarPedidoUseCase {
             itensPedido.add(item);
         }
 
-        Integer numeroPedido = pedidoRepository.gerarProximoNumeroPedido();
-
         Pedido pedido = new Pedido.Builder()
-            .id(UUID.randomUUID().toString())
+            .id(geradorIdentificador.gerar())
             .documentoCliente(request.documentoCliente())
             .status(StatusPedido.AGUARDANDO_PAGAMENTO)
             .numeroPedido(numeroPedido)
@@ -30,7 +30,7 @@ public class ConsultarStatusPagamentoUseCaseImpl implements ConsultarStatusPagam
         
         logger.info("Consultando status de pagamento para pedido: {}", numeroPedido);
 
-        pedidoRepository.buscarPorNumeroPedido(numeroPedido)
+        pedidoRepository.buscarResumoPorNumeroPedido(numeroPedido)
             .orElseThrow(() -> new IllegalArgumentException(
                 "Pedido não encontrado: " + numeroPedido));
 
@@ -0,0 +1,99 @@
+package br.com.fiap.postechfasfood.application.usecases;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Escopo para etapas independentes de um caso de uso rodarem ao mesmo tempo: a primeira
+ * falha cancela as demais e é ela que chega a quem aguarda, e nenhuma etapa sobrevive ao
+ * fechamento do escopo. Faz o papel do StructuredTaskScope, que ainda é preview no Java 21.
+ */
+final class EtapasConcorrentes implements AutoCloseable {
+
+    private final ExecutorService executor;
+    private final List<Future<?>> etapas = new CopyOnWriteArrayList<>();
+    private final AtomicReference<Throwable> primeiraFalha = new AtomicReference<>();
+
+    EtapasConcorrentes(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    <T> Future<T> iniciar(Callable<T> etapa) {
+        Future<T> execucao = executor.submit(() -> {
+            try {
+                return etapa.call();
+            } catch (Throwable e) {
+                if (primeiraFalha.compareAndSet(null, e)) {
+                    cancelarEtapas();
+                }
+                throw e;
+            }
+        });
+        etapas.add(execucao);
+        if (primeiraFalha.get() != null) {
+            execucao.cancel(true);
+        }
+        return execucao;
+    }
+
+    <T> T aguardar(Future<T> etapa) {
+        try {
+            return etapa.get();
+        } catch (ExecutionException | CancellationException e) {
+            throw propagarFalha(e);
+        } catch (InterruptedException e) {
+            throw interrompido(e);
+        }
+    }
+
+    <T> T aguardar(Future<T> etapa, Duration prazo, Supplier<? extends RuntimeException> prazoEsgotado) {
+        try {
+            return etapa.get(prazo.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            cancelarEtapas();
+            throw prazoEsgotado.get();
+        } catch (ExecutionException | CancellationException e) {
+            throw propagarFalha(e);
+        } catch (InterruptedException e) {
+            throw interrompido(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        cancelarEtapas();
+    }
+
+    private void cancelarEtapas() {
+        etapas.forEach(etapa -> etapa.cancel(true));
+    }
+
+    // Quem aguarda uma etapa cancelada pela falha de outra recebe a falha original
+    private RuntimeException propagarFalha(Exception e) {
+        cancelarEtapas();
+        Throwable falha = primeiraFalha.get() != null ? primeiraFalha.get() : e.getCause();
+        if (falha instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (falha instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException("Etapa do caso de uso falhou", falha != null ? falha : e);
+    }
+
+    private IllegalStateException interrompido(InterruptedException e) {
+        cancelarEtapas();
+        Thread.currentThread().interrupt();
+        return new IllegalStateException("Caso de uso interrompido aguardando etapas concorrentes", e);
+    }
+}
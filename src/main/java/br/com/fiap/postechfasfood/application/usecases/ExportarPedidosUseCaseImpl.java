@@ -0,0 +1,24 @@
+package br.com.fiap.postechfasfood.application.usecases;
+
+import br.com.fiap.postechfasfood.domain.entities.Pedido;
+import br.com.fiap.postechfasfood.domain.ports.input.ExportarPedidosUseCase;
+import br.com.fiap.postechfasfood.domain.ports.output.PedidoRepositoryPort;
+
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+public class ExportarPedidosUseCaseImpl implements ExportarPedidosUseCase {
+
+    private final PedidoRepositoryPort pedidoRepository;
+
+    public ExportarPedidosUseCaseImpl(PedidoRepositoryPort pedidoRepository) {
+        this.pedidoRepository = pedidoRepository;
+    }
+
+    @Override
+    public void executar(LocalDateTime inicio, LocalDateTime fim, Consumer<Pedido> consumidor) {
+        ExportarPedidosUseCase.validarPeriodo(inicio, fim);
+
+        pedidoRepository.percorrerPorPeriodo(inicio, fim, consumidor);
+    }
+}
@@ -0,0 +1,22 @@
+package br.com.fiap.postechfasfood.application.usecases;
+
+import br.com.fiap.postechfasfood.domain.ports.input.ListarPainelPedidosUseCase;
+import br.com.fiap.postechfasfood.domain.ports.output.PedidoRepositoryPort;
+import br.com.fiap.postechfasfood.domain.valueobjects.PedidoPainel;
+
+import java.util.List;
+
+public class ListarPainelPedidosUseCaseImpl implements ListarPainelPedidosUseCase {
+
+    private final PedidoRepositoryPort pedidoRepository;
+
+    public ListarPainelPedidosUseCaseImpl(PedidoRepositoryPort pedidoRepository) {
+        this.pedidoRepository = pedidoRepository;
+    }
+
+    @Override
+    public List<PedidoPainel> executar() {
+        // O repositório já devolve na ordem do painel: Pronto > Em Preparação > Recebido, mais antigos primeiro
+        return pedidoRepository.listarPainel();
+    }
+}
@@ -0,0 +1,25 @@
+package br.com.fiap.postechfasfood.application.usecases;
+
+import br.com.fiap.postechfasfood.domain.ports.input.ListarPedidosPaginadoUseCase;
+import br.com.fiap.postechfasfood.domain.ports.output.PedidoRepositoryPort;
+import br.com.fiap.postechfasfood.domain.valueobjects.CursorPedido;
+import br.com.fiap.postechfasfood.domain.valueobjects.PaginaPedidos;
+
+public class ListarPedidosPaginadoUseCaseImpl implements ListarPedidosPaginadoUseCase {
+
+    private final PedidoRepositoryPort pedidoRepository;
+
+    public ListarPedidosPaginadoUseCaseImpl(PedidoRepositoryPort pedidoRepository) {
+        this.pedidoRepository = pedidoRepository;
+    }
+
+    @Override
+    public PaginaPedidos executar(CursorPedido cursor, int limite) {
+        if (limite < 1 || limite > LIMITE_MAXIMO) {
+            throw new IllegalArgumentException(
+                "Limite da página deve estar entre 1 e " + LIMITE_MAXIMO);
+        }
+
+        return pedidoRepository.listarPagina(cursor, limite);
+    }
+}
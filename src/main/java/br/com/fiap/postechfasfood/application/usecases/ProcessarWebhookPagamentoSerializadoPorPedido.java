@@ -0,0 +1,47 @@
+package br.com.fiap.postechfasfood.application.usecases;
+
+import br.com.fiap.postechfasfood.domain.ports.input.ProcessarWebhookPagamentoUseCase;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Aplica um webhook de cada vez por pedido: notificações do mesmo pedido que chegam juntas
+ * (ex.: aprovação e estorno) deixam de disputar a leitura e a transição de status, enquanto
+ * pedidos diferentes seguem em paralelo. O número do pedido escolhe uma entre N faixas, cada
+ * uma com seu lock; pedidos que caem na mesma faixa também esperam um pelo outro.
+ * Vale dentro da instância; entre réplicas quem resolve é a versão otimista do pedido. O lock
+ * só garante exclusão: a ordem entre webhooks do mesmo pedido na caixa de entrada vem da
+ * reserva, que libera um por pedido de cada vez.
+ */
+public class ProcessarWebhookPagamentoSerializadoPorPedido implements ProcessarWebhookPagamentoUseCase {
+
+    private final ProcessarWebhookPagamentoUseCase delegate;
+    private final ReentrantLock[] faixas;
+
+    public ProcessarWebhookPagamentoSerializadoPorPedido(ProcessarWebhookPagamentoUseCase delegate, int numeroFaixas) {
+        if (numeroFaixas < 1) {
+            throw new IllegalArgumentException("Número de faixas deve ser maior que zero");
+        }
+        this.delegate = delegate;
+        this.faixas = new ReentrantLock[numeroFaixas];
+        for (int i = 0; i < numeroFaixas; i++) {
+            // Justo: quem chegou primeiro para o pedido é aplicado primeiro
+            faixas[i] = new ReentrantLock(true);
+        }
+    }
+
+    @Override
+    public ResultadoWebhookPagamento executar(WebhookPagamentoRequest request) {
+        if (request == null || request.numeroPedido() == null) {
+            return delegate.executar(request);
+        }
+
+        ReentrantLock faixa = faixas[Math.floorMod(request.numeroPedido(), faixas.length)];
+        faixa.lock();
+        try {
+            return delegate.executar(request);
+        } finally {
+            faixa.unlock();
+        }
+    }
+}
@@ -1,43 +1,62 @@
 package br.com.fiap.postechfasfood.application.usecases;
 
 import br.com.fiap.postechfasfood.domain.entities.Pagamento;
-import br.com.fiap.postechfasfood.domain.entities.Pedido;
+import br.com.fiap.postechfasfood.domain.exception.ConflitoAtualizacaoPedidoException;
+import br.com.fiap.postechfasfood.domain.exception.PagamentoDuplicadoException;
 import br.com.fiap.postechfasfood.domain.ports.input.ProcessarWebhookPagamentoUseCase;
 import br.com.fiap.postechfasfood.domain.ports.output.PagamentoRepositoryPort;
 import br.com.fiap.postechfasfood.domain.ports.output.PedidoRepositoryPort;
+import br.com.fiap.postechfasfood.domain.valueobjects.PedidoResumo;
+import br.com.fiap.postechfasfood.domain.valueobjects.ResultadoTransicaoStatus;
 import br.com.fiap.postechfasfood.domain.valueobjects.StatusPagamento;
 import br.com.fiap.postechfasfood.domain.valueobjects.StatusPedido;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Optional;
+
 public class ProcessarWebhookPagamentoUseCaseImpl implements ProcessarWebhookPagamentoUseCase {
     
     private static final Logger logger = LoggerFactory.getLogger(ProcessarWebhookPagamentoUseCaseImpl.class);
     
     private final PedidoRepositoryPort pedidoRepository;
     private final PagamentoRepositoryPort pagamentoRepository;
+    private final TransacoesProcessadasRecentes transacoesRecentes;
     
     public ProcessarWebhookPagamentoUseCaseImpl(PedidoRepositoryPort pedidoRepository,
-                                                PagamentoRepositoryPort pagamentoRepository) {
+                                                PagamentoRepositoryPort pagamentoRepository,
+                                                int capacidadeTransacoesRecentes) {
         this.pedidoRepository = pedidoRepository;
         this.pagamentoRepository = pagamentoRepository;
+        this.transacoesRecentes = new TransacoesProcessadasRecentes(capacidadeTransacoesRecentes);
     }
     
     @Override
-    public void executar(WebhookPagamentoRequest request) {
+    public ResultadoWebhookPagamento executar(WebhookPagamentoRequest request) {
         if (request == null || request.numeroPedido() == null) {
             throw new IllegalArgumentException("Dados do webhook inválidos");
         }
+
+        // Reentrega de uma notificação já aplicada nesta instância: nada a fazer, nem no banco
+        String chaveIdempotencia = chaveIdempotencia(request);
+        Optional<StatusPedido> statusJaAplicado = chaveIdempotencia != null
+            ? transacoesRecentes.buscar(chaveIdempotencia)
+            : Optional.empty();
+        if (statusJaAplicado.isPresent()) {
+            logger.info("Webhook duplicado ignorado - Pedido: {} - Transação: {}",
+                request.numeroPedido(), request.transacaoId());
+            return new ResultadoWebhookPagamento(request.numeroPedido(), statusJaAplicado.get(), true);
+        }
         
         logger.info("Processando webhook de pagamento para pedido: {} - Status: {} - Origem: {}",
             request.numeroPedido(), request.statusPagamento(), request.origem());
 
-        Pedido pedido = pedidoRepository.buscarPorNumeroPedido(request.numeroPedido())
+        PedidoResumo pedido = pedidoRepository.buscarResumoPorNumeroPedido(request.numeroPedido())
             .orElseThrow(() -> new IllegalArgumentException(
                 "Pedido não encontrado: " + request.numeroPedido()));
 
         Pagamento pagamento = new Pagamento();
-        pagamento.setPedidoId(pedido.getId());
+        pagamento.setPedidoId(pedido.pedidoId());
         pagamento.setNumeroPedido(request.numeroPedido());
         pagamento.setStatusPagamento(request.statusPagamento());
         pagamento.setValor(request.valor());
@@ -45,23 +64,61 @@ public class ProcessarWebhookPagamentoUseCaseImpl implements ProcessarWebhookPag
         pagamento.setTransacaoId(request.transacaoId());
         pagamento.setOrigem(request.origem() != null ? request.origem() : "MERCADO_PAGO");
         
-        pagamentoRepository.salvar(pagamento);
-        logger.info("Dados de pagamento persistidos para pedido: {}", request.numeroPedido());
+        try {
+            pagamentoRepository.salvar(pagamento);
+            logger.info("Dados de pagamento persistidos para pedido: {}", request.numeroPedido());
+        } catch (PagamentoDuplicadoException e) {
+            // Pagamento já gravado (outra instância ou entrega anterior que falhou depois do INSERT):
+            // segue para a transição, que não faz nada se o pedido já estiver no status certo
+            logger.info("Pagamento da transação {} já registrado para pedido: {}",
+                request.transacaoId(), request.numeroPedido());
+        }
 
+        StatusPedido statusFinal = pedido.status();
         if (request.statusPagamento().isAprovado()) {
-            if (pedido.isAguardandoPagamento()) {
-                pedido.atualizarStatus(StatusPedido.RECEBIDO);
-                pedidoRepository.atualizar(pedido);
+            if (pedido.status() == StatusPedido.AGUARDANDO_PAGAMENTO) {
+                statusFinal = transicionar(pedido, StatusPedido.RECEBIDO);
                 logger.info("Pedido {} movido para RECEBIDO após aprovação do pagamento", 
                     request.numeroPedido());
             }
         } else if (request.statusPagamento().isRecusado()) {
-            if (pedido.getStatus() != StatusPedido.CANCELADO) {
-                pedido.atualizarStatus(StatusPedido.CANCELADO);
-                pedidoRepository.atualizar(pedido);
+            if (pedido.status() != StatusPedido.CANCELADO) {
+                statusFinal = transicionar(pedido, StatusPedido.CANCELADO);
                 logger.info("Pedido {} cancelado devido a pagamento recusado", 
                     request.numeroPedido());
             }
         }
+
+        if (chaveIdempotencia != null) {
+            transacoesRecentes.registrar(chaveIdempotencia, statusFinal);
+        }
+        return new ResultadoWebhookPagamento(request.numeroPedido(), statusFinal, false);
+    }
+
+    // A mesma transação pode mudar de status (ex.: aprovada e depois cancelada); só a
+    // reentrega do mesmo status é duplicada
+    private static String chaveIdempotencia(WebhookPagamentoRequest request) {
+        if (request.transacaoId() == null || request.statusPagamento() == null) {
+            return null;
+        }
+        return request.transacaoId() + ":" + request.statusPagamento().name();
+    }
+
+    private StatusPedido transicionar(PedidoResumo pedido, StatusPedido novoStatus) {
+        if (!pedido.status().podeTransicionarPara(novoStatus)) {
+            throw new IllegalStateException(
+                String.format("Não é possível transicionar de %s para %s", 
+                    pedido.status(), novoStatus)
+            );
+        }
+
+        ResultadoTransicaoStatus resultado = pedidoRepository.transicionarStatus(
+            pedido.pedidoId(), pedido.status(), pedido.versao(), novoStatus);
+
+        if (resultado == ResultadoTransicaoStatus.CONFLITO) {
+            throw new ConflitoAtualizacaoPedidoException(
+                "Pedido " + pedido.numeroPedido() + " foi alterado durante o processamento do webhook");
+        }
+        return novoStatus;
     }
 }
@@ -0,0 +1,49 @@
+package br.com.fiap.postechfasfood.application.usecases;
+
+import br.com.fiap.postechfasfood.domain.valueobjects.StatusPedido;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Notificações de pagamento já processadas nesta instância, com o status em que deixaram o
+ * pedido, limitadas às mais recentes (LRU). Só evita o trabalho das reentregas mais comuns;
+ * a garantia contra pagamento em dobro é a chave única de tx_transacao_id no banco.
+ */
+final class TransacoesProcessadasRecentes {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, StatusPedido> transacoes;
+
+    TransacoesProcessadasRecentes(int capacidade) {
+        if (capacidade < 1) {
+            throw new IllegalArgumentException("Capacidade de transações recentes deve ser maior que zero");
+        }
+        this.transacoes = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, StatusPedido> maisAntiga) {
+                return size() > capacidade;
+            }
+        };
+    }
+
+    Optional<StatusPedido> buscar(String transacaoId) {
+        lock.lock();
+        try {
+            return Optional.ofNullable(transacoes.get(transacaoId));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void registrar(String transacaoId, StatusPedido statusPedido) {
+        lock.lock();
+        try {
+            transacoes.put(transacaoId, statusPedido);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -17,6 +17,8 @@ public class Pedido {
     private LocalDateTime dataCriacao;
     private LocalDateTime dataUltimaAtualizacao;
     private List<ItemPedido> itens;
+    // Versão otimista (nr_versao) de quando o pedido foi lido; 0 para pedidos ainda não gravados
+    private int versao;
 
     private Pedido() {
         this.itens = new ArrayList<>();
@@ -29,6 +31,17 @@ public class Pedido {
                   LocalDateTime dataCriacao, 
                   LocalDateTime dataUltimaAtualizacao,
                   List<ItemPedido> itens) {
+        this(id, documentoCliente, status, numeroPedido, dataCriacao, dataUltimaAtualizacao, itens, 0);
+    }
+
+    public Pedido(String id,
+                  String documentoCliente,
+                  StatusPedido status,
+                  Integer numeroPedido,
+                  LocalDateTime dataCriacao,
+                  LocalDateTime dataUltimaAtualizacao,
+                  List<ItemPedido> itens,
+                  int versao) {
         this.id = id;
         this.documentoCliente = documentoCliente;
         this.status = status;
@@ -36,6 +49,7 @@ public class Pedido {
         this.dataCriacao = dataCriacao;
         this.dataUltimaAtualizacao = dataUltimaAtualizacao;
         this.itens = itens != null ? new ArrayList<>(itens) : new ArrayList<>();
+        this.versao = versao;
     }
 
     public void atualizarStatus(StatusPedido novoStatus) {
@@ -106,6 +120,10 @@ public class Pedido {
         return Collections.unmodifiableList(itens);
     }
 
+    public int getVersao() {
+        return versao;
+    }
+
     public static class Builder {
         private String id;
         private String documentoCliente;
@@ -114,6 +132,7 @@ public class Pedido {
         private LocalDateTime dataCriacao;
         private LocalDateTime dataUltimaAtualizacao;
         private List<ItemPedido> itens;
+        private int versao;
         
         public Builder id(String id) {
             this.id = id;
@@ -149,6 +168,11 @@ public class Pedido {
             this.itens = itens;
             return this;
         }
+
+        public Builder versao(int versao) {
+            this.versao = versao;
+            return this;
+        }
         
         public Pedido build() {
             Objects.requireNonNull(id, "ID é obrigatório");
@@ -156,7 +180,7 @@ public class Pedido {
             Objects.requireNonNull(numeroPedido, "Número do pedido é obrigatório");
             
             return new Pedido(id, documentoCliente, status, numeroPedido, 
-                            dataCriacao, dataUltimaAtualizacao, itens);
+                            dataCriacao, dataUltimaAtualizacao, itens, versao);
         }
     }
     
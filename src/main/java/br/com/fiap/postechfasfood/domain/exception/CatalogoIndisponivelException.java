@@ -0,0 +1,11 @@
+package br.com.fiap.postechfasfood.domain.exception;
+
+public class CatalogoIndisponivelException extends RuntimeException {
+    public CatalogoIndisponivelException(String message) {
+        super(message);
+    }
+
+    public CatalogoIndisponivelException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,7 @@
+package br.com.fiap.postechfasfood.domain.exception;
+
+public class ConflitoAtualizacaoPedidoException extends RuntimeException {
+    public ConflitoAtualizacaoPedidoException(String message) {
+        super(message);
+    }
+}
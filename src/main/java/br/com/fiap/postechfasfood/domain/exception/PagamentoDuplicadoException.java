@@ -0,0 +1,7 @@
+package br.com.fiap.postechfasfood.domain.exception;
+
+public class PagamentoDuplicadoException extends RuntimeException {
+    public PagamentoDuplicadoException(String message) {
+        super(message);
+    }
+}
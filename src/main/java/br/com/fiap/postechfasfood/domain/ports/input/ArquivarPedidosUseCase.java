@@ -0,0 +1,8 @@
+package br.com.fiap.postechfasfood.domain.ports.input;
+
+import java.time.LocalDateTime;
+
+public interface ArquivarPedidosUseCase {
+
+    int executar(LocalDateTime limite, int tamanhoLote);
+}
@@ -0,0 +1,20 @@
+package br.com.fiap.postechfasfood.domain.ports.input;
+
+import br.com.fiap.postechfasfood.domain.entities.Pedido;
+
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+public interface ExportarPedidosUseCase {
+
+    void executar(LocalDateTime inicio, LocalDateTime fim, Consumer<Pedido> consumidor);
+
+    static void validarPeriodo(LocalDateTime inicio, LocalDateTime fim) {
+        if (inicio == null || fim == null) {
+            throw new IllegalArgumentException("Período de exportação deve ter início e fim");
+        }
+        if (!fim.isAfter(inicio)) {
+            throw new IllegalArgumentException("Fim do período deve ser posterior ao início");
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package br.com.fiap.postechfasfood.domain.ports.input;
+
+import br.com.fiap.postechfasfood.domain.valueobjects.PedidoPainel;
+
+import java.util.List;
+
+public interface ListarPainelPedidosUseCase {
+
+    List<PedidoPainel> executar();
+}
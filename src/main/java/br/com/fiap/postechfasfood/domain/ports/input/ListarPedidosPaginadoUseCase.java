@@ -0,0 +1,13 @@
+package br.com.fiap.postechfasfood.domain.ports.input;
+
+import br.com.fiap.postechfasfood.domain.valueobjects.CursorPedido;
+import br.com.fiap.postechfasfood.domain.valueobjects.PaginaPedidos;
+
+public interface ListarPedidosPaginadoUseCase {
+
+    int LIMITE_PADRAO = 20;
+
+    int LIMITE_MAXIMO = 100;
+
+    PaginaPedidos executar(CursorPedido cursor, int limite);
+}
@@ -1,6 +1,7 @@
 package br.com.fiap.postechfasfood.domain.ports.input;
 
 import br.com.fiap.postechfasfood.domain.valueobjects.StatusPagamento;
+import br.com.fiap.postechfasfood.domain.valueobjects.StatusPedido;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -8,7 +9,7 @@ import java.time.LocalDateTime;
 
 public interface ProcessarWebhookPagamentoUseCase {
 
-    void executar(WebhookPagamentoRequest request);
+    ResultadoWebhookPagamento executar(WebhookPagamentoRequest request);
 
     record WebhookPagamentoRequest(
         Integer numeroPedido,
@@ -18,4 +19,10 @@ public interface ProcessarWebhookPagamentoUseCase {
         String transacaoId,
         String origem  // ex: "mercado-pago"
     ) {}
+
+    record ResultadoWebhookPagamento(
+        Integer numeroPedido,
+        StatusPedido statusPedido,  // status do pedido depois de aplicar o webhook
+        boolean duplicado           // reentrega de uma notificação já aplicada
+    ) {}
 }
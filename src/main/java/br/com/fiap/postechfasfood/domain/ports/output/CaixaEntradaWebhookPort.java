@@ -0,0 +1,37 @@
+package br.com.fiap.postechfasfood.domain.ports.output;
+
+import br.com.fiap.postechfasfood.domain.ports.input.ProcessarWebhookPagamentoUseCase.WebhookPagamentoRequest;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface CaixaEntradaWebhookPort {
+
+    String registrar(WebhookPagamentoRequest request);
+
+    // Reserva os próximos webhooks prontos: ficam invisíveis para os demais workers até
+    // agora + reserva, e voltam sozinhos para a fila se o worker cair no meio do processamento
+    List<WebhookRecebido> reservarProximos(int limite, LocalDateTime agora, Duration reserva);
+
+    void concluir(String id);
+
+    void reagendar(String id, LocalDateTime proximaTentativa, String erro);
+
+    void moverParaMortos(String id, String erro);
+
+    SituacaoCaixaEntrada consultarSituacao();
+
+    record WebhookRecebido(
+        String id,
+        WebhookPagamentoRequest request,
+        int tentativas,
+        LocalDateTime dataRecebimento
+    ) {}
+
+    record SituacaoCaixaEntrada(
+        long pendentes,
+        long mortos,
+        LocalDateTime recebimentoMaisAntigo  // null com a fila vazia
+    ) {}
+}
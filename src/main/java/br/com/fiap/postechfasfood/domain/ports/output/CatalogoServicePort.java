@@ -2,6 +2,8 @@ package br.com.fiap.postechfasfood.domain.ports.output;
 
 import br.com.fiap.postechfasfood.domain.entities.Produto;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 
 public interface CatalogoServicePort {
@@ -10,5 +12,7 @@ public interface CatalogoServicePort {
 
     Optional<Produto> buscarProdutoPorCodigo(String codigoProduto);
 
+    Map<String, Produto> buscarProdutosPorCodigos(Collection<String> codigosProduto);
+
     boolean produtoExisteEEstaAtivo(String nomeProduto);
 }
@@ -0,0 +1,6 @@
+package br.com.fiap.postechfasfood.domain.ports.output;
+
+public interface GeradorIdentificadorPort {
+
+    String gerar();
+}
@@ -1,10 +1,17 @@
 package br.com.fiap.postechfasfood.domain.ports.output;
 
 import br.com.fiap.postechfasfood.domain.entities.Pedido;
+import br.com.fiap.postechfasfood.domain.valueobjects.CursorPedido;
+import br.com.fiap.postechfasfood.domain.valueobjects.PaginaPedidos;
+import br.com.fiap.postechfasfood.domain.valueobjects.PedidoPainel;
+import br.com.fiap.postechfasfood.domain.valueobjects.PedidoResumo;
+import br.com.fiap.postechfasfood.domain.valueobjects.ResultadoTransicaoStatus;
 import br.com.fiap.postechfasfood.domain.valueobjects.StatusPedido;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface PedidoRepositoryPort {
 
@@ -12,13 +19,28 @@ public interface PedidoRepositoryPort {
 
     Pedido atualizar(Pedido pedido);
 
+    ResultadoTransicaoStatus transicionarStatus(String pedidoId, StatusPedido statusAtual,
+                                                int versaoAtual, StatusPedido novoStatus);
+
     Optional<Pedido> buscarPorId(String id);
 
+    Optional<PedidoResumo> buscarResumoPorId(String id);
+
     Optional<Pedido> buscarPorNumeroPedido(Integer numeroPedido);
 
+    Optional<PedidoResumo> buscarResumoPorNumeroPedido(Integer numeroPedido);
+
     List<Pedido> listarTodos();
 
     List<Pedido> listarPorStatus(StatusPedido status);
 
+    PaginaPedidos listarPagina(CursorPedido cursor, int limite);
+
+    List<PedidoPainel> listarPainel();
+
+    int arquivarEncerradosAntesDe(LocalDateTime limite, int tamanhoLote);
+
+    void percorrerPorPeriodo(LocalDateTime inicio, LocalDateTime fim, Consumer<Pedido> consumidor);
+
     Integer gerarProximoNumeroPedido();
 }
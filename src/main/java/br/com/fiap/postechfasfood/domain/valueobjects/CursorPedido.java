@@ -0,0 +1,14 @@
+package br.com.fiap.postechfasfood.domain.valueobjects;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+public record CursorPedido(
+    LocalDateTime dataCriacao,
+    String pedidoId
+) {
+    public CursorPedido {
+        Objects.requireNonNull(dataCriacao, "Data de criação do cursor é obrigatória");
+        Objects.requireNonNull(pedidoId, "ID do pedido do cursor é obrigatório");
+    }
+}
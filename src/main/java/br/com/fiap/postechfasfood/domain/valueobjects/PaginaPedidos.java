@@ -0,0 +1,14 @@
+package br.com.fiap.postechfasfood.domain.valueobjects;
+
+import br.com.fiap.postechfasfood.domain.entities.Pedido;
+
+import java.util.List;
+
+public record PaginaPedidos(
+    List<Pedido> pedidos,
+    CursorPedido proximoCursor
+) {
+    public boolean temProximaPagina() {
+        return proximoCursor != null;
+    }
+}
@@ -0,0 +1,12 @@
+package br.com.fiap.postechfasfood.domain.valueobjects;
+
+import java.time.LocalDateTime;
+
+public record PedidoPainel(
+    String pedidoId,
+    Integer numeroPedido,
+    StatusPedido status,
+    LocalDateTime dataCriacao,
+    String resumoItens
+) {
+}
@@ -0,0 +1,10 @@
+package br.com.fiap.postechfasfood.domain.valueobjects;
+
+// Projeção apenas do cabeçalho do pedido, sem itens
+public record PedidoResumo(
+    String pedidoId,
+    Integer numeroPedido,
+    StatusPedido status,
+    int versao
+) {
+}
@@ -0,0 +1,7 @@
+package br.com.fiap.postechfasfood.domain.valueobjects;
+
+public enum ResultadoTransicaoStatus {
+    SUCESSO,
+    // O pedido mudou de status ou de versão desde a leitura
+    CONFLITO
+}
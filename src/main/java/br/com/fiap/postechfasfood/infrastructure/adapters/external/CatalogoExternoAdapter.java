@@ -1,20 +1,114 @@
 package br.com.fiap.postechfasfood.infrastructure.adapters.external;
 
 import br.com.fiap.postechfasfood.domain.entities.Produto;
+import br.com.fiap.postechfasfood.domain.exception.CatalogoIndisponivelException;
 import br.com.fiap.postechfasfood.domain.ports.output.CatalogoServicePort;
 import br.com.fiap.postechfasfood.infrastructure.external.service.ProdutoExternoService;
-import lombok.RequiredArgsConstructor;
+import br.com.fiap.postechfasfood.infrastructure.external.service.ProtecaoChamadaExterna;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Ticker;
+import feign.FeignException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 @Service
 @Primary
-@RequiredArgsConstructor
+@Slf4j
 public class CatalogoExternoAdapter implements CatalogoServicePort {
 
+    static final String NOME_CACHE = "catalogo.produtos";
+    static final String METRICA_SERVIDOS_SNAPSHOT = "catalogo.produtos.servidos.snapshot";
+
     private final ProdutoExternoService produtoExternoService;
+    private final SnapshotCatalogoLocal snapshotCatalogo;
+    private final boolean servirUltimoConhecidoEmFalha;
+    private final Counter servidosDoSnapshot;
+    private final ExecutorService executorConsultas;
+    private final int tamanhoLoteIndividual;
+    private final LoadingCache<String, Produto> produtosPorCodigo;
+
+    // Desligado na primeira resposta indicando que a API de produtos não tem a rota de lote
+    private volatile boolean consultaEmLoteDisponivel = true;
+
+    @Autowired
+    public CatalogoExternoAdapter(
+            ProdutoExternoService produtoExternoService,
+            SnapshotCatalogoLocal snapshotCatalogo,
+            MeterRegistry meterRegistry,
+            ExecutorService checkoutExecutor,
+            @Value("${app.catalogo.cache.expiracao:10m}") Duration expiracao,
+            @Value("${app.catalogo.cache.atualizacao:2m}") Duration atualizacao,
+            @Value("${app.catalogo.cache.tamanho-maximo:500}") long tamanhoMaximo,
+            @Value("${app.catalogo.lote.tamanho-individual:20}") int tamanhoLoteIndividual,
+            @Value("${app.catalogo.degradacao.servir-ultimo-conhecido:true}") boolean servirUltimoConhecidoEmFalha) {
+        this(produtoExternoService, snapshotCatalogo, meterRegistry, checkoutExecutor, expiracao, atualizacao,
+            tamanhoMaximo, tamanhoLoteIndividual, servirUltimoConhecidoEmFalha,
+            Ticker.systemTicker(), ForkJoinPool.commonPool());
+    }
+
+    CatalogoExternoAdapter(ProdutoExternoService produtoExternoService,
+                           SnapshotCatalogoLocal snapshotCatalogo,
+                           MeterRegistry meterRegistry,
+                           ExecutorService executorConsultas,
+                           Duration expiracao,
+                           Duration atualizacao,
+                           long tamanhoMaximo,
+                           int tamanhoLoteIndividual,
+                           boolean servirUltimoConhecidoEmFalha,
+                           Ticker ticker,
+                           Executor executor) {
+        this.produtoExternoService = produtoExternoService;
+        this.snapshotCatalogo = snapshotCatalogo;
+        this.servirUltimoConhecidoEmFalha = servirUltimoConhecidoEmFalha;
+        this.executorConsultas = executorConsultas;
+        this.tamanhoLoteIndividual = tamanhoLoteIndividual;
+        // refreshAfterWrite recarrega em segundo plano a entrada lida depois de "atualizacao";
+        // enquanto isso o valor atual continua sendo servido. Se a API de produtos falhar,
+        // a entrada antiga segue valendo até "expiracao"
+        this.produtosPorCodigo = Caffeine.newBuilder()
+            .maximumSize(tamanhoMaximo)
+            .expireAfterWrite(expiracao)
+            .refreshAfterWrite(atualizacao)
+            .ticker(ticker)
+            .executor(executor)
+            .recordStats()
+            .build(new CarregadorProdutos());
+
+        CaffeineCacheMetrics.monitor(meterRegistry, produtosPorCodigo, NOME_CACHE);
+        this.servidosDoSnapshot = Counter.builder(METRICA_SERVIDOS_SNAPSHOT)
+            .description("Produtos servidos do snapshot local com a API de produtos indisponível")
+            .register(meterRegistry);
+
+        // Aquece o cache com o último catálogo conhecido; as entradas passam pela recarga
+        // normal depois de "atualizacao", então uma API no ar corrige o que tiver mudado
+        Map<String, Produto> conhecidos = snapshotCatalogo.produtosValidos();
+        produtosPorCodigo.putAll(conhecidos);
+        if (!conhecidos.isEmpty()) {
+            log.info("Cache do catálogo aquecido com {} produtos do snapshot local", conhecidos.size());
+        }
+    }
 
     @Override
     public Optional<Produto> buscarProdutoPorNome(String nomeProduto) {
@@ -24,15 +118,165 @@ public class CatalogoExternoAdapter implements CatalogoServicePort {
     @Override
     public Optional<Produto> buscarProdutoPorCodigo(String codigoProduto) {
         try {
-            Produto produto = produtoExternoService.buscarProdutoPorId(codigoProduto);
-            return Optional.of(produto);
+            return Optional.ofNullable(produtosPorCodigo.get(codigoProduto));
         } catch (Exception e) {
             return Optional.empty();
         }
     }
 
+    // Códigos já em cache são servidos da memória; os demais vão numa única ida à API.
+    // Só produtos que a API diz não existirem (ou estarem inativos) ficam fora do resultado;
+    // falha da API sem snapshot que a cubra derruba o lote inteiro como catálogo indisponível
+    @Override
+    public Map<String, Produto> buscarProdutosPorCodigos(Collection<String> codigosProduto) {
+        try {
+            return produtosPorCodigo.getAll(codigosProduto);
+        } catch (CatalogoIndisponivelException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            log.error("Erro ao buscar produtos em lote: {}", e.getMessage());
+            throw new CatalogoIndisponivelException("Catálogo de produtos indisponível", e);
+        }
+    }
+
     @Override
     public boolean produtoExisteEEstaAtivo(String nomeProduto) {
         throw new UnsupportedOperationException("Busca por nome não suportada na API externa");
     }
+
+    // Produto que a API responde como inexistente (404) não é guardado (null), para que uma
+    // inclusão no cardápio apareça na próxima consulta; inativos e falhas propagam e também não.
+    // Com a API fora, o último valor conhecido dentro da defasagem máxima é servido do snapshot
+    private Produto carregarProduto(String codigoProduto) {
+        try {
+            Produto produto = produtoExternoService.buscarProdutoPorId(codigoProduto);
+            snapshotCatalogo.registrar(produto);
+            return produto;
+        } catch (IllegalArgumentException e) {
+            log.debug("Produto {} não será mantido em cache: {}", codigoProduto, e.getMessage());
+            snapshotCatalogo.remover(codigoProduto);
+            return null;
+        } catch (RuntimeException e) {
+            Optional<Produto> conhecido = podeServirUltimoConhecido(e)
+                ? snapshotCatalogo.buscar(codigoProduto)
+                : Optional.empty();
+            if (conhecido.isEmpty()) {
+                throw e;
+            }
+            log.warn("API de produtos indisponível; servindo {} do snapshot local", codigoProduto);
+            servidosDoSnapshot.increment();
+            return conhecido.get();
+        }
+    }
+
+    private Map<String, Produto> carregarProdutos(Set<? extends String> codigosProduto) {
+        if (consultaEmLoteDisponivel) {
+            try {
+                Map<String, Produto> produtos = new HashMap<>();
+                produtoExternoService.buscarProdutosPorIds(List.copyOf(codigosProduto))
+                    .forEach(produto -> produtos.put(produto.getId(), produto));
+                codigosProduto.forEach(codigo -> {
+                    Produto produto = produtos.get(codigo);
+                    if (produto == null) {
+                        snapshotCatalogo.remover(codigo);
+                    } else {
+                        snapshotCatalogo.registrar(produto);
+                    }
+                });
+                return produtos;
+            } catch (UnsupportedOperationException e) {
+                log.warn("Consulta em lote indisponível; usando chamadas individuais em paralelo");
+                consultaEmLoteDisponivel = false;
+            } catch (RuntimeException e) {
+                if (!podeServirUltimoConhecido(e)) {
+                    throw e;
+                }
+                return carregarDoSnapshot(codigosProduto, e);
+            }
+        }
+        return carregarEmChamadasIndividuais(codigosProduto);
+    }
+
+    // O snapshot só substitui a API se cobrir o lote inteiro: um código ausente nele pode ser
+    // um produto válido, e omiti-lo faria o checkout recusá-lo como inexistente
+    private Map<String, Produto> carregarDoSnapshot(Set<? extends String> codigosProduto, RuntimeException falha) {
+        Map<String, Produto> produtos = new HashMap<>();
+        codigosProduto.forEach(codigo -> snapshotCatalogo.buscar(codigo)
+            .ifPresent(produto -> produtos.put(codigo, produto)));
+        if (produtos.size() < codigosProduto.size()) {
+            log.warn("API de produtos indisponível e snapshot local cobre só {} de {} produtos",
+                produtos.size(), codigosProduto.size());
+            throw falha;
+        }
+        log.warn("API de produtos indisponível; servindo {} produtos do snapshot local", produtos.size());
+        servidosDoSnapshot.increment(produtos.size());
+        return produtos;
+    }
+
+    // Só falhas de comunicação (sem resposta, 5xx, 429 ou chamada recusada pelo circuit breaker
+    // ou bulkhead) caem para o snapshot; respostas válidas da API, como produto inativo,
+    // continuam valendo mesmo com o snapshot disponível
+    private boolean podeServirUltimoConhecido(Throwable falha) {
+        return servirUltimoConhecidoEmFalha && apiIndisponivel(falha);
+    }
+
+    private static boolean apiIndisponivel(Throwable falha) {
+        for (Throwable causa = falha; causa != null; causa = causa.getCause()) {
+            if (ProtecaoChamadaExterna.chamadaRejeitada(causa)) {
+                return true;
+            }
+            if (causa instanceof FeignException feignException) {
+                int status = feignException.status();
+                return status < 0 || status >= 500 || status == 429;
+            }
+        }
+        return false;
+    }
+
+    // Alternativa para APIs sem a rota de lote: chamadas individuais em paralelo, em blocos
+    // de "tamanhoLoteIndividual" para não abrir conexões demais de uma vez
+    private Map<String, Produto> carregarEmChamadasIndividuais(Set<? extends String> codigosProduto) {
+        List<String> codigos = new ArrayList<>(codigosProduto);
+        Map<String, Produto> produtos = new HashMap<>();
+
+        for (int inicio = 0; inicio < codigos.size(); inicio += tamanhoLoteIndividual) {
+            List<String> lote = codigos.subList(inicio, Math.min(inicio + tamanhoLoteIndividual, codigos.size()));
+            List<Future<Produto>> consultas = lote.stream()
+                .map(codigo -> executorConsultas.submit(() -> carregarProduto(codigo)))
+                .toList();
+
+            for (int i = 0; i < lote.size(); i++) {
+                try {
+                    Produto produto = consultas.get(i).get();
+                    if (produto != null) {
+                        produtos.put(lote.get(i), produto);
+                    }
+                } catch (ExecutionException e) {
+                    if (apiIndisponivel(e.getCause())) {
+                        consultas.forEach(consulta -> consulta.cancel(true));
+                        throw new CatalogoIndisponivelException("Catálogo de produtos indisponível", e.getCause());
+                    }
+                    log.warn("Produto {} não carregado: {}", lote.get(i), e.getCause().getMessage());
+                } catch (InterruptedException e) {
+                    consultas.forEach(consulta -> consulta.cancel(true));
+                    Thread.currentThread().interrupt();
+                    throw new CatalogoIndisponivelException("Consulta ao catálogo de produtos interrompida", e);
+                }
+            }
+        }
+        return produtos;
+    }
+
+    private class CarregadorProdutos implements CacheLoader<String, Produto> {
+
+        @Override
+        public Produto load(String codigoProduto) {
+            return carregarProduto(codigoProduto);
+        }
+
+        @Override
+        public Map<String, Produto> loadAll(Set<? extends String> codigosProduto) {
+            return carregarProdutos(codigosProduto);
+        }
+    }
 }
@@ -0,0 +1,258 @@
+package br.com.fiap.postechfasfood.infrastructure.adapters.external;
+
+import br.com.fiap.postechfasfood.domain.entities.Produto;
+import br.com.fiap.postechfasfood.domain.valueobjects.CategoriaProduto;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+
+/**
+ * Último catálogo conhecido, mantido em memória e gravado periodicamente num arquivo local.
+ * Serve para aquecer o cache na subida e para responder, dentro de "defasagemMaxima", quando
+ * a API de produtos está fora.
+ *
+ * <p>Formato (big-endian): assinatura, versão do formato, versão do snapshot, gerado em,
+ * quantidade, produtos e, no fim, o CRC32 de tudo o que vem antes. Arquivo com assinatura,
+ * formato ou CRC diferentes é ignorado.
+ */
+@Component
+@Slf4j
+public class SnapshotCatalogoLocal {
+
+    static final int ASSINATURA = 0x46464353; // "FFCS"
+    static final int VERSAO_FORMATO = 1;
+
+    private static final int SEM_VALOR = -1;
+
+    private final Path arquivo;
+    private final Duration defasagemMaxima;
+    private final Clock clock;
+    private final Map<String, ProdutoConhecido> produtos = new ConcurrentHashMap<>();
+    private final AtomicBoolean alterado = new AtomicBoolean();
+    private final ReentrantLock gravacao = new ReentrantLock();
+
+    private volatile long versao;
+
+    @Autowired
+    public SnapshotCatalogoLocal(
+            @Value("${app.catalogo.snapshot.arquivo:data/catalogo-produtos.snapshot}") Path arquivo,
+            @Value("${app.catalogo.snapshot.defasagem-maxima:24h}") Duration defasagemMaxima) {
+        this(arquivo, defasagemMaxima, Clock.systemUTC());
+    }
+
+    SnapshotCatalogoLocal(Path arquivo, Duration defasagemMaxima, Clock clock) {
+        this.arquivo = arquivo;
+        this.defasagemMaxima = defasagemMaxima;
+        this.clock = clock;
+        carregar();
+    }
+
+    public void registrar(Produto produto) {
+        produtos.put(produto.getId(), new ProdutoConhecido(produto, clock.instant()));
+        alterado.set(true);
+    }
+
+    public void remover(String codigoProduto) {
+        if (produtos.remove(codigoProduto) != null) {
+            alterado.set(true);
+        }
+    }
+
+    public Optional<Produto> buscar(String codigoProduto) {
+        return Optional.ofNullable(produtos.get(codigoProduto))
+            .filter(this::dentroDaDefasagem)
+            .map(ProdutoConhecido::produto);
+    }
+
+    public Map<String, Produto> produtosValidos() {
+        return produtos.entrySet().stream()
+            .filter(entrada -> dentroDaDefasagem(entrada.getValue()))
+            .collect(Collectors.toMap(Map.Entry::getKey, entrada -> entrada.getValue().produto()));
+    }
+
+    public long versao() {
+        return versao;
+    }
+
+    @Scheduled(fixedDelayString = "${app.catalogo.snapshot.intervalo-gravacao:1m}",
+               initialDelayString = "${app.catalogo.snapshot.intervalo-gravacao:1m}")
+    public void gravarSeAlterado() {
+        if (alterado.getAndSet(false)) {
+            gravar();
+        }
+    }
+
+    @PreDestroy
+    public void gravarAoEncerrar() {
+        gravarSeAlterado();
+    }
+
+    private void gravar() {
+        gravacao.lock();
+        try {
+            produtos.values().removeIf(conhecido -> !dentroDaDefasagem(conhecido));
+            byte[] conteudo = serializar(versao + 1, produtos.values());
+
+            Path diretorio = arquivo.toAbsolutePath().getParent();
+            if (diretorio != null) {
+                Files.createDirectories(diretorio);
+            }
+            // Grava ao lado e troca de uma vez, para que uma queda no meio não deixe o arquivo pela metade
+            Path temporario = arquivo.resolveSibling(arquivo.getFileName() + ".tmp");
+            try (FileChannel canal = FileChannel.open(temporario, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = ByteBuffer.wrap(conteudo);
+                while (buffer.hasRemaining()) {
+                    canal.write(buffer);
+                }
+                canal.force(true);
+            }
+            Files.move(temporario, arquivo, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+            versao++;
+            log.debug("Snapshot do catálogo gravado: versão {}, {} produtos", versao, produtos.size());
+        } catch (IOException e) {
+            alterado.set(true);
+            log.warn("Não foi possível gravar o snapshot do catálogo em {}: {}", arquivo, e.getMessage());
+        } finally {
+            gravacao.unlock();
+        }
+    }
+
+    private void carregar() {
+        if (!Files.isRegularFile(arquivo)) {
+            log.info("Snapshot do catálogo não encontrado em {}; iniciando vazio", arquivo);
+            return;
+        }
+
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+            if (!checksumValido(buffer)) {
+                log.warn("Snapshot do catálogo em {} está corrompido; ignorando", arquivo);
+                return;
+            }
+            if (buffer.getInt() != ASSINATURA || buffer.getInt() != VERSAO_FORMATO) {
+                log.warn("Snapshot do catálogo em {} tem formato desconhecido; ignorando", arquivo);
+                return;
+            }
+
+            long versaoArquivo = buffer.getLong();
+            Instant geradoEm = Instant.ofEpochMilli(buffer.getLong());
+            int quantidade = buffer.getInt();
+            for (int i = 0; i < quantidade; i++) {
+                ProdutoConhecido conhecido = lerProduto(buffer);
+                if (dentroDaDefasagem(conhecido)) {
+                    produtos.put(conhecido.produto().getId(), conhecido);
+                }
+            }
+            versao = versaoArquivo;
+            log.info("Snapshot do catálogo carregado: versão {}, gerado em {}, {} de {} produtos dentro da defasagem",
+                versaoArquivo, geradoEm, produtos.size(), quantidade);
+        } catch (IOException | BufferUnderflowException | IllegalArgumentException e) {
+            produtos.clear();
+            log.warn("Não foi possível ler o snapshot do catálogo em {}: {}", arquivo, e.getMessage());
+        }
+    }
+
+    private byte[] serializar(long versaoSnapshot, Collection<ProdutoConhecido> conhecidos) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream saida = new DataOutputStream(bytes);
+
+        saida.writeInt(ASSINATURA);
+        saida.writeInt(VERSAO_FORMATO);
+        saida.writeLong(versaoSnapshot);
+        saida.writeLong(clock.millis());
+        saida.writeInt(conhecidos.size());
+        for (ProdutoConhecido conhecido : conhecidos) {
+            Produto produto = conhecido.produto();
+            escreverTexto(saida, produto.getId());
+            escreverTexto(saida, produto.getNome());
+            escreverTexto(saida, produto.getDescricao());
+            saida.writeDouble(produto.getPreco());
+            saida.writeBoolean(produto.isAtivo());
+            escreverTexto(saida, produto.getCategoria().name());
+            saida.writeLong(conhecido.atualizadoEm().toEpochMilli());
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(bytes.toByteArray());
+        saida.writeLong(crc.getValue());
+        saida.flush();
+        return bytes.toByteArray();
+    }
+
+    private static ProdutoConhecido lerProduto(ByteBuffer buffer) {
+        String id = lerTexto(buffer);
+        String nome = lerTexto(buffer);
+        String descricao = lerTexto(buffer);
+        double preco = buffer.getDouble();
+        boolean ativo = buffer.get() != 0;
+        CategoriaProduto categoria = CategoriaProduto.valueOf(lerTexto(buffer));
+        Instant atualizadoEm = Instant.ofEpochMilli(buffer.getLong());
+        return new ProdutoConhecido(new Produto(id, nome, descricao, preco, ativo, categoria), atualizadoEm);
+    }
+
+    private static boolean checksumValido(ByteBuffer buffer) {
+        int tamanhoConteudo = buffer.limit() - Long.BYTES;
+        if (tamanhoConteudo < 0) {
+            return false;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate().limit(tamanhoConteudo));
+        return crc.getValue() == buffer.getLong(tamanhoConteudo);
+    }
+
+    private static void escreverTexto(DataOutputStream saida, String texto) throws IOException {
+        if (texto == null) {
+            saida.writeInt(SEM_VALOR);
+            return;
+        }
+        byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+        saida.writeInt(bytes.length);
+        saida.write(bytes);
+    }
+
+    private static String lerTexto(ByteBuffer buffer) {
+        int tamanho = buffer.getInt();
+        if (tamanho == SEM_VALOR) {
+            return null;
+        }
+        byte[] bytes = new byte[tamanho];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private boolean dentroDaDefasagem(ProdutoConhecido conhecido) {
+        return !conhecido.atualizadoEm().plus(defasagemMaxima).isBefore(clock.instant());
+    }
+
+    private record ProdutoConhecido(Produto produto, Instant atualizadoEm) {
+    }
+}
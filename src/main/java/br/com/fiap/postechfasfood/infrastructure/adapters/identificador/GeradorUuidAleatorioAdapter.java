@@ -0,0 +1,17 @@
+package br.com.fiap.postechfasfood.infrastructure.adapters.identificador;
+
+import br.com.fiap.postechfasfood.domain.ports.output.GeradorIdentificadorPort;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+@Component
+@ConditionalOnProperty(name = "app.identificador.estrategia", havingValue = "aleatorio")
+public class GeradorUuidAleatorioAdapter implements GeradorIdentificadorPort {
+
+    @Override
+    public String gerar() {
+        return UUID.randomUUID().toString();
+    }
+}
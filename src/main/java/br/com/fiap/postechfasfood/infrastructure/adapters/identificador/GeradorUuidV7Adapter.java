@@ -0,0 +1,45 @@
+package br.com.fiap.postechfasfood.infrastructure.adapters.identificador;
+
+import br.com.fiap.postechfasfood.domain.ports.output.GeradorIdentificadorPort;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.util.UUID;
+
+/**
+ * UUID versão 7 (RFC 9562): os 48 bits mais significativos são o instante em milissegundos,
+ * então identificadores gerados em sequência ficam próximos na chave primária BINARY(16)
+ * e os INSERTs caem sempre no fim do índice, em vez de páginas aleatórias.
+ */
+@Component
+@ConditionalOnProperty(name = "app.identificador.estrategia", havingValue = "uuid-v7", matchIfMissing = true)
+public class GeradorUuidV7Adapter implements GeradorIdentificadorPort {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final Clock clock;
+
+    public GeradorUuidV7Adapter() {
+        this(Clock.systemUTC());
+    }
+
+    GeradorUuidV7Adapter(Clock clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public String gerar() {
+        long instante = clock.millis();
+        long aleatorioAlto = RANDOM.nextLong();
+        long aleatorioBaixo = RANDOM.nextLong();
+
+        // 48 bits de timestamp | versão 7 | 12 bits aleatórios
+        long maisSignificativos = (instante << 16) | 0x7000L | (aleatorioAlto & 0x0FFFL);
+        // variante IETF (10) | 62 bits aleatórios
+        long menosSignificativos = (aleatorioBaixo & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+
+        return new UUID(maisSignificativos, menosSignificativos).toString();
+    }
+}
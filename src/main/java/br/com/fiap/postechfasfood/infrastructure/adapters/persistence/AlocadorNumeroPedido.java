@@ -0,0 +1,101 @@
+package br.com.fiap.postechfasfood.infrastructure.adapters.persistence;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Alocador hi/lo de números de pedido. Cada instância reserva um bloco de números
+ * na tabela {@code tb_sequencias} em uma transação curta e os distribui da memória,
+ * de modo que réplicas diferentes nunca recebem o mesmo número.
+ */
+@Component
+public class AlocadorNumeroPedido {
+
+    private static final Logger logger = LoggerFactory.getLogger(AlocadorNumeroPedido.class);
+
+    static final String SEQUENCIA_NUMERO_PEDIDO = "NR_PEDIDO";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int tamanhoBloco;
+    private final ReentrantLock lockReserva = new ReentrantLock();
+
+    private volatile BlocoNumeros blocoAtual = BlocoNumeros.VAZIO;
+
+    public AlocadorNumeroPedido(JdbcTemplate jdbcTemplate,
+                                TransactionTemplate transactionTemplate,
+                                @Value("${app.pedido.numero.tamanho-bloco:50}") int tamanhoBloco) {
+        if (tamanhoBloco < 1) {
+            throw new IllegalArgumentException("Tamanho do bloco de números deve ser maior que zero");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.tamanhoBloco = tamanhoBloco;
+    }
+
+    public int proximoNumero() {
+        while (true) {
+            BlocoNumeros bloco = blocoAtual;
+            int numero = bloco.proximo();
+            if (numero != BlocoNumeros.ESGOTADO) {
+                return numero;
+            }
+
+            lockReserva.lock();
+            try {
+                if (blocoAtual == bloco) {
+                    blocoAtual = reservarBloco();
+                }
+            } finally {
+                lockReserva.unlock();
+            }
+        }
+    }
+
+    private BlocoNumeros reservarBloco() {
+        Integer inicio = transactionTemplate.execute(status -> {
+            Integer proximoValor = jdbcTemplate.queryForObject(
+                "SELECT nr_proximo_valor FROM tb_sequencias WHERE nm_sequencia = ? FOR UPDATE",
+                Integer.class, SEQUENCIA_NUMERO_PEDIDO);
+
+            jdbcTemplate.update(
+                "UPDATE tb_sequencias SET nr_proximo_valor = ? WHERE nm_sequencia = ?",
+                proximoValor + tamanhoBloco, SEQUENCIA_NUMERO_PEDIDO);
+
+            return proximoValor;
+        });
+
+        if (inicio == null) {
+            throw new IllegalStateException("Sequência de números de pedido não inicializada");
+        }
+
+        logger.info("Bloco de números de pedido reservado: {} a {}", inicio, inicio + tamanhoBloco - 1);
+        return new BlocoNumeros(inicio, inicio + tamanhoBloco);
+    }
+
+    private static final class BlocoNumeros {
+
+        static final int ESGOTADO = -1;
+        static final BlocoNumeros VAZIO = new BlocoNumeros(0, 0);
+
+        private final AtomicInteger proximo;
+        private final int limite;
+
+        BlocoNumeros(int inicio, int limite) {
+            this.proximo = new AtomicInteger(inicio);
+            this.limite = limite;
+        }
+
+        int proximo() {
+            int numero = proximo.getAndIncrement();
+            return numero < limite ? numero : ESGOTADO;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package br.com.fiap.postechfasfood.infrastructure.adapters.persistence;
+
+import br.com.fiap.postechfasfood.domain.ports.input.ProcessarWebhookPagamentoUseCase.WebhookPagamentoRequest;
+import br.com.fiap.postechfasfood.domain.ports.output.CaixaEntradaWebhookPort;
+import br.com.fiap.postechfasfood.domain.ports.output.GeradorIdentificadorPort;
+import br.com.fiap.postechfasfood.domain.valueobjects.StatusPagamento;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+@Repository
+public class CaixaEntradaWebhookJdbcAdapter implements CaixaEntradaWebhookPort {
+
+    static final String SITUACAO_PENDENTE = "PENDENTE";
+    static final String SITUACAO_MORTO = "MORTO";
+
+    private static final int TAMANHO_MAXIMO_ERRO = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final GeradorIdentificadorPort geradorIdentificador;
+
+    public CaixaEntradaWebhookJdbcAdapter(JdbcTemplate jdbcTemplate, GeradorIdentificadorPort geradorIdentificador) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.geradorIdentificador = geradorIdentificador;
+    }
+
+    @Override
+    public String registrar(WebhookPagamentoRequest request) {
+        String id = geradorIdentificador.gerar();
+        Timestamp agora = Timestamp.valueOf(LocalDateTime.now());
+
+        jdbcTemplate.update("""
+            INSERT INTO tb_webhooks_pagamento
+            (cd_webhook, nr_pedido, tx_status_pagamento, vl_pagamento, dh_pagamento, tx_transacao_id,
+             tx_origem, tx_situacao, nr_tentativas, dh_recebimento, dh_proxima_tentativa)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0, ?, ?)
+            """,
+            IdentificadorBinario.paraBytes(id),
+            request.numeroPedido(),
+            request.statusPagamento().name(),
+            request.valor(),
+            Timestamp.valueOf(request.dataHoraPagamento()),
+            request.transacaoId(),
+            request.origem(),
+            SITUACAO_PENDENTE,
+            agora,
+            agora
+        );
+        return id;
+    }
+
+    @Override
+    @Transactional
+    public List<WebhookRecebido> reservarProximos(int limite, LocalDateTime agora, Duration reserva) {
+        // SKIP LOCKED deixa cada worker (e cada réplica) com um lote diferente sem esperar pelos outros.
+        // Só o webhook pendente mais antigo de cada pedido pode ser reservado: os seguintes esperam
+        // ele ser concluído ou virar morto, inclusive enquanto ele aguarda uma nova tentativa. Assim
+        // webhooks do mesmo pedido são aplicados um de cada vez, na ordem de recebimento
+        List<WebhookRecebido> prontos = jdbcTemplate.query("""
+            SELECT w.cd_webhook, w.nr_pedido, w.tx_status_pagamento, w.vl_pagamento,
+                   w.dh_pagamento, w.tx_transacao_id, w.tx_origem, w.nr_tentativas, w.dh_recebimento
+            FROM tb_webhooks_pagamento w
+            WHERE w.tx_situacao = ?
+              AND w.dh_proxima_tentativa <= ?
+              AND NOT EXISTS (
+                  SELECT 1
+                  FROM tb_webhooks_pagamento anterior
+                  WHERE anterior.nr_pedido = w.nr_pedido
+                    AND anterior.tx_situacao = ?
+                    AND (anterior.dh_recebimento < w.dh_recebimento
+                         OR (anterior.dh_recebimento = w.dh_recebimento AND anterior.cd_webhook < w.cd_webhook))
+              )
+            ORDER BY w.dh_proxima_tentativa
+            LIMIT ?
+            FOR UPDATE SKIP LOCKED
+            """, new WebhookRecebidoRowMapper(), SITUACAO_PENDENTE, Timestamp.valueOf(agora), SITUACAO_PENDENTE,
+            limite);
+        if (prontos.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Timestamp fimReserva = Timestamp.valueOf(agora.plus(reserva));
+        List<Object[]> parametros = new ArrayList<>(prontos.size());
+        List<WebhookRecebido> reservados = new ArrayList<>(prontos.size());
+        for (WebhookRecebido webhook : prontos) {
+            parametros.add(new Object[]{fimReserva, IdentificadorBinario.paraBytes(webhook.id())});
+            reservados.add(new WebhookRecebido(webhook.id(), webhook.request(),
+                webhook.tentativas() + 1, webhook.dataRecebimento()));
+        }
+        jdbcTemplate.batchUpdate("""
+            UPDATE tb_webhooks_pagamento
+            SET nr_tentativas = nr_tentativas + 1, dh_proxima_tentativa = ?
+            WHERE cd_webhook = ?
+            """, parametros);
+        return reservados;
+    }
+
+    @Override
+    public void concluir(String id) {
+        jdbcTemplate.update("DELETE FROM tb_webhooks_pagamento WHERE cd_webhook = ?",
+            IdentificadorBinario.paraBytes(id));
+    }
+
+    @Override
+    public void reagendar(String id, LocalDateTime proximaTentativa, String erro) {
+        jdbcTemplate.update("""
+            UPDATE tb_webhooks_pagamento
+            SET dh_proxima_tentativa = ?, tx_ultimo_erro = ?
+            WHERE cd_webhook = ?
+            """, Timestamp.valueOf(proximaTentativa), truncar(erro), IdentificadorBinario.paraBytes(id));
+    }
+
+    @Override
+    public void moverParaMortos(String id, String erro) {
+        jdbcTemplate.update("""
+            UPDATE tb_webhooks_pagamento
+            SET tx_situacao = ?, tx_ultimo_erro = ?
+            WHERE cd_webhook = ?
+            """, SITUACAO_MORTO, truncar(erro), IdentificadorBinario.paraBytes(id));
+    }
+
+    @Override
+    public SituacaoCaixaEntrada consultarSituacao() {
+        return jdbcTemplate.queryForObject("""
+            SELECT SUM(tx_situacao = ?) AS pendentes,
+                   SUM(tx_situacao = ?) AS mortos,
+                   MIN(CASE WHEN tx_situacao = ? THEN dh_recebimento END) AS dh_mais_antigo
+            FROM tb_webhooks_pagamento
+            """, (rs, rowNum) -> {
+                Timestamp maisAntigo = rs.getTimestamp("dh_mais_antigo");
+                return new SituacaoCaixaEntrada(rs.getLong("pendentes"), rs.getLong("mortos"),
+                    maisAntigo != null ? maisAntigo.toLocalDateTime() : null);
+            }, SITUACAO_PENDENTE, SITUACAO_MORTO, SITUACAO_PENDENTE);
+    }
+
+    private static String truncar(String erro) {
+        if (erro == null || erro.length() <= TAMANHO_MAXIMO_ERRO) {
+            return erro;
+        }
+        return erro.substring(0, TAMANHO_MAXIMO_ERRO);
+    }
+
+    private static class WebhookRecebidoRowMapper implements RowMapper<WebhookRecebido> {
+        @Override
+        public WebhookRecebido mapRow(ResultSet rs, int rowNum) throws SQLException {
+            WebhookPagamentoRequest request = new WebhookPagamentoRequest(
+                rs.getInt("nr_pedido"),
+                StatusPagamento.valueOf(rs.getString("tx_status_pagamento")),
+                rs.getBigDecimal("vl_pagamento"),
+                rs.getTimestamp("dh_pagamento").toLocalDateTime(),
+                rs.getString("tx_transacao_id"),
+                rs.getString("tx_origem")
+            );
+            return new WebhookRecebido(IdentificadorBinario.paraTexto(rs.getBytes("cd_webhook")), request,
+                rs.getInt("nr_tentativas"), rs.getTimestamp("dh_recebimento").toLocalDateTime());
+        }
+    }
+}
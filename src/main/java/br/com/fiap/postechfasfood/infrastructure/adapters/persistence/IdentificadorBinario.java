@@ -0,0 +1,36 @@
+package br.com.fiap.postechfasfood.infrastructure.adapters.persistence;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+/**
+ * Converte os identificadores entre o texto usado na aplicação e o BINARY(16) das tabelas.
+ * A conversão fica na borda do adapter, sem UUID_TO_BIN/BIN_TO_UUID, que só existem no
+ * MySQL 8: o mesmo SQL roda em MariaDB e no Aurora compatível com MySQL 5.7. Os bytes são
+ * gravados na ordem do texto, sem troca de posições, para que o UUID v7 continue ordenado
+ * pelo tempo no índice.
+ */
+final class IdentificadorBinario {
+
+    private IdentificadorBinario() {
+    }
+
+    static byte[] paraBytes(String uuid) {
+        if (uuid == null) {
+            return null;
+        }
+        UUID valor = UUID.fromString(uuid);
+        return ByteBuffer.allocate(16)
+            .putLong(valor.getMostSignificantBits())
+            .putLong(valor.getLeastSignificantBits())
+            .array();
+    }
+
+    static String paraTexto(byte[] bytes) {
+        if (bytes == null) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong()).toString();
+    }
+}
@@ -1,10 +1,13 @@
 package br.com.fiap.postechfasfood.infrastructure.adapters.persistence;
 
 import br.com.fiap.postechfasfood.domain.entities.Pagamento;
+import br.com.fiap.postechfasfood.domain.exception.PagamentoDuplicadoException;
+import br.com.fiap.postechfasfood.domain.ports.output.GeradorIdentificadorPort;
 import br.com.fiap.postechfasfood.domain.ports.output.PagamentoRepositoryPort;
 import br.com.fiap.postechfasfood.domain.valueobjects.StatusPagamento;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
@@ -16,7 +19,6 @@ import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
-import java.util.UUID;
 
 @Repository
 public class PagamentoJdbcAdapter implements PagamentoRepositoryPort {
@@ -24,15 +26,17 @@ public class PagamentoJdbcAdapter implements PagamentoRepositoryPort {
     private static final Logger logger = LoggerFactory.getLogger(PagamentoJdbcAdapter.class);
     
     private final JdbcTemplate jdbcTemplate;
+    private final GeradorIdentificadorPort geradorIdentificador;
     
-    public PagamentoJdbcAdapter(JdbcTemplate jdbcTemplate) {
+    public PagamentoJdbcAdapter(JdbcTemplate jdbcTemplate, GeradorIdentificadorPort geradorIdentificador) {
         this.jdbcTemplate = jdbcTemplate;
+        this.geradorIdentificador = geradorIdentificador;
     }
     
     @Override
     public Pagamento salvar(Pagamento pagamento) {
         if (pagamento.getId() == null || pagamento.getId().isEmpty()) {
-            pagamento.setId(UUID.randomUUID().toString());
+            pagamento.setId(geradorIdentificador.gerar());
             pagamento.setDataCriacao(LocalDateTime.now());
         }
         pagamento.setDataAtualizacao(LocalDateTime.now());
@@ -44,18 +48,24 @@ public class PagamentoJdbcAdapter implements PagamentoRepositoryPort {
             VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
             """;
         
-        jdbcTemplate.update(sql,
-            pagamento.getId(),
-            pagamento.getPedidoId(),
-            pagamento.getNumeroPedido(),
-            pagamento.getStatusPagamento().name(),
-            pagamento.getValor(),
-            Timestamp.valueOf(pagamento.getDataHoraPagamento()),
-            pagamento.getTransacaoId(),
-            pagamento.getOrigem(),
-            Timestamp.valueOf(pagamento.getDataCriacao()),
-            Timestamp.valueOf(pagamento.getDataAtualizacao())
-        );
+        try {
+            jdbcTemplate.update(sql,
+                IdentificadorBinario.paraBytes(pagamento.getId()),
+                IdentificadorBinario.paraBytes(pagamento.getPedidoId()),
+                pagamento.getNumeroPedido(),
+                pagamento.getStatusPagamento().name(),
+                pagamento.getValor(),
+                Timestamp.valueOf(pagamento.getDataHoraPagamento()),
+                pagamento.getTransacaoId(),
+                pagamento.getOrigem(),
+                Timestamp.valueOf(pagamento.getDataCriacao()),
+                Timestamp.valueOf(pagamento.getDataAtualizacao())
+            );
+        } catch (DuplicateKeyException e) {
+            // UK_PAGAMENTO_TRANSACAO_STATUS: a mesma notificação já foi gravada
+            throw new PagamentoDuplicadoException("Pagamento " + pagamento.getStatusPagamento()
+                + " já registrado para a transação: " + pagamento.getTransacaoId());
+        }
         
         logger.info("Pagamento salvo: {}", pagamento.getId());
         return pagamento;
@@ -64,14 +74,16 @@ public class PagamentoJdbcAdapter implements PagamentoRepositoryPort {
     @Override
     public Optional<Pagamento> buscarPorId(String id) {
         String sql = """
-            SELECT cd_pagamento, cd_pedido, nr_pedido, tx_status_pagamento, vl_pagamento,
+            SELECT cd_pagamento, cd_pedido,
+                   nr_pedido, tx_status_pagamento, vl_pagamento,
                    dh_pagamento, tx_transacao_id, tx_origem, dh_criacao, dh_atualizacao
             FROM tb_pagamentos
             WHERE cd_pagamento = ?
             """;
         
         try {
-            Pagamento pagamento = jdbcTemplate.queryForObject(sql, new PagamentoRowMapper(), id);
+            Pagamento pagamento = jdbcTemplate.queryForObject(sql, new PagamentoRowMapper(),
+                IdentificadorBinario.paraBytes(id));
             return Optional.ofNullable(pagamento);
         } catch (EmptyResultDataAccessException e) {
             return Optional.empty();
@@ -81,7 +93,8 @@ public class PagamentoJdbcAdapter implements PagamentoRepositoryPort {
     @Override
     public Optional<Pagamento> buscarPorNumeroPedido(Integer numeroPedido) {
         String sql = """
-            SELECT cd_pagamento, cd_pedido, nr_pedido, tx_status_pagamento, vl_pagamento,
+            SELECT cd_pagamento, cd_pedido,
+                   nr_pedido, tx_status_pagamento, vl_pagamento,
                    dh_pagamento, tx_transacao_id, tx_origem, dh_criacao, dh_atualizacao
             FROM tb_pagamentos
             WHERE nr_pedido = ?
@@ -100,20 +113,22 @@ public class PagamentoJdbcAdapter implements PagamentoRepositoryPort {
     @Override
     public List<Pagamento> buscarPorPedidoId(String pedidoId) {
         String sql = """
-            SELECT cd_pagamento, cd_pedido, nr_pedido, tx_status_pagamento, vl_pagamento,
+            SELECT cd_pagamento, cd_pedido,
+                   nr_pedido, tx_status_pagamento, vl_pagamento,
                    dh_pagamento, tx_transacao_id, tx_origem, dh_criacao, dh_atualizacao
             FROM tb_pagamentos
             WHERE cd_pedido = ?
             ORDER BY dh_criacao DESC
             """;
         
-        return jdbcTemplate.query(sql, new PagamentoRowMapper(), pedidoId);
+        return jdbcTemplate.query(sql, new PagamentoRowMapper(), IdentificadorBinario.paraBytes(pedidoId));
     }
     
     @Override
     public List<Pagamento> listarTodos() {
         String sql = """
-            SELECT cd_pagamento, cd_pedido, nr_pedido, tx_status_pagamento, vl_pagamento,
+            SELECT cd_pagamento, cd_pedido,
+                   nr_pedido, tx_status_pagamento, vl_pagamento,
                    dh_pagamento, tx_transacao_id, tx_origem, dh_criacao, dh_atualizacao
             FROM tb_pagamentos
             ORDER BY dh_criacao DESC
@@ -126,8 +141,8 @@ public class PagamentoJdbcAdapter implements PagamentoRepositoryPort {
         @Override
         public Pagamento mapRow(ResultSet rs, int rowNum) throws SQLException {
             Pagamento pagamento = new Pagamento();
-            pagamento.setId(rs.getString("cd_pagamento"));
-            pagamento.setPedidoId(rs.getString("cd_pedido"));
+            pagamento.setId(IdentificadorBinario.paraTexto(rs.getBytes("cd_pagamento")));
+            pagamento.setPedidoId(IdentificadorBinario.paraTexto(rs.getBytes("cd_pedido")));
             pagamento.setNumeroPedido(rs.getInt("nr_pedido"));
             pagamento.setStatusPagamento(StatusPagamento.valueOf(rs.getString("tx_status_pagamento")));
             pagamento.setValor(rs.getBigDecimal("vl_pagamento"));
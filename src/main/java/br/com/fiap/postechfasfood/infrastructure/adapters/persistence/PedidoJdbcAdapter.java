@@ -3,31 +3,53 @@ package br.com.fiap.postechfasfood.infrastructure.adapters.persistence;
 import br.com.fiap.postechfasfood.domain.entities.ItemPedido;
 import br.com.fiap.postechfasfood.domain.entities.Pedido;
 import br.com.fiap.postechfasfood.domain.ports.output.PedidoRepositoryPort;
+import br.com.fiap.postechfasfood.domain.valueobjects.CursorPedido;
+import br.com.fiap.postechfasfood.domain.valueobjects.PaginaPedidos;
+import br.com.fiap.postechfasfood.domain.valueobjects.PedidoPainel;
+import br.com.fiap.postechfasfood.domain.valueobjects.PedidoResumo;
+import br.com.fiap.postechfasfood.domain.valueobjects.ResultadoTransicaoStatus;
 import br.com.fiap.postechfasfood.domain.valueobjects.StatusPedido;
+import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 @Repository
 public class PedidoJdbcAdapter implements PedidoRepositoryPort {
+
+    static final int TAMANHO_LOTE_ITENS = 500;
+
+    static final int TAMANHO_MAXIMO_RESUMO_ITENS = 500;
     
     private final JdbcTemplate jdbcTemplate;
+    private final AlocadorNumeroPedido alocadorNumeroPedido;
     
-    public PedidoJdbcAdapter(JdbcTemplate jdbcTemplate) {
+    public PedidoJdbcAdapter(JdbcTemplate jdbcTemplate, AlocadorNumeroPedido alocadorNumeroPedido) {
         this.jdbcTemplate = jdbcTemplate;
+        this.alocadorNumeroPedido = alocadorNumeroPedido;
     }
     
     @Override
+    @Transactional
     public Pedido salvar(Pedido pedido) {
         String sqlPedido = """
             INSERT INTO tb_pedidos 
@@ -36,7 +58,7 @@ public class PedidoJdbcAdapter implements PedidoRepositoryPort {
         """;
         
         jdbcTemplate.update(sqlPedido,
-            pedido.getId(),
+            IdentificadorBinario.paraBytes(pedido.getId()),
             pedido.getDocumentoCliente(),
             pedido.getStatus().name(),
             pedido.getNumeroPedido(),
@@ -51,26 +73,38 @@ public class PedidoJdbcAdapter implements PedidoRepositoryPort {
             VALUES (?, ?, ?, ?, ?)
         """;
         
+        List<Object[]> parametrosItens = new ArrayList<>();
         for (ItemPedido item : pedido.getItens()) {
-            jdbcTemplate.update(sqlItem,
-                pedido.getId(),
+            parametrosItens.add(new Object[] {
+                IdentificadorBinario.paraBytes(pedido.getId()),
                 item.getNomeProduto(),
                 item.getCodigoProduto(),
                 item.getQuantidade(),
                 item.getPrecoUnitario()
-            );
+            });
+        }
+
+        if (!parametrosItens.isEmpty()) {
+            jdbcTemplate.batchUpdate(sqlItem, parametrosItens);
+        }
+
+        // Pedido novo só entra no painel se já nascer em um status visível
+        if (prioridadePainel(pedido.getStatus()) != null) {
+            sincronizarPainel(pedido);
         }
         
         return pedido;
     }
     
     @Override
+    @Transactional
     public Pedido atualizar(Pedido pedido) {
         String sql = """
             UPDATE tb_pedidos 
             SET tx_status = ?,
                 vl_total = ?,
-                dh_ult_atualizacao = ? 
+                dh_ult_atualizacao = ?,
+                nr_versao = nr_versao + 1
             WHERE cd_pedido = ?
         """;
         
@@ -78,23 +112,56 @@ public class PedidoJdbcAdapter implements PedidoRepositoryPort {
             pedido.getStatus().name(),
             pedido.calcularValorTotal(),
             Timestamp.valueOf(pedido.getDataUltimaAtualizacao()),
-            pedido.getId()
+            IdentificadorBinario.paraBytes(pedido.getId())
         );
+
+        sincronizarPainel(pedido);
         
         return pedido;
     }
     
+    @Override
+    @Transactional
+    public ResultadoTransicaoStatus transicionarStatus(String pedidoId, StatusPedido statusAtual,
+                                                       int versaoAtual, StatusPedido novoStatus) {
+        // Compare-and-set: só altera se status e versão ainda forem os lidos pelo chamador
+        String sql = """
+            UPDATE tb_pedidos
+            SET tx_status = ?,
+                dh_ult_atualizacao = ?,
+                nr_versao = nr_versao + 1
+            WHERE cd_pedido = ? AND tx_status = ? AND nr_versao = ?
+        """;
+
+        int atualizados = jdbcTemplate.update(sql,
+            novoStatus.name(),
+            Timestamp.valueOf(LocalDateTime.now()),
+            IdentificadorBinario.paraBytes(pedidoId),
+            statusAtual.name(),
+            versaoAtual
+        );
+
+        if (atualizados == 0) {
+            return ResultadoTransicaoStatus.CONFLITO;
+        }
+
+        sincronizarPainel(pedidoId, statusAtual, novoStatus);
+        return ResultadoTransicaoStatus.SUCESSO;
+    }
+    
     @Override
     public Optional<Pedido> buscarPorId(String id) {
+        // Traz a versão junto: a troca de status usa esta leitura para o compare-and-set
         String sql = """
             SELECT cd_pedido, tx_documento_cliente, tx_status, nr_pedido, vl_total,
-                   dh_criacao_pedido, dh_ult_atualizacao 
+                   dh_criacao_pedido, dh_ult_atualizacao, nr_versao
             FROM tb_pedidos 
             WHERE cd_pedido = ?
         """;
         
         try {
-            Pedido pedido = jdbcTemplate.queryForObject(sql, new PedidoRowMapper(), id);
+            Pedido pedido = jdbcTemplate.queryForObject(sql, new PedidoVersionadoRowMapper(),
+                IdentificadorBinario.paraBytes(id));
             if (pedido != null) {
                 carregarItens(pedido);
             }
@@ -104,6 +171,22 @@ public class PedidoJdbcAdapter implements PedidoRepositoryPort {
         }
     }
     
+    @Override
+    public Optional<PedidoResumo> buscarResumoPorId(String id) {
+        String sql = """
+            SELECT cd_pedido, nr_pedido, tx_status, nr_versao
+            FROM tb_pedidos
+            WHERE cd_pedido = ?
+        """;
+
+        try {
+            return Optional.ofNullable(jdbcTemplate.queryForObject(sql, new PedidoResumoRowMapper(),
+                IdentificadorBinario.paraBytes(id)));
+        } catch (Exception e) {
+            return Optional.empty();
+        }
+    }
+    
     @Override
     public Optional<Pedido> buscarPorNumeroPedido(Integer numeroPedido) {
         String sql = """
@@ -119,6 +202,60 @@ public class PedidoJdbcAdapter implements PedidoRepositoryPort {
                 carregarItens(pedido);
             }
             return Optional.ofNullable(pedido);
+        } catch (EmptyResultDataAccessException e) {
+            // Pedidos encerrados antigos são movidos para o histórico pelo arquivamento
+            return buscarArquivadoPorNumeroPedido(numeroPedido);
+        } catch (Exception e) {
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public Optional<PedidoResumo> buscarResumoPorNumeroPedido(Integer numeroPedido) {
+        String sql = """
+            SELECT cd_pedido, nr_pedido, tx_status, nr_versao
+            FROM tb_pedidos
+            WHERE nr_pedido = ?
+        """;
+
+        try {
+            return Optional.ofNullable(jdbcTemplate.queryForObject(sql, new PedidoResumoRowMapper(), numeroPedido));
+        } catch (EmptyResultDataAccessException e) {
+            return buscarResumoArquivadoPorNumeroPedido(numeroPedido);
+        } catch (Exception e) {
+            return Optional.empty();
+        }
+    }
+
+    // Pedidos arquivados são imutáveis; a versão é fixa em 0
+    private Optional<PedidoResumo> buscarResumoArquivadoPorNumeroPedido(Integer numeroPedido) {
+        String sql = """
+            SELECT cd_pedido, nr_pedido, tx_status, 0 AS nr_versao
+            FROM tb_pedidos_historico
+            WHERE nr_pedido = ?
+        """;
+
+        try {
+            return Optional.ofNullable(jdbcTemplate.queryForObject(sql, new PedidoResumoRowMapper(), numeroPedido));
+        } catch (Exception e) {
+            return Optional.empty();
+        }
+    }
+
+    private Optional<Pedido> buscarArquivadoPorNumeroPedido(Integer numeroPedido) {
+        String sql = """
+            SELECT cd_pedido, tx_documento_cliente, tx_status, nr_pedido, vl_total,
+                   dh_criacao_pedido, dh_ult_atualizacao
+            FROM tb_pedidos_historico
+            WHERE nr_pedido = ?
+        """;
+
+        try {
+            Pedido pedido = jdbcTemplate.queryForObject(sql, new PedidoRowMapper(), numeroPedido);
+            if (pedido != null) {
+                carregarItens(pedido, "tb_itens_pedido_historico");
+            }
+            return Optional.ofNullable(pedido);
         } catch (Exception e) {
             return Optional.empty();
         }
@@ -134,7 +271,7 @@ public class PedidoJdbcAdapter implements PedidoRepositoryPort {
         """;
         
         List<Pedido> pedidos = jdbcTemplate.query(sql, new PedidoRowMapper());
-        pedidos.forEach(this::carregarItens);
+        carregarItens(pedidos);
         return pedidos;
     }
     
@@ -149,22 +286,252 @@ public class PedidoJdbcAdapter implements PedidoRepositoryPort {
         """;
         
         List<Pedido> pedidos = jdbcTemplate.query(sql, new PedidoRowMapper(), status.name());
-        pedidos.forEach(this::carregarItens);
+        carregarItens(pedidos);
         return pedidos;
     }
+
+    @Override
+    public PaginaPedidos listarPagina(CursorPedido cursor, int limite) {
+        List<Pedido> pedidos;
+
+        // Busca um registro a mais para saber se existe próxima página.
+        // O desempate compara o cd_pedido em BINARY(16), na mesma ordem do índice
+        if (cursor == null) {
+            String sql = """
+                SELECT cd_pedido, tx_documento_cliente, tx_status, nr_pedido, vl_total,
+                       dh_criacao_pedido, dh_ult_atualizacao
+                FROM tb_pedidos
+                ORDER BY dh_criacao_pedido DESC, tb_pedidos.cd_pedido DESC
+                LIMIT ?
+            """;
+
+            pedidos = jdbcTemplate.query(sql, new PedidoRowMapper(), limite + 1);
+        } else {
+            String sql = """
+                SELECT cd_pedido, tx_documento_cliente, tx_status, nr_pedido, vl_total,
+                       dh_criacao_pedido, dh_ult_atualizacao
+                FROM tb_pedidos
+                WHERE dh_criacao_pedido < ?
+                   OR (dh_criacao_pedido = ? AND cd_pedido < ?)
+                ORDER BY dh_criacao_pedido DESC, tb_pedidos.cd_pedido DESC
+                LIMIT ?
+            """;
+
+            Timestamp dataCriacao = Timestamp.valueOf(cursor.dataCriacao());
+            pedidos = jdbcTemplate.query(sql, new PedidoRowMapper(),
+                dataCriacao, dataCriacao, IdentificadorBinario.paraBytes(cursor.pedidoId()), limite + 1);
+        }
+
+        boolean temProximaPagina = pedidos.size() > limite;
+        List<Pedido> pagina = temProximaPagina ? new ArrayList<>(pedidos.subList(0, limite)) : pedidos;
+        carregarItens(pagina);
+
+        CursorPedido proximoCursor = null;
+        if (temProximaPagina) {
+            Pedido ultimo = pagina.get(pagina.size() - 1);
+            proximoCursor = new CursorPedido(ultimo.getDataCriacao(), ultimo.getId());
+        }
+
+        return new PaginaPedidos(pagina, proximoCursor);
+    }
+
+    @Override
+    @Transactional
+    public int arquivarEncerradosAntesDe(LocalDateTime limite, int tamanhoLote) {
+        // SKIP LOCKED permite que várias réplicas arquivem em paralelo sem disputar o mesmo lote
+        String sqlSelecao = """
+            SELECT cd_pedido
+            FROM tb_pedidos
+            WHERE tx_status IN ('FINALIZADO', 'CANCELADO')
+              AND dh_ult_atualizacao < ?
+            LIMIT ?
+            FOR UPDATE SKIP LOCKED
+        """;
+
+        List<byte[]> ids = jdbcTemplate.queryForList(sqlSelecao, byte[].class,
+            Timestamp.valueOf(limite), tamanhoLote);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        String marcadores = marcadores(ids.size());
+        Object[] parametros = ids.toArray();
+
+        jdbcTemplate.update("""
+            INSERT INTO tb_pedidos_historico
+            (cd_pedido, tx_documento_cliente, tx_status, nr_pedido, vl_total, dh_criacao_pedido, dh_ult_atualizacao)
+            SELECT cd_pedido, tx_documento_cliente, tx_status, nr_pedido, vl_total, dh_criacao_pedido, dh_ult_atualizacao
+            FROM tb_pedidos
+            WHERE cd_pedido IN (%s)
+        """.formatted(marcadores), parametros);
+
+        jdbcTemplate.update("""
+            INSERT INTO tb_itens_pedido_historico
+            (id, cd_pedido, nm_produto, cd_produto, vl_quantidade, vl_preco_unitario, dh_criacao)
+            SELECT id, cd_pedido, nm_produto, cd_produto, vl_quantidade, vl_preco_unitario, dh_criacao
+            FROM tb_itens_pedido
+            WHERE cd_pedido IN (%s)
+        """.formatted(marcadores), parametros);
+
+        jdbcTemplate.update("DELETE FROM tb_itens_pedido WHERE cd_pedido IN (%s)".formatted(marcadores), parametros);
+        jdbcTemplate.update("DELETE FROM tb_pedidos WHERE cd_pedido IN (%s)".formatted(marcadores), parametros);
+
+        return ids.size();
+    }
+
+    @Override
+    public List<PedidoPainel> listarPainel() {
+        String sql = """
+            SELECT cd_pedido, nr_pedido, tx_status, dh_criacao_pedido, tx_resumo_itens
+            FROM tb_painel_pedidos
+            WHERE nr_prioridade BETWEEN 1 AND 3
+            ORDER BY nr_prioridade, dh_criacao_pedido
+        """;
+
+        return jdbcTemplate.query(sql, (rs, rowNum) -> new PedidoPainel(
+            IdentificadorBinario.paraTexto(rs.getBytes("cd_pedido")),
+            rs.getInt("nr_pedido"),
+            StatusPedido.fromString(rs.getString("tx_status")),
+            rs.getTimestamp("dh_criacao_pedido").toLocalDateTime(),
+            rs.getString("tx_resumo_itens")
+        ));
+    }
+
+    @Override
+    public void percorrerPorPeriodo(LocalDateTime inicio, LocalDateTime fim, Consumer<Pedido> consumidor) {
+        String sql = """
+            SELECT p.cd_pedido, p.tx_documento_cliente, p.tx_status, p.nr_pedido, p.vl_total,
+                   p.dh_criacao_pedido, p.dh_ult_atualizacao,
+                   ip.id AS id_item, ip.nm_produto, ip.cd_produto, ip.vl_quantidade, ip.vl_preco_unitario
+            FROM tb_pedidos p
+            LEFT JOIN tb_itens_pedido ip ON ip.cd_pedido = p.cd_pedido
+            WHERE p.dh_criacao_pedido >= ? AND p.dh_criacao_pedido < ?
+            ORDER BY p.dh_criacao_pedido, p.cd_pedido
+        """;
+
+        // Ordenar por ip.id no SQL forçaria um filesort sobre o JOIN inteiro antes da primeira
+        // linha; a ordem dos itens dentro do pedido não é garantida pelo plano, então o
+        // agrupador ordena os itens de cada pedido pelo id antes de entregá-lo.
+        // Result set forward-only com fetch size Integer.MIN_VALUE: o driver do MySQL
+        // entrega linha a linha em vez de carregar o resultado inteiro em memória
+        PreparedStatementCreator consulta = conexao -> {
+            PreparedStatement ps = conexao.prepareStatement(sql,
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(Integer.MIN_VALUE);
+            ps.setTimestamp(1, Timestamp.valueOf(inicio));
+            ps.setTimestamp(2, Timestamp.valueOf(fim));
+            return ps;
+        };
+
+        AgrupadorPedidosStreaming agrupador = new AgrupadorPedidosStreaming(consumidor);
+        jdbcTemplate.query(consulta, agrupador);
+        agrupador.finalizar();
+    }
     
     @Override
     public Integer gerarProximoNumeroPedido() {
-        String sql = "SELECT COALESCE(MAX(nr_pedido), 0) + 1 FROM tb_pedidos";
-        return jdbcTemplate.queryForObject(sql, Integer.class);
+        return alocadorNumeroPedido.proximoNumero();
     }
     
+    // Mantém o read model do painel da cozinha na mesma transação da escrita do pedido:
+    // status visíveis são gravados (upsert) e os demais removem o pedido do painel
+    private void sincronizarPainel(Pedido pedido) {
+        Integer prioridade = prioridadePainel(pedido.getStatus());
+        if (prioridade == null) {
+            jdbcTemplate.update("DELETE FROM tb_painel_pedidos WHERE cd_pedido = ?",
+                IdentificadorBinario.paraBytes(pedido.getId()));
+            return;
+        }
+
+        String sql = """
+            INSERT INTO tb_painel_pedidos
+            (cd_pedido, nr_pedido, tx_status, nr_prioridade, dh_criacao_pedido, tx_resumo_itens)
+            VALUES (?, ?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE
+                tx_status = VALUES(tx_status),
+                nr_prioridade = VALUES(nr_prioridade),
+                tx_resumo_itens = VALUES(tx_resumo_itens)
+        """;
+
+        jdbcTemplate.update(sql,
+            IdentificadorBinario.paraBytes(pedido.getId()),
+            pedido.getNumeroPedido(),
+            pedido.getStatus().name(),
+            prioridade,
+            Timestamp.valueOf(pedido.getDataCriacao()),
+            resumirItens(pedido.getItens())
+        );
+    }
+
+    // Versão da sincronização usada nas transições sem itens carregados: o resumo dos itens
+    // é montado pelo próprio banco apenas quando o pedido entra no painel
+    private void sincronizarPainel(String pedidoId, StatusPedido statusAnterior, StatusPedido novoStatus) {
+        Integer prioridade = prioridadePainel(novoStatus);
+        if (prioridade == null) {
+            jdbcTemplate.update("DELETE FROM tb_painel_pedidos WHERE cd_pedido = ?",
+                IdentificadorBinario.paraBytes(pedidoId));
+            return;
+        }
+
+        if (prioridadePainel(statusAnterior) != null) {
+            jdbcTemplate.update(
+                "UPDATE tb_painel_pedidos SET tx_status = ?, nr_prioridade = ? WHERE cd_pedido = ?",
+                novoStatus.name(), prioridade, IdentificadorBinario.paraBytes(pedidoId));
+            return;
+        }
+
+        String sql = """
+            INSERT INTO tb_painel_pedidos
+            (cd_pedido, nr_pedido, tx_status, nr_prioridade, dh_criacao_pedido, tx_resumo_itens)
+            SELECT p.cd_pedido, p.nr_pedido, ?, ?, p.dh_criacao_pedido,
+                   COALESCE(LEFT(GROUP_CONCAT(CONCAT(ip.vl_quantidade, 'x ', ip.nm_produto)
+                                 ORDER BY ip.id SEPARATOR ', '), %d), '')
+            FROM tb_pedidos p
+            LEFT JOIN tb_itens_pedido ip ON ip.cd_pedido = p.cd_pedido
+            WHERE p.cd_pedido = ?
+            GROUP BY p.cd_pedido, p.nr_pedido, p.dh_criacao_pedido
+            ON DUPLICATE KEY UPDATE
+                tx_status = VALUES(tx_status),
+                nr_prioridade = VALUES(nr_prioridade)
+        """.formatted(TAMANHO_MAXIMO_RESUMO_ITENS);
+
+        jdbcTemplate.update(sql, novoStatus.name(), prioridade, IdentificadorBinario.paraBytes(pedidoId));
+    }
+
+    static Integer prioridadePainel(StatusPedido status) {
+        return switch (status) {
+            case PRONTO -> 1;
+            case EM_PREPARACAO -> 2;
+            case RECEBIDO -> 3;
+            default -> null;
+        };
+    }
+
+    static String resumirItens(List<ItemPedido> itens) {
+        String resumo = itens.stream()
+            .map(item -> item.getQuantidade() + "x " + item.getNomeProduto())
+            .collect(Collectors.joining(", "));
+
+        return resumo.length() > TAMANHO_MAXIMO_RESUMO_ITENS
+            ? resumo.substring(0, TAMANHO_MAXIMO_RESUMO_ITENS)
+            : resumo;
+    }
+
+    // Os identificadores trafegam como texto na aplicação e seguem como BINARY(16) nos parâmetros
+    private static String marcadores(int quantidade) {
+        return String.join(", ", Collections.nCopies(quantidade, "?"));
+    }
+
     private void carregarItens(Pedido pedido) {
+        carregarItens(pedido, "tb_itens_pedido");
+    }
+
+    private void carregarItens(Pedido pedido, String tabelaItens) {
         String sql = """
             SELECT ip.nm_produto, ip.cd_produto, ip.vl_quantidade, ip.vl_preco_unitario
-            FROM tb_itens_pedido ip
+            FROM %s ip
             WHERE ip.cd_pedido = ?
-        """;
+        """.formatted(tabelaItens);
         
         List<ItemPedido> itens = jdbcTemplate.query(sql, (rs, rowNum) -> 
             new ItemPedido(
@@ -172,23 +539,126 @@ public class PedidoJdbcAdapter implements PedidoRepositoryPort {
                 rs.getString("cd_produto"),
                 rs.getInt("vl_quantidade"),
                 rs.getDouble("vl_preco_unitario")
-            ), pedido.getId()
+            ), IdentificadorBinario.paraBytes(pedido.getId())
         );
 
         itens.forEach(pedido::adicionarItem);
     }
 
+    // Carrega os itens de uma lista de pedidos em lotes de IN (...), evitando uma consulta por pedido
+    private void carregarItens(List<Pedido> pedidos) {
+        if (pedidos.isEmpty()) {
+            return;
+        }
+
+        Map<String, Pedido> pedidosPorId = new LinkedHashMap<>();
+        pedidos.forEach(pedido -> pedidosPorId.put(pedido.getId(), pedido));
+
+        RowCallbackHandler distribuirItem = rs -> pedidosPorId
+            .get(IdentificadorBinario.paraTexto(rs.getBytes("cd_pedido")))
+            .adicionarItem(new ItemPedido(
+                rs.getString("nm_produto"),
+                rs.getString("cd_produto"),
+                rs.getInt("vl_quantidade"),
+                rs.getDouble("vl_preco_unitario")
+            ));
+
+        List<String> ids = new ArrayList<>(pedidosPorId.keySet());
+        for (int inicio = 0; inicio < ids.size(); inicio += TAMANHO_LOTE_ITENS) {
+            List<String> lote = ids.subList(inicio, Math.min(inicio + TAMANHO_LOTE_ITENS, ids.size()));
+            String sql = """
+                SELECT ip.cd_pedido, ip.nm_produto, ip.cd_produto, ip.vl_quantidade, ip.vl_preco_unitario
+                FROM tb_itens_pedido ip
+                WHERE ip.cd_pedido IN (%s)
+                ORDER BY ip.cd_pedido, ip.id
+            """.formatted(marcadores(lote.size()));
+
+            jdbcTemplate.query(sql, distribuirItem, lote.stream().map(IdentificadorBinario::paraBytes).toArray());
+        }
+    }
+
+    // Monta um pedido por vez a partir das linhas do JOIN (ordenadas por pedido)
+    // e o entrega ao consumidor, com os itens em ordem de id, assim que a próxima
+    // linha muda de pedido
+    private static class AgrupadorPedidosStreaming implements RowCallbackHandler {
+
+        private final Consumer<Pedido> consumidor;
+        private final PedidoRowMapper pedidoRowMapper = new PedidoRowMapper();
+        private final List<ItemComId> itensAtuais = new ArrayList<>();
+        private Pedido pedidoAtual;
+
+        AgrupadorPedidosStreaming(Consumer<Pedido> consumidor) {
+            this.consumidor = consumidor;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            String pedidoId = IdentificadorBinario.paraTexto(rs.getBytes("cd_pedido"));
+            if (pedidoAtual == null || !pedidoAtual.getId().equals(pedidoId)) {
+                finalizar();
+                pedidoAtual = pedidoRowMapper.mapRow(rs, 0);
+            }
+
+            // LEFT JOIN: pedido sem itens vem com as colunas de item nulas
+            if (rs.getString("cd_produto") != null) {
+                itensAtuais.add(new ItemComId(rs.getLong("id_item"), new ItemPedido(
+                    rs.getString("nm_produto"),
+                    rs.getString("cd_produto"),
+                    rs.getInt("vl_quantidade"),
+                    rs.getDouble("vl_preco_unitario")
+                )));
+            }
+        }
+
+        void finalizar() {
+            if (pedidoAtual != null) {
+                itensAtuais.sort(Comparator.comparingLong(ItemComId::id));
+                itensAtuais.forEach(item -> pedidoAtual.adicionarItem(item.item()));
+                itensAtuais.clear();
+                consumidor.accept(pedidoAtual);
+                pedidoAtual = null;
+            }
+        }
+
+        private record ItemComId(long id, ItemPedido item) {
+        }
+    }
+
+    private static class PedidoResumoRowMapper implements RowMapper<PedidoResumo> {
+        @Override
+        public PedidoResumo mapRow(ResultSet rs, int rowNum) throws SQLException {
+            return new PedidoResumo(
+                IdentificadorBinario.paraTexto(rs.getBytes("cd_pedido")),
+                rs.getInt("nr_pedido"),
+                StatusPedido.fromString(rs.getString("tx_status")),
+                rs.getInt("nr_versao")
+            );
+        }
+    }
+
     private static class PedidoRowMapper implements RowMapper<Pedido> {
         @Override
         public Pedido mapRow(ResultSet rs, int rowNum) throws SQLException {
+            return builderDe(rs).build();
+        }
+
+        static Pedido.Builder builderDe(ResultSet rs) throws SQLException {
             return new Pedido.Builder()
-                .id(rs.getString("cd_pedido"))
+                .id(IdentificadorBinario.paraTexto(rs.getBytes("cd_pedido")))
                 .documentoCliente(rs.getString("tx_documento_cliente"))
                 .status(StatusPedido.fromString(rs.getString("tx_status")))
                 .numeroPedido(rs.getInt("nr_pedido"))
                 .dataCriacao(rs.getTimestamp("dh_criacao_pedido").toLocalDateTime())
                 .dataUltimaAtualizacao(rs.getTimestamp("dh_ult_atualizacao").toLocalDateTime())
-                .itens(new ArrayList<>())
+                .itens(new ArrayList<>());
+        }
+    }
+
+    private static class PedidoVersionadoRowMapper implements RowMapper<Pedido> {
+        @Override
+        public Pedido mapRow(ResultSet rs, int rowNum) throws SQLException {
+            return PedidoRowMapper.builderDe(rs)
+                .versao(rs.getInt("nr_versao"))
                 .build();
         }
     }
@@ -8,24 +8,39 @@ import br.com.fiap.postechfasfood.domain.ports.input.BuscarPedidoPorNumeroUseCas
 import br.com.fiap.postechfasfood.domain.ports.input.BuscarPedidosPorStatusUseCase;
 import br.com.fiap.postechfasfood.domain.ports.input.CadastrarPedidoUseCase;
 import br.com.fiap.postechfasfood.domain.ports.input.ConsultarStatusPagamentoUseCase;
+import br.com.fiap.postechfasfood.domain.ports.input.ExportarPedidosUseCase;
+import br.com.fiap.postechfasfood.domain.ports.input.ListarPainelPedidosUseCase;
+import br.com.fiap.postechfasfood.domain.ports.input.ListarPedidosPaginadoUseCase;
 import br.com.fiap.postechfasfood.domain.ports.input.ListarPedidosUseCase;
+import br.com.fiap.postechfasfood.domain.valueobjects.PaginaPedidos;
 import br.com.fiap.postechfasfood.domain.valueobjects.StatusPagamento;
 import br.com.fiap.postechfasfood.domain.valueobjects.StatusPedido;
 import br.com.fiap.postechfasfood.infrastructure.adapters.rest.dto.CheckoutPedidoRequest;
+import br.com.fiap.postechfasfood.infrastructure.adapters.rest.dto.PaginaPedidosResponse;
+import br.com.fiap.postechfasfood.infrastructure.adapters.rest.dto.PedidoPainelResponse;
 import br.com.fiap.postechfasfood.infrastructure.adapters.rest.dto.PedidoResponse;
 import br.com.fiap.postechfasfood.infrastructure.adapters.rest.dto.StatusPagamentoResponse;
 import br.com.fiap.postechfasfood.infrastructure.adapters.rest.mapper.PedidoMapper;
 import br.com.fiap.postechfasfood.infrastructure.external.service.PessoaExternaService;
 import br.com.fiap.postechfasfood.infrastructure.external.service.ProdutoExternoService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
@@ -45,6 +60,10 @@ public class PedidoController {
     private final BuscarPedidosPorStatusUseCase buscarPedidosPorStatusUseCase;
     private final ProdutoExternoService produtoExternoService;
     private final PessoaExternaService pessoaExternaService;
+    private final ListarPedidosPaginadoUseCase listarPedidosPaginadoUseCase;
+    private final ExportarPedidosUseCase exportarPedidosUseCase;
+    private final ObjectMapper objectMapper;
+    private final ListarPainelPedidosUseCase listarPainelPedidosUseCase;
 
     @PostMapping("/checkout")
     @Operation(summary = "Realizar checkout", 
@@ -62,7 +81,7 @@ public class PedidoController {
 
     @PatchMapping("/{cdPedido}/status/{txStatus}")
     @Operation(summary = "Atualizar status do pedido", 
-               description = "Atualiza o status de um pedido no ciclo de vida")
+               description = "Atualiza o status de um pedido no ciclo de vida; retorna 409 se o pedido foi alterado concorrentemente")
     public ResponseEntity<PedidoResponse> atualizarStatus(
             @PathVariable String cdPedido,
             @PathVariable String txStatus) {
@@ -88,6 +107,55 @@ public class PedidoController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/painel")
+    @Operation(summary = "Painel da cozinha",
+               description = "Lista os pedidos ativos (Pronto > Em Preparação > Recebido, mais antigos primeiro) a partir da tabela de leitura do painel")
+    public ResponseEntity<List<PedidoPainelResponse>> listarPainel() {
+
+        List<PedidoPainelResponse> response = PedidoMapper.toPainelResponseList(
+            listarPainelPedidosUseCase.executar());
+
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/paginado")
+    @Operation(summary = "Listar pedidos paginados",
+               description = "Lista o histórico de pedidos do mais recente para o mais antigo, paginado por cursor")
+    public ResponseEntity<PaginaPedidosResponse> listarPedidosPaginado(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + ListarPedidosPaginadoUseCase.LIMITE_PADRAO) int limite) {
+
+        PaginaPedidos pagina = listarPedidosPaginadoUseCase.executar(
+            PedidoMapper.fromCursorOpaco(cursor), limite);
+
+        return ResponseEntity.ok(PedidoMapper.toPaginaResponse(pagina));
+    }
+
+    @GetMapping(value = "/exportacao", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Exportar pedidos",
+               description = "Exporta em NDJSON (um pedido por linha) os pedidos criados no período [inicio, fim)")
+    public ResponseEntity<StreamingResponseBody> exportarPedidos(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime inicio,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fim) {
+
+        // Valida antes de abrir o stream, enquanto ainda é possível responder 400
+        ExportarPedidosUseCase.validarPeriodo(inicio, fim);
+
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+        StreamingResponseBody corpo = saida -> exportarPedidosUseCase.executar(inicio, fim, pedido -> {
+            try {
+                saida.write(writer.writeValueAsBytes(PedidoMapper.toResponse(pedido)));
+                saida.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(corpo);
+    }
+
     @GetMapping("/{nrPedido}/pagamento/status")
     @Operation(summary = "Consultar status de pagamento", 
                description = "Verifica o status atual do pagamento no serviço externo")
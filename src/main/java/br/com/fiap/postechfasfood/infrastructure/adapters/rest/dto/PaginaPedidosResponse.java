@@ -0,0 +1,8 @@
+package br.com.fiap.postechfasfood.infrastructure.adapters.rest.dto;
+
+import java.util.List;
+
+public record PaginaPedidosResponse(
+    List<PedidoResponse> pedidos,
+    String proximoCursor
+) {}
@@ -0,0 +1,11 @@
+package br.com.fiap.postechfasfood.infrastructure.adapters.rest.dto;
+
+import java.time.LocalDateTime;
+
+public record PedidoPainelResponse(
+    Integer numeroPedido,
+    String status,
+    LocalDateTime dataCriacao,
+    String resumoItens
+) {
+}
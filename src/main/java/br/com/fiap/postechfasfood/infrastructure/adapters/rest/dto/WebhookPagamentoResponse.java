@@ -19,4 +19,14 @@ public record WebhookPagamentoResponse(
             LocalDateTime.now()
         );
     }
+
+    public static WebhookPagamentoResponse recebido(Integer numeroPedido, String statusPagamento) {
+        return new WebhookPagamentoResponse(
+            "Webhook recebido para processamento",
+            numeroPedido,
+            statusPagamento,
+            null,
+            LocalDateTime.now()
+        );
+    }
 }
@@ -1,5 +1,7 @@
 package br.com.fiap.postechfasfood.infrastructure.adapters.rest.exception;
 
+import br.com.fiap.postechfasfood.domain.exception.CatalogoIndisponivelException;
+import br.com.fiap.postechfasfood.domain.exception.ConflitoAtualizacaoPedidoException;
 import br.com.fiap.postechfasfood.domain.exception.PessoaNaoEncontradaException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -86,6 +88,38 @@ public class GlobalExceptionHandler {
         }
     }
 
+    @ExceptionHandler(ConflitoAtualizacaoPedidoException.class)
+    public ResponseEntity<ErrorResponse> handleConflitoAtualizacaoPedidoException(
+            ConflitoAtualizacaoPedidoException ex) {
+        
+        logger.warn("Conflito de atualização: {}", ex.getMessage());
+        
+        ErrorResponse errorResponse = new ErrorResponse(
+            LocalDateTime.now(),
+            HttpStatus.CONFLICT.value(),
+            ex.getMessage(),
+            null
+        );
+        
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    }
+
+    @ExceptionHandler(CatalogoIndisponivelException.class)
+    public ResponseEntity<ErrorResponse> handleCatalogoIndisponivelException(
+            CatalogoIndisponivelException ex) {
+        
+        logger.warn("Catálogo indisponível: {}", ex.getMessage());
+        
+        ErrorResponse errorResponse = new ErrorResponse(
+            LocalDateTime.now(),
+            HttpStatus.SERVICE_UNAVAILABLE.value(),
+            ex.getMessage(),
+            null
+        );
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(errorResponse);
+    }
+
     @ExceptionHandler(IllegalStateException.class)
     public ResponseEntity<ErrorResponse> handleIllegalStateException(
             IllegalStateException ex) {
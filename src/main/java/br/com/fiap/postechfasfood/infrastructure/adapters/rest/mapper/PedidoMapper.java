@@ -3,17 +3,28 @@ package br.com.fiap.postechfasfood.infrastructure.adapters.rest.mapper;
 import br.com.fiap.postechfasfood.domain.entities.Pedido;
 import br.com.fiap.postechfasfood.domain.ports.input.CadastrarPedidoUseCase;
 import br.com.fiap.postechfasfood.domain.ports.input.ProcessarWebhookPagamentoUseCase;
+import br.com.fiap.postechfasfood.domain.valueobjects.CursorPedido;
+import br.com.fiap.postechfasfood.domain.valueobjects.PaginaPedidos;
+import br.com.fiap.postechfasfood.domain.valueobjects.PedidoPainel;
+import br.com.fiap.postechfasfood.domain.valueobjects.PedidoResumo;
 import br.com.fiap.postechfasfood.domain.valueobjects.StatusPagamento;
 import br.com.fiap.postechfasfood.infrastructure.adapters.rest.dto.CheckoutPedidoRequest;
+import br.com.fiap.postechfasfood.infrastructure.adapters.rest.dto.PaginaPedidosResponse;
+import br.com.fiap.postechfasfood.infrastructure.adapters.rest.dto.PedidoPainelResponse;
 import br.com.fiap.postechfasfood.infrastructure.adapters.rest.dto.PedidoResponse;
 import br.com.fiap.postechfasfood.infrastructure.adapters.rest.dto.StatusPagamentoResponse;
 import br.com.fiap.postechfasfood.infrastructure.adapters.rest.dto.WebhookPagamentoRequest;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
 import java.util.List;
 import java.util.stream.Collectors;
 
 
 public class PedidoMapper {
+
+    private static final String SEPARADOR_CURSOR = "|";
     
     private PedidoMapper() {
 
@@ -66,6 +77,51 @@ public class PedidoMapper {
             .collect(Collectors.toList());
     }
 
+    public static List<PedidoPainelResponse> toPainelResponseList(List<PedidoPainel> painel) {
+        return painel.stream()
+            .map(pedido -> new PedidoPainelResponse(
+                pedido.numeroPedido(),
+                pedido.status().name(),
+                pedido.dataCriacao(),
+                pedido.resumoItens()
+            ))
+            .collect(Collectors.toList());
+    }
+
+    public static PaginaPedidosResponse toPaginaResponse(PaginaPedidos pagina) {
+        return new PaginaPedidosResponse(
+            toResponseList(pagina.pedidos()),
+            toCursorOpaco(pagina.proximoCursor())
+        );
+    }
+
+    public static String toCursorOpaco(CursorPedido cursor) {
+        if (cursor == null) {
+            return null;
+        }
+
+        String conteudo = cursor.dataCriacao() + SEPARADOR_CURSOR + cursor.pedidoId();
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString(conteudo.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static CursorPedido fromCursorOpaco(String cursorOpaco) {
+        if (cursorOpaco == null || cursorOpaco.isBlank()) {
+            return null;
+        }
+
+        try {
+            String conteudo = new String(Base64.getUrlDecoder().decode(cursorOpaco), StandardCharsets.UTF_8);
+            int separador = conteudo.indexOf(SEPARADOR_CURSOR);
+            return new CursorPedido(
+                LocalDateTime.parse(conteudo.substring(0, separador)),
+                conteudo.substring(separador + 1)
+            );
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Cursor de paginação inválido: " + cursorOpaco);
+        }
+    }
+
     public static ProcessarWebhookPagamentoUseCase.WebhookPagamentoRequest toWebhookUseCaseRequest(
             WebhookPagamentoRequest dto) {
         
@@ -0,0 +1,40 @@
+package br.com.fiap.postechfasfood.infrastructure.adapters.scheduler;
+
+import br.com.fiap.postechfasfood.domain.ports.input.ArquivarPedidosUseCase;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+@Component
+@ConditionalOnProperty(name = "app.pedido.arquivamento.habilitado", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class ArquivamentoPedidosScheduler {
+
+    private final ArquivarPedidosUseCase arquivarPedidosUseCase;
+    private final Duration idadeMinima;
+    private final int tamanhoLote;
+
+    public ArquivamentoPedidosScheduler(
+            ArquivarPedidosUseCase arquivarPedidosUseCase,
+            @Value("${app.pedido.arquivamento.idade-minima:30d}") Duration idadeMinima,
+            @Value("${app.pedido.arquivamento.tamanho-lote:500}") int tamanhoLote) {
+        this.arquivarPedidosUseCase = arquivarPedidosUseCase;
+        this.idadeMinima = idadeMinima;
+        this.tamanhoLote = tamanhoLote;
+    }
+
+    @Scheduled(cron = "${app.pedido.arquivamento.cron:0 30 3 * * *}")
+    public void arquivarPedidosEncerrados() {
+        LocalDateTime limite = LocalDateTime.now().minus(idadeMinima);
+        log.info("Iniciando arquivamento de pedidos encerrados antes de {}", limite);
+
+        int total = arquivarPedidosUseCase.executar(limite, tamanhoLote);
+
+        log.info("Arquivamento concluído: {} pedidos movidos para o histórico", total);
+    }
+}
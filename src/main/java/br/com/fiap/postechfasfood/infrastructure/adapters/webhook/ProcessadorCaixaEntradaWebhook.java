@@ -0,0 +1,188 @@
+package br.com.fiap.postechfasfood.infrastructure.adapters.webhook;
+
+import br.com.fiap.postechfasfood.domain.ports.input.ProcessarWebhookPagamentoUseCase;
+import br.com.fiap.postechfasfood.domain.ports.output.CaixaEntradaWebhookPort;
+import br.com.fiap.postechfasfood.domain.ports.output.CaixaEntradaWebhookPort.SituacaoCaixaEntrada;
+import br.com.fiap.postechfasfood.domain.ports.output.CaixaEntradaWebhookPort.WebhookRecebido;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Esvazia a caixa de entrada de webhooks de pagamento com um número fixo de workers. Cada
+ * worker reserva um lote, aplica os webhooks no caso de uso e volta à fila; falhas são
+ * tentadas de novo com espera exponencial até o limite, e depois ficam como mortas.
+ * A reserva entrega um webhook por pedido de cada vez, o mais antigo: os demais do mesmo
+ * pedido esperam ele sair da fila, então a ordem de recebimento é mantida por pedido.
+ */
+@Component
+@ConditionalOnProperty(name = "app.webhook.pagamento.assincrono.habilitado", havingValue = "true")
+@Slf4j
+public class ProcessadorCaixaEntradaWebhook {
+
+    static final String METRICA_PROCESSADOS = "webhook.pagamentos.processados";
+
+    private final ProcessarWebhookPagamentoUseCase processarWebhookPagamentoUseCase;
+    private final CaixaEntradaWebhookPort caixaEntrada;
+    private final int workers;
+    private final int tamanhoLote;
+    private final int maxTentativas;
+    private final Duration esperaInicial;
+    private final Duration esperaMaxima;
+    private final Duration reserva;
+    private final Duration intervaloFilaVazia;
+
+    private final Counter sucessos;
+    private final Counter novasTentativas;
+    private final Counter mortos;
+    private final AtomicLong pendentesNaFila = new AtomicLong();
+    private final AtomicLong mortosNaFila = new AtomicLong();
+    private final AtomicLong atrasoFilaMillis = new AtomicLong();
+
+    private final ExecutorService executorWorkers = Executors.newVirtualThreadPerTaskExecutor();
+    private volatile boolean ativo;
+
+    public ProcessadorCaixaEntradaWebhook(
+            ProcessarWebhookPagamentoUseCase processarWebhookPagamentoUseCase,
+            CaixaEntradaWebhookPort caixaEntrada,
+            MeterRegistry meterRegistry,
+            @Value("${app.webhook.pagamento.assincrono.workers:4}") int workers,
+            @Value("${app.webhook.pagamento.assincrono.tamanho-lote:10}") int tamanhoLote,
+            @Value("${app.webhook.pagamento.assincrono.max-tentativas:8}") int maxTentativas,
+            @Value("${app.webhook.pagamento.assincrono.espera-inicial:1s}") Duration esperaInicial,
+            @Value("${app.webhook.pagamento.assincrono.espera-maxima:5m}") Duration esperaMaxima,
+            @Value("${app.webhook.pagamento.assincrono.reserva:2m}") Duration reserva,
+            @Value("${app.webhook.pagamento.assincrono.intervalo-fila-vazia:500ms}") Duration intervaloFilaVazia) {
+        this.processarWebhookPagamentoUseCase = processarWebhookPagamentoUseCase;
+        this.caixaEntrada = caixaEntrada;
+        this.workers = workers;
+        this.tamanhoLote = tamanhoLote;
+        this.maxTentativas = maxTentativas;
+        this.esperaInicial = esperaInicial;
+        this.esperaMaxima = esperaMaxima;
+        this.reserva = reserva;
+        this.intervaloFilaVazia = intervaloFilaVazia;
+
+        this.sucessos = contadorProcessados(meterRegistry, "sucesso");
+        this.novasTentativas = contadorProcessados(meterRegistry, "nova-tentativa");
+        this.mortos = contadorProcessados(meterRegistry, "morto");
+        Gauge.builder("webhook.pagamentos.fila.pendentes", pendentesNaFila, AtomicLong::get)
+            .description("Webhooks de pagamento aguardando processamento")
+            .register(meterRegistry);
+        Gauge.builder("webhook.pagamentos.fila.mortos", mortosNaFila, AtomicLong::get)
+            .description("Webhooks de pagamento que esgotaram as tentativas")
+            .register(meterRegistry);
+        TimeGauge.builder("webhook.pagamentos.fila.atraso", atrasoFilaMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+            .description("Idade do webhook pendente mais antigo")
+            .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void iniciar() {
+        ativo = true;
+        for (int i = 0; i < workers; i++) {
+            executorWorkers.execute(this::executarWorker);
+        }
+        log.info("Processamento assíncrono de webhooks de pagamento iniciado com {} workers", workers);
+    }
+
+    @PreDestroy
+    public void encerrar() throws InterruptedException {
+        ativo = false;
+        executorWorkers.shutdown();
+        // Webhooks reservados e não concluídos voltam para a fila quando a reserva expira
+        if (!executorWorkers.awaitTermination(10, TimeUnit.SECONDS)) {
+            executorWorkers.shutdownNow();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.webhook.pagamento.assincrono.intervalo-metricas:10s}")
+    public void atualizarMetricas() {
+        SituacaoCaixaEntrada situacao = caixaEntrada.consultarSituacao();
+        pendentesNaFila.set(situacao.pendentes());
+        mortosNaFila.set(situacao.mortos());
+        atrasoFilaMillis.set(situacao.recebimentoMaisAntigo() == null ? 0
+            : Math.max(0, Duration.between(situacao.recebimentoMaisAntigo(), LocalDateTime.now()).toMillis()));
+    }
+
+    int processarLote() {
+        List<WebhookRecebido> lote = caixaEntrada.reservarProximos(tamanhoLote, LocalDateTime.now(), reserva);
+        lote.forEach(this::processar);
+        return lote.size();
+    }
+
+    private void executarWorker() {
+        while (ativo) {
+            try {
+                if (processarLote() == 0) {
+                    Thread.sleep(intervaloFilaVazia);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Falha ao reservar webhooks de pagamento; nova tentativa em {}", intervaloFilaVazia, e);
+                try {
+                    Thread.sleep(intervaloFilaVazia);
+                } catch (InterruptedException interrompido) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void processar(WebhookRecebido webhook) {
+        try {
+            processarWebhookPagamentoUseCase.executar(webhook.request());
+            caixaEntrada.concluir(webhook.id());
+            sucessos.increment();
+        } catch (IllegalStateException e) {
+            // Transição de status inválida não muda com uma nova tentativa
+            log.warn("Webhook {} do pedido {} descartado: {}", webhook.id(), webhook.request().numeroPedido(), e.getMessage());
+            caixaEntrada.moverParaMortos(webhook.id(), e.getMessage());
+            mortos.increment();
+        } catch (RuntimeException e) {
+            if (webhook.tentativas() >= maxTentativas) {
+                log.error("Webhook {} do pedido {} esgotou {} tentativas", webhook.id(),
+                    webhook.request().numeroPedido(), maxTentativas, e);
+                caixaEntrada.moverParaMortos(webhook.id(), e.getMessage());
+                mortos.increment();
+            } else {
+                Duration espera = esperaAntesDaTentativa(webhook.tentativas());
+                log.warn("Webhook {} do pedido {} falhou na tentativa {}; nova tentativa em {}: {}", webhook.id(),
+                    webhook.request().numeroPedido(), webhook.tentativas(), espera, e.getMessage());
+                caixaEntrada.reagendar(webhook.id(), LocalDateTime.now().plus(espera), e.getMessage());
+                novasTentativas.increment();
+            }
+        }
+    }
+
+    Duration esperaAntesDaTentativa(int tentativasFeitas) {
+        Duration espera = esperaInicial.multipliedBy(1L << Math.min(tentativasFeitas - 1, 20));
+        return espera.compareTo(esperaMaxima) > 0 ? esperaMaxima : espera;
+    }
+
+    private static Counter contadorProcessados(MeterRegistry meterRegistry, String resultado) {
+        return Counter.builder(METRICA_PROCESSADOS)
+            .description("Webhooks de pagamento processados pela caixa de entrada")
+            .tag("resultado", resultado)
+            .register(meterRegistry);
+    }
+}
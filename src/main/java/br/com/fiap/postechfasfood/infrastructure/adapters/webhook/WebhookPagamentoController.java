@@ -1,8 +1,7 @@
 package br.com.fiap.postechfasfood.infrastructure.adapters.webhook;
 
-import br.com.fiap.postechfasfood.domain.entities.Pedido;
 import br.com.fiap.postechfasfood.domain.ports.input.ProcessarWebhookPagamentoUseCase;
-import br.com.fiap.postechfasfood.domain.ports.output.PedidoRepositoryPort;
+import br.com.fiap.postechfasfood.domain.ports.output.CaixaEntradaWebhookPort;
 import br.com.fiap.postechfasfood.infrastructure.adapters.rest.dto.WebhookPagamentoRequest;
 import br.com.fiap.postechfasfood.infrastructure.adapters.rest.dto.WebhookPagamentoResponse;
 import br.com.fiap.postechfasfood.infrastructure.adapters.rest.mapper.PedidoMapper;
@@ -11,6 +10,8 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -22,13 +23,16 @@ public class WebhookPagamentoController {
     private static final Logger logger = LoggerFactory.getLogger(WebhookPagamentoController.class);
     
     private final ProcessarWebhookPagamentoUseCase processarWebhookPagamentoUseCase;
-    private final PedidoRepositoryPort pedidoRepository;
+    private final CaixaEntradaWebhookPort caixaEntradaWebhook;
+    private final boolean processamentoAssincrono;
     
     public WebhookPagamentoController(
             ProcessarWebhookPagamentoUseCase processarWebhookPagamentoUseCase,
-            PedidoRepositoryPort pedidoRepository) {
+            CaixaEntradaWebhookPort caixaEntradaWebhook,
+            @Value("${app.webhook.pagamento.assincrono.habilitado:false}") boolean processamentoAssincrono) {
         this.processarWebhookPagamentoUseCase = processarWebhookPagamentoUseCase;
-        this.pedidoRepository = pedidoRepository;
+        this.caixaEntradaWebhook = caixaEntradaWebhook;
+        this.processamentoAssincrono = processamentoAssincrono;
     }
 
     @PostMapping("/mercado-pago/pagamentos")
@@ -43,18 +47,25 @@ public class WebhookPagamentoController {
         ProcessarWebhookPagamentoUseCase.WebhookPagamentoRequest useCaseRequest = 
             PedidoMapper.toWebhookUseCaseRequest(request);
 
-        processarWebhookPagamentoUseCase.executar(useCaseRequest);
+        // No modo assíncrono o Mercado Pago recebe a confirmação assim que o webhook está
+        // gravado na caixa de entrada, e os workers aplicam o pagamento em seguida
+        if (processamentoAssincrono) {
+            String idWebhook = caixaEntradaWebhook.registrar(useCaseRequest);
+            logger.info("Webhook {} registrado para processamento - Pedido: {}", idWebhook, request.numeroPedido());
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(WebhookPagamentoResponse.recebido(request.numeroPedido(), request.statusPagamento()));
+        }
 
-        Pedido pedidoAtualizado = pedidoRepository.buscarPorNumeroPedido(request.numeroPedido())
-            .orElseThrow(() -> new IllegalArgumentException("Pedido não encontrado após processamento"));
+        ProcessarWebhookPagamentoUseCase.ResultadoWebhookPagamento resultado =
+            processarWebhookPagamentoUseCase.executar(useCaseRequest);
         
         logger.info("Webhook processado com sucesso - Pedido: {} - Novo status do pedido: {}",
-            request.numeroPedido(), pedidoAtualizado.getStatus());
+            request.numeroPedido(), resultado.statusPedido());
 
         WebhookPagamentoResponse response = WebhookPagamentoResponse.sucesso(
             request.numeroPedido(),
             request.statusPagamento(),
-            pedidoAtualizado.getStatus().name()
+            resultado.statusPedido().name()
         );
         
         return ResponseEntity.ok(response);
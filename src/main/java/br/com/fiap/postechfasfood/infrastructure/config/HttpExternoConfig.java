@@ -0,0 +1,36 @@
+package br.com.fiap.postechfasfood.infrastructure.config;
+
+import br.com.fiap.postechfasfood.infrastructure.external.client.PoolConexoesHttp;
+import br.com.fiap.postechfasfood.infrastructure.external.client.PoolConexoesHttp.ConfiguracaoPool;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Pools de conexões HTTP das APIs de pessoas e produtos. Cada client Feign pega o seu pool
+ * pela configuração declarada no @FeignClient (PessoaFeignConfig e ProdutoFeignConfig).
+ */
+@Configuration
+public class HttpExternoConfig {
+
+    @Bean(destroyMethod = "close")
+    public PoolConexoesHttp poolHttpPessoas(MeterRegistry meterRegistry,
+                                            @Value("${app.http-externo.pessoas.max-conexoes:40}") int maxConexoes,
+                                            @Value("${app.http-externo.pessoas.keep-alive:30s}") Duration keepAlive,
+                                            @Value("${app.http-externo.pessoas.espera-conexao:200ms}") Duration esperaConexao) {
+        return new PoolConexoesHttp(ResilienciaConfig.PESSOAS,
+            new ConfiguracaoPool(maxConexoes, keepAlive, esperaConexao), meterRegistry);
+    }
+
+    @Bean(destroyMethod = "close")
+    public PoolConexoesHttp poolHttpProdutos(MeterRegistry meterRegistry,
+                                             @Value("${app.http-externo.produtos.max-conexoes:40}") int maxConexoes,
+                                             @Value("${app.http-externo.produtos.keep-alive:30s}") Duration keepAlive,
+                                             @Value("${app.http-externo.produtos.espera-conexao:200ms}") Duration esperaConexao) {
+        return new PoolConexoesHttp(ResilienciaConfig.PRODUTOS,
+            new ConfiguracaoPool(maxConexoes, keepAlive, esperaConexao), meterRegistry);
+    }
+}
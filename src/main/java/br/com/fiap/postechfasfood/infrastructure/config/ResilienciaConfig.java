@@ -0,0 +1,55 @@
+package br.com.fiap.postechfasfood.infrastructure.config;
+
+import br.com.fiap.postechfasfood.infrastructure.external.service.ChamadasComHedge;
+import br.com.fiap.postechfasfood.infrastructure.external.service.ChamadasComHedge.ConfiguracaoHedge;
+import br.com.fiap.postechfasfood.infrastructure.external.service.ProtecaoChamadaExterna;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Proteções das APIs de pessoas e produtos. Os limites de cada instância ficam em
+ * resilience4j.circuitbreaker.instances.* e resilience4j.bulkhead.instances.*, e o
+ * estado dos circuitos é exportado pelo próprio resilience4j nas métricas do actuator.
+ */
+@Configuration
+public class ResilienciaConfig {
+
+    public static final String PESSOAS = "pessoas";
+    public static final String PRODUTOS = "produtos";
+
+    @Bean
+    public ProtecaoChamadaExterna protecaoPessoas(CircuitBreakerRegistry circuitBreakerRegistry,
+                                                  BulkheadRegistry bulkheadRegistry,
+                                                  MeterRegistry meterRegistry) {
+        return new ProtecaoChamadaExterna(PESSOAS, circuitBreakerRegistry.circuitBreaker(PESSOAS),
+            bulkheadRegistry.bulkhead(PESSOAS), meterRegistry);
+    }
+
+    @Bean
+    public ProtecaoChamadaExterna protecaoProdutos(CircuitBreakerRegistry circuitBreakerRegistry,
+                                                   BulkheadRegistry bulkheadRegistry,
+                                                   MeterRegistry meterRegistry) {
+        return new ProtecaoChamadaExterna(PRODUTOS, circuitBreakerRegistry.circuitBreaker(PRODUTOS),
+            bulkheadRegistry.bulkhead(PRODUTOS), meterRegistry);
+    }
+
+    @Bean
+    public ChamadasComHedge hedgeProdutos(ExecutorService checkoutExecutor,
+                                          MeterRegistry meterRegistry,
+                                          @Value("${app.catalogo.hedge.habilitado:false}") boolean habilitado,
+                                          @Value("${app.catalogo.hedge.percentil:0.95}") double percentil,
+                                          @Value("${app.catalogo.hedge.atraso-inicial:300ms}") Duration atrasoInicial,
+                                          @Value("${app.catalogo.hedge.atraso-minimo:50ms}") Duration atrasoMinimo,
+                                          @Value("${app.catalogo.hedge.taxa-maxima:0.05}") double taxaMaxima) {
+        return new ChamadasComHedge(PRODUTOS,
+            new ConfiguracaoHedge(habilitado, percentil, atrasoInicial, atrasoMinimo, taxaMaxima),
+            checkoutExecutor, meterRegistry);
+    }
+}
@@ -34,6 +34,9 @@ public class SwaggerConfig {
                     - POST /api/v1/pedidos/checkout - Realizar checkout (usa nome do produto)
                     - PATCH /api/v1/pedidos/{id}/status/{status} - Atualizar status
                     - GET /api/v1/pedidos - Listar pedidos ordenados
+                    - GET /api/v1/pedidos/painel - Painel da cozinha (tabela de leitura)
+                    - GET /api/v1/pedidos/paginado - Listar histórico de pedidos paginado por cursor
+                    - GET /api/v1/pedidos/exportacao - Exportar pedidos de um período em NDJSON
                     - GET /api/v1/pedidos/{nr}/pagamento/status - Consultar pagamento
                     - POST /webhook/mercado-pago/pagamentos - Webhook de pagamento
                 """)
@@ -3,13 +3,19 @@ package br.com.fiap.postechfasfood.infrastructure.config;
 import br.com.fiap.postechfasfood.application.usecases.*;
 import br.com.fiap.postechfasfood.domain.ports.input.*;
 import br.com.fiap.postechfasfood.domain.ports.output.CatalogoServicePort;
+import br.com.fiap.postechfasfood.domain.ports.output.GeradorIdentificadorPort;
 import br.com.fiap.postechfasfood.domain.ports.output.PagamentoRepositoryPort;
 import br.com.fiap.postechfasfood.domain.ports.output.PagamentoServicePort;
 import br.com.fiap.postechfasfood.domain.ports.output.PedidoRepositoryPort;
 import br.com.fiap.postechfasfood.infrastructure.external.service.PessoaExternaService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 @Configuration
 public class UseCaseConfig {
 
@@ -17,8 +23,19 @@ public class UseCaseConfig {
     public CadastrarPedidoUseCase cadastrarPedidoUseCase(
             PedidoRepositoryPort pedidoRepository,
             CatalogoServicePort catalogoService,
-            PessoaExternaService pessoaExternaService) {
-        return new CadastrarPedidoUseCaseImpl(pedidoRepository, catalogoService, pessoaExternaService);
+            PessoaExternaService pessoaExternaService,
+            GeradorIdentificadorPort geradorIdentificador,
+            ExecutorService checkoutExecutor,
+            @Value("${app.pedido.checkout.prazo-produtos:2s}") Duration prazoResolucaoProdutos) {
+        return new CadastrarPedidoUseCaseImpl(pedidoRepository, catalogoService, pessoaExternaService,
+            geradorIdentificador, checkoutExecutor, prazoResolucaoProdutos);
+    }
+
+    // As etapas do checkout e as consultas ao catálogo bloqueiam em I/O; virtual threads não
+    // ocupam threads de plataforma enquanto aguardam. Sem pool a dimensionar: uma por tarefa
+    @Bean(destroyMethod = "close")
+    public ExecutorService checkoutExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
     }
 
     @Bean
@@ -33,6 +50,30 @@ public class UseCaseConfig {
         return new ListarPedidosUseCaseImpl(pedidoRepository);
     }
 
+    @Bean
+    public ListarPedidosPaginadoUseCase listarPedidosPaginadoUseCase(
+            PedidoRepositoryPort pedidoRepository) {
+        return new ListarPedidosPaginadoUseCaseImpl(pedidoRepository);
+    }
+
+    @Bean
+    public ListarPainelPedidosUseCase listarPainelPedidosUseCase(
+            PedidoRepositoryPort pedidoRepository) {
+        return new ListarPainelPedidosUseCaseImpl(pedidoRepository);
+    }
+
+    @Bean
+    public ArquivarPedidosUseCase arquivarPedidosUseCase(
+            PedidoRepositoryPort pedidoRepository) {
+        return new ArquivarPedidosUseCaseImpl(pedidoRepository);
+    }
+
+    @Bean
+    public ExportarPedidosUseCase exportarPedidosUseCase(
+            PedidoRepositoryPort pedidoRepository) {
+        return new ExportarPedidosUseCaseImpl(pedidoRepository);
+    }
+
     @Bean
     public ConsultarStatusPagamentoUseCase consultarStatusPagamentoUseCase(
             PagamentoRepositoryPort pagamentoRepository,
@@ -43,8 +84,13 @@ public class UseCaseConfig {
     @Bean
     public ProcessarWebhookPagamentoUseCase processarWebhookPagamentoUseCase(
             PedidoRepositoryPort pedidoRepository,
-            PagamentoRepositoryPort pagamentoRepository) {
-        return new ProcessarWebhookPagamentoUseCaseImpl(pedidoRepository, pagamentoRepository);
+            PagamentoRepositoryPort pagamentoRepository,
+            @Value("${app.webhook.pagamento.idempotencia.capacidade:10000}") int capacidadeTransacoesRecentes,
+            @Value("${app.webhook.pagamento.serializacao.faixas:64}") int faixasPorPedido) {
+        return new ProcessarWebhookPagamentoSerializadoPorPedido(
+            new ProcessarWebhookPagamentoUseCaseImpl(pedidoRepository, pagamentoRepository,
+                capacidadeTransacoesRecentes),
+            faixasPorPedido);
     }
 
     @Bean
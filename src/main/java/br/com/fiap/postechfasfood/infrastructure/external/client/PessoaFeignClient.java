@@ -7,7 +7,8 @@ import org.springframework.web.bind.annotation.PathVariable;
 
 @FeignClient(
     name = "pessoa-service",
-    url = "${app.external.pessoas.url}"
+    url = "${app.external.pessoas.url}",
+    configuration = PessoaFeignConfig.class
 )
 public interface PessoaFeignClient {
 
@@ -0,0 +1,17 @@
+package br.com.fiap.postechfasfood.infrastructure.external.client;
+
+import feign.Client;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Configuração exclusiva do PessoaFeignClient. Sem @Configuration de propósito: se fosse
+ * escaneada, o pool de pessoas viraria o client de todos os Feign.
+ */
+public class PessoaFeignConfig {
+
+    @Bean
+    public Client feignClient(@Qualifier("poolHttpPessoas") PoolConexoesHttp poolHttpPessoas) {
+        return poolHttpPessoas.clienteFeign();
+    }
+}
@@ -0,0 +1,78 @@
+package br.com.fiap.postechfasfood.infrastructure.external.client;
+
+import feign.Client;
+import feign.hc5.ApacheHttp5Client;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+
+import java.time.Duration;
+
+/**
+ * Pool de conexões HTTP (Apache HttpClient 5) de um serviço externo, usado como motor dos
+ * clients Feign. Cada serviço tem o próprio pool, para que uma API lenta não ocupe as conexões
+ * da outra, e o uso do pool é exportado em httpcomponents.httpclient.pool.* com a tag servico.
+ * Os timeouts de conexão e leitura continuam vindo de spring.cloud.openfeign.client.config.*.
+ */
+public class PoolConexoesHttp implements AutoCloseable {
+
+    static final String NOME_METRICAS = "feign";
+
+    private final PoolingHttpClientConnectionManager gerenciadorConexoes;
+    private final CloseableHttpClient httpClient;
+    private final Client clienteFeign;
+
+    public PoolConexoesHttp(String servico, ConfiguracaoPool configuracao, MeterRegistry meterRegistry) {
+        this.gerenciadorConexoes = PoolingHttpClientConnectionManagerBuilder.create()
+            // Todas as chamadas vão para o mesmo host, então o limite por rota é o do pool
+            .setMaxConnTotal(configuracao.maxConexoes())
+            .setMaxConnPerRoute(configuracao.maxConexoes())
+            .setDefaultConnectionConfig(ConnectionConfig.custom()
+                .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                .build())
+            .build();
+        this.httpClient = HttpClients.custom()
+            .setConnectionManager(gerenciadorConexoes)
+            .setKeepAliveStrategy((resposta, contexto) -> TimeValue.of(configuracao.keepAlive()))
+            .evictIdleConnections(TimeValue.of(configuracao.keepAlive()))
+            .evictExpiredConnections()
+            // Com o pool cheio a chamada espera no máximo esperaConexao, em vez dos 3 minutos padrão
+            .setDefaultRequestConfig(RequestConfig.custom()
+                .setConnectionRequestTimeout(Timeout.of(configuracao.esperaConexao()))
+                .build())
+            // Repetição fica com o circuit breaker e o hedging, não com o client HTTP
+            .disableAutomaticRetries()
+            .disableCookieManagement()
+            .build();
+        this.clienteFeign = new ApacheHttp5Client(httpClient);
+
+        new PoolingHttpClientConnectionManagerMetricsBinder(gerenciadorConexoes, NOME_METRICAS,
+            Tags.of("servico", servico)).bindTo(meterRegistry);
+    }
+
+    public Client clienteFeign() {
+        return clienteFeign;
+    }
+
+    @Override
+    public void close() {
+        httpClient.close(CloseMode.GRACEFUL);
+    }
+
+    /**
+     * @param maxConexoes   conexões simultâneas com o serviço
+     * @param keepAlive     quanto tempo uma conexão ociosa fica aberta para ser reaproveitada
+     * @param esperaConexao quanto uma chamada espera por uma conexão livre com o pool cheio
+     */
+    public record ConfiguracaoPool(int maxConexoes, Duration keepAlive, Duration esperaConexao) {
+    }
+}
@@ -4,13 +4,20 @@ import br.com.fiap.postechfasfood.infrastructure.external.dto.ProdutoExternoDTO;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.List;
 
 @FeignClient(
     name = "produto-service",
-    url = "${app.external.produtos.url}"
+    url = "${app.external.produtos.url}",
+    configuration = ProdutoFeignConfig.class
 )
 public interface ProdutoFeignClient {
 
     @GetMapping("/api/v1/produtos/{cdProduto}")
     ProdutoExternoDTO buscarProdutoPorId(@PathVariable("cdProduto") String cdProduto);
+
+    @GetMapping("/api/v1/produtos")
+    List<ProdutoExternoDTO> buscarProdutosPorIds(@RequestParam("ids") List<String> cdProdutos);
 }
@@ -0,0 +1,17 @@
+package br.com.fiap.postechfasfood.infrastructure.external.client;
+
+import feign.Client;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Configuração exclusiva do ProdutoFeignClient. Sem @Configuration de propósito: se fosse
+ * escaneada, o pool de produtos viraria o client de todos os Feign.
+ */
+public class ProdutoFeignConfig {
+
+    @Bean
+    public Client feignClient(@Qualifier("poolHttpProdutos") PoolConexoesHttp poolHttpProdutos) {
+        return poolHttpProdutos.clienteFeign();
+    }
+}
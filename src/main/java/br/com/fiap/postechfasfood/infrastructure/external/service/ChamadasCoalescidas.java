@@ -0,0 +1,186 @@
+package br.com.fiap.postechfasfood.infrastructure.external.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.io.InterruptedIOException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Garante no máximo uma chamada externa em andamento por chave: quem chega enquanto ela
+ * está em curso aguarda e recebe o mesmo resultado (ou a mesma exceção), sem nova chamada.
+ * Se quem fazia a chamada é interrompido, a falha fica só com ele e um dos que aguardavam
+ * refaz a chamada. Nada é guardado depois que a chamada termina; cache é responsabilidade
+ * de quem usa. Na versão em lote cada chave é coalescida por si: o chamador faz uma única
+ * chamada com as chaves que ninguém está buscando e aguarda as demais.
+ */
+public class ChamadasCoalescidas<K, V> {
+
+    static final String METRICA_COALESCIDAS = "chamadas.externas.coalescidas";
+    static final String METRICA_EM_ANDAMENTO = "chamadas.externas.em.andamento";
+
+    private final Map<K, CompletableFuture<V>> emAndamento = new ConcurrentHashMap<>();
+    private final Counter coalescidas;
+
+    public ChamadasCoalescidas(MeterRegistry meterRegistry, String servico) {
+        this.coalescidas = Counter.builder(METRICA_COALESCIDAS)
+            .description("Chamadas que aguardaram uma chamada idêntica já em andamento")
+            .tag("servico", servico)
+            .register(meterRegistry);
+        Gauge.builder(METRICA_EM_ANDAMENTO, emAndamento, Map::size)
+            .description("Chaves com chamada externa em andamento")
+            .tag("servico", servico)
+            .register(meterRegistry);
+    }
+
+    public V executar(K chave, Supplier<V> chamada) {
+        while (true) {
+            CompletableFuture<V> nova = new CompletableFuture<>();
+            CompletableFuture<V> existente = emAndamento.putIfAbsent(chave, nova);
+            if (existente == null) {
+                return liderar(chave, nova, chamada);
+            }
+
+            coalescidas.increment();
+            try {
+                return aguardar(existente);
+            } catch (ChamadaAbandonadaException e) {
+                // Quem fazia a chamada foi interrompido; um dos que aguardavam assume
+            }
+        }
+    }
+
+    // A chamada em lote devolve só as chaves que encontrou; as ausentes ficam fora do resultado
+    // também para quem as aguardava
+    public Map<K, V> executarEmLote(Collection<K> chaves, Function<List<K>, Map<K, V>> chamada) {
+        Map<K, V> resultados = new HashMap<>();
+        Set<K> pendentes = new LinkedHashSet<>(chaves);
+        while (!pendentes.isEmpty()) {
+            Map<K, CompletableFuture<V>> lideradas = new LinkedHashMap<>();
+            Map<K, CompletableFuture<V>> aguardadas = new LinkedHashMap<>();
+            for (K chave : pendentes) {
+                CompletableFuture<V> nova = new CompletableFuture<>();
+                CompletableFuture<V> existente = emAndamento.putIfAbsent(chave, nova);
+                if (existente == null) {
+                    lideradas.put(chave, nova);
+                } else {
+                    aguardadas.put(chave, existente);
+                }
+            }
+            pendentes.clear();
+
+            // Primeiro a própria chamada, que não espera ninguém; só depois aguarda as dos outros
+            if (!lideradas.isEmpty()) {
+                resultados.putAll(liderarLote(lideradas, chamada));
+            }
+            coalescidas.increment(aguardadas.size());
+            for (Map.Entry<K, CompletableFuture<V>> aguardada : aguardadas.entrySet()) {
+                try {
+                    V valor = aguardar(aguardada.getValue());
+                    if (valor != null) {
+                        resultados.put(aguardada.getKey(), valor);
+                    }
+                } catch (ChamadaAbandonadaException e) {
+                    pendentes.add(aguardada.getKey());
+                }
+            }
+        }
+        return resultados;
+    }
+
+    private V liderar(K chave, CompletableFuture<V> nova, Supplier<V> chamada) {
+        try {
+            V resultado = chamada.get();
+            nova.complete(resultado);
+            return resultado;
+        } catch (Throwable e) {
+            if (foiInterrompida(e)) {
+                // A falha é do chamador (cancelado ou com prazo esgotado), não do serviço externo:
+                // não é repassada a quem aguardava
+                emAndamento.remove(chave, nova);
+                nova.completeExceptionally(new ChamadaAbandonadaException());
+            } else {
+                nova.completeExceptionally(e);
+            }
+            throw e;
+        } finally {
+            emAndamento.remove(chave, nova);
+        }
+    }
+
+    private Map<K, V> liderarLote(Map<K, CompletableFuture<V>> lideradas,
+                                  Function<List<K>, Map<K, V>> chamada) {
+        try {
+            Map<K, V> resposta = chamada.apply(List.copyOf(lideradas.keySet()));
+            Map<K, V> resultado = new HashMap<>();
+            lideradas.forEach((chave, futuro) -> {
+                V valor = resposta.get(chave);
+                futuro.complete(valor);
+                if (valor != null) {
+                    resultado.put(chave, valor);
+                }
+            });
+            return resultado;
+        } catch (Throwable e) {
+            boolean interrompida = foiInterrompida(e);
+            lideradas.forEach((chave, futuro) -> {
+                if (interrompida) {
+                    emAndamento.remove(chave, futuro);
+                    futuro.completeExceptionally(new ChamadaAbandonadaException());
+                } else {
+                    futuro.completeExceptionally(e);
+                }
+            });
+            throw e;
+        } finally {
+            lideradas.forEach((chave, futuro) -> emAndamento.remove(chave, futuro));
+        }
+    }
+
+    private static boolean foiInterrompida(Throwable falha) {
+        if (Thread.currentThread().isInterrupted()) {
+            return true;
+        }
+        for (Throwable causa = falha; causa != null; causa = causa.getCause()) {
+            if (causa instanceof InterruptedException || causa instanceof InterruptedIOException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private V aguardar(CompletableFuture<V> chamadaEmAndamento) {
+        try {
+            return chamadaEmAndamento.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new RuntimeException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrompido aguardando chamada externa em andamento", e);
+        }
+    }
+
+    private static final class ChamadaAbandonadaException extends RuntimeException {
+        ChamadaAbandonadaException() {
+            super("Chamada externa abandonada por interrupção de quem a fazia", null, false, false);
+        }
+    }
+}
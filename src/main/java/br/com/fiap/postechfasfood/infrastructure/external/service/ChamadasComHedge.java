@@ -0,0 +1,201 @@
+package br.com.fiap.postechfasfood.infrastructure.external.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Hedging de chamadas idempotentes: se a primeira tentativa não responder dentro do percentil
+ * configurado das latências recentes, dispara uma segunda igual e fica com a que responder
+ * primeiro. O orçamento limita a fração de chamadas que podem ganhar uma segunda tentativa,
+ * para que um serviço lento não receba o dobro de carga justamente quando está lento.
+ */
+public class ChamadasComHedge {
+
+    static final String METRICA_HEDGE = "chamadas.externas.hedge";
+
+    private static final int AMOSTRAS_MINIMAS = 20;
+    private static final int CAPACIDADE_JANELA = 128;
+    private static final long CUSTO_HEDGE = 1_000;
+    private static final long CREDITO_MAXIMO = 10 * CUSTO_HEDGE;
+
+    private final ConfiguracaoHedge configuracao;
+    private final ExecutorService executor;
+    private final long creditoPorChamada;
+    private final Counter disparados;
+    private final Counter vitorias;
+    private final Counter semOrcamento;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final long[] latenciasNanos = new long[CAPACIDADE_JANELA];
+    private int amostras;
+    private int proximaAmostra;
+    private long credito = CUSTO_HEDGE;
+
+    public ChamadasComHedge(String servico, ConfiguracaoHedge configuracao, ExecutorService executor,
+                            MeterRegistry meterRegistry) {
+        this.configuracao = configuracao;
+        this.executor = executor;
+        this.creditoPorChamada = Math.round(configuracao.taxaMaxima() * CUSTO_HEDGE);
+        this.disparados = contador(meterRegistry, servico, "disparado");
+        this.vitorias = contador(meterRegistry, servico, "vitoria");
+        this.semOrcamento = contador(meterRegistry, servico, "sem-orcamento");
+    }
+
+    public <T> T executar(Supplier<T> chamada) {
+        if (!configuracao.habilitado()) {
+            return chamada.get();
+        }
+
+        creditarOrcamento();
+        CompletableFuture<T> resultado = new CompletableFuture<>();
+        AtomicInteger pendentes = new AtomicInteger(1);
+        Future<?> principal = executor.submit(() -> tentar(chamada, resultado, pendentes, false));
+        Future<?> hedge = null;
+        try {
+            return resultado.get(atrasoHedge().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            if (!consumirOrcamento()) {
+                semOrcamento.increment();
+                return aguardar(resultado);
+            }
+            disparados.increment();
+            pendentes.incrementAndGet();
+            hedge = executor.submit(() -> tentar(chamada, resultado, pendentes, true));
+            return aguardar(resultado);
+        } catch (ExecutionException e) {
+            throw propagar(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrompido aguardando chamada externa", e);
+        } finally {
+            // A tentativa que perdeu não interessa mais, mas não é interrompida: a interrupção
+            // contaria como falha no circuit breaker que a protege. Se ainda não começou, não
+            // começa; se já está em curso, termina dentro do timeout da própria chamada
+            principal.cancel(false);
+            if (hedge != null) {
+                hedge.cancel(false);
+            }
+        }
+    }
+
+    Duration atrasoHedge() {
+        lock.lock();
+        try {
+            if (amostras < AMOSTRAS_MINIMAS) {
+                return configuracao.atrasoInicial();
+            }
+            long[] ordenadas = Arrays.copyOf(latenciasNanos, amostras);
+            Arrays.sort(ordenadas);
+            int indice = (int) Math.ceil(configuracao.percentil() * amostras) - 1;
+            Duration percentil = Duration.ofNanos(ordenadas[Math.max(0, Math.min(indice, amostras - 1))]);
+            return percentil.compareTo(configuracao.atrasoMinimo()) < 0 ? configuracao.atrasoMinimo() : percentil;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private <T> void tentar(Supplier<T> chamada, CompletableFuture<T> resultado, AtomicInteger pendentes,
+                            boolean tentativaHedge) {
+        long inicio = System.nanoTime();
+        try {
+            T valor = chamada.get();
+            registrarLatencia(System.nanoTime() - inicio);
+            if (resultado.complete(valor) && tentativaHedge) {
+                vitorias.increment();
+            }
+        } catch (Throwable e) {
+            // Só falha de vez quando nenhuma tentativa respondeu
+            if (pendentes.decrementAndGet() == 0) {
+                resultado.completeExceptionally(e);
+            }
+        }
+    }
+
+    private <T> T aguardar(CompletableFuture<T> resultado) {
+        try {
+            return resultado.get();
+        } catch (ExecutionException e) {
+            throw propagar(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrompido aguardando chamada externa", e);
+        }
+    }
+
+    private boolean consumirOrcamento() {
+        lock.lock();
+        try {
+            if (credito < CUSTO_HEDGE) {
+                return false;
+            }
+            credito -= CUSTO_HEDGE;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void creditarOrcamento() {
+        lock.lock();
+        try {
+            credito = Math.min(CREDITO_MAXIMO, credito + creditoPorChamada);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void registrarLatencia(long nanos) {
+        lock.lock();
+        try {
+            latenciasNanos[proximaAmostra] = nanos;
+            proximaAmostra = (proximaAmostra + 1) % CAPACIDADE_JANELA;
+            amostras = Math.min(amostras + 1, CAPACIDADE_JANELA);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static RuntimeException propagar(Throwable falha) {
+        if (falha instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (falha instanceof Error error) {
+            throw error;
+        }
+        return new RuntimeException(falha);
+    }
+
+    private static Counter contador(MeterRegistry meterRegistry, String servico, String evento) {
+        return Counter.builder(METRICA_HEDGE)
+            .description("Segundas tentativas de chamadas externas lentas")
+            .tag("servico", servico)
+            .tag("evento", evento)
+            .register(meterRegistry);
+    }
+
+    /**
+     * @param percentil     percentil das latências recentes após o qual a segunda tentativa é disparada
+     * @param atrasoInicial atraso usado enquanto ainda não há amostras suficientes
+     * @param atrasoMinimo  piso do atraso, para não duplicar chamadas que já são rápidas
+     * @param taxaMaxima    fração máxima das chamadas que podem ganhar segunda tentativa
+     */
+    public record ConfiguracaoHedge(boolean habilitado, double percentil, Duration atrasoInicial,
+                                    Duration atrasoMinimo, double taxaMaxima) {
+
+        public static ConfiguracaoHedge desabilitado() {
+            return new ConfiguracaoHedge(false, 0.95, Duration.ZERO, Duration.ZERO, 0);
+        }
+    }
+}
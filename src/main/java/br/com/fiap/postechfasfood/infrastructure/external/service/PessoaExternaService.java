@@ -3,80 +3,225 @@ package br.com.fiap.postechfasfood.infrastructure.external.service;
 import br.com.fiap.postechfasfood.domain.exception.PessoaNaoEncontradaException;
 import br.com.fiap.postechfasfood.infrastructure.external.client.PessoaFeignClient;
 import br.com.fiap.postechfasfood.infrastructure.external.dto.PessoaExternaDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
 import feign.FeignException;
-import lombok.RequiredArgsConstructor;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class PessoaExternaService {
 
+    static final String NOME_CACHE = "pessoas.cpf";
+
+    private static final String ALGORITMO_CHAVE = "HmacSHA256";
+    private static final int TAMANHO_CHAVE_CACHE = 16;
+
     private final PessoaFeignClient pessoaFeignClient;
+    private final ProtecaoChamadaExterna protecaoPessoas;
+    private final boolean pedidoAnonimoEmFalha;
+    private final SecretKeySpec segredoChaveCache;
+    private final Cache<String, ResultadoVerificacaoCpf> resultadosPorCpf;
+
+    @Autowired
+    public PessoaExternaService(
+            PessoaFeignClient pessoaFeignClient,
+            @Qualifier("protecaoPessoas") ProtecaoChamadaExterna protecaoPessoas,
+            MeterRegistry meterRegistry,
+            @Value("${app.pessoas.degradacao.pedido-anonimo:true}") boolean pedidoAnonimoEmFalha,
+            @Value("${app.pessoas.cache.ttl-valido:30m}") Duration ttlValido,
+            @Value("${app.pessoas.cache.ttl-invalido:5m}") Duration ttlInvalido,
+            @Value("${app.pessoas.cache.ttl-anonimo:10m}") Duration ttlAnonimo,
+            @Value("${app.pessoas.cache.tamanho-maximo:10000}") long tamanhoMaximo) {
+        this(pessoaFeignClient, protecaoPessoas, meterRegistry, pedidoAnonimoEmFalha,
+            ttlValido, ttlInvalido, ttlAnonimo, tamanhoMaximo, Ticker.systemTicker());
+    }
 
+    PessoaExternaService(PessoaFeignClient pessoaFeignClient,
+                         ProtecaoChamadaExterna protecaoPessoas,
+                         MeterRegistry meterRegistry,
+                         boolean pedidoAnonimoEmFalha,
+                         Duration ttlValido,
+                         Duration ttlInvalido,
+                         Duration ttlAnonimo,
+                         long tamanhoMaximo,
+                         Ticker ticker) {
+        this.pessoaFeignClient = pessoaFeignClient;
+        this.protecaoPessoas = protecaoPessoas;
+        this.pedidoAnonimoEmFalha = pedidoAnonimoEmFalha;
+
+        // O cache guarda só o desfecho da verificação, indexado por um HMAC do CPF com segredo
+        // gerado a cada subida: nem o documento nem os dados da pessoa ficam na memória
+        byte[] segredo = new byte[32];
+        new SecureRandom().nextBytes(segredo);
+        this.segredoChaveCache = new SecretKeySpec(segredo, ALGORITMO_CHAVE);
+
+        this.resultadosPorCpf = Caffeine.newBuilder()
+            .maximumSize(tamanhoMaximo)
+            .expireAfter(new ExpiracaoPorResultado(ttlValido, ttlInvalido, ttlAnonimo))
+            .ticker(ticker)
+            .recordStats()
+            .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, resultadosPorCpf, NOME_CACHE);
+    }
+
+    // Clientes frequentes e CPFs sem cadastro repetem a mesma consulta várias vezes ao dia;
+    // falhas de comunicação não são guardadas e voltam a consultar a API na próxima vez.
+    // Com a degradação ligada, a API de pessoas fora do ar não impede o pedido: ele segue anônimo
     public void verificarSeCpfExiste(String cpf) {
         if (cpf == null || cpf.trim().isEmpty()) {
             log.info("CPF não informado - pedido anônimo");
             return;
         }
 
+        // Nos logs deste fluxo vai a chave do cache (HMAC truncado), nunca o CPF
+        String chaveCpf = chaveCache(cpf);
         try {
-            log.info("Verificando se CPF existe na API de pessoas: {}", cpf);
+            ResultadoVerificacaoCpf resultado = resultadosPorCpf.get(chaveCpf, chave -> consultarCpf(cpf, chaveCpf));
+            log.debug("Verificação de CPF {} - resultado: {}", chaveCpf, resultado);
+        } catch (RuntimeException e) {
+            if (!pedidoAnonimoEmFalha || !falhaDeComunicacao(e)) {
+                throw e;
+            }
+            log.warn("Verificação de CPF {} - API de pessoas indisponível, seguindo como pedido anônimo: {}",
+                chaveCpf, e.getMessage());
+        }
+    }
 
-            PessoaExternaDTO pessoa = pessoaFeignClient.buscarPessoaPorCpf(cpf);
+    // A mensagem das exceções do Feign traz a URL da consulta, que tem o CPF no caminho:
+    // nos logs e nas exceções repassadas vai apenas o status HTTP
+    private ResultadoVerificacaoCpf consultarCpf(String cpf, String chaveCpf) {
+        try {
+            log.info("Verificando CPF {} na API de pessoas", chaveCpf);
+
+            PessoaExternaDTO pessoa = protecaoPessoas.executar(() -> pessoaFeignClient.buscarPessoaPorCpf(cpf));
 
             if (pessoa == null) {
-                log.info("CPF {} - API retornou null, tratando como pedido anônimo", cpf);
-                return;
+                log.info("CPF {} - API retornou null, tratando como pedido anônimo", chaveCpf);
+                return ResultadoVerificacaoCpf.ANONIMO;
             }
 
-            log.info("CPF {} - Pessoa encontrada: CPF={}, Nome={}, Email={}, Tipo={}",
-                cpf, pessoa.getCdDocPessoa(), pessoa.getNmPessoa(), pessoa.getDsEmail(), pessoa.getTpPessoa());
-
             // Valida campos obrigatórios (apenas cdDocPessoa é opcional)
 
             // Nome é obrigatório - não pode ser null nem vazio
             if (pessoa.getNmPessoa() == null || pessoa.getNmPessoa().trim().isEmpty()) {
-                log.info("CPF {} - Nome é obrigatório mas está null/vazio, tratando como pedido anônimo", cpf);
-                return;
+                log.info("CPF {} - Nome é obrigatório mas está null/vazio, tratando como pedido anônimo", chaveCpf);
+                return ResultadoVerificacaoCpf.INVALIDO;
             }
 
             // Tipo de pessoa é obrigatório - não pode ser null nem vazio
             if (pessoa.getTpPessoa() == null || pessoa.getTpPessoa().trim().isEmpty()) {
-                log.info("CPF {} - Tipo de pessoa é obrigatório mas está null/vazio, tratando como pedido anônimo", cpf);
-                return;
+                log.info("CPF {} - Tipo de pessoa é obrigatório mas está null/vazio, tratando como pedido anônimo", chaveCpf);
+                return ResultadoVerificacaoCpf.INVALIDO;
             }
 
             // Email é obrigatório - não pode ser null nem vazio
             if (pessoa.getDsEmail() == null || pessoa.getDsEmail().trim().isEmpty()) {
-                log.info("CPF {} - Email é obrigatório mas está null/vazio, tratando como pedido anônimo", cpf);
-                return;
+                log.info("CPF {} - Email é obrigatório mas está null/vazio, tratando como pedido anônimo", chaveCpf);
+                return ResultadoVerificacaoCpf.INVALIDO;
             }
 
             // Apenas cdDocPessoa pode ser null (isso é permitido)
             if (pessoa.getCdDocPessoa() == null) {
-                log.info("CPF {} - cdDocPessoa é null (permitido), pessoa válida com Nome: {}, Email: {}, Tipo: {}",
-                    cpf, pessoa.getNmPessoa(), pessoa.getDsEmail(), pessoa.getTpPessoa());
+                log.info("CPF {} - cdDocPessoa é null (permitido), pessoa válida com Tipo: {}",
+                    chaveCpf, pessoa.getTpPessoa());
             }
 
-            log.info("CPF {} encontrado na API de pessoas - VALIDAÇÃO OK!", cpf);
+            log.info("CPF {} encontrado na API de pessoas - VALIDAÇÃO OK! Tipo: {}", chaveCpf, pessoa.getTpPessoa());
+            return ResultadoVerificacaoCpf.VALIDO;
 
         } catch (PessoaNaoEncontradaException e) {
-            log.warn("CPF {} - PessoaNaoEncontradaException: {}", cpf, e.getMessage());
+            log.warn("CPF {} - PessoaNaoEncontradaException", chaveCpf);
             throw e;
         } catch (FeignException.NotFound e) {
-            log.info("CPF {} - API retornou 404 NotFound, tratando como pedido anônimo: {}", cpf, e.getMessage());
-            return;
+            log.info("CPF {} - API retornou 404 NotFound, tratando como pedido anônimo", chaveCpf);
+            return ResultadoVerificacaoCpf.ANONIMO;
         } catch (FeignException e) {
-            log.error("CPF {} - Erro Feign na API de pessoas: Status={}, Message={}",
-                cpf, e.status(), e.getMessage());
+            log.error("CPF {} - Erro Feign na API de pessoas: Status={}", chaveCpf, e.status());
+            throw new RuntimeException("Erro ao comunicar com serviço de pessoas: Status=" + e.status(), e);
+        } catch (CallNotPermittedException | BulkheadFullException e) {
+            log.warn("Chamada à API de pessoas recusada: {}", e.getMessage());
             throw new RuntimeException("Erro ao comunicar com serviço de pessoas: " + e.getMessage(), e);
         } catch (Exception e) {
-            log.error("CPF {} - Erro inesperado: Tipo={}, Message={}",
-                cpf, e.getClass().getSimpleName(), e.getMessage(), e);
-            throw new RuntimeException("Erro ao comunicar com serviço de pessoas: " + e.getMessage(), e);
+            log.error("CPF {} - Erro inesperado: Tipo={}", chaveCpf, e.getClass().getSimpleName());
+            throw new RuntimeException("Erro ao comunicar com serviço de pessoas: " + e.getClass().getSimpleName(), e);
         }
     }
-}
 
+    private static boolean falhaDeComunicacao(RuntimeException e) {
+        return e.getCause() instanceof FeignException || ProtecaoChamadaExterna.chamadaRejeitada(e.getCause());
+    }
+
+    private String chaveCache(String cpf) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITMO_CHAVE);
+            mac.init(segredoChaveCache);
+            byte[] hash = mac.doFinal(cpf.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().withoutPadding().encodeToString(Arrays.copyOf(hash, TAMANHO_CHAVE_CACHE));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 indisponível na JVM", e);
+        }
+    }
+
+    enum ResultadoVerificacaoCpf {
+        VALIDO,
+        // Cadastro encontrado mas incompleto: segue como anônimo até o cadastro ser corrigido
+        INVALIDO,
+        // CPF sem cadastro na API de pessoas
+        ANONIMO
+    }
+
+    private static final class ExpiracaoPorResultado implements Expiry<String, ResultadoVerificacaoCpf> {
+
+        private final long ttlValidoNanos;
+        private final long ttlInvalidoNanos;
+        private final long ttlAnonimoNanos;
+
+        private ExpiracaoPorResultado(Duration ttlValido, Duration ttlInvalido, Duration ttlAnonimo) {
+            this.ttlValidoNanos = ttlValido.toNanos();
+            this.ttlInvalidoNanos = ttlInvalido.toNanos();
+            this.ttlAnonimoNanos = ttlAnonimo.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(String chave, ResultadoVerificacaoCpf resultado, long tempoAtual) {
+            return switch (resultado) {
+                case VALIDO -> ttlValidoNanos;
+                case INVALIDO -> ttlInvalidoNanos;
+                case ANONIMO -> ttlAnonimoNanos;
+            };
+        }
+
+        @Override
+        public long expireAfterUpdate(String chave, ResultadoVerificacaoCpf resultado,
+                                      long tempoAtual, long duracaoAtual) {
+            return expireAfterCreate(chave, resultado, tempoAtual);
+        }
+
+        @Override
+        public long expireAfterRead(String chave, ResultadoVerificacaoCpf resultado,
+                                    long tempoAtual, long duracaoAtual) {
+            return duracaoAtual;
+        }
+    }
+}
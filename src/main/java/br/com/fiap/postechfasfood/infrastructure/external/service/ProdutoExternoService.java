@@ -5,22 +5,54 @@ import br.com.fiap.postechfasfood.domain.valueobjects.CategoriaProduto;
 import br.com.fiap.postechfasfood.infrastructure.external.client.ProdutoFeignClient;
 import br.com.fiap.postechfasfood.infrastructure.external.dto.ProdutoExternoDTO;
 import feign.FeignException;
-import lombok.RequiredArgsConstructor;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class ProdutoExternoService {
 
     private final ProdutoFeignClient produtoFeignClient;
+    private final ProtecaoChamadaExterna protecaoProdutos;
+    private final ChamadasComHedge hedgeProdutos;
+    private final ChamadasCoalescidas<String, Produto> buscasPorId;
+    private final ChamadasCoalescidas<String, Produto> buscasEmLote;
+
+    public ProdutoExternoService(ProdutoFeignClient produtoFeignClient,
+                                 @Qualifier("protecaoProdutos") ProtecaoChamadaExterna protecaoProdutos,
+                                 @Qualifier("hedgeProdutos") ChamadasComHedge hedgeProdutos,
+                                 MeterRegistry meterRegistry) {
+        this.produtoFeignClient = produtoFeignClient;
+        this.protecaoProdutos = protecaoProdutos;
+        this.hedgeProdutos = hedgeProdutos;
+        this.buscasPorId = new ChamadasCoalescidas<>(meterRegistry, "produtos");
+        this.buscasEmLote = new ChamadasCoalescidas<>(meterRegistry, "produtos-lote");
+    }
 
+    // Com o cache frio (ex.: logo após um deploy), vários checkouts pedem o mesmo produto ao
+    // mesmo tempo; só o primeiro vai à API e os demais compartilham o resultado ou a falha
     public Produto buscarProdutoPorId(String cdProduto) {
+        return buscasPorId.executar(cdProduto, () -> consultarProdutoPorId(cdProduto));
+    }
+
+    private Produto consultarProdutoPorId(String cdProduto) {
         try {
             log.info("Buscando produto por ID na API externa: {}", cdProduto);
 
-            ProdutoExternoDTO produtoDTO = produtoFeignClient.buscarProdutoPorId(cdProduto);
+            // Cada tentativa do hedge passa pela proteção, então a segunda também respeita circuito e bulkhead
+            ProdutoExternoDTO produtoDTO = hedgeProdutos.executar(
+                () -> protecaoProdutos.executar(() -> produtoFeignClient.buscarProdutoPorId(cdProduto)));
 
             if (produtoDTO == null) {
                 log.error("API externa retornou null para produto: {}", cdProduto);
@@ -34,14 +66,7 @@ public class ProdutoExternoService {
 
             log.info("Produto encontrado na API externa: {} - {}", produtoDTO.getCdProduto(), produtoDTO.getNmProduto());
 
-            return new Produto(
-                produtoDTO.getCdProduto(),
-                produtoDTO.getNmProduto(),
-                produtoDTO.getDsDescricao(),
-                produtoDTO.getVlPreco(),
-                produtoDTO.getSnAtivo(),
-                CategoriaProduto.fromString(produtoDTO.getTpCategoria())
-            );
+            return paraProduto(produtoDTO);
 
         } catch (FeignException.NotFound e) {
             log.error("Produto {} não encontrado na API externa (404)", cdProduto);
@@ -53,9 +78,61 @@ public class ProdutoExternoService {
             log.error("Erro de comunicação com API externa para produto {}: Status {} - {}",
                      cdProduto, e.status(), e.getMessage());
             throw new RuntimeException("Erro ao comunicar com serviço de produtos: " + e.getMessage(), e);
+        } catch (CallNotPermittedException | BulkheadFullException e) {
+            log.warn("Chamada à API de produtos recusada para produto {}: {}", cdProduto, e.getMessage());
+            throw new RuntimeException("API de produtos indisponível: " + e.getMessage(), e);
         } catch (Exception e) {
             log.error("Erro inesperado ao buscar produto {}: {}", cdProduto, e.getMessage(), e);
             throw new RuntimeException("Erro interno ao processar produto: " + e.getMessage(), e);
         }
     }
+
+    // O checkout chega aqui pelo getAll do cache, que não junta cargas em lote concorrentes:
+    // cada código em falta é coalescido por si, e só os que ninguém está buscando vão à API
+    public List<Produto> buscarProdutosPorIds(Collection<String> cdProdutos) {
+        return List.copyOf(buscasEmLote.executarEmLote(cdProdutos, this::consultarProdutosPorIds).values());
+    }
+
+    private Map<String, Produto> consultarProdutosPorIds(List<String> cdProdutos) {
+        try {
+            log.info("Buscando {} produtos em lote na API externa", cdProdutos.size());
+
+            // É a consulta do checkout: uma resposta lenta isolada aqui vai direto para o p99
+            List<ProdutoExternoDTO> produtosDTO = hedgeProdutos.executar(
+                () -> protecaoProdutos.executar(() -> produtoFeignClient.buscarProdutosPorIds(cdProdutos)));
+            if (produtosDTO == null) {
+                return Map.of();
+            }
+
+            // Mesma regra da busca individual: inativos ficam de fora; itens não pedidos são ignorados
+            Set<String> solicitados = Set.copyOf(cdProdutos);
+            return produtosDTO.stream()
+                .filter(produtoDTO -> solicitados.contains(produtoDTO.getCdProduto()))
+                .filter(produtoDTO -> Boolean.TRUE.equals(produtoDTO.getSnAtivo()))
+                .map(this::paraProduto)
+                .collect(Collectors.toMap(Produto::getId, Function.identity(), (primeiro, repetido) -> primeiro));
+
+        } catch (FeignException.NotFound | FeignException.MethodNotAllowed | FeignException.NotImplemented e) {
+            log.warn("API de produtos não oferece consulta em lote (status {})", e.status());
+            throw new UnsupportedOperationException("Consulta de produtos em lote não suportada pela API externa", e);
+        } catch (FeignException e) {
+            log.error("Erro de comunicação com API externa na consulta em lote: Status {} - {}",
+                     e.status(), e.getMessage());
+            throw new RuntimeException("Erro ao comunicar com serviço de produtos: " + e.getMessage(), e);
+        } catch (CallNotPermittedException | BulkheadFullException e) {
+            log.warn("Consulta em lote à API de produtos recusada: {}", e.getMessage());
+            throw new RuntimeException("API de produtos indisponível: " + e.getMessage(), e);
+        }
+    }
+
+    private Produto paraProduto(ProdutoExternoDTO produtoDTO) {
+        return new Produto(
+            produtoDTO.getCdProduto(),
+            produtoDTO.getNmProduto(),
+            produtoDTO.getDsDescricao(),
+            produtoDTO.getVlPreco(),
+            produtoDTO.getSnAtivo(),
+            CategoriaProduto.fromString(produtoDTO.getTpCategoria())
+        );
+    }
 }
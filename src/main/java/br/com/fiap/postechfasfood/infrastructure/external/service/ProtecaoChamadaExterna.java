@@ -0,0 +1,57 @@
+package br.com.fiap.postechfasfood.infrastructure.external.service;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.function.Supplier;
+
+/**
+ * Circuit breaker e bulkhead de um serviço externo. O bulkhead fica por fora: com o circuito
+ * aberto a chamada é recusada na hora e libera a vaga, e chamadas recusadas por falta de vaga
+ * não contam como falha do serviço no circuito.
+ */
+public class ProtecaoChamadaExterna {
+
+    static final String METRICA_REJEITADAS = "chamadas.externas.rejeitadas";
+
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final Counter rejeitadasCircuitoAberto;
+    private final Counter rejeitadasBulkheadCheio;
+
+    public ProtecaoChamadaExterna(String servico, CircuitBreaker circuitBreaker, Bulkhead bulkhead,
+                                  MeterRegistry meterRegistry) {
+        this.circuitBreaker = circuitBreaker;
+        this.bulkhead = bulkhead;
+        this.rejeitadasCircuitoAberto = contadorRejeitadas(meterRegistry, servico, "circuito-aberto");
+        this.rejeitadasBulkheadCheio = contadorRejeitadas(meterRegistry, servico, "bulkhead-cheio");
+    }
+
+    public <T> T executar(Supplier<T> chamada) {
+        try {
+            return Bulkhead.decorateSupplier(bulkhead, CircuitBreaker.decorateSupplier(circuitBreaker, chamada)).get();
+        } catch (CallNotPermittedException e) {
+            rejeitadasCircuitoAberto.increment();
+            throw e;
+        } catch (BulkheadFullException e) {
+            rejeitadasBulkheadCheio.increment();
+            throw e;
+        }
+    }
+
+    public static boolean chamadaRejeitada(Throwable falha) {
+        return falha instanceof CallNotPermittedException || falha instanceof BulkheadFullException;
+    }
+
+    private static Counter contadorRejeitadas(MeterRegistry meterRegistry, String servico, String motivo) {
+        return Counter.builder(METRICA_REJEITADAS)
+            .description("Chamadas a serviços externos recusadas sem chegar ao serviço")
+            .tag("servico", servico)
+            .tag("motivo", motivo)
+            .register(meterRegistry);
+    }
+}
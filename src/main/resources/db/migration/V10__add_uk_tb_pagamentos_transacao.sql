@@ -0,0 +1,15 @@
+-- Idempotência do webhook de pagamento: o Mercado Pago reenvia notificações, e cada reenvio
+-- gravava outro pagamento. A chave inclui o status porque a mesma transação pode mudar depois
+-- (ex.: APROVADO e depois CANCELADO), e essa mudança precisa ser aplicada.
+-- Antes da chave única fica só o registro mais antigo de cada transação/status; pagamentos
+-- sem tx_transacao_id (NULL) não entram na unicidade.
+DELETE duplicado
+FROM tb_pagamentos duplicado
+JOIN tb_pagamentos original
+  ON original.tx_transacao_id = duplicado.tx_transacao_id
+ AND original.tx_status_pagamento = duplicado.tx_status_pagamento
+ AND (original.dh_criacao < duplicado.dh_criacao
+      OR (original.dh_criacao = duplicado.dh_criacao AND original.cd_pagamento < duplicado.cd_pagamento));
+
+ALTER TABLE tb_pagamentos
+    ADD UNIQUE KEY UK_PAGAMENTO_TRANSACAO_STATUS (tx_transacao_id, tx_status_pagamento);
@@ -0,0 +1,4 @@
+-- Ordem por pedido na caixa de entrada: um webhook só é reservado quando não há outro
+-- PENDENTE mais antigo do mesmo pedido. A verificação procura por (nr_pedido, tx_situacao)
+-- e compara dh_recebimento.
+CREATE INDEX IDX_WEBHOOK_PEDIDO ON tb_webhooks_pagamento (nr_pedido, tx_situacao, dh_recebimento);
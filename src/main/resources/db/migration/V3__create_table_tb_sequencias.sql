@@ -0,0 +1,9 @@
+CREATE TABLE tb_sequencias (
+    nm_sequencia VARCHAR(50) NOT NULL,
+    nr_proximo_valor INT NOT NULL,
+    dh_ult_atualizacao TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    PRIMARY KEY (nm_sequencia)
+) ENGINE=InnoDB;
+
+INSERT INTO tb_sequencias (nm_sequencia, nr_proximo_valor)
+SELECT 'NR_PEDIDO', COALESCE(MAX(nr_pedido), 0) + 1 FROM tb_pedidos;
@@ -0,0 +1,27 @@
+CREATE TABLE tb_painel_pedidos (
+    cd_pedido VARCHAR(36) NOT NULL,
+    nr_pedido INT NOT NULL,
+    tx_status VARCHAR(50) NOT NULL, -- RECEBIDO, EM_PREPARACAO, PRONTO
+    nr_prioridade TINYINT NOT NULL, -- 1 = PRONTO, 2 = EM_PREPARACAO, 3 = RECEBIDO
+    dh_criacao_pedido TIMESTAMP NOT NULL,
+    tx_resumo_itens VARCHAR(500) NOT NULL DEFAULT '',
+    PRIMARY KEY (cd_pedido),
+    CONSTRAINT FK_PAINEL_PEDIDO
+        FOREIGN KEY (cd_pedido)
+        REFERENCES tb_pedidos(cd_pedido)
+        ON DELETE CASCADE
+        ON UPDATE CASCADE,
+    INDEX IDX_PAINEL_ORDEM (nr_prioridade, dh_criacao_pedido)
+) ENGINE=InnoDB;
+
+INSERT INTO tb_painel_pedidos (cd_pedido, nr_pedido, tx_status, nr_prioridade, dh_criacao_pedido, tx_resumo_itens)
+SELECT p.cd_pedido,
+       p.nr_pedido,
+       p.tx_status,
+       CASE p.tx_status WHEN 'PRONTO' THEN 1 WHEN 'EM_PREPARACAO' THEN 2 ELSE 3 END,
+       p.dh_criacao_pedido,
+       COALESCE(LEFT(GROUP_CONCAT(CONCAT(ip.vl_quantidade, 'x ', ip.nm_produto) ORDER BY ip.id SEPARATOR ', '), 500), '')
+FROM tb_pedidos p
+LEFT JOIN tb_itens_pedido ip ON ip.cd_pedido = p.cd_pedido
+WHERE p.tx_status IN ('RECEBIDO', 'EM_PREPARACAO', 'PRONTO')
+GROUP BY p.cd_pedido, p.nr_pedido, p.tx_status, p.dh_criacao_pedido;
@@ -0,0 +1,32 @@
+CREATE TABLE tb_pedidos_historico (
+    cd_pedido VARCHAR(36) NOT NULL,
+    tx_documento_cliente VARCHAR(50) NULL,
+    tx_status VARCHAR(50) NOT NULL, -- FINALIZADO, CANCELADO
+    nr_pedido INT NOT NULL,
+    vl_total DECIMAL(10,2) NOT NULL DEFAULT 0.00,
+    dh_criacao_pedido TIMESTAMP NOT NULL,
+    dh_ult_atualizacao TIMESTAMP NOT NULL,
+    dh_arquivamento TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (cd_pedido),
+    UNIQUE KEY UK_PEDIDO_HISTORICO_NUMERO (nr_pedido),
+    INDEX IDX_PEDIDO_HISTORICO_CRIACAO (dh_criacao_pedido)
+) ENGINE=InnoDB;
+
+CREATE TABLE tb_itens_pedido_historico (
+    id BIGINT NOT NULL,
+    cd_pedido VARCHAR(36) NOT NULL,
+    nm_produto VARCHAR(255) NOT NULL,
+    cd_produto VARCHAR(50) NOT NULL,
+    vl_quantidade INT NOT NULL,
+    vl_preco_unitario DECIMAL(10,2) NOT NULL,
+    dh_criacao TIMESTAMP NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT FK_ITEM_PEDIDO_HISTORICO
+        FOREIGN KEY (cd_pedido)
+        REFERENCES tb_pedidos_historico(cd_pedido)
+        ON DELETE CASCADE,
+    INDEX IDX_ITEM_PEDIDO_HISTORICO (cd_pedido)
+) ENGINE=InnoDB;
+
+-- Pagamentos continuam na tabela quente e precisam sobreviver ao arquivamento do pedido
+ALTER TABLE tb_pagamentos DROP FOREIGN KEY FK_PAGAMENTO_PEDIDO;
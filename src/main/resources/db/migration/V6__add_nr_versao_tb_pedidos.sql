@@ -0,0 +1,2 @@
+-- Versão otimista usada nas transições de status condicionais (compare-and-set)
+ALTER TABLE tb_pedidos ADD COLUMN nr_versao INT NOT NULL DEFAULT 0 AFTER vl_total;
@@ -0,0 +1,32 @@
+-- Índices compostos alinhados aos filtros + ordenações das consultas dos adapters JDBC,
+-- para que nenhuma delas precise de filesort ou varredura completa
+
+-- listarPorStatus: WHERE tx_status = ? ORDER BY dh_criacao_pedido DESC
+ALTER TABLE tb_pedidos
+    ADD INDEX IDX_PEDIDO_STATUS_CRIACAO (tx_status, dh_criacao_pedido),
+    DROP INDEX IDX_PEDIDO_STATUS;
+
+-- arquivarEncerradosAntesDe: WHERE tx_status IN (...) AND dh_ult_atualizacao < ?
+ALTER TABLE tb_pedidos
+    ADD INDEX IDX_PEDIDO_STATUS_ATUALIZACAO (tx_status, dh_ult_atualizacao);
+
+-- Carga de itens (por pedido e em lotes IN): cobre todas as colunas lidas, já na ordem de id
+-- (o índice antigo só é removido depois que o novo pode atender a FK_ITEM_PEDIDO)
+ALTER TABLE tb_itens_pedido
+    ADD INDEX IDX_ITEM_PEDIDO_COBERTURA (cd_pedido, id, nm_produto, cd_produto, vl_quantidade, vl_preco_unitario);
+
+ALTER TABLE tb_itens_pedido
+    DROP INDEX IDX_ITEM_PEDIDO;
+
+-- Painel: a varredura por prioridade é atendida só pelo índice
+ALTER TABLE tb_painel_pedidos
+    ADD INDEX IDX_PAINEL_ORDEM_COBERTURA (nr_prioridade, dh_criacao_pedido, nr_pedido, tx_status, tx_resumo_itens),
+    DROP INDEX IDX_PAINEL_ORDEM;
+
+-- Pagamentos: WHERE nr_pedido = ? / cd_pedido = ? ORDER BY dh_criacao DESC
+ALTER TABLE tb_pagamentos
+    ADD INDEX IDX_PAGAMENTO_NR_PEDIDO_CRIACAO (nr_pedido, dh_criacao),
+    ADD INDEX IDX_PAGAMENTO_PEDIDO_CRIACAO (cd_pedido, dh_criacao),
+    ADD INDEX IDX_PAGAMENTO_CRIACAO (dh_criacao),
+    DROP INDEX IDX_PAGAMENTO_NR_PEDIDO,
+    DROP INDEX IDX_PAGAMENTO_PEDIDO;
@@ -0,0 +1,67 @@
+-- Identificadores UUID passam de VARCHAR(36) para BINARY(16): chaves de 16 bytes em vez de 36
+-- em todos os índices secundários. Com UUIDs versão 7 (ordenados pelo tempo) os INSERTs
+-- entram no fim da chave primária em vez de páginas aleatórias.
+-- A conversão não troca a ordem dos bytes, pois o UUIDv7 já começa pelo timestamp, e usa
+-- UNHEX/REPLACE em vez de UUID_TO_BIN, que só existe no MySQL 8, para rodar também em MariaDB.
+-- Cada coluna passa por VARBINARY para manter o texto byte a byte antes do UPDATE que grava
+-- os 16 bytes.
+
+ALTER TABLE tb_itens_pedido DROP FOREIGN KEY FK_ITEM_PEDIDO;
+ALTER TABLE tb_painel_pedidos DROP FOREIGN KEY FK_PAINEL_PEDIDO;
+ALTER TABLE tb_itens_pedido_historico DROP FOREIGN KEY FK_ITEM_PEDIDO_HISTORICO;
+
+-- tb_pedidos
+ALTER TABLE tb_pedidos MODIFY cd_pedido VARBINARY(36) NOT NULL;
+UPDATE tb_pedidos SET cd_pedido = UNHEX(REPLACE(CONVERT(cd_pedido USING ascii), '-', ''));
+ALTER TABLE tb_pedidos MODIFY cd_pedido BINARY(16) NOT NULL;
+
+-- tb_itens_pedido
+ALTER TABLE tb_itens_pedido MODIFY cd_pedido VARBINARY(36) NOT NULL;
+UPDATE tb_itens_pedido SET cd_pedido = UNHEX(REPLACE(CONVERT(cd_pedido USING ascii), '-', ''));
+ALTER TABLE tb_itens_pedido MODIFY cd_pedido BINARY(16) NOT NULL;
+
+-- tb_painel_pedidos
+ALTER TABLE tb_painel_pedidos MODIFY cd_pedido VARBINARY(36) NOT NULL;
+UPDATE tb_painel_pedidos SET cd_pedido = UNHEX(REPLACE(CONVERT(cd_pedido USING ascii), '-', ''));
+ALTER TABLE tb_painel_pedidos MODIFY cd_pedido BINARY(16) NOT NULL;
+
+-- tb_pagamentos
+ALTER TABLE tb_pagamentos
+    MODIFY cd_pagamento VARBINARY(36) NOT NULL,
+    MODIFY cd_pedido VARBINARY(36) NOT NULL;
+UPDATE tb_pagamentos
+SET cd_pagamento = UNHEX(REPLACE(CONVERT(cd_pagamento USING ascii), '-', '')),
+    cd_pedido = UNHEX(REPLACE(CONVERT(cd_pedido USING ascii), '-', ''));
+ALTER TABLE tb_pagamentos
+    MODIFY cd_pagamento BINARY(16) NOT NULL,
+    MODIFY cd_pedido BINARY(16) NOT NULL;
+
+-- tb_pedidos_historico
+ALTER TABLE tb_pedidos_historico MODIFY cd_pedido VARBINARY(36) NOT NULL;
+UPDATE tb_pedidos_historico SET cd_pedido = UNHEX(REPLACE(CONVERT(cd_pedido USING ascii), '-', ''));
+ALTER TABLE tb_pedidos_historico MODIFY cd_pedido BINARY(16) NOT NULL;
+
+-- tb_itens_pedido_historico
+ALTER TABLE tb_itens_pedido_historico MODIFY cd_pedido VARBINARY(36) NOT NULL;
+UPDATE tb_itens_pedido_historico SET cd_pedido = UNHEX(REPLACE(CONVERT(cd_pedido USING ascii), '-', ''));
+ALTER TABLE tb_itens_pedido_historico MODIFY cd_pedido BINARY(16) NOT NULL;
+
+ALTER TABLE tb_itens_pedido
+    ADD CONSTRAINT FK_ITEM_PEDIDO
+        FOREIGN KEY (cd_pedido)
+        REFERENCES tb_pedidos(cd_pedido)
+        ON DELETE CASCADE
+        ON UPDATE CASCADE;
+
+ALTER TABLE tb_painel_pedidos
+    ADD CONSTRAINT FK_PAINEL_PEDIDO
+        FOREIGN KEY (cd_pedido)
+        REFERENCES tb_pedidos(cd_pedido)
+        ON DELETE CASCADE
+        ON UPDATE CASCADE;
+
+ALTER TABLE tb_itens_pedido_historico
+    ADD CONSTRAINT FK_ITEM_PEDIDO_HISTORICO
+        FOREIGN KEY (cd_pedido)
+        REFERENCES tb_pedidos_historico(cd_pedido)
+        ON DELETE CASCADE;
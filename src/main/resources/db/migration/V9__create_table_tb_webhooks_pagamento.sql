@@ -0,0 +1,22 @@
+-- Caixa de entrada dos webhooks de pagamento: o webhook é gravado aqui e respondido com 202,
+-- e os workers aplicam o pagamento depois. Linhas processadas são apagadas; as que esgotam
+-- as tentativas ficam como MORTO (dead letter) com o último erro para análise.
+CREATE TABLE tb_webhooks_pagamento (
+    cd_webhook BINARY(16) NOT NULL,
+    nr_pedido INT NOT NULL,
+    tx_status_pagamento VARCHAR(50) NOT NULL,
+    vl_pagamento DECIMAL(10,2) NOT NULL,
+    dh_pagamento TIMESTAMP NOT NULL,
+    tx_transacao_id VARCHAR(100) NULL,
+    tx_origem VARCHAR(50) NULL,
+    tx_situacao VARCHAR(20) NOT NULL DEFAULT 'PENDENTE', -- PENDENTE, MORTO
+    nr_tentativas INT NOT NULL DEFAULT 0,
+    dh_recebimento TIMESTAMP(3) NOT NULL,
+    dh_proxima_tentativa TIMESTAMP(3) NOT NULL,
+    tx_ultimo_erro VARCHAR(500) NULL,
+    PRIMARY KEY (cd_webhook),
+    -- Reserva dos workers: WHERE tx_situacao = 'PENDENTE' AND dh_proxima_tentativa <= ? ORDER BY dh_proxima_tentativa
+    INDEX IDX_WEBHOOK_FILA (tx_situacao, dh_proxima_tentativa),
+    -- Atraso da fila: MIN(dh_recebimento) dos pendentes
+    INDEX IDX_WEBHOOK_RECEBIMENTO (tx_situacao, dh_recebimento)
+) ENGINE=InnoDB;
@@ -0,0 +1,72 @@
+package br.com.fiap.postechfasfood.application.usecases;
+
+import br.com.fiap.postechfasfood.domain.ports.input.ArquivarPedidosUseCase;
+import br.com.fiap.postechfasfood.domain.ports.output.PedidoRepositoryPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Arquivar Pedidos Use Case - Testes")
+class ArquivarPedidosUseCaseImplTest {
+
+    @Mock
+    private PedidoRepositoryPort pedidoRepository;
+
+    private ArquivarPedidosUseCase useCase;
+
+    @BeforeEach
+    void setUp() {
+        useCase = new ArquivarPedidosUseCaseImpl(pedidoRepository);
+    }
+
+    @Test
+    @DisplayName("Deve arquivar em lotes até encontrar um lote incompleto")
+    void deveArquivarEmLotesAteLoteIncompleto() {
+        // Arrange
+        LocalDateTime limite = LocalDateTime.now().minusDays(30);
+        when(pedidoRepository.arquivarEncerradosAntesDe(limite, 100))
+            .thenReturn(100, 100, 37);
+
+        // Act
+        int total = useCase.executar(limite, 100);
+
+        // Assert
+        assertEquals(237, total);
+        verify(pedidoRepository, times(3)).arquivarEncerradosAntesDe(limite, 100);
+    }
+
+    @Test
+    @DisplayName("Deve parar após o primeiro lote quando não houver pedidos a arquivar")
+    void devePararQuandoNaoHouverPedidos() {
+        // Arrange
+        LocalDateTime limite = LocalDateTime.now().minusDays(30);
+        when(pedidoRepository.arquivarEncerradosAntesDe(limite, 100)).thenReturn(0);
+
+        // Act
+        int total = useCase.executar(limite, 100);
+
+        // Assert
+        assertEquals(0, total);
+        verify(pedidoRepository, times(1)).arquivarEncerradosAntesDe(limite, 100);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar parâmetros inválidos")
+    void deveRejeitarParametrosInvalidos() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> useCase.executar(null, 100));
+        assertThrows(IllegalArgumentException.class, () -> useCase.executar(LocalDateTime.now(), 0));
+        verify(pedidoRepository, never()).arquivarEncerradosAntesDe(any(), anyInt());
+    }
+}
@@ -2,7 +2,9 @@ package br.com.fiap.postechfasfood.application.usecases;
 
 import br.com.fiap.postechfasfood.domain.entities.ItemPedido;
 import br.com.fiap.postechfasfood.domain.entities.Pedido;
+import br.com.fiap.postechfasfood.domain.exception.ConflitoAtualizacaoPedidoException;
 import br.com.fiap.postechfasfood.domain.ports.output.PedidoRepositoryPort;
+import br.com.fiap.postechfasfood.domain.valueobjects.ResultadoTransicaoStatus;
 import br.com.fiap.postechfasfood.domain.valueobjects.StatusPedido;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -13,13 +15,13 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,44 +34,35 @@ class AtualizarStatusPedidoUseCaseImplTest {
     @InjectMocks
     private AtualizarStatusPedidoUseCaseImpl useCase;
 
-    private Pedido pedidoMock;
     private String pedidoId;
 
     @BeforeEach
     void setUp() {
         pedidoId = UUID.randomUUID().toString();
-        
-        List<ItemPedido> itens = new ArrayList<>();
-        itens.add(new ItemPedido("Hamburguer", "PROD-001", 2, 15.90));
-
-        pedidoMock = new Pedido.Builder()
-                .id(pedidoId)
-                .documentoCliente("12345678900")
-                .status(StatusPedido.RECEBIDO)
-                .numeroPedido(1)
-                .dataCriacao(LocalDateTime.now())
-                .dataUltimaAtualizacao(LocalDateTime.now())
-                .itens(itens)
-                .build();
     }
 
     @Test
     @DisplayName("Deve atualizar status do pedido com sucesso")
     void deveAtualizarStatusComSucesso() {
-        // Given (Dado): pagamento iniciado para um pedido
+        // Given (Dado): pedido RECEBIDO na versão 0
         StatusPedido novoStatus = StatusPedido.EM_PREPARACAO;
 
-        when(pedidoRepository.buscarPorId(pedidoId)).thenReturn(Optional.of(pedidoMock));
-        when(pedidoRepository.atualizar(any(Pedido.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(pedidoRepository.buscarPorId(pedidoId))
+                .thenReturn(Optional.of(pedido(StatusPedido.RECEBIDO, 0)));
+        when(pedidoRepository.transicionarStatus(pedidoId, StatusPedido.RECEBIDO, 0, novoStatus))
+                .thenReturn(ResultadoTransicaoStatus.SUCESSO);
 
-        // When (Quando): o webhook informa pagamento aprovado
+        // When (Quando): a cozinha inicia o preparo
         Pedido resultado = useCase.executar(pedidoId, novoStatus);
 
-        // Then (Então): o status do pagamento deve ser atualizado para APROVADO
+        // Then (Então): o pedido completo é lido uma vez, antes da gravação condicional,
+        // e a resposta sai dele com o novo status, sem reler
         assertNotNull(resultado);
         assertEquals(novoStatus, resultado.getStatus());
-        verify(pedidoRepository).buscarPorId(pedidoId);
-        verify(pedidoRepository).atualizar(pedidoMock);
+        assertEquals(1, resultado.getItens().size());
+        verify(pedidoRepository, times(1)).buscarPorId(pedidoId);
+        verify(pedidoRepository).transicionarStatus(pedidoId, StatusPedido.RECEBIDO, 0, novoStatus);
+        verifyNoMoreInteractions(pedidoRepository);
     }
 
     @Test
@@ -86,7 +79,7 @@ class AtualizarStatusPedidoUseCaseImplTest {
 
         assertEquals("ID do pedido é obrigatório", exception.getMessage());
         verify(pedidoRepository, never()).buscarPorId(any());
-        verify(pedidoRepository, never()).atualizar(any());
+        verify(pedidoRepository, never()).transicionarStatus(any(), any(), anyInt(), any());
     }
 
     @Test
@@ -135,56 +128,85 @@ class AtualizarStatusPedidoUseCaseImplTest {
 
         assertTrue(exception.getMessage().contains("Pedido não encontrado"));
         verify(pedidoRepository).buscarPorId(pedidoInexistente);
-        verify(pedidoRepository, never()).atualizar(any());
+        verify(pedidoRepository, never()).transicionarStatus(any(), any(), anyInt(), any());
     }
 
     @Test
-    @DisplayName("Deve atualizar de RECEBIDO para EM_PREPARACAO")
-    void deveAtualizarDeRecebidoParaEmPreparacao() {
+    @DisplayName("Deve rejeitar transição ilegal sem tentar gravar")
+    void deveRejeitarTransicaoIlegalSemGravar() {
         // Arrange
-        when(pedidoRepository.buscarPorId(pedidoId)).thenReturn(Optional.of(pedidoMock));
-        when(pedidoRepository.atualizar(any(Pedido.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(pedidoRepository.buscarPorId(pedidoId))
+                .thenReturn(Optional.of(pedido(StatusPedido.RECEBIDO, 4)));
 
-        // Act
-        Pedido resultado = useCase.executar(pedidoId, StatusPedido.EM_PREPARACAO);
+        // Act & Assert
+        IllegalStateException exception = assertThrows(
+                IllegalStateException.class,
+                () -> useCase.executar(pedidoId, StatusPedido.FINALIZADO)
+        );
 
-        // Assert
-        assertEquals(StatusPedido.EM_PREPARACAO, resultado.getStatus());
-        verify(pedidoRepository).atualizar(pedidoMock);
+        assertEquals("Não é possível transicionar de RECEBIDO para FINALIZADO", exception.getMessage());
+        verify(pedidoRepository, never()).transicionarStatus(any(), any(), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("Deve sinalizar conflito quando o pedido mudou desde a leitura")
+    void deveSinalizarConflitoQuandoPedidoMudou() {
+        // Arrange
+        when(pedidoRepository.buscarPorId(pedidoId))
+                .thenReturn(Optional.of(pedido(StatusPedido.EM_PREPARACAO, 2)));
+        when(pedidoRepository.transicionarStatus(pedidoId, StatusPedido.EM_PREPARACAO, 2, StatusPedido.PRONTO))
+                .thenReturn(ResultadoTransicaoStatus.CONFLITO);
+
+        // Act & Assert
+        assertThrows(
+                ConflitoAtualizacaoPedidoException.class,
+                () -> useCase.executar(pedidoId, StatusPedido.PRONTO)
+        );
+        verify(pedidoRepository, times(1)).buscarPorId(pedidoId);
     }
 
     @Test
     @DisplayName("Deve atualizar de EM_PREPARACAO para PRONTO")
     void deveAtualizarDeEmPreparacaoParaPronto() {
         // Arrange
-        pedidoMock.atualizarStatus(StatusPedido.EM_PREPARACAO);
-        
-        when(pedidoRepository.buscarPorId(pedidoId)).thenReturn(Optional.of(pedidoMock));
-        when(pedidoRepository.atualizar(any(Pedido.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(pedidoRepository.buscarPorId(pedidoId))
+                .thenReturn(Optional.of(pedido(StatusPedido.EM_PREPARACAO, 1)));
+        when(pedidoRepository.transicionarStatus(pedidoId, StatusPedido.EM_PREPARACAO, 1, StatusPedido.PRONTO))
+                .thenReturn(ResultadoTransicaoStatus.SUCESSO);
 
         // Act
         Pedido resultado = useCase.executar(pedidoId, StatusPedido.PRONTO);
 
         // Assert
         assertEquals(StatusPedido.PRONTO, resultado.getStatus());
-        verify(pedidoRepository).atualizar(pedidoMock);
     }
 
     @Test
     @DisplayName("Deve atualizar de PRONTO para FINALIZADO")
     void deveAtualizarDeProntoParaFinalizado() {
         // Arrange
-        pedidoMock.atualizarStatus(StatusPedido.EM_PREPARACAO);
-        pedidoMock.atualizarStatus(StatusPedido.PRONTO);
-        
-        when(pedidoRepository.buscarPorId(pedidoId)).thenReturn(Optional.of(pedidoMock));
-        when(pedidoRepository.atualizar(any(Pedido.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(pedidoRepository.buscarPorId(pedidoId))
+                .thenReturn(Optional.of(pedido(StatusPedido.PRONTO, 2)));
+        when(pedidoRepository.transicionarStatus(pedidoId, StatusPedido.PRONTO, 2, StatusPedido.FINALIZADO))
+                .thenReturn(ResultadoTransicaoStatus.SUCESSO);
 
         // Act
         Pedido resultado = useCase.executar(pedidoId, StatusPedido.FINALIZADO);
 
         // Assert
         assertEquals(StatusPedido.FINALIZADO, resultado.getStatus());
-        verify(pedidoRepository).atualizar(pedidoMock);
+    }
+
+    private Pedido pedido(StatusPedido status, int versao) {
+        return new Pedido.Builder()
+                .id(pedidoId)
+                .documentoCliente("12345678900")
+                .status(status)
+                .numeroPedido(1)
+                .dataCriacao(LocalDateTime.now())
+                .dataUltimaAtualizacao(LocalDateTime.now())
+                .itens(List.of(new ItemPedido("Hamburguer", "PROD-001", 2, 15.90)))
+                .versao(versao)
+                .build();
     }
 }
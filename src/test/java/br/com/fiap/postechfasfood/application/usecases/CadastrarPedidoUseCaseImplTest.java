@@ -3,6 +3,7 @@ package br.com.fiap.postechfasfood.application.usecases;
 import br.com.fiap.postechfasfood.domain.entities.ItemPedido;
 import br.com.fiap.postechfasfood.domain.entities.Pedido;
 import br.com.fiap.postechfasfood.domain.entities.Produto;
+import br.com.fiap.postechfasfood.domain.exception.CatalogoIndisponivelException;
 import br.com.fiap.postechfasfood.domain.exception.PessoaNaoEncontradaException;
 import br.com.fiap.postechfasfood.domain.ports.input.CadastrarPedidoUseCase;
 import br.com.fiap.postechfasfood.domain.ports.output.CatalogoServicePort;
@@ -10,6 +11,7 @@ import br.com.fiap.postechfasfood.domain.ports.output.PedidoRepositoryPort;
 import br.com.fiap.postechfasfood.domain.valueobjects.CategoriaProduto;
 import br.com.fiap.postechfasfood.domain.valueobjects.StatusPedido;
 import br.com.fiap.postechfasfood.infrastructure.external.service.PessoaExternaService;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -17,8 +19,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -38,11 +46,20 @@ class CadastrarPedidoUseCaseImplTest {
     @Mock
     private PessoaExternaService pessoaExternaService;
 
+    private ExecutorService executorEtapas;
+
     private CadastrarPedidoUseCase useCase;
 
     @BeforeEach
     void setUp() {
-        useCase = new CadastrarPedidoUseCaseImpl(pedidoRepository, catalogoService, pessoaExternaService);
+        executorEtapas = Executors.newVirtualThreadPerTaskExecutor();
+        useCase = new CadastrarPedidoUseCaseImpl(pedidoRepository, catalogoService, pessoaExternaService,
+            () -> "pedido-gerado", executorEtapas, Duration.ofSeconds(2));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executorEtapas.shutdownNow();
     }
 
     @Test
@@ -62,8 +79,8 @@ class CadastrarPedidoUseCaseImplTest {
 
         doNothing().when(pessoaExternaService).verificarSeCpfExiste(cpf);
 
-        when(catalogoService.buscarProdutoPorCodigo(idProduto))
-            .thenReturn(Optional.of(produto));
+        when(catalogoService.buscarProdutosPorCodigos(Set.of(idProduto)))
+            .thenReturn(Map.of(idProduto, produto));
 
         when(pedidoRepository.gerarProximoNumeroPedido()).thenReturn(1);
         when(pedidoRepository.salvar(any(Pedido.class)))
@@ -82,6 +99,7 @@ class CadastrarPedidoUseCaseImplTest {
 
         // Assert
         assertNotNull(pedido);
+        assertEquals("pedido-gerado", pedido.getId());
         assertEquals(StatusPedido.AGUARDANDO_PAGAMENTO, pedido.getStatus());
         assertEquals(1, pedido.getNumeroPedido());
         assertEquals(cpf, pedido.getDocumentoCliente());
@@ -94,7 +112,7 @@ class CadastrarPedidoUseCaseImplTest {
         assertEquals("X-Burger", item.getNomeProduto());
 
         verify(pessoaExternaService, times(1)).verificarSeCpfExiste(cpf);
-        verify(catalogoService, times(1)).buscarProdutoPorCodigo(idProduto);
+        verify(catalogoService, times(1)).buscarProdutosPorCodigos(Set.of(idProduto));
         verify(pedidoRepository, times(1)).gerarProximoNumeroPedido();
         verify(pedidoRepository, times(1)).salvar(any(Pedido.class));
     }
@@ -110,8 +128,8 @@ class CadastrarPedidoUseCaseImplTest {
         doNothing().when(pessoaExternaService).verificarSeCpfExiste(cpf);
 
         // Mock: produto não encontrado
-        when(catalogoService.buscarProdutoPorCodigo(idProduto))
-            .thenReturn(Optional.empty());
+        when(catalogoService.buscarProdutosPorCodigos(Set.of(idProduto)))
+            .thenReturn(Map.of());
 
         CadastrarPedidoUseCase.CadastrarPedidoRequest request =
             new CadastrarPedidoUseCase.CadastrarPedidoRequest(
@@ -152,8 +170,8 @@ class CadastrarPedidoUseCaseImplTest {
         // Mock da validação de CPF - deve passar
         doNothing().when(pessoaExternaService).verificarSeCpfExiste(cpf);
 
-        when(catalogoService.buscarProdutoPorCodigo(idProduto))
-            .thenReturn(Optional.of(produto));
+        when(catalogoService.buscarProdutosPorCodigos(Set.of(idProduto)))
+            .thenReturn(Map.of(idProduto, produto));
 
         CadastrarPedidoUseCase.CadastrarPedidoRequest request =
             new CadastrarPedidoUseCase.CadastrarPedidoRequest(
@@ -191,7 +209,7 @@ class CadastrarPedidoUseCaseImplTest {
         );
 
         assertTrue(exception.getMessage().contains("pelo menos um item"));
-        verify(catalogoService, never()).buscarProdutoPorCodigo(anyString());
+        verify(catalogoService, never()).buscarProdutosPorCodigos(any());
         verify(pessoaExternaService, never()).verificarSeCpfExiste(anyString());
         verify(pedidoRepository, never()).salvar(any(Pedido.class));
     }
@@ -207,8 +225,8 @@ class CadastrarPedidoUseCaseImplTest {
         // Mock da validação de CPF
         doNothing().when(pessoaExternaService).verificarSeCpfExiste(cpf);
 
-        when(catalogoService.buscarProdutoPorCodigo("lanche-001")).thenReturn(Optional.of(produto1));
-        when(catalogoService.buscarProdutoPorCodigo("bebida-001")).thenReturn(Optional.of(produto2));
+        when(catalogoService.buscarProdutosPorCodigos(Set.of("lanche-001", "bebida-001")))
+            .thenReturn(Map.of("lanche-001", produto1, "bebida-001", produto2));
         when(pedidoRepository.gerarProximoNumeroPedido()).thenReturn(1);
         when(pedidoRepository.salvar(any(Pedido.class)))
             .thenAnswer(invocation -> invocation.getArgument(0));
@@ -257,9 +275,8 @@ class CadastrarPedidoUseCaseImplTest {
         assertTrue(exception.getMessage().contains("não encontrado"));
         assertTrue(exception.getMessage().contains(cpfInexistente));
 
-        // Verificar que não tentou buscar produtos nem salvar pedido
+        // As demais etapas rodam em paralelo e são canceladas; o pedido não é salvo
         verify(pessoaExternaService, times(1)).verificarSeCpfExiste(cpfInexistente);
-        verify(catalogoService, never()).buscarProdutoPorCodigo(anyString());
         verify(pedidoRepository, never()).salvar(any(Pedido.class));
     }
 
@@ -281,8 +298,8 @@ class CadastrarPedidoUseCaseImplTest {
         doNothing().when(pessoaExternaService).verificarSeCpfExiste(null);
 
         // Mock do catálogo
-        when(catalogoService.buscarProdutoPorCodigo(idProduto))
-            .thenReturn(Optional.of(produto));
+        when(catalogoService.buscarProdutosPorCodigos(Set.of(idProduto)))
+            .thenReturn(Map.of(idProduto, produto));
 
         // Mock do repositório
         when(pedidoRepository.gerarProximoNumeroPedido()).thenReturn(1);
@@ -314,7 +331,7 @@ class CadastrarPedidoUseCaseImplTest {
         assertEquals("X-Burger", item.getNomeProduto());
 
         verify(pessoaExternaService, times(1)).verificarSeCpfExiste(null);
-        verify(catalogoService, times(1)).buscarProdutoPorCodigo(idProduto);
+        verify(catalogoService, times(1)).buscarProdutosPorCodigos(Set.of(idProduto));
         verify(pedidoRepository, times(1)).gerarProximoNumeroPedido();
         verify(pedidoRepository, times(1)).salvar(any(Pedido.class));
     }
@@ -337,8 +354,8 @@ class CadastrarPedidoUseCaseImplTest {
         // Mock da validação de CPF - deve aceitar CPF vazio
         doNothing().when(pessoaExternaService).verificarSeCpfExiste(cpfVazio);
 
-        when(catalogoService.buscarProdutoPorCodigo(idProduto))
-            .thenReturn(Optional.of(produto));
+        when(catalogoService.buscarProdutosPorCodigos(Set.of(idProduto)))
+            .thenReturn(Map.of(idProduto, produto));
 
         when(pedidoRepository.gerarProximoNumeroPedido()).thenReturn(1);
         when(pedidoRepository.salvar(any(Pedido.class)))
@@ -363,4 +380,165 @@ class CadastrarPedidoUseCaseImplTest {
 
         verify(pessoaExternaService, times(1)).verificarSeCpfExiste(cpfVazio);
     }
+
+    @Test
+    @DisplayName("Deve consultar uma única vez o produto repetido no pedido")
+    void deveConsultarUmaVezProdutoRepetido() {
+        // Arrange
+        Produto produto = new Produto("lanche-001", "X-Burger", "Desc", 25.90, true, CategoriaProduto.LANCHE);
+        when(catalogoService.buscarProdutosPorCodigos(Set.of("lanche-001")))
+            .thenReturn(Map.of("lanche-001", produto));
+        when(pedidoRepository.gerarProximoNumeroPedido()).thenReturn(1);
+        when(pedidoRepository.salvar(any(Pedido.class)))
+            .thenAnswer(invocation -> invocation.getArgument(0));
+
+        CadastrarPedidoUseCase.CadastrarPedidoRequest request =
+            new CadastrarPedidoUseCase.CadastrarPedidoRequest(
+                "12345678900",
+                List.of(
+                    new CadastrarPedidoUseCase.CadastrarPedidoRequest.ItemPedidoRequest("lanche-001", 1),
+                    new CadastrarPedidoUseCase.CadastrarPedidoRequest.ItemPedidoRequest("lanche-001", 2)
+                )
+            );
+
+        // Act
+        Pedido pedido = useCase.executar(request);
+
+        // Assert - os itens continuam separados, só a consulta é compartilhada
+        assertEquals(2, pedido.getItens().size());
+        assertEquals(77.70, pedido.calcularValorTotal(), 0.01);
+        verify(catalogoService, times(1)).buscarProdutosPorCodigos(Set.of("lanche-001"));
+    }
+
+    @Test
+    @DisplayName("Deve consultar os produtos distintos numa única chamada em lote")
+    void deveConsultarProdutosDistintosEmLote() {
+        // Arrange
+        Produto produto1 = new Produto("lanche-001", "X-Burger", "Desc", 25.90, true, CategoriaProduto.LANCHE);
+        Produto produto2 = new Produto("bebida-001", "Coca-Cola", "Desc", 5.00, true, CategoriaProduto.BEBIDA);
+        when(catalogoService.buscarProdutosPorCodigos(Set.of("lanche-001", "bebida-001")))
+            .thenReturn(Map.of("lanche-001", produto1, "bebida-001", produto2));
+        when(pedidoRepository.gerarProximoNumeroPedido()).thenReturn(1);
+        when(pedidoRepository.salvar(any(Pedido.class)))
+            .thenAnswer(invocation -> invocation.getArgument(0));
+
+        CadastrarPedidoUseCase.CadastrarPedidoRequest request =
+            new CadastrarPedidoUseCase.CadastrarPedidoRequest(
+                "12345678900",
+                List.of(
+                    new CadastrarPedidoUseCase.CadastrarPedidoRequest.ItemPedidoRequest("lanche-001", 1),
+                    new CadastrarPedidoUseCase.CadastrarPedidoRequest.ItemPedidoRequest("bebida-001", 1),
+                    new CadastrarPedidoUseCase.CadastrarPedidoRequest.ItemPedidoRequest("lanche-001", 1)
+                )
+            );
+
+        // Act
+        Pedido pedido = useCase.executar(request);
+
+        // Assert - itens na ordem do pedido
+        assertEquals(3, pedido.getItens().size());
+        assertEquals("X-Burger", pedido.getItens().get(0).getNomeProduto());
+        assertEquals("Coca-Cola", pedido.getItens().get(1).getNomeProduto());
+        assertEquals("X-Burger", pedido.getItens().get(2).getNomeProduto());
+        verify(catalogoService, times(1)).buscarProdutosPorCodigos(any());
+        verify(catalogoService, never()).buscarProdutoPorCodigo(anyString());
+    }
+
+    @Test
+    @DisplayName("Deve lançar CatalogoIndisponivelException quando o prazo das consultas esgotar")
+    void deveLancarExcecaoQuandoPrazoEsgotar() {
+        // Arrange
+        useCase = new CadastrarPedidoUseCaseImpl(pedidoRepository, catalogoService, pessoaExternaService,
+            () -> "pedido-gerado", executorEtapas, Duration.ofMillis(50));
+        when(catalogoService.buscarProdutosPorCodigos(Set.of("lanche-001"))).thenAnswer(invocation -> {
+            Thread.sleep(5_000);
+            return Map.of();
+        });
+
+        CadastrarPedidoUseCase.CadastrarPedidoRequest request =
+            new CadastrarPedidoUseCase.CadastrarPedidoRequest(
+                "12345678900",
+                List.of(new CadastrarPedidoUseCase.CadastrarPedidoRequest.ItemPedidoRequest("lanche-001", 1))
+            );
+
+        // Act & Assert
+        CatalogoIndisponivelException exception = assertThrows(
+            CatalogoIndisponivelException.class,
+            () -> useCase.executar(request)
+        );
+
+        assertTrue(exception.getMessage().contains("Tempo esgotado"));
+        verify(pedidoRepository, never()).salvar(any(Pedido.class));
+    }
+
+    @Test
+    @DisplayName("Deve validar o CPF, consultar produtos e reservar o número ao mesmo tempo")
+    void deveExecutarEtapasDoCheckoutAoMesmoTempo() {
+        // Arrange - cada etapa só termina quando as três já começaram
+        CountDownLatch etapasIniciadas = new CountDownLatch(3);
+        Produto produto = new Produto("lanche-001", "X-Burger", "Hambúrguer", 25.90, true, CategoriaProduto.LANCHE);
+
+        doAnswer(invocation -> aguardarDemaisEtapas(etapasIniciadas, null))
+            .when(pessoaExternaService).verificarSeCpfExiste("12345678900");
+        when(catalogoService.buscarProdutosPorCodigos(Set.of("lanche-001")))
+            .thenAnswer(invocation -> aguardarDemaisEtapas(etapasIniciadas, Map.of("lanche-001", produto)));
+        when(pedidoRepository.gerarProximoNumeroPedido())
+            .thenAnswer(invocation -> aguardarDemaisEtapas(etapasIniciadas, 7));
+        when(pedidoRepository.salvar(any(Pedido.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        CadastrarPedidoUseCase.CadastrarPedidoRequest request =
+            new CadastrarPedidoUseCase.CadastrarPedidoRequest(
+                "12345678900",
+                List.of(new CadastrarPedidoUseCase.CadastrarPedidoRequest.ItemPedidoRequest("lanche-001", 1))
+            );
+
+        // Act
+        Pedido pedido = useCase.executar(request);
+
+        // Assert
+        assertEquals(7, pedido.getNumeroPedido());
+        assertEquals("X-Burger", pedido.getItens().getFirst().getNomeProduto());
+    }
+
+    @Test
+    @DisplayName("Deve cancelar as demais etapas quando a primeira falhar")
+    void deveCancelarDemaisEtapasNaPrimeiraFalha() throws InterruptedException {
+        // Arrange
+        CountDownLatch consultaIniciada = new CountDownLatch(1);
+        CountDownLatch consultaInterrompida = new CountDownLatch(1);
+
+        when(catalogoService.buscarProdutosPorCodigos(Set.of("lanche-001"))).thenAnswer(invocation -> {
+            consultaIniciada.countDown();
+            try {
+                Thread.sleep(5_000);
+            } catch (InterruptedException e) {
+                consultaInterrompida.countDown();
+                throw e;
+            }
+            return Map.of();
+        });
+        doAnswer(invocation -> {
+            consultaIniciada.await(1, TimeUnit.SECONDS);
+            throw new PessoaNaoEncontradaException("CPF 99999999999 não encontrado");
+        }).when(pessoaExternaService).verificarSeCpfExiste("99999999999");
+
+        CadastrarPedidoUseCase.CadastrarPedidoRequest request =
+            new CadastrarPedidoUseCase.CadastrarPedidoRequest(
+                "99999999999",
+                List.of(new CadastrarPedidoUseCase.CadastrarPedidoRequest.ItemPedidoRequest("lanche-001", 1))
+            );
+
+        // Act & Assert
+        assertThrows(PessoaNaoEncontradaException.class, () -> useCase.executar(request));
+        assertTrue(consultaInterrompida.await(1, TimeUnit.SECONDS));
+        verify(pedidoRepository, never()).salvar(any(Pedido.class));
+    }
+
+    private static <T> T aguardarDemaisEtapas(CountDownLatch etapasIniciadas, T resultado) throws InterruptedException {
+        etapasIniciadas.countDown();
+        if (!etapasIniciadas.await(1, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("Etapas do checkout executadas em sequência");
+        }
+        return resultado;
+    }
 }
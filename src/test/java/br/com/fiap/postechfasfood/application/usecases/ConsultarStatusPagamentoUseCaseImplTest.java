@@ -1,9 +1,9 @@
 package br.com.fiap.postechfasfood.application.usecases;
 
 import br.com.fiap.postechfasfood.domain.entities.Pagamento;
-import br.com.fiap.postechfasfood.domain.entities.Pedido;
 import br.com.fiap.postechfasfood.domain.ports.output.PagamentoRepositoryPort;
 import br.com.fiap.postechfasfood.domain.ports.output.PedidoRepositoryPort;
+import br.com.fiap.postechfasfood.domain.valueobjects.PedidoResumo;
 import br.com.fiap.postechfasfood.domain.valueobjects.StatusPagamento;
 import br.com.fiap.postechfasfood.domain.valueobjects.StatusPedido;
 import org.junit.jupiter.api.BeforeEach;
@@ -42,10 +42,10 @@ class ConsultarStatusPagamentoUseCaseImplTest {
     void deveRetornarStatusAprovadoQuandoExiste() {
         // Arrange
         Integer numeroPedido = 1;
-        Pedido pedido = criarPedidoMock(numeroPedido, StatusPedido.RECEBIDO);
+        PedidoResumo pedido = criarPedidoMock(numeroPedido, StatusPedido.RECEBIDO);
         Pagamento pagamento = criarPagamentoMock(numeroPedido, StatusPagamento.APROVADO);
         
-        when(pedidoRepository.buscarPorNumeroPedido(numeroPedido))
+        when(pedidoRepository.buscarResumoPorNumeroPedido(numeroPedido))
             .thenReturn(Optional.of(pedido));
         when(pagamentoRepository.buscarPorNumeroPedido(numeroPedido))
             .thenReturn(Optional.of(pagamento));
@@ -56,7 +56,8 @@ class ConsultarStatusPagamentoUseCaseImplTest {
         // Assert
         assertNotNull(status);
         assertEquals(StatusPagamento.APROVADO, status);
-        verify(pedidoRepository, times(1)).buscarPorNumeroPedido(numeroPedido);
+        verify(pedidoRepository, times(1)).buscarResumoPorNumeroPedido(numeroPedido);
+        verify(pedidoRepository, never()).buscarPorNumeroPedido(any());
         verify(pagamentoRepository, times(1)).buscarPorNumeroPedido(numeroPedido);
     }
     
@@ -65,10 +66,10 @@ class ConsultarStatusPagamentoUseCaseImplTest {
     void deveRetornarStatusRecusadoQuandoExiste() {
         // Arrange
         Integer numeroPedido = 2;
-        Pedido pedido = criarPedidoMock(numeroPedido, StatusPedido.CANCELADO);
+        PedidoResumo pedido = criarPedidoMock(numeroPedido, StatusPedido.CANCELADO);
         Pagamento pagamento = criarPagamentoMock(numeroPedido, StatusPagamento.RECUSADO);
         
-        when(pedidoRepository.buscarPorNumeroPedido(numeroPedido))
+        when(pedidoRepository.buscarResumoPorNumeroPedido(numeroPedido))
             .thenReturn(Optional.of(pedido));
         when(pagamentoRepository.buscarPorNumeroPedido(numeroPedido))
             .thenReturn(Optional.of(pagamento));
@@ -86,9 +87,9 @@ class ConsultarStatusPagamentoUseCaseImplTest {
     void deveRetornarPendenteQuandoNaoHaPagamento() {
         // Arrange
         Integer numeroPedido = 3;
-        Pedido pedido = criarPedidoMock(numeroPedido, StatusPedido.AGUARDANDO_PAGAMENTO);
+        PedidoResumo pedido = criarPedidoMock(numeroPedido, StatusPedido.AGUARDANDO_PAGAMENTO);
         
-        when(pedidoRepository.buscarPorNumeroPedido(numeroPedido))
+        when(pedidoRepository.buscarResumoPorNumeroPedido(numeroPedido))
             .thenReturn(Optional.of(pedido));
         when(pagamentoRepository.buscarPorNumeroPedido(numeroPedido))
             .thenReturn(Optional.empty());
@@ -106,7 +107,7 @@ class ConsultarStatusPagamentoUseCaseImplTest {
     void deveLancarExcecaoQuandoPedidoNaoEncontrado() {
         // Arrange
         Integer numeroPedido = 999;
-        when(pedidoRepository.buscarPorNumeroPedido(numeroPedido))
+        when(pedidoRepository.buscarResumoPorNumeroPedido(numeroPedido))
             .thenReturn(Optional.empty());
         
         // Act & Assert
@@ -129,20 +130,12 @@ class ConsultarStatusPagamentoUseCaseImplTest {
         );
         
         assertEquals("Número do pedido é obrigatório", exception.getMessage());
-        verify(pedidoRepository, never()).buscarPorNumeroPedido(any());
+        verify(pedidoRepository, never()).buscarResumoPorNumeroPedido(any());
         verify(pagamentoRepository, never()).buscarPorNumeroPedido(any());
     }
     
-    private Pedido criarPedidoMock(Integer numeroPedido, StatusPedido status) {
-        return new Pedido(
-            "pedido-" + numeroPedido,
-            "12345678900",
-            status,
-            numeroPedido,
-            LocalDateTime.now(),
-            LocalDateTime.now(),
-            null
-        );
+    private PedidoResumo criarPedidoMock(Integer numeroPedido, StatusPedido status) {
+        return new PedidoResumo("pedido-" + numeroPedido, numeroPedido, status, 0);
     }
     
     private Pagamento criarPagamentoMock(Integer numeroPedido, StatusPagamento status) {
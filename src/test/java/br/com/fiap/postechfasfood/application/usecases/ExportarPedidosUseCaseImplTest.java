@@ -0,0 +1,63 @@
+package br.com.fiap.postechfasfood.application.usecases;
+
+import br.com.fiap.postechfasfood.domain.entities.Pedido;
+import br.com.fiap.postechfasfood.domain.ports.input.ExportarPedidosUseCase;
+import br.com.fiap.postechfasfood.domain.ports.output.PedidoRepositoryPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Exportar Pedidos Use Case - Testes")
+class ExportarPedidosUseCaseImplTest {
+
+    @Mock
+    private PedidoRepositoryPort pedidoRepository;
+
+    @Mock
+    private Consumer<Pedido> consumidor;
+
+    private ExportarPedidosUseCase useCase;
+
+    @BeforeEach
+    void setUp() {
+        useCase = new ExportarPedidosUseCaseImpl(pedidoRepository);
+    }
+
+    @Test
+    @DisplayName("Deve repassar o período e o consumidor ao repositório")
+    void deveRepassarPeriodoAoRepositorio() {
+        // Arrange
+        LocalDateTime inicio = LocalDateTime.of(2025, 1, 10, 0, 0);
+        LocalDateTime fim = inicio.plusDays(1);
+
+        // Act
+        useCase.executar(inicio, fim, consumidor);
+
+        // Assert
+        verify(pedidoRepository).percorrerPorPeriodo(inicio, fim, consumidor);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar período com fim anterior ou igual ao início")
+    void deveRejeitarPeriodoInvalido() {
+        // Arrange
+        LocalDateTime inicio = LocalDateTime.of(2025, 1, 10, 0, 0);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> useCase.executar(inicio, inicio, consumidor));
+        assertThrows(IllegalArgumentException.class, () -> useCase.executar(inicio, inicio.minusHours(1), consumidor));
+        assertThrows(IllegalArgumentException.class, () -> useCase.executar(null, inicio, consumidor));
+        verify(pedidoRepository, never()).percorrerPorPeriodo(any(), any(), any());
+    }
+}
@@ -0,0 +1,51 @@
+package br.com.fiap.postechfasfood.application.usecases;
+
+import br.com.fiap.postechfasfood.domain.ports.input.ListarPainelPedidosUseCase;
+import br.com.fiap.postechfasfood.domain.ports.output.PedidoRepositoryPort;
+import br.com.fiap.postechfasfood.domain.valueobjects.PedidoPainel;
+import br.com.fiap.postechfasfood.domain.valueobjects.StatusPedido;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Listar Painel Pedidos Use Case - Testes")
+class ListarPainelPedidosUseCaseImplTest {
+
+    @Mock
+    private PedidoRepositoryPort pedidoRepository;
+
+    private ListarPainelPedidosUseCase useCase;
+
+    @BeforeEach
+    void setUp() {
+        useCase = new ListarPainelPedidosUseCaseImpl(pedidoRepository);
+    }
+
+    @Test
+    @DisplayName("Deve retornar o painel da tabela de leitura sem carregar pedidos completos")
+    void deveRetornarPainelDaTabelaDeLeitura() {
+        // Arrange
+        List<PedidoPainel> painel = List.of(
+            new PedidoPainel("pedido-1", 1, StatusPedido.PRONTO, LocalDateTime.now(), "1x Hamburguer")
+        );
+        when(pedidoRepository.listarPainel()).thenReturn(painel);
+
+        // Act
+        List<PedidoPainel> resultado = useCase.executar();
+
+        // Assert
+        assertEquals(painel, resultado);
+        verify(pedidoRepository).listarPainel();
+        verifyNoMoreInteractions(pedidoRepository);
+    }
+}
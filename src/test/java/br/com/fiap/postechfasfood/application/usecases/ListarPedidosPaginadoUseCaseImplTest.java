@@ -0,0 +1,96 @@
+package br.com.fiap.postechfasfood.application.usecases;
+
+import br.com.fiap.postechfasfood.domain.entities.Pedido;
+import br.com.fiap.postechfasfood.domain.ports.input.ListarPedidosPaginadoUseCase;
+import br.com.fiap.postechfasfood.domain.ports.output.PedidoRepositoryPort;
+import br.com.fiap.postechfasfood.domain.valueobjects.CursorPedido;
+import br.com.fiap.postechfasfood.domain.valueobjects.PaginaPedidos;
+import br.com.fiap.postechfasfood.domain.valueobjects.StatusPedido;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Listar Pedidos Paginado Use Case - Testes")
+class ListarPedidosPaginadoUseCaseImplTest {
+
+    @Mock
+    private PedidoRepositoryPort pedidoRepository;
+
+    private ListarPedidosPaginadoUseCase useCase;
+
+    @BeforeEach
+    void setUp() {
+        useCase = new ListarPedidosPaginadoUseCaseImpl(pedidoRepository);
+    }
+
+    @Test
+    @DisplayName("Deve retornar primeira página com cursor para a próxima")
+    void deveRetornarPrimeiraPaginaComCursor() {
+        // Arrange
+        Pedido pedido = criarPedido(1);
+        CursorPedido proximo = new CursorPedido(pedido.getDataCriacao(), pedido.getId());
+        when(pedidoRepository.listarPagina(null, 1))
+            .thenReturn(new PaginaPedidos(List.of(pedido), proximo));
+
+        // Act
+        PaginaPedidos pagina = useCase.executar(null, 1);
+
+        // Assert
+        assertEquals(1, pagina.pedidos().size());
+        assertTrue(pagina.temProximaPagina());
+        assertEquals(proximo, pagina.proximoCursor());
+    }
+
+    @Test
+    @DisplayName("Deve repassar o cursor recebido ao repositório")
+    void deveRepassarCursorAoRepositorio() {
+        // Arrange
+        CursorPedido cursor = new CursorPedido(LocalDateTime.now(), UUID.randomUUID().toString());
+        when(pedidoRepository.listarPagina(cursor, 20))
+            .thenReturn(new PaginaPedidos(List.of(), null));
+
+        // Act
+        PaginaPedidos pagina = useCase.executar(cursor, 20);
+
+        // Assert
+        assertTrue(pagina.pedidos().isEmpty());
+        assertFalse(pagina.temProximaPagina());
+        verify(pedidoRepository).listarPagina(cursor, 20);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar limite fora da faixa permitida")
+    void deveRejeitarLimiteForaDaFaixa() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> useCase.executar(null, 0));
+        assertThrows(IllegalArgumentException.class,
+            () -> useCase.executar(null, ListarPedidosPaginadoUseCase.LIMITE_MAXIMO + 1));
+        verify(pedidoRepository, never()).listarPagina(any(), anyInt());
+    }
+
+    private Pedido criarPedido(int numeroPedido) {
+        return new Pedido.Builder()
+            .id(UUID.randomUUID().toString())
+            .documentoCliente("12345678900")
+            .status(StatusPedido.RECEBIDO)
+            .numeroPedido(numeroPedido)
+            .dataCriacao(LocalDateTime.now())
+            .dataUltimaAtualizacao(LocalDateTime.now())
+            .itens(new ArrayList<>())
+            .build();
+    }
+}
@@ -0,0 +1,137 @@
+package br.com.fiap.postechfasfood.application.usecases;
+
+import br.com.fiap.postechfasfood.domain.ports.input.ProcessarWebhookPagamentoUseCase;
+import br.com.fiap.postechfasfood.domain.ports.input.ProcessarWebhookPagamentoUseCase.ResultadoWebhookPagamento;
+import br.com.fiap.postechfasfood.domain.ports.input.ProcessarWebhookPagamentoUseCase.WebhookPagamentoRequest;
+import br.com.fiap.postechfasfood.domain.valueobjects.StatusPagamento;
+import br.com.fiap.postechfasfood.domain.valueobjects.StatusPedido;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Processar Webhook Pagamento serializado por pedido - Testes")
+class ProcessarWebhookPagamentoSerializadoPorPedidoTest {
+
+    @Mock
+    private ProcessarWebhookPagamentoUseCase delegate;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private ProcessarWebhookPagamentoSerializadoPorPedido useCase;
+
+    @BeforeEach
+    void setUp() {
+        useCase = new ProcessarWebhookPagamentoSerializadoPorPedido(delegate, 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Deve aplicar um webhook de cada vez para o mesmo pedido")
+    void deveSerializarWebhooksDoMesmoPedido() throws Exception {
+        // Arrange
+        CountDownLatch primeiroEntrou = new CountDownLatch(1);
+        CountDownLatch liberarPrimeiro = new CountDownLatch(1);
+        AtomicInteger emExecucao = new AtomicInteger();
+        AtomicInteger maximoSimultaneo = new AtomicInteger();
+        when(delegate.executar(any())).thenAnswer(invocation -> {
+            maximoSimultaneo.accumulateAndGet(emExecucao.incrementAndGet(), Math::max);
+            WebhookPagamentoRequest request = invocation.getArgument(0);
+            if (request.statusPagamento() == StatusPagamento.APROVADO) {
+                primeiroEntrou.countDown();
+                liberarPrimeiro.await(5, TimeUnit.SECONDS);
+            }
+            emExecucao.decrementAndGet();
+            return new ResultadoWebhookPagamento(request.numeroPedido(), StatusPedido.RECEBIDO, false);
+        });
+        Future<ResultadoWebhookPagamento> aprovado =
+            executor.submit(() -> useCase.executar(criarRequest(1, StatusPagamento.APROVADO)));
+        assertTrue(primeiroEntrou.await(5, TimeUnit.SECONDS));
+
+        // Act
+        Future<ResultadoWebhookPagamento> cancelado =
+            executor.submit(() -> useCase.executar(criarRequest(1, StatusPagamento.CANCELADO)));
+
+        // Assert - o segundo espera o primeiro terminar
+        verify(delegate, after(200).times(1)).executar(any());
+        assertFalse(cancelado.isDone());
+        liberarPrimeiro.countDown();
+        assertNotNull(aprovado.get(5, TimeUnit.SECONDS));
+        assertNotNull(cancelado.get(5, TimeUnit.SECONDS));
+        assertEquals(1, maximoSimultaneo.get());
+    }
+
+    @Test
+    @DisplayName("Deve aplicar em paralelo webhooks de pedidos diferentes")
+    void deveAplicarEmParaleloPedidosDiferentes() throws Exception {
+        // Arrange
+        CountDownLatch primeiroEntrou = new CountDownLatch(1);
+        CountDownLatch liberarPrimeiro = new CountDownLatch(1);
+        when(delegate.executar(any())).thenAnswer(invocation -> {
+            WebhookPagamentoRequest request = invocation.getArgument(0);
+            if (request.numeroPedido() == 1) {
+                primeiroEntrou.countDown();
+                liberarPrimeiro.await(5, TimeUnit.SECONDS);
+            }
+            return new ResultadoWebhookPagamento(request.numeroPedido(), StatusPedido.RECEBIDO, false);
+        });
+        Future<ResultadoWebhookPagamento> pedidoBloqueado =
+            executor.submit(() -> useCase.executar(criarRequest(1, StatusPagamento.APROVADO)));
+        assertTrue(primeiroEntrou.await(5, TimeUnit.SECONDS));
+
+        // Act - pedido 2 cai em outra faixa
+        ResultadoWebhookPagamento resultado =
+            executor.submit(() -> useCase.executar(criarRequest(2, StatusPagamento.APROVADO)))
+                .get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(2, resultado.numeroPedido());
+        assertFalse(pedidoBloqueado.isDone());
+        liberarPrimeiro.countDown();
+        assertNotNull(pedidoBloqueado.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Deve repassar a validação de request nulo ao caso de uso")
+    void deveRepassarRequestNulo() {
+        // Arrange
+        IllegalArgumentException invalido = new IllegalArgumentException("Dados do webhook inválidos");
+        when(delegate.executar(null)).thenThrow(invalido);
+
+        // Act & Assert
+        assertSame(invalido, assertThrows(IllegalArgumentException.class, () -> useCase.executar(null)));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar número de faixas menor que um")
+    void deveRejeitarNumeroDeFaixasInvalido() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+            () -> new ProcessarWebhookPagamentoSerializadoPorPedido(delegate, 0));
+    }
+
+    private static WebhookPagamentoRequest criarRequest(Integer numeroPedido, StatusPagamento status) {
+        return new WebhookPagamentoRequest(numeroPedido, status, BigDecimal.valueOf(68.00),
+            LocalDateTime.now(), "MP-" + numeroPedido + "-" + status, "MERCADO_PAGO");
+    }
+}
@@ -1,10 +1,13 @@
 package br.com.fiap.postechfasfood.application.usecases;
 
 import br.com.fiap.postechfasfood.domain.entities.Pagamento;
-import br.com.fiap.postechfasfood.domain.entities.Pedido;
+import br.com.fiap.postechfasfood.domain.exception.ConflitoAtualizacaoPedidoException;
+import br.com.fiap.postechfasfood.domain.exception.PagamentoDuplicadoException;
 import br.com.fiap.postechfasfood.domain.ports.input.ProcessarWebhookPagamentoUseCase;
 import br.com.fiap.postechfasfood.domain.ports.output.PagamentoRepositoryPort;
 import br.com.fiap.postechfasfood.domain.ports.output.PedidoRepositoryPort;
+import br.com.fiap.postechfasfood.domain.valueobjects.PedidoResumo;
+import br.com.fiap.postechfasfood.domain.valueobjects.ResultadoTransicaoStatus;
 import br.com.fiap.postechfasfood.domain.valueobjects.StatusPagamento;
 import br.com.fiap.postechfasfood.domain.valueobjects.StatusPedido;
 import org.junit.jupiter.api.BeforeEach;
@@ -21,6 +24,7 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -37,7 +41,7 @@ class ProcessarWebhookPagamentoUseCaseImplTest {
     
     @BeforeEach
     void setUp() {
-        useCase = new ProcessarWebhookPagamentoUseCaseImpl(pedidoRepository, pagamentoRepository);
+        useCase = new ProcessarWebhookPagamentoUseCaseImpl(pedidoRepository, pagamentoRepository, 100);
     }
     
     @Test
@@ -45,12 +49,12 @@ class ProcessarWebhookPagamentoUseCaseImplTest {
     void deveProcessarPagamentoAprovadoComSucesso() {
         // Arrange
         Integer numeroPedido = 1;
-        Pedido pedido = criarPedidoMock(numeroPedido, StatusPedido.AGUARDANDO_PAGAMENTO);
+        PedidoResumo pedido = criarPedidoMock(numeroPedido, StatusPedido.AGUARDANDO_PAGAMENTO);
         
-        when(pedidoRepository.buscarPorNumeroPedido(numeroPedido))
+        when(pedidoRepository.buscarResumoPorNumeroPedido(numeroPedido))
             .thenReturn(Optional.of(pedido));
-        when(pedidoRepository.atualizar(any(Pedido.class)))
-            .thenAnswer(invocation -> invocation.getArgument(0));
+        when(pedidoRepository.transicionarStatus(any(), any(), anyInt(), any()))
+            .thenReturn(ResultadoTransicaoStatus.SUCESSO);
         when(pagamentoRepository.salvar(any(Pagamento.class)))
             .thenAnswer(invocation -> invocation.getArgument(0));
         
@@ -65,11 +69,12 @@ class ProcessarWebhookPagamentoUseCaseImplTest {
             );
         
         // Act
-        useCase.executar(request);
+        ProcessarWebhookPagamentoUseCase.ResultadoWebhookPagamento resultado = useCase.executar(request);
         
         // Assert
-        assertEquals(StatusPedido.RECEBIDO, pedido.getStatus());
-
+        assertEquals(numeroPedido, resultado.numeroPedido());
+        assertEquals(StatusPedido.RECEBIDO, resultado.statusPedido());
+        assertFalse(resultado.duplicado());
         ArgumentCaptor<Pagamento> pagamentoCaptor = ArgumentCaptor.forClass(Pagamento.class);
         verify(pagamentoRepository, times(1)).salvar(pagamentoCaptor.capture());
         
@@ -80,7 +85,9 @@ class ProcessarWebhookPagamentoUseCaseImplTest {
         assertEquals(BigDecimal.valueOf(68.00), pagamentoSalvo.getValor());
         assertEquals("MP-123456789", pagamentoSalvo.getTransacaoId());
 
-        verify(pedidoRepository, times(1)).atualizar(pedido);
+        verify(pedidoRepository, times(1)).transicionarStatus(
+            "pedido-1", StatusPedido.AGUARDANDO_PAGAMENTO, 0, StatusPedido.RECEBIDO);
+        verify(pedidoRepository, never()).buscarPorNumeroPedido(any());
     }
     
     @Test
@@ -88,12 +95,12 @@ class ProcessarWebhookPagamentoUseCaseImplTest {
     void deveProcessarPagamentoRecusadoECancelarPedido() {
         // Arrange
         Integer numeroPedido = 2;
-        Pedido pedido = criarPedidoMock(numeroPedido, StatusPedido.AGUARDANDO_PAGAMENTO);
+        PedidoResumo pedido = criarPedidoMock(numeroPedido, StatusPedido.AGUARDANDO_PAGAMENTO);
         
-        when(pedidoRepository.buscarPorNumeroPedido(numeroPedido))
+        when(pedidoRepository.buscarResumoPorNumeroPedido(numeroPedido))
             .thenReturn(Optional.of(pedido));
-        when(pedidoRepository.atualizar(any(Pedido.class)))
-            .thenAnswer(invocation -> invocation.getArgument(0));
+        when(pedidoRepository.transicionarStatus(any(), any(), anyInt(), any()))
+            .thenReturn(ResultadoTransicaoStatus.SUCESSO);
         when(pagamentoRepository.salvar(any(Pagamento.class)))
             .thenAnswer(invocation -> invocation.getArgument(0));
         
@@ -111,9 +118,9 @@ class ProcessarWebhookPagamentoUseCaseImplTest {
         useCase.executar(request);
         
         // Assert
-        assertEquals(StatusPedido.CANCELADO, pedido.getStatus());
         verify(pagamentoRepository, times(1)).salvar(any(Pagamento.class));
-        verify(pedidoRepository, times(1)).atualizar(pedido);
+        verify(pedidoRepository, times(1)).transicionarStatus(
+            "pedido-2", StatusPedido.AGUARDANDO_PAGAMENTO, 0, StatusPedido.CANCELADO);
     }
     
     @Test
@@ -121,7 +128,7 @@ class ProcessarWebhookPagamentoUseCaseImplTest {
     void deveLancarExcecaoQuandoPedidoNaoEncontrado() {
         // Arrange
         Integer numeroPedido = 999;
-        when(pedidoRepository.buscarPorNumeroPedido(numeroPedido))
+        when(pedidoRepository.buscarResumoPorNumeroPedido(numeroPedido))
             .thenReturn(Optional.empty());
         
         ProcessarWebhookPagamentoUseCase.WebhookPagamentoRequest request = 
@@ -142,7 +149,7 @@ class ProcessarWebhookPagamentoUseCaseImplTest {
         
         assertEquals("Pedido não encontrado: " + numeroPedido, exception.getMessage());
         verify(pagamentoRepository, never()).salvar(any(Pagamento.class));
-        verify(pedidoRepository, never()).atualizar(any(Pedido.class));
+        verify(pedidoRepository, never()).transicionarStatus(any(), any(), anyInt(), any());
     }
     
     @Test
@@ -162,9 +169,9 @@ class ProcessarWebhookPagamentoUseCaseImplTest {
     void naoDeveAtualizarPedidoJaRecebido() {
         // Arrange
         Integer numeroPedido = 3;
-        Pedido pedido = criarPedidoMock(numeroPedido, StatusPedido.RECEBIDO);
+        PedidoResumo pedido = criarPedidoMock(numeroPedido, StatusPedido.RECEBIDO);
         
-        when(pedidoRepository.buscarPorNumeroPedido(numeroPedido))
+        when(pedidoRepository.buscarResumoPorNumeroPedido(numeroPedido))
             .thenReturn(Optional.of(pedido));
         when(pagamentoRepository.salvar(any(Pagamento.class)))
             .thenAnswer(invocation -> invocation.getArgument(0));
@@ -180,21 +187,156 @@ class ProcessarWebhookPagamentoUseCaseImplTest {
             );
         
         // Act
-        useCase.executar(request);
+        ProcessarWebhookPagamentoUseCase.ResultadoWebhookPagamento resultado = useCase.executar(request);
 
+        assertEquals(StatusPedido.RECEBIDO, resultado.statusPedido());
+        verify(pagamentoRepository, times(1)).salvar(any(Pagamento.class));
+        verify(pedidoRepository, never()).transicionarStatus(any(), any(), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("Deve sinalizar conflito quando o pedido mudou durante o processamento")
+    void deveSinalizarConflitoQuandoPedidoMudou() {
+        // Arrange
+        Integer numeroPedido = 4;
+        when(pedidoRepository.buscarResumoPorNumeroPedido(numeroPedido))
+            .thenReturn(Optional.of(criarPedidoMock(numeroPedido, StatusPedido.AGUARDANDO_PAGAMENTO)));
+        when(pedidoRepository.transicionarStatus(any(), any(), anyInt(), any()))
+            .thenReturn(ResultadoTransicaoStatus.CONFLITO);
+        
+        ProcessarWebhookPagamentoUseCase.WebhookPagamentoRequest request = 
+            new ProcessarWebhookPagamentoUseCase.WebhookPagamentoRequest(
+                numeroPedido,
+                StatusPagamento.APROVADO,
+                BigDecimal.valueOf(68.00),
+                LocalDateTime.now(),
+                "MP-123456789",
+                "MERCADO_PAGO"
+            );
+        
+        // Act & Assert
+        assertThrows(ConflitoAtualizacaoPedidoException.class, () -> useCase.executar(request));
+    }
+    
+    @Test
+    @DisplayName("Deve ignorar a reentrega de uma transação já processada sem acessar o banco")
+    void deveIgnorarReentregaSemAcessarBanco() {
+        // Arrange
+        Integer numeroPedido = 5;
+        when(pedidoRepository.buscarResumoPorNumeroPedido(numeroPedido))
+            .thenReturn(Optional.of(criarPedidoMock(numeroPedido, StatusPedido.AGUARDANDO_PAGAMENTO)));
+        when(pedidoRepository.transicionarStatus(any(), any(), anyInt(), any()))
+            .thenReturn(ResultadoTransicaoStatus.SUCESSO);
+        ProcessarWebhookPagamentoUseCase.WebhookPagamentoRequest request = criarRequest(
+            numeroPedido, StatusPagamento.APROVADO, "MP-555");
+        useCase.executar(request);
+        
+        // Act
+        ProcessarWebhookPagamentoUseCase.ResultadoWebhookPagamento resultado = useCase.executar(request);
+        
+        // Assert
+        assertTrue(resultado.duplicado());
+        assertEquals(StatusPedido.RECEBIDO, resultado.statusPedido());
+        verify(pedidoRepository, times(1)).buscarResumoPorNumeroPedido(numeroPedido);
         verify(pagamentoRepository, times(1)).salvar(any(Pagamento.class));
-        verify(pedidoRepository, never()).atualizar(any(Pedido.class));
+        verify(pedidoRepository, times(1)).transicionarStatus(any(), any(), anyInt(), any());
     }
     
-    private Pedido criarPedidoMock(Integer numeroPedido, StatusPedido status) {
-        return new Pedido(
-            "pedido-" + numeroPedido,
-            "12345678900",
-            status,
+    @Test
+    @DisplayName("Deve processar mudança de status da mesma transação")
+    void deveProcessarMudancaDeStatusDaMesmaTransacao() {
+        // Arrange
+        Integer numeroPedido = 6;
+        when(pedidoRepository.buscarResumoPorNumeroPedido(numeroPedido))
+            .thenReturn(Optional.of(criarPedidoMock(numeroPedido, StatusPedido.AGUARDANDO_PAGAMENTO)))
+            .thenReturn(Optional.of(criarPedidoMock(numeroPedido, StatusPedido.RECEBIDO)));
+        when(pedidoRepository.transicionarStatus(any(), any(), anyInt(), any()))
+            .thenReturn(ResultadoTransicaoStatus.SUCESSO);
+        useCase.executar(criarRequest(numeroPedido, StatusPagamento.APROVADO, "MP-556"));
+        
+        // Act
+        useCase.executar(criarRequest(numeroPedido, StatusPagamento.CANCELADO, "MP-556"));
+        
+        // Assert
+        verify(pagamentoRepository, times(2)).salvar(any(Pagamento.class));
+        verify(pedidoRepository).transicionarStatus("pedido-" + numeroPedido, StatusPedido.RECEBIDO, 0,
+            StatusPedido.CANCELADO);
+    }
+    
+    @Test
+    @DisplayName("Deve seguir para a transição quando o pagamento já estiver gravado no banco")
+    void deveSeguirParaTransicaoComPagamentoJaGravado() {
+        // Arrange
+        Integer numeroPedido = 7;
+        PagamentoDuplicadoException duplicado =
+            new PagamentoDuplicadoException("Pagamento APROVADO já registrado para a transação: MP-557");
+        when(pedidoRepository.buscarResumoPorNumeroPedido(numeroPedido))
+            .thenReturn(Optional.of(criarPedidoMock(numeroPedido, StatusPedido.AGUARDANDO_PAGAMENTO)));
+        when(pagamentoRepository.salvar(any(Pagamento.class))).thenThrow(duplicado);
+        when(pedidoRepository.transicionarStatus(any(), any(), anyInt(), any()))
+            .thenReturn(ResultadoTransicaoStatus.SUCESSO);
+        
+        // Act
+        useCase.executar(criarRequest(numeroPedido, StatusPagamento.APROVADO, "MP-557"));
+        
+        // Assert - entrega anterior gravou o pagamento mas não chegou a mover o pedido
+        verify(pedidoRepository).transicionarStatus("pedido-" + numeroPedido, StatusPedido.AGUARDANDO_PAGAMENTO, 0,
+            StatusPedido.RECEBIDO);
+    }
+    
+    @Test
+    @DisplayName("Deve processar de novo a transação que saiu do filtro de recentes")
+    void deveProcessarDeNovoTransacaoForaDoFiltro() {
+        // Arrange
+        useCase = new ProcessarWebhookPagamentoUseCaseImpl(pedidoRepository, pagamentoRepository, 1);
+        when(pedidoRepository.buscarResumoPorNumeroPedido(anyInt()))
+            .thenAnswer(invocation -> Optional.of(criarPedidoMock(invocation.getArgument(0), StatusPedido.RECEBIDO)));
+        useCase.executar(criarRequest(8, StatusPagamento.APROVADO, "MP-558"));
+        useCase.executar(criarRequest(9, StatusPagamento.APROVADO, "MP-559"));
+        
+        // Act
+        useCase.executar(criarRequest(8, StatusPagamento.APROVADO, "MP-558"));
+        
+        // Assert - capacidade 1: MP-558 foi descartada ao entrar MP-559
+        verify(pedidoRepository, times(2)).buscarResumoPorNumeroPedido(8);
+    }
+    
+    @Test
+    @DisplayName("Deve processar o webhook com uma leitura e duas escritas, sem reler o pedido")
+    void deveProcessarComUmaLeituraEDuasEscritas() {
+        // Arrange
+        Integer numeroPedido = 10;
+        when(pedidoRepository.buscarResumoPorNumeroPedido(numeroPedido))
+            .thenReturn(Optional.of(criarPedidoMock(numeroPedido, StatusPedido.AGUARDANDO_PAGAMENTO)));
+        when(pedidoRepository.transicionarStatus(any(), any(), anyInt(), any()))
+            .thenReturn(ResultadoTransicaoStatus.SUCESSO);
+        
+        // Act
+        ProcessarWebhookPagamentoUseCase.ResultadoWebhookPagamento resultado =
+            useCase.executar(criarRequest(numeroPedido, StatusPagamento.RECUSADO, "MP-560"));
+        
+        // Assert
+        assertEquals(StatusPedido.CANCELADO, resultado.statusPedido());
+        verify(pedidoRepository, times(1)).buscarResumoPorNumeroPedido(numeroPedido);
+        verify(pagamentoRepository, times(1)).salvar(any(Pagamento.class));
+        verify(pedidoRepository, times(1)).transicionarStatus("pedido-" + numeroPedido,
+            StatusPedido.AGUARDANDO_PAGAMENTO, 0, StatusPedido.CANCELADO);
+        verifyNoMoreInteractions(pedidoRepository, pagamentoRepository);
+    }
+    
+    private ProcessarWebhookPagamentoUseCase.WebhookPagamentoRequest criarRequest(
+            Integer numeroPedido, StatusPagamento status, String transacaoId) {
+        return new ProcessarWebhookPagamentoUseCase.WebhookPagamentoRequest(
             numeroPedido,
+            status,
+            BigDecimal.valueOf(68.00),
             LocalDateTime.now(),
-            LocalDateTime.now(),
-            null
+            transacaoId,
+            "MERCADO_PAGO"
         );
     }
+    
+    private PedidoResumo criarPedidoMock(Integer numeroPedido, StatusPedido status) {
+        return new PedidoResumo("pedido-" + numeroPedido, numeroPedido, status, 0);
+    }
 }
@@ -0,0 +1,257 @@
+package br.com.fiap.postechfasfood.infrastructure.adapters.external;
+
+import br.com.fiap.postechfasfood.domain.entities.Produto;
+import br.com.fiap.postechfasfood.infrastructure.external.client.ProdutoFeignClient;
+import br.com.fiap.postechfasfood.infrastructure.external.dto.ProdutoExternoDTO;
+import br.com.fiap.postechfasfood.infrastructure.external.service.ChamadasComHedge;
+import br.com.fiap.postechfasfood.infrastructure.external.service.ChamadasComHedge.ConfiguracaoHedge;
+import br.com.fiap.postechfasfood.infrastructure.external.service.ProdutoExternoService;
+import br.com.fiap.postechfasfood.infrastructure.external.service.ProtecaoChamadaExterna;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import feign.Feign;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.cloud.openfeign.support.SpringMvcContract;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Exercita o client Feign real contra uma API de produtos simulada com o HttpServer do JDK,
+ * com e sem a rota de consulta em lote.
+ */
+@DisplayName("Catálogo externo via HTTP - Testes")
+class CatalogoExternoAdapterHttpTest {
+
+    private static final int CHECKOUTS = 10;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, ProdutoExternoDTO> cardapio = new ConcurrentHashMap<>();
+    private final List<String> requisicoes = new CopyOnWriteArrayList<>();
+
+    private volatile boolean loteDisponivel = true;
+    // Quando definido, a rota de lote só responde depois de liberada
+    private volatile CountDownLatch liberarLote;
+    private final CountDownLatch loteRecebido = new CountDownLatch(1);
+
+    @TempDir
+    private Path diretorioSnapshot;
+
+    private HttpServer servidor;
+    private SimpleMeterRegistry meterRegistry;
+    private ExecutorService executorConsultas;
+    private CatalogoExternoAdapter catalogoExternoAdapter;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        cardapio.put("lanche-001", produto("lanche-001", "X-Burger", true));
+        cardapio.put("bebida-001", produto("bebida-001", "Refrigerante", true));
+        cardapio.put("sobremesa-001", produto("sobremesa-001", "Sorvete", true));
+        cardapio.put("lanche-002", produto("lanche-002", "X-Salada", false));
+
+        servidor = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        servidor.createContext("/api/v1/produtos", this::responder);
+        servidor.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        servidor.start();
+
+        ProdutoFeignClient produtoFeignClient = Feign.builder()
+            .contract(new SpringMvcContract())
+            .decoder((response, type) ->
+                objectMapper.readValue(response.body().asInputStream(), objectMapper.constructType(type)))
+            .target(ProdutoFeignClient.class, "http://localhost:" + servidor.getAddress().getPort());
+
+        meterRegistry = new SimpleMeterRegistry();
+        executorConsultas = Executors.newVirtualThreadPerTaskExecutor();
+        ProtecaoChamadaExterna protecaoProdutos = new ProtecaoChamadaExterna("produtos",
+            CircuitBreaker.ofDefaults("produtos"), Bulkhead.ofDefaults("produtos"), meterRegistry);
+        catalogoExternoAdapter = new CatalogoExternoAdapter(
+            new ProdutoExternoService(produtoFeignClient, protecaoProdutos,
+                new ChamadasComHedge("produtos", ConfiguracaoHedge.desabilitado(), null, meterRegistry), meterRegistry),
+            new SnapshotCatalogoLocal(diretorioSnapshot.resolve("catalogo.snapshot"), Duration.ofHours(24)),
+            meterRegistry, executorConsultas, Duration.ofMinutes(10), Duration.ofMinutes(2),
+            100, 2, true, System::nanoTime, Runnable::run);
+    }
+
+    @AfterEach
+    void tearDown() {
+        servidor.stop(0);
+        executorConsultas.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Deve resolver vários produtos com uma única requisição de lote")
+    void deveResolverProdutosComUmaRequisicaoDeLote() {
+        // Act
+        Map<String, Produto> produtos = catalogoExternoAdapter.buscarProdutosPorCodigos(
+            List.of("lanche-001", "bebida-001", "sobremesa-001"));
+
+        // Assert
+        assertEquals(Set.of("lanche-001", "bebida-001", "sobremesa-001"), produtos.keySet());
+        assertEquals("X-Burger", produtos.get("lanche-001").getNome());
+        assertEquals(1, requisicoes.size());
+        assertTrue(requisicoes.getFirst().startsWith("/api/v1/produtos?"));
+    }
+
+    @Test
+    @DisplayName("Deve ignorar produtos inativos e inexistentes na resposta em lote")
+    void deveIgnorarInativosEInexistentesNoLote() {
+        // Act
+        Map<String, Produto> produtos = catalogoExternoAdapter.buscarProdutosPorCodigos(
+            List.of("lanche-001", "lanche-002", "produto-inexistente"));
+
+        // Assert
+        assertEquals(Set.of("lanche-001"), produtos.keySet());
+    }
+
+    @Test
+    @DisplayName("Deve cair para chamadas individuais quando a rota de lote responder 404")
+    void deveCairParaChamadasIndividuaisSemRotaDeLote() {
+        // Arrange
+        loteDisponivel = false;
+
+        // Act
+        Map<String, Produto> produtos = catalogoExternoAdapter.buscarProdutosPorCodigos(
+            List.of("lanche-001", "bebida-001", "sobremesa-001"));
+
+        // Assert - uma tentativa de lote e uma chamada por produto
+        assertEquals(Set.of("lanche-001", "bebida-001", "sobremesa-001"), produtos.keySet());
+        assertEquals(4, requisicoes.size());
+        assertEquals(3, requisicoes.stream().filter(caminho -> caminho.startsWith("/api/v1/produtos/")).count());
+    }
+
+    @Test
+    @DisplayName("Deve servir do cache os produtos já resolvidos em lote")
+    void deveServirDoCacheProdutosResolvidosEmLote() {
+        // Arrange
+        catalogoExternoAdapter.buscarProdutosPorCodigos(List.of("lanche-001", "bebida-001"));
+
+        // Act
+        catalogoExternoAdapter.buscarProdutosPorCodigos(List.of("lanche-001", "bebida-001"));
+        catalogoExternoAdapter.buscarProdutoPorCodigo("bebida-001");
+
+        // Assert
+        assertEquals(1, requisicoes.size());
+    }
+
+    @Test
+    @DisplayName("Deve fazer uma única requisição de lote para checkouts concorrentes com o cache frio")
+    void deveFazerUmaRequisicaoDeLoteParaCheckoutsConcorrentes() throws Exception {
+        // Arrange
+        liberarLote = new CountDownLatch(1);
+        List<String> codigos = List.of("lanche-001", "bebida-001");
+        List<Future<Map<String, Produto>>> checkouts = new ArrayList<>();
+
+        try (ExecutorService clientes = Executors.newVirtualThreadPerTaskExecutor()) {
+            // Act - o primeiro checkout prende a requisição de lote até os demais chegarem
+            checkouts.add(clientes.submit(() -> catalogoExternoAdapter.buscarProdutosPorCodigos(codigos)));
+            assertTrue(loteRecebido.await(5, TimeUnit.SECONDS));
+            for (int i = 1; i < CHECKOUTS; i++) {
+                checkouts.add(clientes.submit(() -> catalogoExternoAdapter.buscarProdutosPorCodigos(codigos)));
+            }
+            aguardarCoalescidas((CHECKOUTS - 1) * codigos.size());
+            liberarLote.countDown();
+
+            // Assert
+            for (Future<Map<String, Produto>> checkout : checkouts) {
+                assertEquals(Set.copyOf(codigos), checkout.get(5, TimeUnit.SECONDS).keySet());
+            }
+        }
+        assertEquals(1, requisicoes.size());
+    }
+
+    private void aguardarCoalescidas(int esperadas) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (coalescidas() < esperadas && System.nanoTime() < limite) {
+            Thread.sleep(5);
+        }
+        assertEquals(esperadas, coalescidas());
+    }
+
+    private double coalescidas() {
+        return meterRegistry.get("chamadas.externas.coalescidas").tag("servico", "produtos-lote").counter().count();
+    }
+
+    private void responder(HttpExchange troca) throws IOException {
+        String caminho = troca.getRequestURI().getPath();
+        String consulta = troca.getRequestURI().getRawQuery();
+        requisicoes.add(consulta == null ? caminho : caminho + "?" + consulta);
+
+        if (caminho.equals("/api/v1/produtos")) {
+            if (!loteDisponivel) {
+                enviar(troca, 404, "");
+                return;
+            }
+            CountDownLatch liberar = liberarLote;
+            if (liberar != null) {
+                loteRecebido.countDown();
+                try {
+                    liberar.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            List<ProdutoExternoDTO> encontrados = Arrays.stream(consulta.split("&"))
+                .filter(parametro -> parametro.startsWith("ids="))
+                .map(parametro -> URLDecoder.decode(parametro.substring(4), StandardCharsets.UTF_8))
+                .map(cardapio::get)
+                .filter(produto -> produto != null)
+                .toList();
+            enviar(troca, 200, objectMapper.writeValueAsString(encontrados));
+            return;
+        }
+
+        ProdutoExternoDTO produto = cardapio.get(caminho.substring("/api/v1/produtos/".length()));
+        if (produto == null) {
+            enviar(troca, 404, "");
+        } else {
+            enviar(troca, 200, objectMapper.writeValueAsString(produto));
+        }
+    }
+
+    private static void enviar(HttpExchange troca, int status, String corpo) throws IOException {
+        byte[] bytes = corpo.getBytes(StandardCharsets.UTF_8);
+        troca.getResponseHeaders().add("Content-Type", "application/json");
+        troca.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        try (OutputStream saida = troca.getResponseBody()) {
+            saida.write(bytes);
+        }
+    }
+
+    private static ProdutoExternoDTO produto(String codigo, String nome, boolean ativo) {
+        ProdutoExternoDTO produto = new ProdutoExternoDTO();
+        produto.setCdProduto(codigo);
+        produto.setNmProduto(nome);
+        produto.setDsDescricao(nome);
+        produto.setVlPreco(10.0);
+        produto.setSnAtivo(ativo);
+        produto.setTpCategoria("LANCHE");
+        return produto;
+    }
+}
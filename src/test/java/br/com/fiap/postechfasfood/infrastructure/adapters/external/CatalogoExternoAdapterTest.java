@@ -1,17 +1,31 @@
 package br.com.fiap.postechfasfood.infrastructure.adapters.external;
 
 import br.com.fiap.postechfasfood.domain.entities.Produto;
+import br.com.fiap.postechfasfood.domain.exception.CatalogoIndisponivelException;
 import br.com.fiap.postechfasfood.domain.valueobjects.CategoriaProduto;
 import br.com.fiap.postechfasfood.infrastructure.external.service.ProdutoExternoService;
+import feign.FeignException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.junit.jupiter.api.io.TempDir;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -22,13 +36,28 @@ class CatalogoExternoAdapterTest {
     @Mock
     private ProdutoExternoService produtoExternoService;
 
-    @InjectMocks
+    private final AtomicLong relogioNanos = new AtomicLong();
+
+    @TempDir
+    private Path diretorioSnapshot;
+
+    private SnapshotCatalogoLocal snapshotCatalogo;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ExecutorService executorConsultas;
+
     private CatalogoExternoAdapter catalogoExternoAdapter;
 
     private Produto produto;
 
     @BeforeEach
     void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        // Relógio manual e recarga síncrona deixam o refresh-ahead determinístico
+        executorConsultas = Executors.newVirtualThreadPerTaskExecutor();
+        snapshotCatalogo = new SnapshotCatalogoLocal(diretorioSnapshot.resolve("catalogo.snapshot"), Duration.ofHours(24));
+        catalogoExternoAdapter = novoAdapter(snapshotCatalogo);
         produto = new Produto(
                 "produto-1",
                 "Produto Teste",
@@ -39,6 +68,11 @@ class CatalogoExternoAdapterTest {
         );
     }
 
+    @AfterEach
+    void tearDown() {
+        executorConsultas.shutdownNow();
+    }
+
     @Test
     @DisplayName("Deve buscar produto por código com sucesso")
     void deveBuscarProdutoPorCodigoComSucesso() {
@@ -100,4 +134,355 @@ class CatalogoExternoAdapterTest {
 
         assertEquals("Busca por nome não suportada na API externa", exception.getMessage());
     }
+
+    @Test
+    @DisplayName("Deve servir do cache a segunda busca do mesmo produto")
+    void deveServirDoCacheSegundaBusca() {
+        // Arrange
+        when(produtoExternoService.buscarProdutoPorId("produto-1")).thenReturn(produto);
+
+        // Act
+        catalogoExternoAdapter.buscarProdutoPorCodigo("produto-1");
+        Optional<Produto> resultado = catalogoExternoAdapter.buscarProdutoPorCodigo("produto-1");
+
+        // Assert
+        assertEquals(produto, resultado.orElseThrow());
+        verify(produtoExternoService, times(1)).buscarProdutoPorId("produto-1");
+    }
+
+    @Test
+    @DisplayName("Não deve manter em cache produto inexistente ou inativo")
+    void naoDeveManterEmCacheProdutoInexistente() {
+        // Arrange
+        when(produtoExternoService.buscarProdutoPorId("produto-novo"))
+                .thenThrow(new IllegalArgumentException("Produto não encontrado: produto-novo"))
+                .thenReturn(produto);
+
+        // Act
+        Optional<Produto> primeira = catalogoExternoAdapter.buscarProdutoPorCodigo("produto-novo");
+        Optional<Produto> segunda = catalogoExternoAdapter.buscarProdutoPorCodigo("produto-novo");
+
+        // Assert
+        assertTrue(primeira.isEmpty());
+        assertTrue(segunda.isPresent());
+        verify(produtoExternoService, times(2)).buscarProdutoPorId("produto-novo");
+    }
+
+    @Test
+    @DisplayName("Deve recarregar a entrada antes de expirar sem bloquear a leitura")
+    void deveRecarregarEntradaAntesDeExpirar() {
+        // Arrange
+        Produto produtoAtualizado = new Produto("produto-1", "Produto Teste", "Nova descrição",
+                12.0, true, CategoriaProduto.LANCHE);
+        when(produtoExternoService.buscarProdutoPorId("produto-1"))
+                .thenReturn(produto)
+                .thenReturn(produtoAtualizado);
+        catalogoExternoAdapter.buscarProdutoPorCodigo("produto-1");
+        relogioNanos.addAndGet(Duration.ofMinutes(3).toNanos());
+
+        // Act - a leitura que dispara a recarga ainda recebe o valor em cache
+        Optional<Produto> duranteRecarga = catalogoExternoAdapter.buscarProdutoPorCodigo("produto-1");
+        Optional<Produto> aposRecarga = catalogoExternoAdapter.buscarProdutoPorCodigo("produto-1");
+
+        // Assert
+        assertEquals(produto, duranteRecarga.orElseThrow());
+        assertEquals(produtoAtualizado, aposRecarga.orElseThrow());
+        verify(produtoExternoService, times(2)).buscarProdutoPorId("produto-1");
+    }
+
+    @Test
+    @DisplayName("Deve manter a entrada antiga quando a recarga falhar")
+    void deveManterEntradaQuandoRecargaFalhar() {
+        // Arrange
+        when(produtoExternoService.buscarProdutoPorId("produto-1"))
+                .thenReturn(produto)
+                .thenThrow(new RuntimeException("API de produtos temporariamente indisponível"));
+        catalogoExternoAdapter.buscarProdutoPorCodigo("produto-1");
+        relogioNanos.addAndGet(Duration.ofMinutes(3).toNanos());
+
+        // Act
+        catalogoExternoAdapter.buscarProdutoPorCodigo("produto-1");
+        Optional<Produto> resultado = catalogoExternoAdapter.buscarProdutoPorCodigo("produto-1");
+
+        // Assert
+        assertEquals(produto, resultado.orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Deve buscar novamente na API após a expiração")
+    void deveBuscarNovamenteAposExpiracao() {
+        // Arrange
+        when(produtoExternoService.buscarProdutoPorId("produto-1")).thenReturn(produto);
+        catalogoExternoAdapter.buscarProdutoPorCodigo("produto-1");
+        relogioNanos.addAndGet(Duration.ofMinutes(11).toNanos());
+
+        // Act
+        Optional<Produto> resultado = catalogoExternoAdapter.buscarProdutoPorCodigo("produto-1");
+
+        // Assert
+        assertTrue(resultado.isPresent());
+        verify(produtoExternoService, times(2)).buscarProdutoPorId("produto-1");
+    }
+
+    @Test
+    @DisplayName("Deve publicar métricas de acerto e falta do cache")
+    void devePublicarMetricasDoCache() {
+        // Arrange
+        when(produtoExternoService.buscarProdutoPorId("produto-1")).thenReturn(produto);
+
+        // Act
+        catalogoExternoAdapter.buscarProdutoPorCodigo("produto-1");
+        catalogoExternoAdapter.buscarProdutoPorCodigo("produto-1");
+
+        // Assert
+        assertEquals(1.0, meterRegistry.get("cache.gets")
+                .tag("cache", CatalogoExternoAdapter.NOME_CACHE).tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets")
+                .tag("cache", CatalogoExternoAdapter.NOME_CACHE).tag("result", "miss").functionCounter().count());
+        assertNotNull(meterRegistry.find("cache.load.duration")
+                .tag("cache", CatalogoExternoAdapter.NOME_CACHE).meter());
+    }
+
+    @Test
+    @DisplayName("Deve buscar em lote apenas os códigos que não estão em cache")
+    void deveBuscarEmLoteApenasCodigosForaDoCache() {
+        // Arrange
+        Produto bebida = new Produto("bebida-1", "Refrigerante", "Lata", 6.0, true, CategoriaProduto.BEBIDA);
+        when(produtoExternoService.buscarProdutoPorId("produto-1")).thenReturn(produto);
+        when(produtoExternoService.buscarProdutosPorIds(List.of("bebida-1"))).thenReturn(List.of(bebida));
+        catalogoExternoAdapter.buscarProdutoPorCodigo("produto-1");
+
+        // Act
+        Map<String, Produto> resultado = catalogoExternoAdapter.buscarProdutosPorCodigos(List.of("produto-1", "bebida-1"));
+
+        // Assert
+        assertEquals(Map.of("produto-1", produto, "bebida-1", bebida), resultado);
+        verify(produtoExternoService, times(1)).buscarProdutosPorIds(List.of("bebida-1"));
+    }
+
+    @Test
+    @DisplayName("Deve omitir do resultado em lote os códigos não encontrados")
+    void deveOmitirCodigosNaoEncontradosNoLote() {
+        // Arrange
+        when(produtoExternoService.buscarProdutosPorIds(anyCollection())).thenReturn(List.of(produto));
+
+        // Act
+        Map<String, Produto> resultado = catalogoExternoAdapter.buscarProdutosPorCodigos(
+                List.of("produto-1", "produto-inexistente"));
+
+        // Assert
+        assertEquals(Set.of("produto-1"), resultado.keySet());
+    }
+
+    @Test
+    @DisplayName("Deve usar chamadas individuais quando a API não tiver consulta em lote")
+    void deveUsarChamadasIndividuaisSemConsultaEmLote() {
+        // Arrange
+        Produto bebida = new Produto("bebida-1", "Refrigerante", "Lata", 6.0, true, CategoriaProduto.BEBIDA);
+        Produto sobremesa = new Produto("sobremesa-1", "Sorvete", "Casquinha", 8.0, true, CategoriaProduto.SOBREMESA);
+        when(produtoExternoService.buscarProdutosPorIds(anyCollection()))
+                .thenThrow(new UnsupportedOperationException("Consulta de produtos em lote não suportada"));
+        when(produtoExternoService.buscarProdutoPorId("produto-1")).thenReturn(produto);
+        when(produtoExternoService.buscarProdutoPorId("bebida-1")).thenReturn(bebida);
+        when(produtoExternoService.buscarProdutoPorId("sobremesa-1")).thenReturn(sobremesa);
+
+        // Act
+        Map<String, Produto> primeiro = catalogoExternoAdapter.buscarProdutosPorCodigos(List.of("produto-1", "bebida-1"));
+        Map<String, Produto> segundo = catalogoExternoAdapter.buscarProdutosPorCodigos(List.of("sobremesa-1"));
+
+        // Assert - a rota de lote é tentada uma única vez
+        assertEquals(Set.of("produto-1", "bebida-1"), primeiro.keySet());
+        assertEquals(Set.of("sobremesa-1"), segundo.keySet());
+        verify(produtoExternoService, times(1)).buscarProdutosPorIds(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Deve servir do snapshot local o produto quando a API estiver indisponível")
+    void deveServirDoSnapshotQuandoApiIndisponivel() {
+        // Arrange
+        RuntimeException apiForaDoAr = falhaDeComunicacao(503);
+        when(produtoExternoService.buscarProdutoPorId("produto-1"))
+                .thenReturn(produto)
+                .thenThrow(apiForaDoAr);
+        catalogoExternoAdapter.buscarProdutoPorCodigo("produto-1");
+        relogioNanos.addAndGet(Duration.ofMinutes(11).toNanos());
+
+        // Act
+        Optional<Produto> resultado = catalogoExternoAdapter.buscarProdutoPorCodigo("produto-1");
+
+        // Assert
+        assertEquals(produto, resultado.orElseThrow());
+        assertEquals(1, meterRegistry.get(CatalogoExternoAdapter.METRICA_SERVIDOS_SNAPSHOT).counter().count());
+    }
+
+    @Test
+    @DisplayName("Deve servir do snapshot local os produtos em lote quando a API estiver indisponível")
+    void deveServirDoSnapshotEmLoteQuandoApiIndisponivel() {
+        // Arrange
+        Produto bebida = new Produto("bebida-1", "Refrigerante", "Lata 350ml", 6.0, true, CategoriaProduto.BEBIDA);
+        snapshotCatalogo.registrar(produto);
+        snapshotCatalogo.registrar(bebida);
+        CatalogoExternoAdapter adapterAquecido = novoAdapter(snapshotCatalogo);
+        relogioNanos.addAndGet(Duration.ofMinutes(11).toNanos());
+        RuntimeException semConexao = falhaDeComunicacao(-1);
+        when(produtoExternoService.buscarProdutosPorIds(anyCollection())).thenThrow(semConexao);
+
+        // Act
+        Map<String, Produto> resultado = adapterAquecido.buscarProdutosPorCodigos(List.of("produto-1", "bebida-1"));
+
+        // Assert
+        assertEquals(Map.of("produto-1", produto, "bebida-1", bebida), resultado);
+        assertEquals(2, meterRegistry.get(CatalogoExternoAdapter.METRICA_SERVIDOS_SNAPSHOT).counter().count());
+    }
+
+    @Test
+    @DisplayName("Deve sinalizar catálogo indisponível quando o snapshot cobrir só parte do lote")
+    void deveSinalizarCatalogoIndisponivelComSnapshotParcial() {
+        // Arrange
+        snapshotCatalogo.registrar(produto);
+        CatalogoExternoAdapter adapterAquecido = novoAdapter(snapshotCatalogo);
+        relogioNanos.addAndGet(Duration.ofMinutes(11).toNanos());
+        RuntimeException semConexao = falhaDeComunicacao(-1);
+        when(produtoExternoService.buscarProdutosPorIds(anyCollection())).thenThrow(semConexao);
+
+        // Act & Assert - "bebida-1" pode existir; não deve voltar como produto não encontrado
+        CatalogoIndisponivelException exception = assertThrows(CatalogoIndisponivelException.class,
+                () -> adapterAquecido.buscarProdutosPorCodigos(List.of("produto-1", "bebida-1")));
+        assertSame(semConexao, exception.getCause());
+        assertEquals(0, meterRegistry.get(CatalogoExternoAdapter.METRICA_SERVIDOS_SNAPSHOT).counter().count());
+    }
+
+    @Test
+    @DisplayName("Deve sinalizar catálogo indisponível quando o lote falhar sem snapshot")
+    void deveSinalizarCatalogoIndisponivelNoLoteSemSnapshot() {
+        // Arrange
+        RuntimeException apiForaDoAr = falhaDeComunicacao(503);
+        when(produtoExternoService.buscarProdutosPorIds(anyCollection())).thenThrow(apiForaDoAr);
+
+        // Act & Assert
+        CatalogoIndisponivelException exception = assertThrows(CatalogoIndisponivelException.class,
+                () -> catalogoExternoAdapter.buscarProdutosPorCodigos(List.of("produto-1", "bebida-1")));
+        assertSame(apiForaDoAr, exception.getCause());
+    }
+
+    @Test
+    @DisplayName("Deve sinalizar catálogo indisponível quando o circuito recusar as chamadas individuais")
+    void deveSinalizarCatalogoIndisponivelNasChamadasIndividuais() {
+        // Arrange
+        CircuitBreaker circuito = CircuitBreaker.ofDefaults("produtos");
+        circuito.transitionToOpenState();
+        UnsupportedOperationException semLote = new UnsupportedOperationException("Consulta de produtos em lote não suportada");
+        RuntimeException recusada = new RuntimeException("API de produtos indisponível",
+                CallNotPermittedException.createCallNotPermittedException(circuito));
+        when(produtoExternoService.buscarProdutosPorIds(anyCollection())).thenThrow(semLote);
+        when(produtoExternoService.buscarProdutoPorId(anyString())).thenThrow(recusada);
+
+        // Act & Assert
+        assertThrows(CatalogoIndisponivelException.class,
+                () -> catalogoExternoAdapter.buscarProdutosPorCodigos(List.of("produto-1", "bebida-1")));
+    }
+
+    @Test
+    @DisplayName("Deve omitir nas chamadas individuais só o produto que a API não disponibiliza")
+    void deveOmitirNasChamadasIndividuaisProdutoIndisponivel() {
+        // Arrange
+        UnsupportedOperationException semLote = new UnsupportedOperationException("Consulta de produtos em lote não suportada");
+        RuntimeException inativo = new RuntimeException("Erro interno ao processar produto: Produto inativo: bebida-1");
+        when(produtoExternoService.buscarProdutosPorIds(anyCollection())).thenThrow(semLote);
+        when(produtoExternoService.buscarProdutoPorId("produto-1")).thenReturn(produto);
+        when(produtoExternoService.buscarProdutoPorId("bebida-1")).thenThrow(inativo);
+
+        // Act
+        Map<String, Produto> resultado = catalogoExternoAdapter.buscarProdutosPorCodigos(List.of("produto-1", "bebida-1"));
+
+        // Assert
+        assertEquals(Set.of("produto-1"), resultado.keySet());
+    }
+
+    @Test
+    @DisplayName("Não deve usar o snapshot quando a API responder que o produto não está disponível")
+    void naoDeveUsarSnapshotParaRespostaValidaDaApi() {
+        // Arrange
+        snapshotCatalogo.registrar(produto);
+        when(produtoExternoService.buscarProdutoPorId("produto-1"))
+                .thenThrow(new RuntimeException("Erro interno ao processar produto: Produto inativo: produto-1"));
+
+        // Act
+        Optional<Produto> resultado = catalogoExternoAdapter.buscarProdutoPorCodigo("produto-1");
+
+        // Assert
+        assertTrue(resultado.isEmpty());
+        assertEquals(0, meterRegistry.get(CatalogoExternoAdapter.METRICA_SERVIDOS_SNAPSHOT).counter().count());
+    }
+
+    @Test
+    @DisplayName("Deve aquecer o cache na subida com o snapshot gravado")
+    void deveAquecerCacheComSnapshotGravado() {
+        // Arrange
+        when(produtoExternoService.buscarProdutoPorId("produto-1")).thenReturn(produto);
+        catalogoExternoAdapter.buscarProdutoPorCodigo("produto-1");
+        snapshotCatalogo.gravarSeAlterado();
+
+        SnapshotCatalogoLocal snapshotNaSubida = new SnapshotCatalogoLocal(
+                diretorioSnapshot.resolve("catalogo.snapshot"), Duration.ofHours(24));
+        CatalogoExternoAdapter adapterNaSubida = novoAdapter(snapshotNaSubida);
+
+        // Act
+        Optional<Produto> resultado = adapterNaSubida.buscarProdutoPorCodigo("produto-1");
+
+        // Assert
+        assertEquals("Produto Teste", resultado.orElseThrow().getNome());
+        verify(produtoExternoService, times(1)).buscarProdutoPorId("produto-1");
+    }
+
+    private CatalogoExternoAdapter novoAdapter(SnapshotCatalogoLocal snapshot) {
+        return novoAdapter(snapshot, true);
+    }
+
+    private CatalogoExternoAdapter novoAdapter(SnapshotCatalogoLocal snapshot, boolean servirUltimoConhecidoEmFalha) {
+        return new CatalogoExternoAdapter(produtoExternoService, snapshot, meterRegistry, executorConsultas,
+                Duration.ofMinutes(10), Duration.ofMinutes(2), 100, 2, servirUltimoConhecidoEmFalha,
+                relogioNanos::get, Runnable::run);
+    }
+
+    @Test
+    @DisplayName("Deve servir do snapshot local quando o circuito da API de produtos estiver aberto")
+    void deveServirDoSnapshotComCircuitoAberto() {
+        // Arrange
+        snapshotCatalogo.registrar(produto);
+        CircuitBreaker circuito = CircuitBreaker.ofDefaults("produtos");
+        circuito.transitionToOpenState();
+        RuntimeException recusada = new RuntimeException("API de produtos indisponível",
+                CallNotPermittedException.createCallNotPermittedException(circuito));
+        when(produtoExternoService.buscarProdutoPorId("produto-1")).thenThrow(recusada);
+
+        // Act
+        Optional<Produto> resultado = catalogoExternoAdapter.buscarProdutoPorCodigo("produto-1");
+
+        // Assert
+        assertEquals(produto, resultado.orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Não deve servir do snapshot com a degradação desligada")
+    void naoDeveServirDoSnapshotComDegradacaoDesligada() {
+        // Arrange
+        snapshotCatalogo.registrar(produto);
+        CatalogoExternoAdapter adapterSemDegradacao = novoAdapter(snapshotCatalogo, false);
+        relogioNanos.addAndGet(Duration.ofMinutes(11).toNanos());
+        RuntimeException apiForaDoAr = falhaDeComunicacao(503);
+        when(produtoExternoService.buscarProdutoPorId("produto-1")).thenThrow(apiForaDoAr);
+
+        // Act
+        Optional<Produto> resultado = adapterSemDegradacao.buscarProdutoPorCodigo("produto-1");
+
+        // Assert
+        assertTrue(resultado.isEmpty());
+    }
+
+    private static RuntimeException falhaDeComunicacao(int status) {
+        FeignException feignException = mock(FeignException.class);
+        when(feignException.status()).thenReturn(status);
+        return new RuntimeException("Erro ao comunicar com serviço de produtos", feignException);
+    }
 }
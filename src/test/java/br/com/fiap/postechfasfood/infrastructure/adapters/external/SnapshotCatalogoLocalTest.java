@@ -0,0 +1,210 @@
+package br.com.fiap.postechfasfood.infrastructure.adapters.external;
+
+import br.com.fiap.postechfasfood.domain.entities.Produto;
+import br.com.fiap.postechfasfood.domain.valueobjects.CategoriaProduto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SnapshotCatalogoLocal - Testes")
+class SnapshotCatalogoLocalTest {
+
+    private static final Duration DEFASAGEM_MAXIMA = Duration.ofHours(24);
+
+    @TempDir
+    private Path diretorio;
+
+    private Path arquivo;
+    private RelogioManual relogio;
+    private Produto lanche;
+    private Produto bebida;
+
+    @BeforeEach
+    void setUp() {
+        arquivo = diretorio.resolve("catalogo.snapshot");
+        relogio = new RelogioManual(Instant.parse("2025-06-01T12:00:00Z"));
+        lanche = new Produto("lanche-001", "X-Burger", "Hambúrguer com queijo", 25.90, true, CategoriaProduto.LANCHE);
+        bebida = new Produto("bebida-001", "Refrigerante", null, 8.0, true, CategoriaProduto.BEBIDA);
+    }
+
+    @Test
+    @DisplayName("Deve iniciar vazio quando não houver arquivo")
+    void deveIniciarVazioSemArquivo() {
+        // Act
+        SnapshotCatalogoLocal snapshot = new SnapshotCatalogoLocal(arquivo, DEFASAGEM_MAXIMA, relogio);
+
+        // Assert
+        assertTrue(snapshot.produtosValidos().isEmpty());
+        assertEquals(0, snapshot.versao());
+    }
+
+    @Test
+    @DisplayName("Deve gravar e recarregar os produtos com uma nova versão")
+    void deveGravarERecarregarProdutos() {
+        // Arrange
+        SnapshotCatalogoLocal snapshot = new SnapshotCatalogoLocal(arquivo, DEFASAGEM_MAXIMA, relogio);
+        snapshot.registrar(lanche);
+        snapshot.registrar(bebida);
+
+        // Act
+        snapshot.gravarSeAlterado();
+        SnapshotCatalogoLocal recarregado = new SnapshotCatalogoLocal(arquivo, DEFASAGEM_MAXIMA, relogio);
+
+        // Assert
+        Map<String, Produto> produtos = recarregado.produtosValidos();
+        assertEquals(2, produtos.size());
+        assertEquals(lanche, produtos.get("lanche-001"));
+        assertEquals("Hambúrguer com queijo", produtos.get("lanche-001").getDescricao());
+        assertEquals(25.90, produtos.get("lanche-001").getPreco());
+        assertNull(produtos.get("bebida-001").getDescricao());
+        assertEquals(CategoriaProduto.BEBIDA, produtos.get("bebida-001").getCategoria());
+        assertEquals(1, recarregado.versao());
+    }
+
+    @Test
+    @DisplayName("Deve gravar apenas quando houver alteração")
+    void deveGravarApenasQuandoHouverAlteracao() {
+        // Arrange
+        SnapshotCatalogoLocal snapshot = new SnapshotCatalogoLocal(arquivo, DEFASAGEM_MAXIMA, relogio);
+
+        // Act
+        snapshot.gravarSeAlterado();
+        boolean existeSemAlteracao = Files.exists(arquivo);
+        snapshot.registrar(lanche);
+        snapshot.gravarSeAlterado();
+        snapshot.gravarSeAlterado();
+
+        // Assert
+        assertFalse(existeSemAlteracao);
+        assertTrue(Files.exists(arquivo));
+        assertEquals(1, snapshot.versao());
+    }
+
+    @Test
+    @DisplayName("Não deve servir produto além da defasagem máxima")
+    void naoDeveServirProdutoAlemDaDefasagem() {
+        // Arrange
+        SnapshotCatalogoLocal snapshot = new SnapshotCatalogoLocal(arquivo, DEFASAGEM_MAXIMA, relogio);
+        snapshot.registrar(lanche);
+
+        // Act
+        relogio.avancar(Duration.ofHours(23));
+        boolean presenteDentroDoLimite = snapshot.buscar("lanche-001").isPresent();
+        relogio.avancar(Duration.ofHours(2));
+
+        // Assert
+        assertTrue(presenteDentroDoLimite);
+        assertTrue(snapshot.buscar("lanche-001").isEmpty());
+        assertTrue(snapshot.produtosValidos().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve descartar na subida produtos gravados além da defasagem máxima")
+    void deveDescartarNaSubidaProdutosDefasados() {
+        // Arrange
+        SnapshotCatalogoLocal snapshot = new SnapshotCatalogoLocal(arquivo, DEFASAGEM_MAXIMA, relogio);
+        snapshot.registrar(lanche);
+        relogio.avancar(Duration.ofHours(20));
+        snapshot.registrar(bebida);
+        snapshot.gravarSeAlterado();
+
+        // Act
+        relogio.avancar(Duration.ofHours(5));
+        SnapshotCatalogoLocal recarregado = new SnapshotCatalogoLocal(arquivo, DEFASAGEM_MAXIMA, relogio);
+
+        // Assert
+        assertEquals(Map.of("bebida-001", bebida), recarregado.produtosValidos());
+    }
+
+    @Test
+    @DisplayName("Deve esquecer produto removido do catálogo")
+    void deveEsquecerProdutoRemovido() {
+        // Arrange
+        SnapshotCatalogoLocal snapshot = new SnapshotCatalogoLocal(arquivo, DEFASAGEM_MAXIMA, relogio);
+        snapshot.registrar(lanche);
+        snapshot.gravarSeAlterado();
+
+        // Act
+        snapshot.remover("lanche-001");
+        snapshot.gravarSeAlterado();
+        SnapshotCatalogoLocal recarregado = new SnapshotCatalogoLocal(arquivo, DEFASAGEM_MAXIMA, relogio);
+
+        // Assert
+        assertTrue(snapshot.buscar("lanche-001").isEmpty());
+        assertTrue(recarregado.produtosValidos().isEmpty());
+        assertEquals(2, recarregado.versao());
+    }
+
+    @Test
+    @DisplayName("Deve ignorar arquivo corrompido")
+    void deveIgnorarArquivoCorrompido() throws IOException {
+        // Arrange
+        SnapshotCatalogoLocal snapshot = new SnapshotCatalogoLocal(arquivo, DEFASAGEM_MAXIMA, relogio);
+        snapshot.registrar(lanche);
+        snapshot.gravarSeAlterado();
+        byte[] conteudo = Files.readAllBytes(arquivo);
+        conteudo[conteudo.length / 2] ^= 0x5A;
+        Files.write(arquivo, conteudo);
+
+        // Act
+        SnapshotCatalogoLocal recarregado = new SnapshotCatalogoLocal(arquivo, DEFASAGEM_MAXIMA, relogio);
+
+        // Assert
+        assertTrue(recarregado.produtosValidos().isEmpty());
+        assertEquals(0, recarregado.versao());
+    }
+
+    @Test
+    @DisplayName("Deve ignorar arquivo truncado")
+    void deveIgnorarArquivoTruncado() throws IOException {
+        // Arrange
+        Files.write(arquivo, new byte[] {0x46, 0x46});
+
+        // Act
+        SnapshotCatalogoLocal snapshot = new SnapshotCatalogoLocal(arquivo, DEFASAGEM_MAXIMA, relogio);
+
+        // Assert
+        assertTrue(snapshot.produtosValidos().isEmpty());
+    }
+
+    private static final class RelogioManual extends Clock {
+
+        private Instant agora;
+
+        private RelogioManual(Instant agora) {
+            this.agora = agora;
+        }
+
+        void avancar(Duration duracao) {
+            agora = agora.plus(duracao);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return agora;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package br.com.fiap.postechfasfood.infrastructure.adapters.identificador;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Gerador UUID v7 - Testes")
+class GeradorUuidV7AdapterTest {
+
+    @Test
+    @DisplayName("Deve gerar UUID versão 7 com variante IETF")
+    void deveGerarUuidVersao7() {
+        // Arrange
+        GeradorUuidV7Adapter gerador = new GeradorUuidV7Adapter();
+
+        // Act
+        UUID uuid = UUID.fromString(gerador.gerar());
+
+        // Assert
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+    }
+
+    @Test
+    @DisplayName("Deve gravar o instante em milissegundos nos 48 bits mais significativos")
+    void deveGravarInstanteNoPrefixo() {
+        // Arrange
+        Instant instante = Instant.parse("2025-06-01T12:00:00.123Z");
+        GeradorUuidV7Adapter gerador = new GeradorUuidV7Adapter(Clock.fixed(instante, ZoneOffset.UTC));
+
+        // Act
+        UUID uuid = UUID.fromString(gerador.gerar());
+
+        // Assert
+        assertEquals(instante.toEpochMilli(), uuid.getMostSignificantBits() >>> 16);
+    }
+
+    @Test
+    @DisplayName("Deve ordenar identificadores de instantes diferentes pelo tempo")
+    void deveOrdenarPeloTempo() {
+        // Arrange
+        Instant instante = Instant.parse("2025-06-01T12:00:00Z");
+        GeradorUuidV7Adapter anterior = new GeradorUuidV7Adapter(Clock.fixed(instante, ZoneOffset.UTC));
+        GeradorUuidV7Adapter posterior = new GeradorUuidV7Adapter(Clock.fixed(instante.plusMillis(1), ZoneOffset.UTC));
+
+        // Act
+        String primeiro = anterior.gerar();
+        String segundo = posterior.gerar();
+
+        // Assert - a ordem textual é a mesma da coluna BINARY(16)
+        assertTrue(primeiro.compareTo(segundo) < 0);
+    }
+
+    @Test
+    @DisplayName("Deve gerar identificadores distintos no mesmo milissegundo")
+    void deveGerarIdentificadoresDistintos() {
+        // Arrange
+        GeradorUuidV7Adapter gerador = new GeradorUuidV7Adapter(
+            Clock.fixed(Instant.parse("2025-06-01T12:00:00Z"), ZoneOffset.UTC));
+        Set<String> gerados = new HashSet<>();
+
+        // Act
+        for (int i = 0; i < 10_000; i++) {
+            gerados.add(gerador.gerar());
+        }
+
+        // Assert
+        assertEquals(10_000, gerados.size());
+    }
+}
@@ -0,0 +1,119 @@
+package br.com.fiap.postechfasfood.infrastructure.adapters.persistence;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do AlocadorNumeroPedido")
+class AlocadorNumeroPedidoTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<Integer>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    @DisplayName("Deve distribuir números do bloco reservado sem voltar ao banco")
+    void deveDistribuirNumerosDoBlocoSemVoltarAoBanco() {
+        // Arrange
+        when(jdbcTemplate.queryForObject(contains("FOR UPDATE"), eq(Integer.class), eq("NR_PEDIDO")))
+                .thenReturn(10);
+        AlocadorNumeroPedido alocador = new AlocadorNumeroPedido(jdbcTemplate, transactionTemplate, 3);
+
+        // Act
+        int primeiro = alocador.proximoNumero();
+        int segundo = alocador.proximoNumero();
+        int terceiro = alocador.proximoNumero();
+
+        // Assert
+        assertEquals(10, primeiro);
+        assertEquals(11, segundo);
+        assertEquals(12, terceiro);
+        verify(jdbcTemplate, times(1)).queryForObject(anyString(), eq(Integer.class), any());
+        verify(jdbcTemplate).update(contains("UPDATE tb_sequencias"), eq(13), eq("NR_PEDIDO"));
+    }
+
+    @Test
+    @DisplayName("Deve reservar novo bloco quando o atual se esgota")
+    void deveReservarNovoBlocoQuandoAtualSeEsgota() {
+        // Arrange
+        when(jdbcTemplate.queryForObject(contains("FOR UPDATE"), eq(Integer.class), eq("NR_PEDIDO")))
+                .thenReturn(1, 101);
+        AlocadorNumeroPedido alocador = new AlocadorNumeroPedido(jdbcTemplate, transactionTemplate, 2);
+
+        // Act
+        List<Integer> numeros = List.of(alocador.proximoNumero(), alocador.proximoNumero(), alocador.proximoNumero());
+
+        // Assert
+        assertEquals(List.of(1, 2, 101), numeros);
+        verify(jdbcTemplate, times(2)).queryForObject(anyString(), eq(Integer.class), any());
+    }
+
+    @Test
+    @DisplayName("Deve gerar números únicos sob concorrência")
+    void deveGerarNumerosUnicosSobConcorrencia() throws Exception {
+        // Arrange
+        AtomicInteger sequenciaBanco = new AtomicInteger(1);
+        int tamanhoBloco = 7;
+        when(jdbcTemplate.queryForObject(contains("FOR UPDATE"), eq(Integer.class), eq("NR_PEDIDO")))
+                .thenAnswer(invocation -> sequenciaBanco.getAndAdd(tamanhoBloco));
+        AlocadorNumeroPedido alocador = new AlocadorNumeroPedido(jdbcTemplate, transactionTemplate, tamanhoBloco);
+
+        int threads = 8;
+        int numerosPorThread = 200;
+        Set<Integer> numeros = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        // Act
+        List<Future<?>> tarefas = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            tarefas.add(executor.submit(() -> {
+                for (int i = 0; i < numerosPorThread; i++) {
+                    numeros.add(alocador.proximoNumero());
+                }
+            }));
+        }
+        for (Future<?> tarefa : tarefas) {
+            tarefa.get();
+        }
+        executor.shutdown();
+
+        // Assert
+        assertEquals(threads * numerosPorThread, numeros.size());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar tamanho de bloco inválido")
+    void deveRejeitarTamanhoDeBlocoInvalido() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> new AlocadorNumeroPedido(jdbcTemplate, transactionTemplate, 0));
+    }
+}
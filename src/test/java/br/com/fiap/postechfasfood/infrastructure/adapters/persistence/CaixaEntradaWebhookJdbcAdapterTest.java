@@ -0,0 +1,130 @@
+package br.com.fiap.postechfasfood.infrastructure.adapters.persistence;
+
+import br.com.fiap.postechfasfood.domain.ports.input.ProcessarWebhookPagamentoUseCase.WebhookPagamentoRequest;
+import br.com.fiap.postechfasfood.domain.ports.output.CaixaEntradaWebhookPort.WebhookRecebido;
+import br.com.fiap.postechfasfood.domain.valueobjects.StatusPagamento;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Caixa de entrada de webhooks JDBC Adapter - Testes")
+class CaixaEntradaWebhookJdbcAdapterTest {
+
+    private static final String ID_WEBHOOK = "0190a8f0-7c3e-7a51-9c2d-4b7e8f1a2b3c";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private CaixaEntradaWebhookJdbcAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        adapter = new CaixaEntradaWebhookJdbcAdapter(jdbcTemplate, () -> ID_WEBHOOK);
+    }
+
+    @Test
+    @DisplayName("Deve gravar o webhook como pendente e pronto para processamento")
+    void deveRegistrarWebhookPendente() {
+        // Arrange
+        LocalDateTime dataPagamento = LocalDateTime.of(2025, 1, 10, 12, 0);
+        WebhookPagamentoRequest request = new WebhookPagamentoRequest(1, StatusPagamento.APROVADO,
+            BigDecimal.valueOf(68.00), dataPagamento, "MP-123456789", "MERCADO_PAGO");
+
+        // Act
+        String id = adapter.registrar(request);
+
+        // Assert
+        assertEquals(ID_WEBHOOK, id);
+        verify(jdbcTemplate).update(contains("INSERT INTO tb_webhooks_pagamento"),
+            eq(IdentificadorBinario.paraBytes(ID_WEBHOOK)), eq(1), eq("APROVADO"), eq(BigDecimal.valueOf(68.00)),
+            eq(Timestamp.valueOf(dataPagamento)), eq("MP-123456789"), eq("MERCADO_PAGO"),
+            eq(CaixaEntradaWebhookJdbcAdapter.SITUACAO_PENDENTE), any(Timestamp.class), any(Timestamp.class));
+    }
+
+    @Test
+    @DisplayName("Deve reservar os webhooks prontos e contar a nova tentativa")
+    @SuppressWarnings("unchecked")
+    void deveReservarWebhooksProntos() {
+        // Arrange
+        LocalDateTime agora = LocalDateTime.of(2025, 1, 10, 12, 0);
+        WebhookPagamentoRequest request = new WebhookPagamentoRequest(1, StatusPagamento.APROVADO,
+            BigDecimal.valueOf(68.00), agora, "MP-123456789", "MERCADO_PAGO");
+        when(jdbcTemplate.query(contains("FOR UPDATE SKIP LOCKED"), any(RowMapper.class),
+                eq(CaixaEntradaWebhookJdbcAdapter.SITUACAO_PENDENTE), eq(Timestamp.valueOf(agora)),
+                eq(CaixaEntradaWebhookJdbcAdapter.SITUACAO_PENDENTE), eq(10)))
+            .thenReturn(List.of(new WebhookRecebido(ID_WEBHOOK, request, 0, agora.minusSeconds(5))));
+        ArgumentCaptor<List<Object[]>> parametros = ArgumentCaptor.forClass(List.class);
+
+        // Act
+        List<WebhookRecebido> reservados = adapter.reservarProximos(10, agora, Duration.ofMinutes(2));
+
+        // Assert
+        assertEquals(1, reservados.size());
+        assertEquals(1, reservados.getFirst().tentativas());
+        verify(jdbcTemplate).batchUpdate(contains("nr_tentativas = nr_tentativas + 1"), parametros.capture());
+        assertArrayEquals(
+            new Object[]{Timestamp.valueOf(agora.plusMinutes(2)), IdentificadorBinario.paraBytes(ID_WEBHOOK)},
+            parametros.getValue().getFirst());
+    }
+
+    @Test
+    @DisplayName("Não deve escrever quando não houver webhooks prontos")
+    @SuppressWarnings("unchecked")
+    void naoDeveEscreverSemWebhooksProntos() {
+        // Arrange
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(), any(), any(), anyInt())).thenReturn(List.of());
+
+        // Act
+        List<WebhookRecebido> reservados = adapter.reservarProximos(10, LocalDateTime.now(), Duration.ofMinutes(2));
+
+        // Assert
+        assertTrue(reservados.isEmpty());
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    @DisplayName("Deve reservar só o webhook pendente mais antigo de cada pedido")
+    @SuppressWarnings("unchecked")
+    void deveReservarSoOMaisAntigoDeCadaPedido() {
+        // Arrange
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        when(jdbcTemplate.query(sql.capture(), any(RowMapper.class), any(), any(), any(), anyInt())).thenReturn(List.of());
+
+        // Act
+        adapter.reservarProximos(10, LocalDateTime.now(), Duration.ofMinutes(2));
+
+        // Assert - um webhook reagendado segura os posteriores do mesmo pedido
+        assertTrue(sql.getValue().contains("NOT EXISTS"));
+        assertTrue(sql.getValue().contains("anterior.nr_pedido = w.nr_pedido"));
+        assertTrue(sql.getValue().contains("anterior.dh_recebimento < w.dh_recebimento"));
+    }
+
+    @Test
+    @DisplayName("Deve mover para os mortos guardando o erro truncado")
+    void deveMoverParaMortosComErroTruncado() {
+        // Act
+        adapter.moverParaMortos(ID_WEBHOOK, "x".repeat(600));
+
+        // Assert
+        verify(jdbcTemplate).update(contains("SET tx_situacao = ?"),
+            eq(CaixaEntradaWebhookJdbcAdapter.SITUACAO_MORTO), eq("x".repeat(500)),
+            eq(IdentificadorBinario.paraBytes(ID_WEBHOOK)));
+    }
+}
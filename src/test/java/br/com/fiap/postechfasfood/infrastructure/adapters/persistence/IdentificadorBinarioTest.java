@@ -0,0 +1,67 @@
+package br.com.fiap.postechfasfood.infrastructure.adapters.persistence;
+
+import br.com.fiap.postechfasfood.infrastructure.adapters.identificador.GeradorUuidV7Adapter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.HexFormat;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Identificador binário - Testes")
+class IdentificadorBinarioTest {
+
+    @Test
+    @DisplayName("Deve gravar os 16 bytes na mesma ordem do texto do UUID")
+    void deveGravarBytesNaOrdemDoTexto() {
+        // Arrange
+        String uuid = "0190a8f0-7c3e-7a51-9c2d-4b7e8f1a2b3c";
+
+        // Act
+        byte[] bytes = IdentificadorBinario.paraBytes(uuid);
+
+        // Assert - mesmo resultado de UNHEX(REPLACE(uuid, '-', '')) na migração
+        assertArrayEquals(HexFormat.of().parseHex("0190a8f07c3e7a519c2d4b7e8f1a2b3c"), bytes);
+    }
+
+    @Test
+    @DisplayName("Deve converter de volta para o mesmo texto")
+    void deveConverterIdaEVolta() {
+        // Arrange
+        String uuid = new GeradorUuidV7Adapter().gerar();
+
+        // Act
+        String texto = IdentificadorBinario.paraTexto(IdentificadorBinario.paraBytes(uuid));
+
+        // Assert
+        assertEquals(uuid, texto);
+    }
+
+    @Test
+    @DisplayName("Deve manter a ordem do UUID v7 na comparação dos bytes")
+    void deveManterOrdemDoUuidV7() {
+        // Arrange
+        Instant instante = Instant.parse("2025-06-01T12:00:00Z");
+        String anterior = new GeradorUuidV7Adapter(Clock.fixed(instante, ZoneOffset.UTC)).gerar();
+        String posterior = new GeradorUuidV7Adapter(Clock.fixed(instante.plusMillis(1), ZoneOffset.UTC)).gerar();
+
+        // Act - BINARY(16) compara byte a byte sem sinal
+        int comparacao = Arrays.compareUnsigned(
+            IdentificadorBinario.paraBytes(anterior), IdentificadorBinario.paraBytes(posterior));
+
+        // Assert
+        assertTrue(comparacao < 0);
+    }
+
+    @Test
+    @DisplayName("Deve manter nulo nos dois sentidos")
+    void deveManterNulo() {
+        // Act & Assert
+        assertNull(IdentificadorBinario.paraBytes(null));
+        assertNull(IdentificadorBinario.paraTexto(null));
+    }
+}
@@ -1,6 +1,7 @@
 package br.com.fiap.postechfasfood.infrastructure.adapters.persistence;
 
 import br.com.fiap.postechfasfood.domain.entities.Pagamento;
+import br.com.fiap.postechfasfood.domain.exception.PagamentoDuplicadoException;
 import br.com.fiap.postechfasfood.domain.valueobjects.StatusPagamento;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -9,6 +10,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentMatchers;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
@@ -21,6 +23,7 @@ import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -29,6 +32,9 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 @DisplayName("Pagamento JDBC Adapter - Testes")
 class PagamentoJdbcAdapterTest {
+
+    private static final String ID_PAGAMENTO = "550e8400-e29b-41d4-a716-446655440000";
+    private static final String ID_PEDIDO = "f47ac10b-58cc-4372-a567-0e02b2c3d479";
     
     @Mock
     private JdbcTemplate jdbcTemplate;
@@ -37,7 +43,7 @@ class PagamentoJdbcAdapterTest {
     
     @BeforeEach
     void setUp() {
-        adapter = new PagamentoJdbcAdapter(jdbcTemplate);
+        adapter = new PagamentoJdbcAdapter(jdbcTemplate, () -> ID_PAGAMENTO);
     }
     
     @Test
@@ -45,7 +51,7 @@ class PagamentoJdbcAdapterTest {
     void deveSalvarPagamentoComSucesso() {
         // Arrange
         Pagamento pagamento = new Pagamento();
-        pagamento.setPedidoId("pedido-123");
+        pagamento.setPedidoId(ID_PEDIDO);
         pagamento.setNumeroPedido(1);
         pagamento.setStatusPagamento(StatusPagamento.APROVADO);
         pagamento.setValor(BigDecimal.valueOf(68.00));
@@ -61,15 +67,15 @@ class PagamentoJdbcAdapterTest {
         
         // Assert
         assertNotNull(resultado);
-        assertNotNull(resultado.getId());
+        assertEquals(ID_PAGAMENTO, resultado.getId());
         assertNotNull(resultado.getDataCriacao());
         assertNotNull(resultado.getDataAtualizacao());
         assertEquals(StatusPagamento.APROVADO, resultado.getStatusPagamento());
         
         verify(jdbcTemplate, times(1)).update(
             anyString(), 
-            anyString(),
-            eq("pedido-123"),
+            eq(binario(ID_PAGAMENTO)),
+            eq(binario(ID_PEDIDO)),
             eq(1),
             eq("APROVADO"),
             eq(BigDecimal.valueOf(68.00)),
@@ -81,14 +87,38 @@ class PagamentoJdbcAdapterTest {
         );
     }
     
+    @Test
+    @DisplayName("Deve sinalizar pagamento duplicado quando a transação já estiver gravada")
+    void deveSinalizarPagamentoDuplicado() {
+        // Arrange
+        Pagamento pagamento = new Pagamento();
+        pagamento.setPedidoId(ID_PEDIDO);
+        pagamento.setNumeroPedido(1);
+        pagamento.setStatusPagamento(StatusPagamento.APROVADO);
+        pagamento.setValor(BigDecimal.valueOf(68.00));
+        pagamento.setDataHoraPagamento(LocalDateTime.now());
+        pagamento.setTransacaoId("MP-123456789");
+        pagamento.setOrigem("MERCADO_PAGO");
+        DuplicateKeyException chaveDuplicada =
+            new DuplicateKeyException("Duplicate entry for key 'UK_PAGAMENTO_TRANSACAO_STATUS'");
+        
+        when(jdbcTemplate.update(anyString(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any()))
+            .thenThrow(chaveDuplicada);
+        
+        // Act & Assert
+        PagamentoDuplicadoException exception = assertThrows(PagamentoDuplicadoException.class,
+            () -> adapter.salvar(pagamento));
+        assertTrue(exception.getMessage().contains("MP-123456789"));
+    }
+    
     @Test
     @DisplayName("Deve buscar pagamento por ID com sucesso")
     void deveBuscarPorIdComSucesso() {
         // Arrange
-        String id = "pag-123";
+        String id = ID_PAGAMENTO;
         Pagamento pagamentoEsperado = criarPagamentoMock(id, 1);
         
-        when(jdbcTemplate.queryForObject(anyString(), ArgumentMatchers.<RowMapper<Pagamento>>any(), eq(id)))
+        when(jdbcTemplate.queryForObject(anyString(), ArgumentMatchers.<RowMapper<Pagamento>>any(), eq(binario(id))))
             .thenReturn(pagamentoEsperado);
         
         // Act
@@ -104,8 +134,8 @@ class PagamentoJdbcAdapterTest {
     @DisplayName("Deve retornar Optional vazio quando pagamento não encontrado por ID")
     void deveRetornarVazioQuandoNaoEncontradoPorId() {
         // Arrange
-        String id = "pag-inexistente";
-        when(jdbcTemplate.queryForObject(anyString(), ArgumentMatchers.<RowMapper<Pagamento>>any(), eq(id)))
+        String id = UUID.randomUUID().toString();
+        when(jdbcTemplate.queryForObject(anyString(), ArgumentMatchers.<RowMapper<Pagamento>>any(), eq(binario(id))))
             .thenThrow(new EmptyResultDataAccessException(1));
         
         // Act
@@ -152,13 +182,13 @@ class PagamentoJdbcAdapterTest {
     @DisplayName("Deve buscar todos os pagamentos de um pedido")
     void deveBuscarPorPedidoId() {
         // Arrange
-        String pedidoId = "pedido-123";
+        String pedidoId = ID_PEDIDO;
         List<Pagamento> pagamentosEsperados = List.of(
             criarPagamentoMock("pag-1", 1),
             criarPagamentoMock("pag-2", 1)
         );
         
-        when(jdbcTemplate.query(anyString(), ArgumentMatchers.<RowMapper<Pagamento>>any(), eq(pedidoId)))
+        when(jdbcTemplate.query(anyString(), ArgumentMatchers.<RowMapper<Pagamento>>any(), eq(binario(pedidoId))))
             .thenReturn(pagamentosEsperados);
         
         // Act
@@ -190,6 +220,10 @@ class PagamentoJdbcAdapterTest {
         assertEquals(3, resultado.size());
     }
     
+    private static byte[] binario(String id) {
+        return IdentificadorBinario.paraBytes(id);
+    }
+
     private Pagamento criarPagamentoMock(String id, Integer numeroPedido) {
         return new Pagamento(
             id,
@@ -216,8 +250,8 @@ class PagamentoJdbcAdapterTest {
         LocalDateTime dataCriacao = LocalDateTime.now().minusHours(1);
         LocalDateTime dataAtualizacao = LocalDateTime.now();
 
-        when(rs.getString("cd_pagamento")).thenReturn("pag-123");
-        when(rs.getString("cd_pedido")).thenReturn("pedido-456");
+        when(rs.getBytes("cd_pagamento")).thenReturn(binario(ID_PAGAMENTO));
+        when(rs.getBytes("cd_pedido")).thenReturn(binario(ID_PEDIDO));
         when(rs.getInt("nr_pedido")).thenReturn(1);
         when(rs.getString("tx_status_pagamento")).thenReturn("APROVADO");
         when(rs.getBigDecimal("vl_pagamento")).thenReturn(BigDecimal.valueOf(68.00));
@@ -233,8 +267,8 @@ class PagamentoJdbcAdapterTest {
 
         // Assert
         assertNotNull(resultado);
-        assertEquals("pag-123", resultado.getId());
-        assertEquals("pedido-456", resultado.getPedidoId());
+        assertEquals(ID_PAGAMENTO, resultado.getId());
+        assertEquals(ID_PEDIDO, resultado.getPedidoId());
         assertEquals(1, resultado.getNumeroPedido());
         assertEquals(StatusPagamento.APROVADO, resultado.getStatusPagamento());
         assertEquals(BigDecimal.valueOf(68.00), resultado.getValor());
@@ -252,8 +286,8 @@ class PagamentoJdbcAdapterTest {
         ResultSet rs = mock(ResultSet.class);
 
         // Configurar campos comuns
-        when(rs.getString("cd_pagamento")).thenReturn("pag-123");
-        when(rs.getString("cd_pedido")).thenReturn("pedido-456");
+        when(rs.getBytes("cd_pagamento")).thenReturn(binario(ID_PAGAMENTO));
+        when(rs.getBytes("cd_pedido")).thenReturn(binario(ID_PEDIDO));
         when(rs.getInt("nr_pedido")).thenReturn(1);
         when(rs.getBigDecimal("vl_pagamento")).thenReturn(BigDecimal.valueOf(68.00));
         when(rs.getTimestamp("dh_pagamento")).thenReturn(Timestamp.valueOf(LocalDateTime.now()));
@@ -287,8 +321,8 @@ class PagamentoJdbcAdapterTest {
         };
 
         // Configurar campos comuns
-        when(rs.getString("cd_pagamento")).thenReturn("pag-123");
-        when(rs.getString("cd_pedido")).thenReturn("pedido-456");
+        when(rs.getBytes("cd_pagamento")).thenReturn(binario(ID_PAGAMENTO));
+        when(rs.getBytes("cd_pedido")).thenReturn(binario(ID_PEDIDO));
         when(rs.getInt("nr_pedido")).thenReturn(1);
         when(rs.getString("tx_status_pagamento")).thenReturn("APROVADO");
         when(rs.getTimestamp("dh_pagamento")).thenReturn(Timestamp.valueOf(agora));
@@ -318,8 +352,8 @@ class PagamentoJdbcAdapterTest {
         int[] numeros = { 1, 100, 999, 999999 };
 
         // Configurar campos comuns
-        when(rs.getString("cd_pagamento")).thenReturn("pag-123");
-        when(rs.getString("cd_pedido")).thenReturn("pedido-456");
+        when(rs.getBytes("cd_pagamento")).thenReturn(binario(ID_PAGAMENTO));
+        when(rs.getBytes("cd_pedido")).thenReturn(binario(ID_PEDIDO));
         when(rs.getString("tx_status_pagamento")).thenReturn("APROVADO");
         when(rs.getBigDecimal("vl_pagamento")).thenReturn(BigDecimal.valueOf(68.00));
         when(rs.getTimestamp("dh_pagamento")).thenReturn(Timestamp.valueOf(agora));
@@ -349,8 +383,8 @@ class PagamentoJdbcAdapterTest {
         String[] origens = { "MERCADO_PAGO", "STRIPE", "PAYPAL", "CREDITO_DIRETO" };
 
         // Configurar campos comuns
-        when(rs.getString("cd_pagamento")).thenReturn("pag-123");
-        when(rs.getString("cd_pedido")).thenReturn("pedido-456");
+        when(rs.getBytes("cd_pagamento")).thenReturn(binario(ID_PAGAMENTO));
+        when(rs.getBytes("cd_pedido")).thenReturn(binario(ID_PEDIDO));
         when(rs.getInt("nr_pedido")).thenReturn(1);
         when(rs.getString("tx_status_pagamento")).thenReturn("APROVADO");
         when(rs.getBigDecimal("vl_pagamento")).thenReturn(BigDecimal.valueOf(68.00));
@@ -380,8 +414,8 @@ class PagamentoJdbcAdapterTest {
         Timestamp timestamp = Timestamp.valueOf(dataEsperada);
 
         // Configurar campos
-        when(rs.getString("cd_pagamento")).thenReturn("pag-123");
-        when(rs.getString("cd_pedido")).thenReturn("pedido-456");
+        when(rs.getBytes("cd_pagamento")).thenReturn(binario(ID_PAGAMENTO));
+        when(rs.getBytes("cd_pedido")).thenReturn(binario(ID_PEDIDO));
         when(rs.getInt("nr_pedido")).thenReturn(1);
         when(rs.getString("tx_status_pagamento")).thenReturn("APROVADO");
         when(rs.getBigDecimal("vl_pagamento")).thenReturn(BigDecimal.valueOf(68.00));
@@ -403,15 +437,15 @@ class PagamentoJdbcAdapterTest {
     }
 
     @Test
-    @DisplayName("Deve mapear IDs como string corretamente")
-    void deveMapearIdsComoStringCorretamente() throws SQLException {
+    @DisplayName("Deve mapear IDs BINARY(16) para o texto do UUID")
+    void deveMapearIdsBinariosParaTexto() throws SQLException {
         // Arrange
         ResultSet rs = mock(ResultSet.class);
-        String idPagamento = "550e8400-e29b-41d4-a716-446655440000";
-        String idPedido = "f47ac10b-58cc-4372-a567-0e02b2c3d479";
+        String idPagamento = UUID.randomUUID().toString();
+        String idPedido = UUID.randomUUID().toString();
 
-        when(rs.getString("cd_pagamento")).thenReturn(idPagamento);
-        when(rs.getString("cd_pedido")).thenReturn(idPedido);
+        when(rs.getBytes("cd_pagamento")).thenReturn(binario(idPagamento));
+        when(rs.getBytes("cd_pedido")).thenReturn(binario(idPedido));
         when(rs.getInt("nr_pedido")).thenReturn(1);
         when(rs.getString("tx_status_pagamento")).thenReturn("APROVADO");
         when(rs.getBigDecimal("vl_pagamento")).thenReturn(BigDecimal.valueOf(68.00));
@@ -437,7 +471,7 @@ class PagamentoJdbcAdapterTest {
     void deveLancarSQLExceptionComDadosInvalidos() throws SQLException {
         // Arrange
         ResultSet rs = mock(ResultSet.class);
-        when(rs.getString("cd_pagamento")).thenThrow(new SQLException("Erro ao ler dados"));
+        when(rs.getBytes("cd_pagamento")).thenThrow(new SQLException("Erro ao ler dados"));
 
         // Act & Assert
         RowMapper<Pagamento> rowMapper = obterPagamentoRowMapper();
@@ -451,8 +485,8 @@ class PagamentoJdbcAdapterTest {
         // Arrange
         ResultSet rs = mock(ResultSet.class);
 
-        when(rs.getString("cd_pagamento")).thenReturn("pag-123");
-        when(rs.getString("cd_pedido")).thenReturn("pedido-456");
+        when(rs.getBytes("cd_pagamento")).thenReturn(binario(ID_PAGAMENTO));
+        when(rs.getBytes("cd_pedido")).thenReturn(binario(ID_PEDIDO));
         when(rs.getInt("nr_pedido")).thenReturn(1);
         when(rs.getString("tx_status_pagamento")).thenReturn("STATUS_INVALIDO");
 
@@ -462,13 +496,13 @@ class PagamentoJdbcAdapterTest {
     }
 
     @Test
-    @DisplayName("Deve mapear string vazia e nula corretamente para IDs")
-    void deveMapearStringVaziaENulaParaIds() throws SQLException {
+    @DisplayName("Deve mapear IDs nulos corretamente")
+    void deveMapearIdsNulos() throws SQLException {
         // Arrange
         ResultSet rs = mock(ResultSet.class);
 
-        when(rs.getString("cd_pagamento")).thenReturn("");
-        when(rs.getString("cd_pedido")).thenReturn(null);
+        when(rs.getBytes("cd_pagamento")).thenReturn(null);
+        when(rs.getBytes("cd_pedido")).thenReturn(null);
         when(rs.getInt("nr_pedido")).thenReturn(1);
         when(rs.getString("tx_status_pagamento")).thenReturn("APROVADO");
         when(rs.getBigDecimal("vl_pagamento")).thenReturn(BigDecimal.valueOf(68.00));
@@ -484,7 +518,7 @@ class PagamentoJdbcAdapterTest {
 
         // Assert
         assertNotNull(resultado);
-        assertEquals("", resultado.getId());
+        assertNull(resultado.getId());
         assertNull(resultado.getPedidoId());
     }
 
@@ -2,6 +2,11 @@ package br.com.fiap.postechfasfood.infrastructure.adapters.persistence;
 
 import br.com.fiap.postechfasfood.domain.entities.ItemPedido;
 import br.com.fiap.postechfasfood.domain.entities.Pedido;
+import br.com.fiap.postechfasfood.domain.valueobjects.CursorPedido;
+import br.com.fiap.postechfasfood.domain.valueobjects.PaginaPedidos;
+import br.com.fiap.postechfasfood.domain.valueobjects.PedidoPainel;
+import br.com.fiap.postechfasfood.domain.valueobjects.PedidoResumo;
+import br.com.fiap.postechfasfood.domain.valueobjects.ResultadoTransicaoStatus;
 import br.com.fiap.postechfasfood.domain.valueobjects.StatusPedido;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -13,13 +18,20 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -34,6 +46,9 @@ class PedidoJdbcAdapterTest {
     @Mock
     private JdbcTemplate jdbcTemplate;
 
+    @Mock
+    private AlocadorNumeroPedido alocadorNumeroPedido;
+
     @InjectMocks
     private PedidoJdbcAdapter adapter;
 
@@ -62,6 +77,8 @@ class PedidoJdbcAdapterTest {
         // Arrange
         when(jdbcTemplate.update(anyString(), any(), any(), any(), any(), any(), any(), any()))
                 .thenReturn(1);
+        when(jdbcTemplate.update(contains("INSERT INTO tb_painel_pedidos"), any(), any(), any(), any(), any(), any()))
+                .thenReturn(1);
 
         // Act
         Pedido resultado = adapter.salvar(pedidoValido);
@@ -71,7 +88,7 @@ class PedidoJdbcAdapterTest {
         assertEquals(pedidoValido.getId(), resultado.getId());
         verify(jdbcTemplate, times(1)).update(
                 contains("INSERT INTO tb_pedidos"),
-                eq(pedidoValido.getId()),
+                eq(binario(pedidoValido.getId())),
                 eq(pedidoValido.getDocumentoCliente()),
                 eq(pedidoValido.getStatus().name()),
                 eq(pedidoValido.getNumeroPedido()),
@@ -79,10 +96,61 @@ class PedidoJdbcAdapterTest {
                 any(),
                 any()
         );
-        verify(jdbcTemplate, times(2)).update(
+        ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(1)).batchUpdate(
+                contains("INSERT INTO tb_itens_pedido"),
+                captor.capture()
+        );
+        List<Object[]> parametrosItens = captor.getValue();
+        assertEquals(2, parametrosItens.size());
+        assertArrayEquals(
+                new Object[] {binario(pedidoValido.getId()), "Hamburguer", "PROD-001", 2, 15.90},
+                parametrosItens.get(0)
+        );
+        assertArrayEquals(
+                new Object[] {binario(pedidoValido.getId()), "Refrigerante", "PROD-002", 1, 5.00},
+                parametrosItens.get(1)
+        );
+        verify(jdbcTemplate, never()).update(
                 contains("INSERT INTO tb_itens_pedido"),
                 any(), any(), any(), any(), any()
         );
+        verify(jdbcTemplate, times(1)).update(
+                contains("INSERT INTO tb_painel_pedidos"),
+                eq(binario(pedidoValido.getId())),
+                eq(1),
+                eq("RECEBIDO"),
+                eq(3),
+                any(),
+                eq("2x Hamburguer, 1x Refrigerante")
+        );
+    }
+
+    @Test
+    @DisplayName("Deve salvar pedido e itens com apenas dois envios ao banco")
+    void deveSalvarPedidoEItensComDoisEnviosAoBanco() {
+        // Arrange
+        List<ItemPedido> itensCombo = new ArrayList<>();
+        for (int i = 1; i <= 6; i++) {
+            itensCombo.add(new ItemPedido("Item " + i, "PROD-00" + i, 1, 10.0));
+        }
+        Pedido combo = new Pedido.Builder()
+                .id(UUID.randomUUID().toString())
+                .status(StatusPedido.AGUARDANDO_PAGAMENTO)
+                .numeroPedido(7)
+                .dataCriacao(LocalDateTime.now())
+                .dataUltimaAtualizacao(LocalDateTime.now())
+                .itens(itensCombo)
+                .build();
+
+        // Act
+        adapter.salvar(combo);
+
+        // Assert
+        verify(jdbcTemplate, times(1)).update(contains("INSERT INTO tb_pedidos"),
+                any(), any(), any(), any(), any(), any(), any());
+        verify(jdbcTemplate, times(1)).batchUpdate(contains("INSERT INTO tb_itens_pedido"), anyList());
+        verifyNoMoreInteractions(jdbcTemplate);
     }
 
     @Test
@@ -92,6 +160,8 @@ class PedidoJdbcAdapterTest {
         pedidoValido.atualizarStatus(StatusPedido.EM_PREPARACAO);
         when(jdbcTemplate.update(anyString(), any(), any(), any(), any()))
                 .thenReturn(1);
+        when(jdbcTemplate.update(contains("INSERT INTO tb_painel_pedidos"), any(), any(), any(), any(), any(), any()))
+                .thenReturn(1);
 
         // Act
         Pedido resultado = adapter.atualizar(pedidoValido);
@@ -104,8 +174,66 @@ class PedidoJdbcAdapterTest {
                 eq(StatusPedido.EM_PREPARACAO.name()),
                 any(),
                 any(),
-                eq(pedidoValido.getId())
+                eq(binario(pedidoValido.getId()))
         );
+        verify(jdbcTemplate).update(
+                contains("ON DUPLICATE KEY UPDATE"),
+                eq(binario(pedidoValido.getId())),
+                any(),
+                eq(StatusPedido.EM_PREPARACAO.name()),
+                eq(2),
+                any(),
+                any()
+        );
+    }
+
+    @Test
+    @DisplayName("Deve remover pedido do painel ao sair dos status visíveis")
+    void deveRemoverPedidoDoPainelAoSairDosStatusVisiveis() {
+        // Arrange
+        pedidoValido.atualizarStatus(StatusPedido.CANCELADO);
+
+        // Act
+        adapter.atualizar(pedidoValido);
+
+        // Assert
+        verify(jdbcTemplate).update(contains("DELETE FROM tb_painel_pedidos"), eq(binario(pedidoValido.getId())));
+        verify(jdbcTemplate, never()).update(contains("INSERT INTO tb_painel_pedidos"),
+                any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve listar painel com uma única consulta na tabela de leitura")
+    void deveListarPainelComUmaUnicaConsulta() {
+        // Arrange
+        PedidoPainel pronto = new PedidoPainel("pedido-1", 1, StatusPedido.PRONTO,
+                LocalDateTime.now(), "1x Hamburguer");
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class))).thenReturn(List.of(pronto));
+
+        // Act
+        List<PedidoPainel> painel = adapter.listarPainel();
+
+        // Assert
+        assertEquals(List.of(pronto), painel);
+        verify(jdbcTemplate).query(contains("FROM tb_painel_pedidos"), any(RowMapper.class));
+        verify(jdbcTemplate, never()).query(contains("tb_itens_pedido"), any(RowCallbackHandler.class), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("Deve limitar o resumo de itens do painel")
+    void deveLimitarResumoDeItensDoPainel() {
+        // Arrange
+        List<ItemPedido> itens = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            itens.add(new ItemPedido("Produto com nome longo " + i, "PROD-" + i, 1, 1.0));
+        }
+
+        // Act
+        String resumo = PedidoJdbcAdapter.resumirItens(itens);
+
+        // Assert
+        assertEquals(PedidoJdbcAdapter.TAMANHO_MAXIMO_RESUMO_ITENS, resumo.length());
+        assertTrue(resumo.startsWith("1x Produto com nome longo 0, "));
     }
 
     @Test
@@ -125,12 +253,12 @@ class PedidoJdbcAdapterTest {
                 .itens(new ArrayList<>())
                 .build();
         
-        when(jdbcTemplate.queryForObject(anyString(), any(RowMapper.class), eq(pedidoId)))
+        when(jdbcTemplate.queryForObject(anyString(), any(RowMapper.class), eq(binario(pedidoId))))
                 .thenReturn(pedidoSemItens);
         
         List<ItemPedido> itens = new ArrayList<>();
         itens.add(new ItemPedido("Hamburguer", "PROD-001", 2, 15.90));
-        when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq(pedidoId)))
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq(binario(pedidoId))))
                 .thenReturn(itens);
 
         // Act
@@ -142,16 +270,41 @@ class PedidoJdbcAdapterTest {
         verify(jdbcTemplate).queryForObject(
                 contains("SELECT cd_pedido"),
                 any(RowMapper.class),
-                eq(pedidoId)
+                eq(binario(pedidoId))
         );
     }
 
+    @Test
+    @DisplayName("Deve trazer a versão do pedido na busca por ID")
+    @SuppressWarnings("unchecked")
+    void deveTrazerVersaoNaBuscaPorId() throws SQLException {
+        // Arrange
+        String pedidoId = UUID.randomUUID().toString();
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getBytes("cd_pedido")).thenReturn(binario(pedidoId));
+        when(rs.getString("tx_status")).thenReturn("RECEBIDO");
+        when(rs.getInt("nr_pedido")).thenReturn(1);
+        when(rs.getTimestamp("dh_criacao_pedido")).thenReturn(Timestamp.valueOf(LocalDateTime.now()));
+        when(rs.getTimestamp("dh_ult_atualizacao")).thenReturn(Timestamp.valueOf(LocalDateTime.now()));
+        when(rs.getInt("nr_versao")).thenReturn(3);
+        when(jdbcTemplate.queryForObject(contains("nr_versao"), any(RowMapper.class), eq(binario(pedidoId))))
+                .thenAnswer(invocation -> invocation.<RowMapper<Pedido>>getArgument(1).mapRow(rs, 0));
+
+        // Act
+        Optional<Pedido> resultado = adapter.buscarPorId(pedidoId);
+
+        // Assert
+        assertTrue(resultado.isPresent());
+        assertEquals(pedidoId, resultado.get().getId());
+        assertEquals(3, resultado.get().getVersao());
+    }
+
     @Test
     @DisplayName("Deve retornar vazio quando pedido não encontrado por ID")
     void deveRetornarVazioQuandoPedidoNaoEncontradoPorId() {
         // Arrange
         String pedidoId = UUID.randomUUID().toString();
-        when(jdbcTemplate.queryForObject(anyString(), any(RowMapper.class), eq(pedidoId)))
+        when(jdbcTemplate.queryForObject(anyString(), any(RowMapper.class), eq(binario(pedidoId))))
                 .thenThrow(new EmptyResultDataAccessException(1));
 
         // Act
@@ -183,7 +336,7 @@ class PedidoJdbcAdapterTest {
         
         List<ItemPedido> itens = new ArrayList<>();
         itens.add(new ItemPedido("Hamburguer", "PROD-001", 2, 15.90));
-        when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq(pedidoId)))
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq(binario(pedidoId))))
                 .thenReturn(itens);
 
         // Act
@@ -214,11 +367,6 @@ class PedidoJdbcAdapterTest {
         
         when(jdbcTemplate.query(anyString(), any(RowMapper.class)))
                 .thenReturn(pedidos);
-        
-        List<ItemPedido> itens = new ArrayList<>();
-        itens.add(new ItemPedido("Hamburguer", "PROD-001", 2, 15.90));
-        when(jdbcTemplate.query(anyString(), any(RowMapper.class), anyString()))
-                .thenReturn(itens);
 
         // Act
         List<Pedido> resultado = adapter.listarTodos();
@@ -230,11 +378,16 @@ class PedidoJdbcAdapterTest {
                 contains("SELECT cd_pedido"),
                 any(RowMapper.class)
         );
+        verify(jdbcTemplate).query(
+                contains("WHERE ip.cd_pedido IN (?)"),
+                any(RowCallbackHandler.class),
+                eq(binario(pedidoId))
+        );
     }
 
     @Test
     @DisplayName("Deve listar pedidos por status")
-    void deveListarPedidosPorStatus() {
+    void deveListarPedidosPorStatus() throws SQLException {
         // Arrange
         StatusPedido status = StatusPedido.RECEBIDO;
         String pedidoId = UUID.randomUUID().toString();
@@ -255,10 +408,16 @@ class PedidoJdbcAdapterTest {
         when(jdbcTemplate.query(contains("FROM tb_pedidos"), any(RowMapper.class), eq(status.name())))
                 .thenReturn(pedidos);
         
-        List<ItemPedido> itens = new ArrayList<>();
-        itens.add(new ItemPedido("Hamburguer", "PROD-001", 2, 15.90));
-        when(jdbcTemplate.query(contains("FROM tb_itens_pedido"), any(RowMapper.class), eq(pedidoId)))
-                .thenReturn(itens);
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getBytes("cd_pedido")).thenReturn(binario(pedidoId));
+        when(rs.getString("nm_produto")).thenReturn("Hamburguer");
+        when(rs.getString("cd_produto")).thenReturn("PROD-001");
+        when(rs.getInt("vl_quantidade")).thenReturn(2);
+        when(rs.getDouble("vl_preco_unitario")).thenReturn(15.90);
+        doAnswer(invocation -> {
+            invocation.<RowCallbackHandler>getArgument(1).processRow(rs);
+            return null;
+        }).when(jdbcTemplate).query(contains("FROM tb_itens_pedido"), any(RowCallbackHandler.class), eq(binario(pedidoId)));
 
         // Act
         List<Pedido> resultado = adapter.listarPorStatus(status);
@@ -267,6 +426,56 @@ class PedidoJdbcAdapterTest {
         assertFalse(resultado.isEmpty());
         assertEquals(1, resultado.size());
         assertEquals(status, resultado.get(0).getStatus());
+        assertEquals(1, resultado.get(0).getItens().size());
+    }
+
+    @Test
+    @DisplayName("Deve retornar primeira página com cursor quando há mais registros")
+    void deveRetornarPrimeiraPaginaComCursor() {
+        // Arrange
+        Pedido maisRecente = pedidoSemItens(UUID.randomUUID().toString(), 3);
+        Pedido intermediario = pedidoSemItens(UUID.randomUUID().toString(), 2);
+        Pedido excedente = pedidoSemItens(UUID.randomUUID().toString(), 1);
+
+        when(jdbcTemplate.query(contains("LIMIT ?"), any(RowMapper.class), eq(3)))
+                .thenReturn(new ArrayList<>(List.of(maisRecente, intermediario, excedente)));
+
+        // Act
+        PaginaPedidos pagina = adapter.listarPagina(null, 2);
+
+        // Assert
+        assertEquals(2, pagina.pedidos().size());
+        assertTrue(pagina.temProximaPagina());
+        assertEquals(intermediario.getId(), pagina.proximoCursor().pedidoId());
+        assertEquals(intermediario.getDataCriacao(), pagina.proximoCursor().dataCriacao());
+        verify(jdbcTemplate).query(
+                contains("WHERE ip.cd_pedido IN (?, ?)"),
+                any(RowCallbackHandler.class),
+                eq(binario(maisRecente.getId())), eq(binario(intermediario.getId()))
+        );
+    }
+
+    @Test
+    @DisplayName("Deve continuar a partir do cursor usando keyset")
+    void deveContinuarAPartirDoCursor() {
+        // Arrange
+        LocalDateTime dataCriacao = LocalDateTime.of(2025, 1, 10, 12, 30);
+        String pedidoCursor = UUID.randomUUID().toString();
+        CursorPedido cursor = new CursorPedido(dataCriacao, pedidoCursor);
+        Timestamp timestamp = Timestamp.valueOf(dataCriacao);
+        Pedido ultimo = pedidoSemItens(UUID.randomUUID().toString(), 1);
+
+        when(jdbcTemplate.query(contains("(dh_criacao_pedido = ? AND cd_pedido < ?)"), any(RowMapper.class),
+                eq(timestamp), eq(timestamp), eq(binario(pedidoCursor)), eq(21)))
+                .thenReturn(new ArrayList<>(List.of(ultimo)));
+
+        // Act
+        PaginaPedidos pagina = adapter.listarPagina(cursor, 20);
+
+        // Assert
+        assertEquals(1, pagina.pedidos().size());
+        assertFalse(pagina.temProximaPagina());
+        assertNull(pagina.proximoCursor());
     }
 
     @Test
@@ -274,105 +483,408 @@ class PedidoJdbcAdapterTest {
     void deveGerarProximoNumeroPedido() {
         // Arrange
         Integer proximoNumero = 42;
-        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class)))
-                .thenReturn(proximoNumero);
+        when(alocadorNumeroPedido.proximoNumero()).thenReturn(proximoNumero);
 
         // Act
         Integer resultado = adapter.gerarProximoNumeroPedido();
 
         // Assert
         assertEquals(proximoNumero, resultado);
-        verify(jdbcTemplate).queryForObject(
-                contains("SELECT COALESCE(MAX(nr_pedido)"),
-                eq(Integer.class)
-        );
+        verifyNoInteractions(jdbcTemplate);
     }
 
     @Test
-    @DisplayName("Deve mapear itens do pedido via RowMapper da consulta de itens")
-    void deveMapearItensDoPedido() throws SQLException {
+    @DisplayName("Deve distribuir itens da consulta em lote para cada pedido")
+    void deveDistribuirItensEmLoteParaCadaPedido() throws SQLException {
         // Arrange
-        String pedidoId = UUID.randomUUID().toString();
-        Pedido pedidoSemItens = new Pedido.Builder()
-                .id(pedidoId)
-                .documentoCliente("12345678900")
-                .status(StatusPedido.RECEBIDO)
-                .numeroPedido(1)
-                .dataCriacao(LocalDateTime.now())
-                .dataUltimaAtualizacao(LocalDateTime.now())
-                .itens(new ArrayList<>())
-                .build();
+        Pedido pedido1 = pedidoSemItens(UUID.randomUUID().toString(), 1);
+        Pedido pedido2 = pedidoSemItens(UUID.randomUUID().toString(), 2);
 
         when(jdbcTemplate.query(anyString(), any(RowMapper.class)))
-                .thenReturn(List.of(pedidoSemItens));
+                .thenReturn(List.of(pedido1, pedido2));
+
+        ArgumentCaptor<RowCallbackHandler> captor = ArgumentCaptor.forClass(RowCallbackHandler.class);
+
+        // Act
+        List<Pedido> resultado = adapter.listarTodos();
+
+        // Assert
+        verify(jdbcTemplate).query(contains("WHERE ip.cd_pedido IN (?, ?)"), captor.capture(),
+                eq(binario(pedido1.getId())), eq(binario(pedido2.getId())));
+        RowCallbackHandler handler = captor.getValue();
 
-        ArgumentCaptor<RowMapper<ItemPedido>> captor = ArgumentCaptor.forClass(RowMapper.class);
-        when(jdbcTemplate.query(contains("FROM tb_itens_pedido"), any(RowMapper.class), eq(pedidoId)))
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getBytes("cd_pedido"))
+                .thenReturn(binario(pedido1.getId()), binario(pedido2.getId()), binario(pedido2.getId()));
+        when(rs.getString("nm_produto")).thenReturn("Hamburguer", "Combo Grande", "Refrigerante");
+        when(rs.getString("cd_produto")).thenReturn("PROD-001", "PROD-XYZ", "PROD-002");
+        when(rs.getInt("vl_quantidade")).thenReturn(2, 5, 1);
+        when(rs.getDouble("vl_preco_unitario")).thenReturn(15.90, 49.99, 0.01);
+
+        handler.processRow(rs);
+        handler.processRow(rs);
+        handler.processRow(rs);
+
+        assertEquals(1, resultado.get(0).getItens().size());
+        assertEquals("Hamburguer", resultado.get(0).getItens().get(0).getNomeProduto());
+        assertEquals(15.90, resultado.get(0).getItens().get(0).getPrecoUnitario());
+        assertEquals(2, resultado.get(1).getItens().size());
+        assertEquals(5, resultado.get(1).getItens().get(0).getQuantidade());
+        assertEquals(49.99, resultado.get(1).getItens().get(0).getPrecoUnitario());
+        assertEquals("PROD-002", resultado.get(1).getItens().get(1).getCodigoProduto());
+    }
+
+    @Test
+    @DisplayName("Deve carregar itens com número de consultas proporcional aos lotes, não aos pedidos")
+    void deveCarregarItensComConsultasPorLote() {
+        // Arrange
+        int quantidadePedidos = PedidoJdbcAdapter.TAMANHO_LOTE_ITENS * 2 + 1;
+        List<Pedido> pedidos = new ArrayList<>();
+        for (int i = 1; i <= quantidadePedidos; i++) {
+            pedidos.add(pedidoSemItens(UUID.randomUUID().toString(), i));
+        }
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq(StatusPedido.RECEBIDO.name())))
+                .thenReturn(pedidos);
+
+        // Act
+        List<Pedido> resultado = adapter.listarPorStatus(StatusPedido.RECEBIDO);
+
+        // Assert
+        assertEquals(quantidadePedidos, resultado.size());
+        verify(jdbcTemplate, times(3)).query(
+                contains("FROM tb_itens_pedido"),
+                any(RowCallbackHandler.class),
+                any(Object[].class)
+        );
+    }
+
+    @Test
+    @DisplayName("Não deve consultar itens quando não há pedidos")
+    void naoDeveConsultarItensSemPedidos() {
+        // Arrange
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class)))
                 .thenReturn(List.of());
 
         // Act
-        adapter.listarTodos();
+        List<Pedido> resultado = adapter.listarTodos();
 
-        // Assert RowMapper mapping
-        verify(jdbcTemplate).query(contains("FROM tb_itens_pedido"), captor.capture(), eq(pedidoId));
-        RowMapper<ItemPedido> rowMapper = captor.getValue();
+        // Assert
+        assertTrue(resultado.isEmpty());
+        verify(jdbcTemplate, never()).query(
+                contains("FROM tb_itens_pedido"),
+                any(RowCallbackHandler.class),
+                any(Object[].class)
+        );
+    }
+
+    @Test
+    @DisplayName("Deve entregar pedidos agrupados um a um ao percorrer período")
+    void deveEntregarPedidosAgrupadosAoPercorrerPeriodo() throws SQLException {
+        // Arrange
+        LocalDateTime inicio = LocalDateTime.of(2025, 1, 10, 0, 0);
+        Timestamp criacao = Timestamp.valueOf(inicio.plusHours(12));
+        String pedidoA = UUID.randomUUID().toString();
+        String pedidoB = UUID.randomUUID().toString();
+        List<Map<String, Object>> linhas = List.of(
+            linhaExportacao(pedidoA, 1, criacao, 1L, "prod-1", "Hamburguer", 2, 25.0),
+            linhaExportacao(pedidoA, 1, criacao, 2L, "prod-2", "Batata", 1, 10.0),
+            linhaExportacao(pedidoB, 2, criacao, null, null, null, 0, 0.0)
+        );
 
         ResultSet rs = mock(ResultSet.class);
-        when(rs.getString("nm_produto")).thenReturn("Hamburguer");
-        when(rs.getString("cd_produto")).thenReturn("PROD-001");
-        when(rs.getInt("vl_quantidade")).thenReturn(2);
-        when(rs.getDouble("vl_preco_unitario")).thenReturn(15.90);
+        int[] linhaAtual = {0};
+        when(rs.getString(anyString())).thenAnswer(inv -> linhas.get(linhaAtual[0]).get(inv.<String>getArgument(0)));
+        when(rs.getBytes(anyString())).thenAnswer(inv -> linhas.get(linhaAtual[0]).get(inv.<String>getArgument(0)));
+        when(rs.getLong(anyString())).thenAnswer(inv -> linhas.get(linhaAtual[0]).get(inv.<String>getArgument(0)));
+        when(rs.getInt(anyString())).thenAnswer(inv -> linhas.get(linhaAtual[0]).get(inv.<String>getArgument(0)));
+        when(rs.getDouble(anyString())).thenAnswer(inv -> linhas.get(linhaAtual[0]).get(inv.<String>getArgument(0)));
+        when(rs.getTimestamp(anyString())).thenAnswer(inv -> linhas.get(linhaAtual[0]).get(inv.<String>getArgument(0)));
+
+        doAnswer(inv -> {
+            RowCallbackHandler handler = inv.getArgument(1);
+            for (linhaAtual[0] = 0; linhaAtual[0] < linhas.size(); linhaAtual[0]++) {
+                handler.processRow(rs);
+            }
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+
+        List<Pedido> recebidos = new ArrayList<>();
 
-        ItemPedido item = rowMapper.mapRow(rs, 0);
+        // Act
+        adapter.percorrerPorPeriodo(inicio, inicio.plusDays(1), recebidos::add);
 
-        assertEquals("Hamburguer", item.getNomeProduto());
-        assertEquals("PROD-001", item.getCodigoProduto());
-        assertEquals(2, item.getQuantidade());
-        assertEquals(15.90, item.getPrecoUnitario());
+        // Assert
+        assertEquals(2, recebidos.size());
+        assertEquals(pedidoA, recebidos.get(0).getId());
+        assertEquals(2, recebidos.get(0).getItens().size());
+        assertEquals(60.0, recebidos.get(0).calcularValorTotal());
+        assertEquals(pedidoB, recebidos.get(1).getId());
+        assertTrue(recebidos.get(1).getItens().isEmpty());
+        verify(jdbcTemplate, times(1)).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
     }
 
     @Test
-    @DisplayName("Deve mapear itens com diferentes valores numéricos")
-    void deveMapearItensComValoresVariados() throws SQLException {
+    @DisplayName("Deve entregar os itens em ordem de id mesmo que o banco os devolva fora de ordem")
+    void deveOrdenarItensPorIdAoPercorrerPeriodo() throws SQLException {
         // Arrange
+        LocalDateTime inicio = LocalDateTime.of(2025, 1, 10, 0, 0);
+        Timestamp criacao = Timestamp.valueOf(inicio.plusHours(12));
         String pedidoId = UUID.randomUUID().toString();
-        Pedido pedidoSemItens = new Pedido.Builder()
-                .id(pedidoId)
-                .documentoCliente("12345678900")
-                .status(StatusPedido.RECEBIDO)
-                .numeroPedido(99)
-                .dataCriacao(LocalDateTime.now())
-                .dataUltimaAtualizacao(LocalDateTime.now())
-                .itens(new ArrayList<>())
-                .build();
+        List<Map<String, Object>> linhas = List.of(
+            linhaExportacao(pedidoId, 1, criacao, 30L, "prod-3", "Refrigerante", 1, 6.0),
+            linhaExportacao(pedidoId, 1, criacao, 10L, "prod-1", "Hamburguer", 2, 25.0),
+            linhaExportacao(pedidoId, 1, criacao, 20L, "prod-2", "Batata", 1, 10.0)
+        );
 
-        when(jdbcTemplate.query(anyString(), any(RowMapper.class)))
-                .thenReturn(List.of(pedidoSemItens));
+        ResultSet rs = mock(ResultSet.class);
+        int[] linhaAtual = {0};
+        when(rs.getString(anyString())).thenAnswer(inv -> linhas.get(linhaAtual[0]).get(inv.<String>getArgument(0)));
+        when(rs.getBytes(anyString())).thenAnswer(inv -> linhas.get(linhaAtual[0]).get(inv.<String>getArgument(0)));
+        when(rs.getLong(anyString())).thenAnswer(inv -> linhas.get(linhaAtual[0]).get(inv.<String>getArgument(0)));
+        when(rs.getInt(anyString())).thenAnswer(inv -> linhas.get(linhaAtual[0]).get(inv.<String>getArgument(0)));
+        when(rs.getDouble(anyString())).thenAnswer(inv -> linhas.get(linhaAtual[0]).get(inv.<String>getArgument(0)));
+        when(rs.getTimestamp(anyString())).thenAnswer(inv -> linhas.get(linhaAtual[0]).get(inv.<String>getArgument(0)));
+
+        doAnswer(inv -> {
+            RowCallbackHandler handler = inv.getArgument(1);
+            for (linhaAtual[0] = 0; linhaAtual[0] < linhas.size(); linhaAtual[0]++) {
+                handler.processRow(rs);
+            }
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+
+        List<Pedido> recebidos = new ArrayList<>();
+
+        // Act
+        adapter.percorrerPorPeriodo(inicio, inicio.plusDays(1), recebidos::add);
+
+        // Assert
+        assertEquals(List.of("prod-1", "prod-2", "prod-3"),
+            recebidos.getFirst().getItens().stream().map(ItemPedido::getCodigoProduto).toList());
+    }
+
+    @Test
+    @DisplayName("Deve consultar período com result set forward-only em modo streaming")
+    void deveConsultarPeriodoEmModoStreaming() throws SQLException {
+        // Arrange
+        LocalDateTime inicio = LocalDateTime.of(2025, 1, 10, 0, 0);
+        LocalDateTime fim = inicio.plusDays(1);
+        Connection conexao = mock(Connection.class);
+        PreparedStatement ps = mock(PreparedStatement.class);
+        when(conexao.prepareStatement(anyString(), eq(ResultSet.TYPE_FORWARD_ONLY), eq(ResultSet.CONCUR_READ_ONLY)))
+            .thenReturn(ps);
 
-        ArgumentCaptor<RowMapper<ItemPedido>> captor = ArgumentCaptor.forClass(RowMapper.class);
-        when(jdbcTemplate.query(contains("FROM tb_itens_pedido"), any(RowMapper.class), eq(pedidoId)))
+        ArgumentCaptor<PreparedStatementCreator> captor = ArgumentCaptor.forClass(PreparedStatementCreator.class);
+
+        // Act
+        adapter.percorrerPorPeriodo(inicio, fim, pedido -> fail("Nenhum pedido esperado"));
+
+        // Assert
+        verify(jdbcTemplate).query(captor.capture(), any(RowCallbackHandler.class));
+        captor.getValue().createPreparedStatement(conexao);
+        verify(ps).setFetchSize(Integer.MIN_VALUE);
+        verify(ps).setTimestamp(1, Timestamp.valueOf(inicio));
+        verify(ps).setTimestamp(2, Timestamp.valueOf(fim));
+    }
+
+    @Test
+    @DisplayName("Deve mover lote de pedidos encerrados para o histórico")
+    void deveMoverLoteDePedidosEncerradosParaHistorico() {
+        // Arrange
+        LocalDateTime limite = LocalDateTime.now().minusDays(30);
+        byte[] pedido1 = binario(UUID.randomUUID().toString());
+        byte[] pedido2 = binario(UUID.randomUUID().toString());
+        when(jdbcTemplate.queryForList(contains("FOR UPDATE SKIP LOCKED"), eq(byte[].class), any(), eq(2)))
+                .thenReturn(List.of(pedido1, pedido2));
+
+        // Act
+        int arquivados = adapter.arquivarEncerradosAntesDe(limite, 2);
+
+        // Assert
+        assertEquals(2, arquivados);
+        verify(jdbcTemplate).update(contains("INSERT INTO tb_pedidos_historico"), eq(pedido1), eq(pedido2));
+        verify(jdbcTemplate).update(contains("INSERT INTO tb_itens_pedido_historico"), eq(pedido1), eq(pedido2));
+        verify(jdbcTemplate).update(contains("DELETE FROM tb_itens_pedido WHERE cd_pedido IN (?, ?)"), eq(pedido1), eq(pedido2));
+        verify(jdbcTemplate).update(contains("DELETE FROM tb_pedidos WHERE cd_pedido IN (?, ?)"), eq(pedido1), eq(pedido2));
+    }
+
+    @Test
+    @DisplayName("Não deve escrever quando não houver pedidos a arquivar")
+    void naoDeveEscreverQuandoNaoHouverPedidosAArquivar() {
+        // Arrange
+        when(jdbcTemplate.queryForList(anyString(), eq(byte[].class), any(), anyInt()))
                 .thenReturn(List.of());
 
         // Act
-        adapter.listarTodos();
+        int arquivados = adapter.arquivarEncerradosAntesDe(LocalDateTime.now(), 500);
 
-        verify(jdbcTemplate).query(contains("FROM tb_itens_pedido"), captor.capture(), eq(pedidoId));
-        RowMapper<ItemPedido> rowMapper = captor.getValue();
+        // Assert
+        assertEquals(0, arquivados);
+        verify(jdbcTemplate, never()).update(anyString(), any(Object[].class));
+    }
 
-        ResultSet rs = mock(ResultSet.class);
+    @Test
+    @DisplayName("Deve buscar pedido arquivado quando não estiver na tabela quente")
+    void deveBuscarPedidoArquivadoQuandoNaoEstiverNaTabelaQuente() {
+        // Arrange
+        Integer numeroPedido = 42;
+        String pedidoId = UUID.randomUUID().toString();
+        Pedido arquivado = pedidoSemItens(pedidoId, numeroPedido);
+        when(jdbcTemplate.queryForObject(contains("FROM tb_pedidos\n"), any(RowMapper.class), eq(numeroPedido)))
+                .thenThrow(new EmptyResultDataAccessException(1));
+        when(jdbcTemplate.queryForObject(contains("FROM tb_pedidos_historico"), any(RowMapper.class), eq(numeroPedido)))
+                .thenReturn(arquivado);
+        when(jdbcTemplate.query(contains("tb_itens_pedido_historico"), any(RowMapper.class), eq(binario(pedidoId))))
+                .thenReturn(List.of(new ItemPedido("Hamburguer", "PROD-001", 1, 15.90)));
+
+        // Act
+        Optional<Pedido> resultado = adapter.buscarPorNumeroPedido(numeroPedido);
+
+        // Assert
+        assertTrue(resultado.isPresent());
+        assertEquals(pedidoId, resultado.get().getId());
+        assertEquals(1, resultado.get().getItens().size());
+    }
+
+    @Test
+    @DisplayName("Deve transicionar status com compare-and-set e mover no painel")
+    void deveTransicionarStatusComCompareAndSet() {
+        // Arrange
+        String pedidoId = UUID.randomUUID().toString();
+        when(jdbcTemplate.update(contains("AND tx_status = ? AND nr_versao = ?"),
+                eq("PRONTO"), any(), eq(binario(pedidoId)), eq("EM_PREPARACAO"), eq(3)))
+                .thenReturn(1);
+        when(jdbcTemplate.update(contains("UPDATE tb_painel_pedidos"), any(), any(), any()))
+                .thenReturn(1);
+
+        // Act
+        ResultadoTransicaoStatus resultado = adapter.transicionarStatus(
+                pedidoId, StatusPedido.EM_PREPARACAO, 3, StatusPedido.PRONTO);
+
+        // Assert
+        assertEquals(ResultadoTransicaoStatus.SUCESSO, resultado);
+        verify(jdbcTemplate).update(contains("UPDATE tb_painel_pedidos"), eq("PRONTO"), eq(1), eq(binario(pedidoId)));
+        verify(jdbcTemplate, never()).query(anyString(), any(RowMapper.class), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("Deve inserir no painel a partir do banco quando pedido entra em status visível")
+    void deveInserirNoPainelQuandoPedidoEntraEmStatusVisivel() {
+        // Arrange
+        String pedidoId = UUID.randomUUID().toString();
+        when(jdbcTemplate.update(contains("AND tx_status = ? AND nr_versao = ?"),
+                any(), any(), any(), any(), any()))
+                .thenReturn(1);
+
+        when(jdbcTemplate.update(contains("GROUP_CONCAT"), any(), any(), any()))
+                .thenReturn(1);
+
+        // Act
+        adapter.transicionarStatus(pedidoId, StatusPedido.AGUARDANDO_PAGAMENTO, 0, StatusPedido.RECEBIDO);
+
+        // Assert
+        verify(jdbcTemplate).update(contains("GROUP_CONCAT"), eq("RECEBIDO"), eq(3), eq(binario(pedidoId)));
+    }
+
+    @Test
+    @DisplayName("Deve retornar conflito sem tocar o painel quando status ou versão mudaram")
+    void deveRetornarConflitoQuandoStatusOuVersaoMudaram() {
+        // Arrange
+        when(jdbcTemplate.update(contains("AND tx_status = ? AND nr_versao = ?"),
+                any(), any(), any(), any(), any()))
+                .thenReturn(0);
+
+        // Act
+        ResultadoTransicaoStatus resultado = adapter.transicionarStatus(
+                UUID.randomUUID().toString(), StatusPedido.RECEBIDO, 1, StatusPedido.EM_PREPARACAO);
+
+        // Assert
+        assertEquals(ResultadoTransicaoStatus.CONFLITO, resultado);
+        verify(jdbcTemplate, never()).update(contains("tb_painel_pedidos"), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("Deve buscar resumo do pedido sem carregar itens")
+    void deveBuscarResumoSemCarregarItens() {
+        // Arrange
+        String pedidoId = UUID.randomUUID().toString();
+        PedidoResumo resumo = new PedidoResumo(pedidoId, 1, StatusPedido.RECEBIDO, 5);
+        when(jdbcTemplate.queryForObject(contains("nr_versao"), any(RowMapper.class), eq(binario(pedidoId))))
+                .thenReturn(resumo);
+
+        // Act
+        Optional<PedidoResumo> resultado = adapter.buscarResumoPorId(pedidoId);
+
+        // Assert
+        assertEquals(Optional.of(resumo), resultado);
+        verify(jdbcTemplate, never()).query(anyString(), any(RowMapper.class), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("Deve buscar resumo por número com uma única consulta de cabeçalho")
+    void deveBuscarResumoPorNumeroComUmaConsulta() {
+        // Arrange
+        PedidoResumo resumo = new PedidoResumo("pedido-1", 7, StatusPedido.AGUARDANDO_PAGAMENTO, 0);
+        when(jdbcTemplate.queryForObject(contains("FROM tb_pedidos\n"), any(RowMapper.class), eq(7)))
+                .thenReturn(resumo);
+
+        // Act
+        Optional<PedidoResumo> resultado = adapter.buscarResumoPorNumeroPedido(7);
+
+        // Assert
+        assertEquals(Optional.of(resumo), resultado);
+        verify(jdbcTemplate, times(1)).queryForObject(anyString(), any(RowMapper.class), any(Object[].class));
+        verifyNoMoreInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Deve buscar resumo no histórico quando pedido foi arquivado")
+    void deveBuscarResumoNoHistoricoQuandoArquivado() {
+        // Arrange
+        PedidoResumo arquivado = new PedidoResumo("pedido-1", 7, StatusPedido.FINALIZADO, 0);
+        when(jdbcTemplate.queryForObject(contains("FROM tb_pedidos\n"), any(RowMapper.class), eq(7)))
+                .thenThrow(new EmptyResultDataAccessException(1));
+        when(jdbcTemplate.queryForObject(contains("FROM tb_pedidos_historico"), any(RowMapper.class), eq(7)))
+                .thenReturn(arquivado);
+
+        // Act
+        Optional<PedidoResumo> resultado = adapter.buscarResumoPorNumeroPedido(7);
+
+        // Assert
+        assertEquals(Optional.of(arquivado), resultado);
+    }
+
+    private static byte[] binario(String pedidoId) {
+        return IdentificadorBinario.paraBytes(pedidoId);
+    }
+
+    private Pedido pedidoSemItens(String pedidoId, int numeroPedido) {
+        return new Pedido.Builder()
+                .id(pedidoId)
+                .documentoCliente("12345678900")
+                .status(StatusPedido.RECEBIDO)
+                .numeroPedido(numeroPedido)
+                .dataCriacao(LocalDateTime.now())
+                .dataUltimaAtualizacao(LocalDateTime.now())
+                .itens(new ArrayList<>())
+                .build();
+    }
 
-        when(rs.getString("nm_produto")).thenReturn("Combo Grande");
-        when(rs.getString("cd_produto")).thenReturn("PROD-XYZ");
-        when(rs.getInt("vl_quantidade")).thenReturn(5);
-        when(rs.getDouble("vl_preco_unitario")).thenReturn(49.99);
-        ItemPedido item1 = rowMapper.mapRow(rs, 0);
-        assertEquals(5, item1.getQuantidade());
-        assertEquals(49.99, item1.getPrecoUnitario());
-
-        when(rs.getInt("vl_quantidade")).thenReturn(1);
-        when(rs.getDouble("vl_preco_unitario")).thenReturn(0.01);
-        ItemPedido item2 = rowMapper.mapRow(rs, 1);
-        assertEquals(1, item2.getQuantidade());
-        assertEquals(0.01, item2.getPrecoUnitario());
+    private Map<String, Object> linhaExportacao(String pedidoId, int numeroPedido, Timestamp criacao,
+                                                Long idItem, String codigoProduto, String nomeProduto,
+                                                int quantidade, double precoUnitario) {
+        Map<String, Object> linha = new HashMap<>();
+        linha.put("cd_pedido", binario(pedidoId));
+        linha.put("tx_documento_cliente", "12345678900");
+        linha.put("tx_status", "RECEBIDO");
+        linha.put("nr_pedido", numeroPedido);
+        linha.put("dh_criacao_pedido", criacao);
+        linha.put("dh_ult_atualizacao", criacao);
+        linha.put("id_item", idItem);
+        linha.put("cd_produto", codigoProduto);
+        linha.put("nm_produto", nomeProduto);
+        linha.put("vl_quantidade", quantidade);
+        linha.put("vl_preco_unitario", precoUnitario);
+        return linha;
     }
 }
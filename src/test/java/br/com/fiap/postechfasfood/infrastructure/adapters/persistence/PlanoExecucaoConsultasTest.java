@@ -0,0 +1,369 @@
+package br.com.fiap.postechfasfood.infrastructure.adapters.persistence;
+
+import br.com.fiap.postechfasfood.domain.entities.ItemPedido;
+import br.com.fiap.postechfasfood.domain.entities.Pagamento;
+import br.com.fiap.postechfasfood.domain.entities.Pedido;
+import br.com.fiap.postechfasfood.domain.valueobjects.CursorPedido;
+import br.com.fiap.postechfasfood.domain.valueobjects.StatusPagamento;
+import br.com.fiap.postechfasfood.domain.valueobjects.StatusPedido;
+import br.com.fiap.postechfasfood.infrastructure.adapters.identificador.GeradorUuidV7Adapter;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Executa EXPLAIN sobre cada comando que os adapters JDBC enviam ao MySQL e falha
+ * quando alguma tabela é lida por varredura completa ou ordenada com filesort.
+ *
+ * <p>Depende de um MySQL real (ex.: o serviço mysql-dev do compose.yaml) e só roda
+ * quando EXPLAIN_DATASOURCE_URL está definida. O schema é limpo e recriado pelo Flyway,
+ * por isso o nome dele precisa conter "explain":</p>
+ *
+ * <pre>
+ * EXPLAIN_DATASOURCE_URL=jdbc:mysql://localhost:3306/fastfood_explain?createDatabaseIfNotExist=true \
+ *   ./mvnw test -Dtest=PlanoExecucaoConsultasTest
+ * </pre>
+ */
+@EnabledIfEnvironmentVariable(named = "EXPLAIN_DATASOURCE_URL", matches = ".+")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("Plano de execução das consultas JDBC")
+class PlanoExecucaoConsultasTest {
+
+    private static final int QUANTIDADE_PEDIDOS = 3000;
+    private static final LocalDateTime INICIO_MASSA = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final Set<StatusPedido> STATUS_PAINEL =
+        Set.of(StatusPedido.RECEBIDO, StatusPedido.EM_PREPARACAO, StatusPedido.PRONTO);
+
+    private final List<PlanoConsulta> planos = new ArrayList<>();
+
+    private PedidoJdbcAdapter pedidoAdapter;
+    private PagamentoJdbcAdapter pagamentoAdapter;
+    private AlocadorNumeroPedido alocador;
+
+    @BeforeAll
+    void prepararBanco() {
+        String url = System.getenv("EXPLAIN_DATASOURCE_URL");
+        String usuario = Objects.requireNonNullElse(System.getenv("EXPLAIN_DATASOURCE_USERNAME"), "root");
+        String senha = Objects.requireNonNullElse(System.getenv("EXPLAIN_DATASOURCE_PASSWORD"), "rootfiap");
+
+        assertTrue(url.contains("explain"),
+            "EXPLAIN_DATASOURCE_URL precisa apontar para um schema descartável com 'explain' no nome");
+
+        Flyway flyway = Flyway.configure()
+            .dataSource(url, usuario, senha)
+            .cleanDisabled(false)
+            .load();
+        flyway.clean();
+        flyway.migrate();
+
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(url, usuario, senha);
+        popularMassa(new JdbcTemplate(dataSource));
+
+        DataSource dataSourceComExplain = new DataSourceComExplain(dataSource, planos);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSourceComExplain);
+        // bloco de 1 para que toda reserva vá ao banco e gere um plano
+        alocador = new AlocadorNumeroPedido(jdbcTemplate,
+            new TransactionTemplate(new DataSourceTransactionManager(dataSourceComExplain)), 1);
+        pedidoAdapter = new PedidoJdbcAdapter(jdbcTemplate, alocador);
+        pagamentoAdapter = new PagamentoJdbcAdapter(jdbcTemplate, new GeradorUuidV7Adapter());
+    }
+
+    @Test
+    @DisplayName("Deve usar índice ao buscar pedido e resumo por ID")
+    void deveUsarIndiceAoBuscarPorId() {
+        verificarPlanos(() -> {
+            pedidoAdapter.buscarPorId(idPedido(10));
+            pedidoAdapter.buscarResumoPorId(idPedido(10));
+        });
+    }
+
+    @Test
+    @DisplayName("Deve usar índice ao buscar pedido e resumo por número, inclusive no histórico")
+    void deveUsarIndiceAoBuscarPorNumero() {
+        verificarPlanos(() -> {
+            pedidoAdapter.buscarPorNumeroPedido(11);
+            pedidoAdapter.buscarResumoPorNumeroPedido(11);
+            pedidoAdapter.buscarPorNumeroPedido(QUANTIDADE_PEDIDOS * 10);
+            pedidoAdapter.buscarResumoPorNumeroPedido(QUANTIDADE_PEDIDOS * 10);
+        });
+    }
+
+    @Test
+    @DisplayName("Deve usar índice composto ao listar pedidos por status")
+    void deveUsarIndiceAoListarPorStatus() {
+        verificarPlanos(() -> pedidoAdapter.listarPorStatus(StatusPedido.EM_PREPARACAO));
+    }
+
+    @Test
+    @DisplayName("Deve percorrer a primeira página e a seguinte pelo índice de criação")
+    void deveUsarIndiceAoListarPagina() {
+        verificarPlanos(() -> {
+            pedidoAdapter.listarPagina(null, 50);
+            pedidoAdapter.listarPagina(new CursorPedido(INICIO_MASSA.plusDays(20), idPedido(1440)), 50);
+        });
+    }
+
+    @Test
+    @DisplayName("Deve ler o painel apenas pelo índice de cobertura")
+    void deveUsarIndiceAoListarPainel() {
+        verificarPlanos(() -> pedidoAdapter.listarPainel());
+    }
+
+    @Test
+    @DisplayName("Deve exportar um período sem varredura completa nem filesort")
+    void deveUsarIndiceAoPercorrerPorPeriodo() {
+        verificarPlanos(() -> pedidoAdapter.percorrerPorPeriodo(
+            INICIO_MASSA.plusDays(10), INICIO_MASSA.plusDays(11), pedido -> { }));
+    }
+
+    @Test
+    @DisplayName("Deve selecionar o lote de arquivamento pelo índice de status e atualização")
+    void deveUsarIndiceAoArquivar() {
+        verificarPlanos(() -> pedidoAdapter.arquivarEncerradosAntesDe(INICIO_MASSA.plusDays(2), 10));
+    }
+
+    @Test
+    @DisplayName("Deve usar índice ao salvar, atualizar e transicionar status")
+    void deveUsarIndiceAoGravarPedido() {
+        Pedido pedido = new Pedido(UUID.randomUUID().toString(), null, StatusPedido.AGUARDANDO_PAGAMENTO,
+            pedidoAdapter.gerarProximoNumeroPedido(), LocalDateTime.now(), LocalDateTime.now(),
+            List.of(new ItemPedido("X-Burger", "PROD-001", 2, 25.90)));
+
+        verificarPlanos(() -> {
+            pedidoAdapter.salvar(pedido);
+            pedidoAdapter.transicionarStatus(pedido.getId(), StatusPedido.AGUARDANDO_PAGAMENTO, 0, StatusPedido.RECEBIDO);
+            pedidoAdapter.transicionarStatus(pedido.getId(), StatusPedido.RECEBIDO, 1, StatusPedido.EM_PREPARACAO);
+            pedidoAdapter.transicionarStatus(pedido.getId(), StatusPedido.EM_PREPARACAO, 2, StatusPedido.PRONTO);
+            pedidoAdapter.transicionarStatus(pedido.getId(), StatusPedido.PRONTO, 3, StatusPedido.FINALIZADO);
+            pedidoAdapter.atualizar(pedido);
+        });
+    }
+
+    @Test
+    @DisplayName("Deve usar a chave primária ao reservar números de pedido")
+    void deveUsarIndiceAoGerarNumero() {
+        verificarPlanos(() -> alocador.proximoNumero());
+    }
+
+    @Test
+    @DisplayName("Deve usar índice ao gravar e consultar pagamentos")
+    void deveUsarIndiceNosPagamentos() {
+        Pagamento pagamento = new Pagamento(UUID.randomUUID().toString(), idPedido(20), 21,
+            StatusPagamento.APROVADO, new BigDecimal("51.80"), LocalDateTime.now(),
+            UUID.randomUUID().toString(), "MERCADO_PAGO", LocalDateTime.now(), LocalDateTime.now());
+
+        verificarPlanos(() -> {
+            pagamentoAdapter.salvar(pagamento);
+            pagamentoAdapter.buscarPorId(pagamento.getId());
+            pagamentoAdapter.buscarPorNumeroPedido(21);
+            pagamentoAdapter.buscarPorPedidoId(idPedido(20));
+        });
+    }
+
+    // listarTodos (pedidos e pagamentos) ficam de fora: são listagens sem filtro
+    // e leem a tabela inteira por definição.
+
+    private void verificarPlanos(Runnable chamada) {
+        planos.clear();
+
+        chamada.run();
+
+        assertFalse(planos.isEmpty(), "Nenhum comando foi capturado");
+        for (PlanoConsulta plano : planos) {
+            for (Map<String, Object> linha : plano.linhas()) {
+                if ("INSERT".equals(linha.get("select_type")) || linha.get("table") == null) {
+                    continue;
+                }
+                assertNotEquals("ALL", linha.get("type"),
+                    () -> "Varredura completa em " + linha.get("table") + ":\n" + plano.sql());
+                assertFalse(Objects.toString(linha.get("Extra"), "").contains("Using filesort"),
+                    () -> "Filesort em " + linha.get("table") + ":\n" + plano.sql());
+            }
+        }
+    }
+
+    private void popularMassa(JdbcTemplate jdbcTemplate) {
+        StatusPedido[] status = StatusPedido.values();
+        List<Object[]> pedidos = new ArrayList<>();
+        List<Object[]> itens = new ArrayList<>();
+        List<Object[]> pagamentos = new ArrayList<>();
+        List<Object[]> painel = new ArrayList<>();
+
+        for (int i = 0; i < QUANTIDADE_PEDIDOS; i++) {
+            byte[] cdPedido = IdentificadorBinario.paraBytes(idPedido(i));
+            StatusPedido statusPedido = status[i % status.length];
+            Timestamp criacao = Timestamp.valueOf(INICIO_MASSA.plusMinutes(20L * i));
+            Timestamp atualizacao = Timestamp.valueOf(INICIO_MASSA.plusMinutes(20L * i + 10));
+
+            pedidos.add(new Object[]{cdPedido, statusPedido.name(), i + 1, criacao, atualizacao});
+            itens.add(new Object[]{cdPedido, "X-Burger", "PROD-001", 2, 25.90, criacao});
+            itens.add(new Object[]{cdPedido, "Refrigerante", "PROD-002", 1, 7.50, criacao});
+            pagamentos.add(new Object[]{IdentificadorBinario.paraBytes(UUID.randomUUID().toString()), cdPedido, i + 1,
+                StatusPagamento.APROVADO.name(), 59.30, criacao, "MERCADO_PAGO", criacao});
+            if (STATUS_PAINEL.contains(statusPedido)) {
+                painel.add(new Object[]{cdPedido, i + 1, statusPedido.name(),
+                    PedidoJdbcAdapter.prioridadePainel(statusPedido), criacao, "2x X-Burger, 1x Refrigerante"});
+            }
+        }
+
+        jdbcTemplate.batchUpdate("""
+            INSERT INTO tb_pedidos (cd_pedido, tx_status, nr_pedido, dh_criacao_pedido, dh_ult_atualizacao)
+            VALUES (?, ?, ?, ?, ?)
+            """, pedidos);
+        jdbcTemplate.batchUpdate("""
+            INSERT INTO tb_itens_pedido (cd_pedido, nm_produto, cd_produto, vl_quantidade, vl_preco_unitario, dh_criacao)
+            VALUES (?, ?, ?, ?, ?, ?)
+            """, itens);
+        jdbcTemplate.batchUpdate("""
+            INSERT INTO tb_pagamentos (cd_pagamento, cd_pedido, nr_pedido, tx_status_pagamento,
+                                       vl_pagamento, dh_pagamento, tx_origem, dh_criacao)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            """, pagamentos);
+        jdbcTemplate.batchUpdate("""
+            INSERT INTO tb_painel_pedidos (cd_pedido, nr_pedido, tx_status, nr_prioridade,
+                                           dh_criacao_pedido, tx_resumo_itens)
+            VALUES (?, ?, ?, ?, ?, ?)
+            """, painel);
+        jdbcTemplate.update("UPDATE tb_sequencias SET nr_proximo_valor = ? WHERE nm_sequencia = 'NR_PEDIDO'",
+            QUANTIDADE_PEDIDOS + 1);
+
+        jdbcTemplate.execute("""
+            ANALYZE TABLE tb_pedidos, tb_itens_pedido, tb_pagamentos, tb_painel_pedidos,
+                          tb_pedidos_historico, tb_itens_pedido_historico, tb_sequencias
+            """);
+    }
+
+    private static String idPedido(int indice) {
+        return UUID.nameUUIDFromBytes(("pedido-" + indice).getBytes()).toString();
+    }
+
+    private record PlanoConsulta(String sql, List<Map<String, Object>> linhas) {
+    }
+
+    private record ParametroRegistrado(Method metodo, Object[] argumentos) {
+    }
+
+    /**
+     * Antes de cada execução roda "EXPLAIN &lt;sql&gt;" na mesma conexão, com os mesmos
+     * parâmetros, e guarda o plano. Lotes (executeBatch) não são explicados.
+     */
+    private static final class DataSourceComExplain extends DelegatingDataSource {
+
+        private final List<PlanoConsulta> planos;
+
+        private DataSourceComExplain(DataSource alvo, List<PlanoConsulta> planos) {
+            super(alvo);
+            this.planos = planos;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            Connection conexao = super.getConnection();
+            return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, metodo, args) -> {
+                    Object retorno = invocar(conexao, metodo, args);
+                    if (retorno instanceof PreparedStatement ps && metodo.getName().equals("prepareStatement")) {
+                        return capturarPreparedStatement(conexao, ps, (String) args[0]);
+                    }
+                    if (retorno instanceof Statement st && metodo.getName().equals("createStatement")) {
+                        return capturarStatement(conexao, st);
+                    }
+                    return retorno;
+                });
+        }
+
+        private PreparedStatement capturarPreparedStatement(Connection conexao, PreparedStatement ps, String sql) {
+            List<ParametroRegistrado> parametros = new ArrayList<>();
+            return (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{PreparedStatement.class},
+                (proxy, metodo, args) -> {
+                    String nome = metodo.getName();
+                    if (nome.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                        parametros.add(new ParametroRegistrado(metodo, args));
+                    } else if (nome.equals("clearParameters")) {
+                        parametros.clear();
+                    } else if (isExecucao(nome) && (args == null || args.length == 0)) {
+                        explicar(conexao, sql, parametros);
+                    }
+                    return invocar(ps, metodo, args);
+                });
+        }
+
+        private Statement capturarStatement(Connection conexao, Statement st) {
+            return (Statement) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{Statement.class},
+                (proxy, metodo, args) -> {
+                    if (isExecucao(metodo.getName()) && args != null && args.length >= 1 && args[0] instanceof String sql) {
+                        explicar(conexao, sql, List.of());
+                    }
+                    return invocar(st, metodo, args);
+                });
+        }
+
+        private void explicar(Connection conexao, String sql, List<ParametroRegistrado> parametros) throws Throwable {
+            List<Map<String, Object>> linhas = new ArrayList<>();
+            try (PreparedStatement explain = conexao.prepareStatement("EXPLAIN " + sql)) {
+                for (ParametroRegistrado parametro : parametros) {
+                    invocar(explain, parametro.metodo(), parametro.argumentos());
+                }
+                try (ResultSet rs = explain.executeQuery()) {
+                    ResultSetMetaData metaData = rs.getMetaData();
+                    while (rs.next()) {
+                        Map<String, Object> linha = new LinkedHashMap<>();
+                        for (int coluna = 1; coluna <= metaData.getColumnCount(); coluna++) {
+                            linha.put(metaData.getColumnLabel(coluna), rs.getObject(coluna));
+                        }
+                        linhas.add(linha);
+                    }
+                }
+            }
+            planos.add(new PlanoConsulta(sql, linhas));
+        }
+
+        private static boolean isExecucao(String nomeMetodo) {
+            return nomeMetodo.equals("executeQuery")
+                || nomeMetodo.equals("executeUpdate")
+                || nomeMetodo.equals("execute");
+        }
+
+        private static Object invocar(Object alvo, Method metodo, Object[] args) throws Throwable {
+            try {
+                return metodo.invoke(alvo, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -7,11 +7,18 @@ import br.com.fiap.postechfasfood.domain.ports.input.BuscarPedidoPorNumeroUseCas
 import br.com.fiap.postechfasfood.domain.ports.input.BuscarPedidosPorStatusUseCase;
 import br.com.fiap.postechfasfood.domain.ports.input.CadastrarPedidoUseCase;
 import br.com.fiap.postechfasfood.domain.ports.input.ConsultarStatusPagamentoUseCase;
+import br.com.fiap.postechfasfood.domain.ports.input.ExportarPedidosUseCase;
+import br.com.fiap.postechfasfood.domain.ports.input.ListarPainelPedidosUseCase;
+import br.com.fiap.postechfasfood.domain.ports.input.ListarPedidosPaginadoUseCase;
 import br.com.fiap.postechfasfood.domain.ports.input.ListarPedidosUseCase;
+import br.com.fiap.postechfasfood.domain.valueobjects.CursorPedido;
+import br.com.fiap.postechfasfood.domain.valueobjects.PaginaPedidos;
+import br.com.fiap.postechfasfood.domain.valueobjects.PedidoPainel;
 import br.com.fiap.postechfasfood.domain.valueobjects.StatusPagamento;
 import br.com.fiap.postechfasfood.domain.valueobjects.StatusPedido;
 import br.com.fiap.postechfasfood.infrastructure.adapters.rest.dto.CheckoutPedidoRequest;
 import br.com.fiap.postechfasfood.infrastructure.adapters.rest.dto.CheckoutPedidoRequest.ItemPedidoRequest;
+import br.com.fiap.postechfasfood.infrastructure.adapters.rest.mapper.PedidoMapper;
 import br.com.fiap.postechfasfood.infrastructure.external.service.PessoaExternaService;
 import br.com.fiap.postechfasfood.infrastructure.external.service.ProdutoExternoService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -23,14 +30,17 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -69,12 +79,21 @@ class PedidoControllerTest {
     @Mock
     private PessoaExternaService pessoaExternaService;
 
+    @Mock
+    private ListarPedidosPaginadoUseCase listarPedidosPaginadoUseCase;
+
+    @Mock
+    private ExportarPedidosUseCase exportarPedidosUseCase;
+
+    @Mock
+    private ListarPainelPedidosUseCase listarPainelPedidosUseCase;
+
     private Pedido pedidoMock;
     private CheckoutPedidoRequest checkoutRequest;
 
     @BeforeEach
     void setUp() {
-        objectMapper = new ObjectMapper();
+        objectMapper = new ObjectMapper().findAndRegisterModules();
         PedidoController controller = new PedidoController(
             cadastrarPedidoUseCase,
             atualizarStatusPedidoUseCase,
@@ -83,7 +102,11 @@ class PedidoControllerTest {
             buscarPedidoPorNumeroUseCase,
             buscarPedidosPorStatusUseCase,
             produtoExternoService,
-            pessoaExternaService
+            pessoaExternaService,
+            listarPedidosPaginadoUseCase,
+            exportarPedidosUseCase,
+            objectMapper,
+            listarPainelPedidosUseCase
         );
         mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
 
@@ -156,7 +179,9 @@ class PedidoControllerTest {
                         pedidoId, "EM_PREPARACAO")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.status", is("EM_PREPARACAO")));
+                .andExpect(jsonPath("$.status", is("EM_PREPARACAO")))
+                .andExpect(jsonPath("$.itens", hasSize(1)))
+                .andExpect(jsonPath("$.itens[0].codigoProduto", is("PROD-001")));
 
         verify(atualizarStatusPedidoUseCase, times(1))
                 .executar(pedidoId, StatusPedido.EM_PREPARACAO);
@@ -296,4 +321,86 @@ class PedidoControllerTest {
         mockMvc.perform(get("/api/v1/pedidos/status/{status}", statusInvalido))
                 .andExpect(status().isBadRequest());
     }
+
+    @Test
+    @DisplayName("Deve listar pedidos paginados com cursor opaco")
+    void deveListarPedidosPaginadosComCursorOpaco() throws Exception {
+        // Arrange
+        CursorPedido cursorAtual = new CursorPedido(LocalDateTime.of(2025, 1, 10, 12, 30), "pedido-a");
+        CursorPedido proximoCursor = new CursorPedido(pedidoMock.getDataCriacao(), pedidoMock.getId());
+        when(listarPedidosPaginadoUseCase.executar(cursorAtual, 10))
+                .thenReturn(new PaginaPedidos(List.of(pedidoMock), proximoCursor));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/pedidos/paginado")
+                        .param("cursor", PedidoMapper.toCursorOpaco(cursorAtual))
+                        .param("limite", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.pedidos", hasSize(1)))
+                .andExpect(jsonPath("$.pedidos[0].numeroPedido", is(1)))
+                .andExpect(jsonPath("$.proximoCursor", is(PedidoMapper.toCursorOpaco(proximoCursor))));
+    }
+
+    @Test
+    @DisplayName("Deve usar limite padrão na primeira página")
+    void deveUsarLimitePadraoNaPrimeiraPagina() throws Exception {
+        // Arrange
+        when(listarPedidosPaginadoUseCase.executar(null, ListarPedidosPaginadoUseCase.LIMITE_PADRAO))
+                .thenReturn(new PaginaPedidos(List.of(), null));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/pedidos/paginado"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.pedidos", hasSize(0)))
+                .andExpect(jsonPath("$.proximoCursor").value(nullValue()));
+    }
+
+    @Test
+    @DisplayName("Deve exportar pedidos do período em NDJSON, um por linha")
+    void deveExportarPedidosEmNdjson() throws Exception {
+        // Arrange
+        LocalDateTime inicio = LocalDateTime.of(2025, 1, 10, 0, 0);
+        LocalDateTime fim = inicio.plusDays(1);
+        doAnswer(invocation -> {
+            Consumer<Pedido> consumidor = invocation.getArgument(2);
+            consumidor.accept(pedidoMock);
+            consumidor.accept(pedidoMock);
+            return null;
+        }).when(exportarPedidosUseCase).executar(eq(inicio), eq(fim), any());
+
+        // Act
+        MvcResult resultado = mockMvc.perform(get("/api/v1/pedidos/exportacao")
+                        .param("inicio", "2025-01-10T00:00:00")
+                        .param("fim", "2025-01-11T00:00:00"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON));
+
+        List<String> linhas = resultado.getResponse().getContentAsString().lines().toList();
+        assertEquals(2, linhas.size());
+        assertEquals(1, objectMapper.readTree(linhas.get(0)).get("numeroPedido").asInt());
+    }
+
+    @Test
+    @DisplayName("Deve listar painel da cozinha a partir da tabela de leitura")
+    void deveListarPainelDaCozinha() throws Exception {
+        // Arrange
+        LocalDateTime agora = LocalDateTime.now();
+        when(listarPainelPedidosUseCase.executar()).thenReturn(List.of(
+                new PedidoPainel("pedido-2", 2, StatusPedido.PRONTO, agora, "1x Batata"),
+                new PedidoPainel("pedido-1", 1, StatusPedido.RECEBIDO, agora.minusMinutes(5), "2x Hamburguer")
+        ));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/pedidos/painel"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].numeroPedido", is(2)))
+                .andExpect(jsonPath("$[0].status", is("PRONTO")))
+                .andExpect(jsonPath("$[1].resumoItens", is("2x Hamburguer")));
+    }
 }
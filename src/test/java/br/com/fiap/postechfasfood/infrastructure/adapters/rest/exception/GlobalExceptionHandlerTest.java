@@ -1,5 +1,7 @@
 package br.com.fiap.postechfasfood.infrastructure.adapters.rest.exception;
 
+import br.com.fiap.postechfasfood.domain.exception.CatalogoIndisponivelException;
+import br.com.fiap.postechfasfood.domain.exception.ConflitoAtualizacaoPedidoException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -106,6 +108,47 @@ class GlobalExceptionHandlerTest {
         assertNull(body.errors());
     }
 
+    @Test
+    @DisplayName("Deve tratar CatalogoIndisponivelException e retornar SERVICE_UNAVAILABLE")
+    void deveTratarCatalogoIndisponivelException() {
+        // Arrange
+        String mensagemErro = "Tempo esgotado ao consultar o catálogo de produtos";
+        CatalogoIndisponivelException exception = new CatalogoIndisponivelException(mensagemErro);
+
+        // Act
+        ResponseEntity<GlobalExceptionHandler.ErrorResponse> response =
+            exceptionHandler.handleCatalogoIndisponivelException(exception);
+
+        // Assert
+        assertNotNull(response);
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals(503, response.getBody().status());
+        assertEquals(mensagemErro, response.getBody().message());
+    }
+
+    @Test
+    @DisplayName("Deve tratar ConflitoAtualizacaoPedidoException e retornar CONFLICT")
+    void deveTratarConflitoAtualizacaoPedidoException() {
+        // Arrange
+        String mensagemErro = "Pedido alterado por outra requisição";
+        ConflitoAtualizacaoPedidoException exception = new ConflitoAtualizacaoPedidoException(mensagemErro);
+
+        // Act
+        ResponseEntity<GlobalExceptionHandler.ErrorResponse> response = 
+            exceptionHandler.handleConflitoAtualizacaoPedidoException(exception);
+
+        // Assert
+        assertNotNull(response);
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        
+        GlobalExceptionHandler.ErrorResponse body = response.getBody();
+        assertNotNull(body);
+        assertEquals(HttpStatus.CONFLICT.value(), body.status());
+        assertEquals(mensagemErro, body.message());
+        assertNull(body.errors());
+    }
+
     @Test
     @DisplayName("Deve tratar Exception genérica e retornar INTERNAL_SERVER_ERROR")
     void deveTratarExceptionGenerica() {
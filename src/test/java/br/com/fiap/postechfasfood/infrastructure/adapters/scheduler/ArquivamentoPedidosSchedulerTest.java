@@ -0,0 +1,45 @@
+package br.com.fiap.postechfasfood.infrastructure.adapters.scheduler;
+
+import br.com.fiap.postechfasfood.domain.ports.input.ArquivarPedidosUseCase;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do ArquivamentoPedidosScheduler")
+class ArquivamentoPedidosSchedulerTest {
+
+    @Mock
+    private ArquivarPedidosUseCase arquivarPedidosUseCase;
+
+    @Test
+    @DisplayName("Deve arquivar pedidos mais antigos que a idade mínima configurada")
+    void deveArquivarPedidosMaisAntigosQueIdadeMinima() {
+        // Arrange
+        ArquivamentoPedidosScheduler scheduler =
+            new ArquivamentoPedidosScheduler(arquivarPedidosUseCase, Duration.ofDays(30), 250);
+        when(arquivarPedidosUseCase.executar(any(), eq(250))).thenReturn(10);
+        ArgumentCaptor<LocalDateTime> captor = ArgumentCaptor.forClass(LocalDateTime.class);
+
+        // Act
+        LocalDateTime antes = LocalDateTime.now().minusDays(30);
+        scheduler.arquivarPedidosEncerrados();
+        LocalDateTime depois = LocalDateTime.now().minusDays(30);
+
+        // Assert
+        verify(arquivarPedidosUseCase).executar(captor.capture(), eq(250));
+        assertFalse(captor.getValue().isBefore(antes));
+        assertFalse(captor.getValue().isAfter(depois));
+    }
+}
@@ -0,0 +1,163 @@
+package br.com.fiap.postechfasfood.infrastructure.adapters.webhook;
+
+import br.com.fiap.postechfasfood.domain.exception.ConflitoAtualizacaoPedidoException;
+import br.com.fiap.postechfasfood.domain.ports.input.ProcessarWebhookPagamentoUseCase;
+import br.com.fiap.postechfasfood.domain.ports.input.ProcessarWebhookPagamentoUseCase.WebhookPagamentoRequest;
+import br.com.fiap.postechfasfood.domain.ports.output.CaixaEntradaWebhookPort;
+import br.com.fiap.postechfasfood.domain.ports.output.CaixaEntradaWebhookPort.SituacaoCaixaEntrada;
+import br.com.fiap.postechfasfood.domain.ports.output.CaixaEntradaWebhookPort.WebhookRecebido;
+import br.com.fiap.postechfasfood.domain.valueobjects.StatusPagamento;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Processador da caixa de entrada de webhooks - Testes")
+class ProcessadorCaixaEntradaWebhookTest {
+
+    @Mock
+    private ProcessarWebhookPagamentoUseCase processarWebhookPagamentoUseCase;
+
+    @Mock
+    private CaixaEntradaWebhookPort caixaEntrada;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ProcessadorCaixaEntradaWebhook processador;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        processador = new ProcessadorCaixaEntradaWebhook(processarWebhookPagamentoUseCase, caixaEntrada,
+            meterRegistry, 2, 10, 3, Duration.ofSeconds(1), Duration.ofSeconds(30), Duration.ofMinutes(2),
+            Duration.ofMillis(500));
+    }
+
+    @Test
+    @DisplayName("Deve aplicar o webhook reservado e removê-lo da caixa de entrada")
+    void deveAplicarWebhookEConcluir() {
+        // Arrange
+        WebhookRecebido webhook = webhook("webhook-1", 1);
+        when(caixaEntrada.reservarProximos(eq(10), any(), eq(Duration.ofMinutes(2)))).thenReturn(List.of(webhook));
+
+        // Act
+        int processados = processador.processarLote();
+
+        // Assert
+        assertEquals(1, processados);
+        verify(processarWebhookPagamentoUseCase).executar(webhook.request());
+        verify(caixaEntrada).concluir("webhook-1");
+        assertEquals(1.0, contador("sucesso"));
+    }
+
+    @Test
+    @DisplayName("Deve reagendar com espera exponencial quando o processamento falha")
+    void deveReagendarQuandoProcessamentoFalha() {
+        // Arrange
+        WebhookRecebido webhook = webhook("webhook-1", 2);
+        ConflitoAtualizacaoPedidoException conflito =
+            new ConflitoAtualizacaoPedidoException("Pedido 1 foi alterado durante o processamento do webhook");
+        when(caixaEntrada.reservarProximos(anyInt(), any(), any())).thenReturn(List.of(webhook));
+        doThrow(conflito).when(processarWebhookPagamentoUseCase).executar(any());
+        ArgumentCaptor<LocalDateTime> proximaTentativa = ArgumentCaptor.forClass(LocalDateTime.class);
+
+        // Act
+        LocalDateTime antes = LocalDateTime.now();
+        processador.processarLote();
+
+        // Assert - segunda tentativa falhou: espera de 2s
+        verify(caixaEntrada).reagendar(eq("webhook-1"), proximaTentativa.capture(), eq(conflito.getMessage()));
+        assertFalse(proximaTentativa.getValue().isBefore(antes.plusSeconds(2)));
+        verify(caixaEntrada, never()).concluir(anyString());
+        assertEquals(1.0, contador("nova-tentativa"));
+    }
+
+    @Test
+    @DisplayName("Deve mover para os mortos o webhook que esgotou as tentativas")
+    void deveMoverParaMortosAposEsgotarTentativas() {
+        // Arrange
+        WebhookRecebido webhook = webhook("webhook-1", 3);
+        IllegalArgumentException naoEncontrado = new IllegalArgumentException("Pedido não encontrado: 1");
+        when(caixaEntrada.reservarProximos(anyInt(), any(), any())).thenReturn(List.of(webhook));
+        doThrow(naoEncontrado).when(processarWebhookPagamentoUseCase).executar(any());
+
+        // Act
+        processador.processarLote();
+
+        // Assert
+        verify(caixaEntrada).moverParaMortos("webhook-1", "Pedido não encontrado: 1");
+        verify(caixaEntrada, never()).reagendar(anyString(), any(), anyString());
+        assertEquals(1.0, contador("morto"));
+    }
+
+    @Test
+    @DisplayName("Deve mover para os mortos na hora uma transição de status inválida")
+    void deveMoverParaMortosTransicaoInvalida() {
+        // Arrange
+        WebhookRecebido webhook = webhook("webhook-1", 1);
+        IllegalStateException transicaoInvalida =
+            new IllegalStateException("Não é possível transicionar de FINALIZADO para CANCELADO");
+        when(caixaEntrada.reservarProximos(anyInt(), any(), any())).thenReturn(List.of(webhook));
+        doThrow(transicaoInvalida).when(processarWebhookPagamentoUseCase).executar(any());
+
+        // Act
+        processador.processarLote();
+
+        // Assert
+        verify(caixaEntrada).moverParaMortos("webhook-1", transicaoInvalida.getMessage());
+        assertEquals(1.0, contador("morto"));
+    }
+
+    @Test
+    @DisplayName("Deve limitar a espera entre tentativas à espera máxima")
+    void deveLimitarEsperaEntreTentativas() {
+        // Act & Assert
+        assertEquals(Duration.ofSeconds(1), processador.esperaAntesDaTentativa(1));
+        assertEquals(Duration.ofSeconds(4), processador.esperaAntesDaTentativa(3));
+        assertEquals(Duration.ofSeconds(30), processador.esperaAntesDaTentativa(10));
+    }
+
+    @Test
+    @DisplayName("Deve publicar o tamanho e o atraso da fila")
+    void devePublicarTamanhoEAtrasoDaFila() {
+        // Arrange
+        when(caixaEntrada.consultarSituacao())
+            .thenReturn(new SituacaoCaixaEntrada(12, 1, LocalDateTime.now().minusSeconds(30)));
+
+        // Act
+        processador.atualizarMetricas();
+
+        // Assert
+        assertEquals(12.0, meterRegistry.get("webhook.pagamentos.fila.pendentes").gauge().value());
+        assertEquals(1.0, meterRegistry.get("webhook.pagamentos.fila.mortos").gauge().value());
+        double atrasoSegundos = meterRegistry.get("webhook.pagamentos.fila.atraso").timeGauge().value(TimeUnit.SECONDS);
+        assertTrue(atrasoSegundos >= 30 && atrasoSegundos < 60, "Atraso " + atrasoSegundos);
+    }
+
+    private double contador(String resultado) {
+        return meterRegistry.get(ProcessadorCaixaEntradaWebhook.METRICA_PROCESSADOS)
+            .tag("resultado", resultado).counter().count();
+    }
+
+    private static WebhookRecebido webhook(String id, int tentativas) {
+        WebhookPagamentoRequest request = new WebhookPagamentoRequest(1, StatusPagamento.APROVADO,
+            BigDecimal.valueOf(68.00), LocalDateTime.now(), "MP-123456789", "MERCADO_PAGO");
+        return new WebhookRecebido(id, request, tentativas, LocalDateTime.now());
+    }
+}
@@ -1,8 +1,7 @@
 package br.com.fiap.postechfasfood.infrastructure.adapters.webhook;
 
-import br.com.fiap.postechfasfood.domain.entities.Pedido;
 import br.com.fiap.postechfasfood.domain.ports.input.ProcessarWebhookPagamentoUseCase;
-import br.com.fiap.postechfasfood.domain.ports.output.PedidoRepositoryPort;
+import br.com.fiap.postechfasfood.domain.ports.output.CaixaEntradaWebhookPort;
 import br.com.fiap.postechfasfood.domain.valueobjects.StatusPagamento;
 import br.com.fiap.postechfasfood.domain.valueobjects.StatusPedido;
 import br.com.fiap.postechfasfood.infrastructure.adapters.rest.dto.WebhookPagamentoRequest;
@@ -19,7 +18,6 @@ import org.springframework.http.ResponseEntity;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -33,13 +31,14 @@ class WebhookPagamentoControllerTest {
     private ProcessarWebhookPagamentoUseCase processarWebhookPagamentoUseCase;
     
     @Mock
-    private PedidoRepositoryPort pedidoRepository;
+    private CaixaEntradaWebhookPort caixaEntradaWebhook;
     
     private WebhookPagamentoController controller;
     
     @BeforeEach
     void setUp() {
-        controller = new WebhookPagamentoController(processarWebhookPagamentoUseCase, pedidoRepository);
+        controller = new WebhookPagamentoController(processarWebhookPagamentoUseCase,
+            caixaEntradaWebhook, false);
     }
     
     @Test
@@ -56,11 +55,9 @@ class WebhookPagamentoControllerTest {
             "MERCADO_PAGO"
         );
         
-        Pedido pedidoAtualizado = criarPedidoMock(nrPedido, StatusPedido.RECEBIDO);
-        
-        doNothing().when(processarWebhookPagamentoUseCase).executar(any());
-        when(pedidoRepository.buscarPorNumeroPedido(nrPedido))
-            .thenReturn(Optional.of(pedidoAtualizado));
+        when(processarWebhookPagamentoUseCase.executar(any()))
+            .thenReturn(new ProcessarWebhookPagamentoUseCase.ResultadoWebhookPagamento(
+                nrPedido, StatusPedido.RECEBIDO, false));
         
         // Act
         ResponseEntity<WebhookPagamentoResponse> response = 
@@ -99,11 +96,9 @@ class WebhookPagamentoControllerTest {
             "MERCADO_PAGO"
         );
         
-        Pedido pedidoCancelado = criarPedidoMock(nrPedido, StatusPedido.CANCELADO);
-        
-        doNothing().when(processarWebhookPagamentoUseCase).executar(any());
-        when(pedidoRepository.buscarPorNumeroPedido(nrPedido))
-            .thenReturn(Optional.of(pedidoCancelado));
+        when(processarWebhookPagamentoUseCase.executar(any()))
+            .thenReturn(new ProcessarWebhookPagamentoUseCase.ResultadoWebhookPagamento(
+                nrPedido, StatusPedido.CANCELADO, false));
         
         // Act
         ResponseEntity<WebhookPagamentoResponse> response = 
@@ -118,8 +113,8 @@ class WebhookPagamentoControllerTest {
     }
     
     @Test
-    @DisplayName("Deve lançar exceção quando pedido não encontrado após processamento")
-    void deveLancarExcecaoQuandoPedidoNaoEncontradoAposProcessamento() {
+    @DisplayName("Deve responder reentrega com o status já aplicado pelo caso de uso")
+    void deveResponderReentregaComStatusJaAplicado() {
         // Arrange
         Integer nrPedido = 999;
         WebhookPagamentoRequest request = new WebhookPagamentoRequest(
@@ -131,28 +126,74 @@ class WebhookPagamentoControllerTest {
             "MERCADO_PAGO"
         );
         
-        doNothing().when(processarWebhookPagamentoUseCase).executar(any());
-        when(pedidoRepository.buscarPorNumeroPedido(nrPedido))
-            .thenReturn(Optional.empty());
+        when(processarWebhookPagamentoUseCase.executar(any()))
+            .thenReturn(new ProcessarWebhookPagamentoUseCase.ResultadoWebhookPagamento(
+                nrPedido, StatusPedido.RECEBIDO, true));
         
-        // Act & Assert
-        IllegalArgumentException exception = assertThrows(
-            IllegalArgumentException.class,
-            () -> controller.receberWebhookMercadoPago(request)
-        );
+        // Act
+        ResponseEntity<WebhookPagamentoResponse> response = 
+            controller.receberWebhookMercadoPago(request);
         
-        assertEquals("Pedido não encontrado após processamento", exception.getMessage());
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals("RECEBIDO", response.getBody().statusPedido());
+        verify(processarWebhookPagamentoUseCase, times(1)).executar(any());
     }
     
-    private Pedido criarPedidoMock(Integer numeroPedido, StatusPedido status) {
-        return new Pedido(
-            "pedido-" + numeroPedido,
-            "12345678900",
-            status,
-            numeroPedido,
+    @Test
+    @DisplayName("Deve registrar o webhook na caixa de entrada e responder 202 no modo assíncrono")
+    void deveRegistrarWebhookERetornarAcceptedNoModoAssincrono() {
+        // Arrange
+        controller = new WebhookPagamentoController(processarWebhookPagamentoUseCase,
+            caixaEntradaWebhook, true);
+        Integer nrPedido = 3;
+        WebhookPagamentoRequest request = new WebhookPagamentoRequest(
+            nrPedido,
+            "APROVADO",
+            BigDecimal.valueOf(68.00),
             LocalDateTime.now(),
+            "MP-555",
+            "MERCADO_PAGO"
+        );
+        when(caixaEntradaWebhook.registrar(any())).thenReturn("webhook-1");
+        
+        // Act
+        ResponseEntity<WebhookPagamentoResponse> response = 
+            controller.receberWebhookMercadoPago(request);
+        
+        // Assert
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals("Webhook recebido para processamento", response.getBody().mensagem());
+        assertEquals(nrPedido, response.getBody().numeroPedido());
+        assertNull(response.getBody().statusPedido());
+        
+        ArgumentCaptor<ProcessarWebhookPagamentoUseCase.WebhookPagamentoRequest> captor = 
+            ArgumentCaptor.forClass(ProcessarWebhookPagamentoUseCase.WebhookPagamentoRequest.class);
+        verify(caixaEntradaWebhook).registrar(captor.capture());
+        assertEquals(StatusPagamento.APROVADO, captor.getValue().statusPagamento());
+        assertEquals("MP-555", captor.getValue().transacaoId());
+        verifyNoInteractions(processarWebhookPagamentoUseCase);
+    }
+    
+    @Test
+    @DisplayName("Deve rejeitar status de pagamento inválido antes de gravar na caixa de entrada")
+    void deveRejeitarStatusInvalidoAntesDeGravarNoModoAssincrono() {
+        // Arrange
+        controller = new WebhookPagamentoController(processarWebhookPagamentoUseCase,
+            caixaEntradaWebhook, true);
+        WebhookPagamentoRequest request = new WebhookPagamentoRequest(
+            4,
+            "ESTORNADO",
+            BigDecimal.valueOf(68.00),
             LocalDateTime.now(),
-            null
+            "MP-556",
+            "MERCADO_PAGO"
         );
+        
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> controller.receberWebhookMercadoPago(request));
+        verifyNoInteractions(caixaEntradaWebhook);
     }
 }
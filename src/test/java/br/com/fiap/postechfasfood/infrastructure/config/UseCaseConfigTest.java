@@ -2,6 +2,7 @@ package br.com.fiap.postechfasfood.infrastructure.config;
 
 import br.com.fiap.postechfasfood.domain.ports.input.*;
 import br.com.fiap.postechfasfood.domain.ports.output.CatalogoServicePort;
+import br.com.fiap.postechfasfood.domain.ports.output.GeradorIdentificadorPort;
 import br.com.fiap.postechfasfood.domain.ports.output.PagamentoRepositoryPort;
 import br.com.fiap.postechfasfood.domain.ports.output.PedidoRepositoryPort;
 import br.com.fiap.postechfasfood.infrastructure.external.service.PessoaExternaService;
@@ -12,6 +13,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,6 +33,9 @@ class UseCaseConfigTest {
     @Mock
     private PagamentoRepositoryPort pagamentoRepository;
 
+    @Mock
+    private GeradorIdentificadorPort geradorIdentificador;
+
     private UseCaseConfig useCaseConfig;
 
     @BeforeEach
@@ -41,7 +48,8 @@ class UseCaseConfigTest {
     void deveCriarBeanCadastrarPedidoUseCase() {
         // Act
         CadastrarPedidoUseCase useCase = useCaseConfig.cadastrarPedidoUseCase(
-            pedidoRepository, catalogoService, pessoaExternaService);
+            pedidoRepository, catalogoService, pessoaExternaService, geradorIdentificador,
+            Executors.newVirtualThreadPerTaskExecutor(), Duration.ofSeconds(2));
 
         // Assert
         assertNotNull(useCase);
@@ -67,6 +75,46 @@ class UseCaseConfigTest {
         assertNotNull(useCase);
     }
 
+    @Test
+    @DisplayName("Deve criar bean ListarPedidosPaginadoUseCase")
+    void deveCriarBeanListarPedidosPaginadoUseCase() {
+        // Act
+        ListarPedidosPaginadoUseCase useCase = useCaseConfig.listarPedidosPaginadoUseCase(pedidoRepository);
+
+        // Assert
+        assertNotNull(useCase);
+    }
+
+    @Test
+    @DisplayName("Deve criar bean ListarPainelPedidosUseCase")
+    void deveCriarBeanListarPainelPedidosUseCase() {
+        // Act
+        ListarPainelPedidosUseCase useCase = useCaseConfig.listarPainelPedidosUseCase(pedidoRepository);
+
+        // Assert
+        assertNotNull(useCase);
+    }
+
+    @Test
+    @DisplayName("Deve criar bean ArquivarPedidosUseCase")
+    void deveCriarBeanArquivarPedidosUseCase() {
+        // Act
+        ArquivarPedidosUseCase useCase = useCaseConfig.arquivarPedidosUseCase(pedidoRepository);
+
+        // Assert
+        assertNotNull(useCase);
+    }
+
+    @Test
+    @DisplayName("Deve criar bean ExportarPedidosUseCase")
+    void deveCriarBeanExportarPedidosUseCase() {
+        // Act
+        ExportarPedidosUseCase useCase = useCaseConfig.exportarPedidosUseCase(pedidoRepository);
+
+        // Assert
+        assertNotNull(useCase);
+    }
+
     @Test
     @DisplayName("Deve criar bean ConsultarStatusPagamentoUseCase")
     void deveCriarBeanConsultarStatusPagamentoUseCase() {
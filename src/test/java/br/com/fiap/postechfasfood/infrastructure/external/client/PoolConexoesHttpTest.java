@@ -0,0 +1,205 @@
+package br.com.fiap.postechfasfood.infrastructure.external.client;
+
+import br.com.fiap.postechfasfood.infrastructure.external.client.PoolConexoesHttp.ConfiguracaoPool;
+import br.com.fiap.postechfasfood.infrastructure.external.dto.ProdutoExternoDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import feign.Feign;
+import feign.RetryableException;
+import feign.Retryer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.openfeign.support.SpringMvcContract;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Mede o pool de conexões contra uma API de produtos simulada com o HttpServer do JDK, que
+ * identifica cada conexão TCP pela porta de origem do client.
+ */
+@DisplayName("PoolConexoesHttp - Testes")
+class PoolConexoesHttpTest {
+
+    private static final int CHECKOUTS_CONCORRENTES = 50;
+    private static final int CONSULTAS_POR_CHECKOUT = 20;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Set<Integer> conexoesAbertas = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger requisicoes = new AtomicInteger();
+
+    private volatile CountDownLatch liberarRespostas = new CountDownLatch(0);
+
+    private HttpServer servidor;
+    private ExecutorService checkouts;
+    private SimpleMeterRegistry meterRegistry;
+    private PoolConexoesHttp pool;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        servidor = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        servidor.createContext("/api/v1/produtos", this::responder);
+        servidor.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        servidor.start();
+
+        checkouts = Executors.newVirtualThreadPerTaskExecutor();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        liberarRespostas.countDown();
+        if (pool != null) {
+            pool.close();
+        }
+        checkouts.shutdownNow();
+        servidor.stop(0);
+    }
+
+    @Test
+    @DisplayName("Deve reaproveitar as conexões do pool sob checkouts concorrentes")
+    void deveReaproveitarConexoesSobCheckoutsConcorrentes() throws Exception {
+        // Arrange
+        pool = new PoolConexoesHttp("produtos",
+            new ConfiguracaoPool(10, Duration.ofSeconds(30), Duration.ofSeconds(5)), meterRegistry);
+        ProdutoFeignClient client = novoClient(pool);
+
+        // Act
+        long inicio = System.nanoTime();
+        List<Future<Integer>> execucoes = new ArrayList<>();
+        for (int checkout = 0; checkout < CHECKOUTS_CONCORRENTES; checkout++) {
+            execucoes.add(checkouts.submit(() -> {
+                int resolvidos = 0;
+                for (int consulta = 0; consulta < CONSULTAS_POR_CHECKOUT; consulta++) {
+                    if (client.buscarProdutoPorId("lanche-001") != null) {
+                        resolvidos++;
+                    }
+                }
+                return resolvidos;
+            }));
+        }
+        int resolvidos = 0;
+        for (Future<Integer> execucao : execucoes) {
+            resolvidos += execucao.get(30, TimeUnit.SECONDS);
+        }
+        Duration duracao = Duration.ofNanos(System.nanoTime() - inicio);
+
+        // Assert - 1000 requisições em no máximo 10 conexões TCP
+        int total = CHECKOUTS_CONCORRENTES * CONSULTAS_POR_CHECKOUT;
+        assertEquals(total, resolvidos);
+        assertEquals(total, requisicoes.get());
+        assertTrue(conexoesAbertas.size() <= 10,
+            "Abriu " + conexoesAbertas.size() + " conexões para " + total + " requisições em " + duracao.toMillis() + "ms");
+        assertEquals(10.0, gauge("httpcomponents.httpclient.pool.total.max"));
+        assertEquals(0.0, meterRegistry.get("httpcomponents.httpclient.pool.total.connections")
+            .tag("servico", "produtos").tag("state", "leased").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Deve expor chamadas aguardando conexão quando o pool está cheio")
+    void deveExporChamadasAguardandoConexaoComPoolCheio() throws Exception {
+        // Arrange
+        pool = new PoolConexoesHttp("produtos",
+            new ConfiguracaoPool(1, Duration.ofSeconds(30), Duration.ofSeconds(5)), meterRegistry);
+        ProdutoFeignClient client = novoClient(pool);
+        liberarRespostas = new CountDownLatch(1);
+
+        // Act
+        Future<ProdutoExternoDTO> primeira = checkouts.submit(() -> client.buscarProdutoPorId("lanche-001"));
+        Future<ProdutoExternoDTO> segunda = checkouts.submit(() -> client.buscarProdutoPorId("lanche-001"));
+        boolean saturou = aguardarGauge("httpcomponents.httpclient.pool.total.pending", 1.0);
+        liberarRespostas.countDown();
+
+        // Assert
+        assertTrue(saturou);
+        assertEquals("X-Burger", primeira.get(5, TimeUnit.SECONDS).getNmProduto());
+        assertEquals("X-Burger", segunda.get(5, TimeUnit.SECONDS).getNmProduto());
+        assertEquals(1, conexoesAbertas.size());
+    }
+
+    @Test
+    @DisplayName("Deve falhar a chamada que não consegue conexão dentro da espera configurada")
+    void deveFalharChamadaSemConexaoDentroDaEspera() throws Exception {
+        // Arrange
+        pool = new PoolConexoesHttp("produtos",
+            new ConfiguracaoPool(1, Duration.ofSeconds(30), Duration.ofMillis(100)), meterRegistry);
+        ProdutoFeignClient client = novoClient(pool);
+        liberarRespostas = new CountDownLatch(1);
+        Future<ProdutoExternoDTO> ocupante = checkouts.submit(() -> client.buscarProdutoPorId("lanche-001"));
+        assertTrue(aguardarGauge("httpcomponents.httpclient.pool.total.connections", 1.0));
+
+        // Act & Assert
+        assertThrows(RetryableException.class, () -> client.buscarProdutoPorId("lanche-001"));
+        liberarRespostas.countDown();
+        assertEquals("X-Burger", ocupante.get(5, TimeUnit.SECONDS).getNmProduto());
+    }
+
+    private ProdutoFeignClient novoClient(PoolConexoesHttp poolConexoes) {
+        return Feign.builder()
+            .client(poolConexoes.clienteFeign())
+            .retryer(Retryer.NEVER_RETRY)
+            .contract(new SpringMvcContract())
+            .decoder((response, type) ->
+                objectMapper.readValue(response.body().asInputStream(), objectMapper.constructType(type)))
+            .target(ProdutoFeignClient.class, "http://localhost:" + servidor.getAddress().getPort());
+    }
+
+    private double gauge(String nome) {
+        return meterRegistry.get(nome).tag("servico", "produtos").gauge().value();
+    }
+
+    private boolean aguardarGauge(String nome, double valor) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < limite) {
+            if (meterRegistry.get(nome).tag("servico", "produtos").gauges().stream()
+                .anyMatch(gauge -> gauge.value() >= valor)) {
+                return true;
+            }
+            Thread.sleep(10);
+        }
+        return false;
+    }
+
+    private void responder(HttpExchange troca) throws IOException {
+        conexoesAbertas.add(troca.getRemoteAddress().getPort());
+        requisicoes.incrementAndGet();
+        try {
+            liberarRespostas.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        ProdutoExternoDTO produto = new ProdutoExternoDTO();
+        produto.setCdProduto("lanche-001");
+        produto.setNmProduto("X-Burger");
+        produto.setDsDescricao("X-Burger");
+        produto.setVlPreco(25.0);
+        produto.setSnAtivo(true);
+        produto.setTpCategoria("LANCHE");
+
+        byte[] corpo = objectMapper.writeValueAsBytes(produto);
+        troca.getResponseHeaders().add("Content-Type", "application/json");
+        troca.sendResponseHeaders(200, corpo.length);
+        try (OutputStream saida = troca.getResponseBody()) {
+            saida.write(corpo);
+        }
+    }
+}
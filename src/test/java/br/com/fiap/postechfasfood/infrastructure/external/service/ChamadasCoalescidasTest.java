@@ -0,0 +1,243 @@
+package br.com.fiap.postechfasfood.infrastructure.external.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ChamadasCoalescidas - Testes")
+class ChamadasCoalescidasTest {
+
+    private static final int CHAMADORES = 20;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ChamadasCoalescidas<String, String> chamadasCoalescidas;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        chamadasCoalescidas = new ChamadasCoalescidas<>(meterRegistry, "produtos");
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Deve fazer uma única chamada para chamadores concorrentes da mesma chave")
+    void deveFazerUmaUnicaChamadaParaChamadoresConcorrentes() throws Exception {
+        // Arrange
+        AtomicInteger chamadas = new AtomicInteger();
+        CountDownLatch chamadaIniciada = new CountDownLatch(1);
+        CountDownLatch liberarChamada = new CountDownLatch(1);
+
+        Future<String> primeiro = executor.submit(() -> chamadasCoalescidas.executar("lanche-001", () -> {
+            chamadas.incrementAndGet();
+            chamadaIniciada.countDown();
+            aguardar(liberarChamada);
+            return "X-Burger";
+        }));
+        assertTrue(chamadaIniciada.await(5, TimeUnit.SECONDS));
+
+        // Act
+        List<Future<String>> demais = new ArrayList<>();
+        for (int i = 0; i < CHAMADORES; i++) {
+            demais.add(executor.submit(() -> chamadasCoalescidas.executar("lanche-001", () -> {
+                chamadas.incrementAndGet();
+                return "outra chamada";
+            })));
+        }
+        aguardarCoalescidas(CHAMADORES);
+        liberarChamada.countDown();
+
+        // Assert
+        assertEquals("X-Burger", primeiro.get(5, TimeUnit.SECONDS));
+        for (Future<String> chamador : demais) {
+            assertEquals("X-Burger", chamador.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, chamadas.get());
+        assertEquals(CHAMADORES, contadorCoalescidas());
+    }
+
+    @Test
+    @DisplayName("Deve propagar a mesma falha para quem aguardava a chamada")
+    void devePropagarMesmaFalhaParaQuemAguardava() throws Exception {
+        // Arrange
+        CountDownLatch chamadaIniciada = new CountDownLatch(1);
+        CountDownLatch liberarChamada = new CountDownLatch(1);
+        IllegalArgumentException falha = new IllegalArgumentException("Produto não encontrado: lanche-001");
+
+        Future<String> primeiro = executor.submit(() -> chamadasCoalescidas.executar("lanche-001", () -> {
+            chamadaIniciada.countDown();
+            aguardar(liberarChamada);
+            throw falha;
+        }));
+        assertTrue(chamadaIniciada.await(5, TimeUnit.SECONDS));
+
+        // Act
+        Future<String> segundo = executor.submit(() -> chamadasCoalescidas.executar("lanche-001", () -> "outra chamada"));
+        aguardarCoalescidas(1);
+        liberarChamada.countDown();
+
+        // Assert
+        ExecutionException erroPrimeiro = assertThrows(ExecutionException.class, () -> primeiro.get(5, TimeUnit.SECONDS));
+        ExecutionException erroSegundo = assertThrows(ExecutionException.class, () -> segundo.get(5, TimeUnit.SECONDS));
+        assertSame(falha, erroPrimeiro.getCause());
+        assertSame(falha, erroSegundo.getCause());
+    }
+
+    @Test
+    @DisplayName("Não deve repassar a interrupção de quem fazia a chamada para quem aguardava")
+    void naoDeveRepassarInterrupcaoParaQuemAguardava() throws Exception {
+        // Arrange
+        AtomicInteger chamadas = new AtomicInteger();
+        CountDownLatch chamadaIniciada = new CountDownLatch(1);
+
+        Future<String> primeiro = executor.submit(() -> chamadasCoalescidas.executar("lanche-001", () -> {
+            chamadas.incrementAndGet();
+            chamadaIniciada.countDown();
+            try {
+                new CountDownLatch(1).await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrompido aguardando chamada externa", e);
+            }
+            return "não deveria chegar aqui";
+        }));
+        assertTrue(chamadaIniciada.await(5, TimeUnit.SECONDS));
+        Future<String> segundo = executor.submit(() -> chamadasCoalescidas.executar("lanche-001", () -> {
+            chamadas.incrementAndGet();
+            return "X-Burger";
+        }));
+        aguardarCoalescidas(1);
+
+        // Act - checkout do primeiro chamador cancelado (ex.: CPF inválido)
+        primeiro.cancel(true);
+
+        // Assert
+        assertEquals("X-Burger", segundo.get(5, TimeUnit.SECONDS));
+        assertEquals(2, chamadas.get());
+    }
+
+    @Test
+    @DisplayName("Deve chamar novamente depois que a chamada anterior terminou")
+    void deveChamarNovamenteDepoisQueAnteriorTerminou() {
+        // Arrange
+        AtomicInteger chamadas = new AtomicInteger();
+
+        // Act
+        chamadasCoalescidas.executar("lanche-001", () -> "chamada " + chamadas.incrementAndGet());
+        assertThrows(IllegalStateException.class, () -> chamadasCoalescidas.executar("lanche-001", () -> {
+            throw new IllegalStateException("falha");
+        }));
+        String resultado = chamadasCoalescidas.executar("lanche-001", () -> "chamada " + chamadas.incrementAndGet());
+
+        // Assert
+        assertEquals("chamada 2", resultado);
+        assertEquals(0, contadorCoalescidas());
+        assertEquals(0, meterRegistry.get(ChamadasCoalescidas.METRICA_EM_ANDAMENTO).gauge().value());
+    }
+
+    @Test
+    @DisplayName("Não deve coalescer chamadas de chaves diferentes")
+    void naoDeveCoalescerChavesDiferentes() throws Exception {
+        // Arrange
+        CountDownLatch chamadaIniciada = new CountDownLatch(1);
+        CountDownLatch liberarChamada = new CountDownLatch(1);
+
+        Future<String> primeiro = executor.submit(() -> chamadasCoalescidas.executar("lanche-001", () -> {
+            chamadaIniciada.countDown();
+            aguardar(liberarChamada);
+            return "X-Burger";
+        }));
+        assertTrue(chamadaIniciada.await(5, TimeUnit.SECONDS));
+
+        // Act
+        String outro = chamadasCoalescidas.executar("bebida-001", () -> "Refrigerante");
+        liberarChamada.countDown();
+
+        // Assert
+        assertEquals("Refrigerante", outro);
+        assertEquals("X-Burger", primeiro.get(5, TimeUnit.SECONDS));
+        assertEquals(0, contadorCoalescidas());
+    }
+
+    @Test
+    @DisplayName("Deve buscar em lote só as chaves que ninguém está buscando e aguardar as demais")
+    void deveBuscarEmLoteSoChavesSemChamadaEmAndamento() throws Exception {
+        // Arrange
+        List<List<String>> lotesChamados = new CopyOnWriteArrayList<>();
+        CountDownLatch chamadaIniciada = new CountDownLatch(1);
+        CountDownLatch liberarChamada = new CountDownLatch(1);
+
+        Future<Map<String, String>> primeiro = executor.submit(() -> chamadasCoalescidas.executarEmLote(
+            List.of("lanche-001", "bebida-001", "produto-inexistente"), chaves -> {
+                lotesChamados.add(chaves);
+                chamadaIniciada.countDown();
+                aguardar(liberarChamada);
+                return Map.of("lanche-001", "X-Burger", "bebida-001", "Refrigerante");
+            }));
+        assertTrue(chamadaIniciada.await(5, TimeUnit.SECONDS));
+
+        // Act
+        Future<Map<String, String>> segundo = executor.submit(() -> chamadasCoalescidas.executarEmLote(
+            List.of("bebida-001", "sobremesa-001", "produto-inexistente"), chaves -> {
+                lotesChamados.add(chaves);
+                Map<String, String> encontrados = new HashMap<>();
+                chaves.forEach(chave -> encontrados.put(chave, "outra chamada"));
+                return encontrados;
+            }));
+        aguardarCoalescidas(2);
+        liberarChamada.countDown();
+
+        // Assert - o inexistente fica fora também para quem o aguardava
+        assertEquals(Map.of("lanche-001", "X-Burger", "bebida-001", "Refrigerante"),
+            primeiro.get(5, TimeUnit.SECONDS));
+        assertEquals(Map.of("bebida-001", "Refrigerante", "sobremesa-001", "outra chamada"),
+            segundo.get(5, TimeUnit.SECONDS));
+        assertEquals(List.of(List.of("lanche-001", "bebida-001", "produto-inexistente"), List.of("sobremesa-001")),
+            lotesChamados);
+        assertEquals(0, meterRegistry.get(ChamadasCoalescidas.METRICA_EM_ANDAMENTO).gauge().value());
+    }
+
+    private double contadorCoalescidas() {
+        return meterRegistry.get(ChamadasCoalescidas.METRICA_COALESCIDAS).counter().count();
+    }
+
+    // O contador sobe antes de o chamador começar a esperar, então só libera a chamada
+    // quando todos já estão pendurados nela
+    private void aguardarCoalescidas(int esperadas) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (contadorCoalescidas() < esperadas && System.nanoTime() < limite) {
+            Thread.sleep(5);
+        }
+        assertEquals(esperadas, contadorCoalescidas());
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package br.com.fiap.postechfasfood.infrastructure.external.service;
+
+import br.com.fiap.postechfasfood.infrastructure.external.service.ChamadasComHedge.ConfiguracaoHedge;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ChamadasComHedge - Testes")
+class ChamadasComHedgeTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Deve chamar uma única vez na própria thread quando desabilitado")
+    void deveChamarUmaVezQuandoDesabilitado() {
+        // Arrange
+        ChamadasComHedge hedge = new ChamadasComHedge("produtos", ConfiguracaoHedge.desabilitado(), null, meterRegistry);
+        Thread chamador = Thread.currentThread();
+
+        // Act
+        String resultado = hedge.executar(() -> Thread.currentThread() == chamador ? "X-Burger" : "outra thread");
+
+        // Assert
+        assertEquals("X-Burger", resultado);
+    }
+
+    @Test
+    @DisplayName("Não deve disparar segunda chamada quando a primeira responde dentro do atraso")
+    void naoDeveDispararSegundaChamadaQuandoPrimeiraERapida() {
+        // Arrange
+        ChamadasComHedge hedge = novoHedge(Duration.ofSeconds(5), 0.05);
+        AtomicInteger chamadas = new AtomicInteger();
+
+        // Act
+        String resultado = hedge.executar(() -> {
+            chamadas.incrementAndGet();
+            return "X-Burger";
+        });
+
+        // Assert
+        assertEquals("X-Burger", resultado);
+        assertEquals(1, chamadas.get());
+        assertEquals(0.0, contador("disparado"));
+    }
+
+    @Test
+    @DisplayName("Deve ficar com a segunda chamada quando a primeira demora além do atraso")
+    void deveFicarComSegundaChamadaQuandoPrimeiraDemora() {
+        // Arrange
+        ChamadasComHedge hedge = novoHedge(Duration.ofMillis(50), 0.05);
+        Supplier<String> chamada = primeiraLenta(Duration.ofSeconds(5));
+
+        // Act
+        long inicio = System.nanoTime();
+        String resultado = hedge.executar(chamada);
+        Duration duracao = Duration.ofNanos(System.nanoTime() - inicio);
+
+        // Assert
+        assertEquals("tentativa-2", resultado);
+        assertTrue(duracao.compareTo(Duration.ofSeconds(2)) < 0, "Demorou " + duracao);
+        assertEquals(1.0, contador("disparado"));
+        assertEquals(1.0, contador("vitoria"));
+    }
+
+    @Test
+    @DisplayName("Não deve contar como falha no circuito a tentativa que perdeu para o hedge")
+    void naoDeveContarTentativaPerdedoraComoFalhaNoCircuito() throws InterruptedException {
+        // Arrange
+        ChamadasComHedge hedge = novoHedge(Duration.ofMillis(50), 0.05);
+        CircuitBreaker circuito = CircuitBreaker.ofDefaults("produtos");
+        ProtecaoChamadaExterna protecao = new ProtecaoChamadaExterna("produtos", circuito,
+            Bulkhead.ofDefaults("produtos"), meterRegistry);
+        CountDownLatch liberarPrimeira = new CountDownLatch(1);
+        AtomicInteger tentativas = new AtomicInteger();
+
+        // Act
+        String resultado = hedge.executar(() -> protecao.executar(() -> {
+            int tentativa = tentativas.incrementAndGet();
+            if (tentativa == 1) {
+                try {
+                    liberarPrimeira.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException("Interrompido aguardando a API de produtos", e);
+                }
+            }
+            return "tentativa-" + tentativa;
+        }));
+        liberarPrimeira.countDown();
+
+        // Assert - a perdedora termina por conta própria e entra no circuito como sucesso
+        assertEquals("tentativa-2", resultado);
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (circuito.getMetrics().getNumberOfBufferedCalls() < 2 && System.nanoTime() < limite) {
+            Thread.sleep(5);
+        }
+        assertEquals(2, circuito.getMetrics().getNumberOfBufferedCalls());
+        assertEquals(0, circuito.getMetrics().getNumberOfFailedCalls());
+    }
+
+    @Test
+    @DisplayName("Deve aguardar a primeira chamada quando o orçamento de hedge acabou")
+    void deveAguardarPrimeiraChamadaSemOrcamento() {
+        // Arrange - sem taxa, só o crédito inicial de uma segunda chamada
+        ChamadasComHedge hedge = novoHedge(Duration.ofMillis(20), 0);
+        hedge.executar(primeiraLenta(Duration.ofSeconds(5)));
+
+        // Act
+        String resultado = hedge.executar(primeiraLenta(Duration.ofMillis(200)));
+
+        // Assert
+        assertEquals("tentativa-1", resultado);
+        assertEquals(1.0, contador("disparado"));
+        assertEquals(1.0, contador("sem-orcamento"));
+    }
+
+    @Test
+    @DisplayName("Deve usar a segunda chamada quando a primeira falha depois do atraso")
+    void deveUsarSegundaChamadaQuandoPrimeiraFalha() {
+        // Arrange
+        ChamadasComHedge hedge = novoHedge(Duration.ofMillis(50), 0.05);
+        AtomicInteger tentativas = new AtomicInteger();
+
+        // Act
+        String resultado = hedge.executar(() -> {
+            if (tentativas.incrementAndGet() == 1) {
+                dormir(Duration.ofMillis(300));
+                throw new IllegalStateException("API de produtos fora do ar");
+            }
+            dormir(Duration.ofMillis(600));
+            return "tentativa-2";
+        });
+
+        // Assert
+        assertEquals("tentativa-2", resultado);
+    }
+
+    @Test
+    @DisplayName("Deve propagar a falha quando nenhuma chamada responde")
+    void devePropagarFalhaQuandoNenhumaChamadaResponde() {
+        // Arrange
+        ChamadasComHedge hedge = novoHedge(Duration.ofSeconds(5), 0.05);
+
+        // Act & Assert
+        IllegalStateException falha = assertThrows(IllegalStateException.class, () -> hedge.executar(() -> {
+            throw new IllegalStateException("API de produtos fora do ar");
+        }));
+        assertEquals("API de produtos fora do ar", falha.getMessage());
+    }
+
+    @Test
+    @DisplayName("Deve usar o percentil das latências recentes, respeitando o atraso mínimo")
+    void deveUsarPercentilDasLatenciasRecentes() {
+        // Arrange
+        ChamadasComHedge hedge = new ChamadasComHedge("produtos",
+            new ConfiguracaoHedge(true, 0.5, Duration.ofSeconds(5), Duration.ZERO, 0.05), executor, meterRegistry);
+
+        // Act
+        for (int i = 0; i < 20; i++) {
+            hedge.executar(() -> {
+                dormir(Duration.ofMillis(10));
+                return "X-Burger";
+            });
+        }
+
+        // Assert - com amostras suficientes o atraso inicial deixa de valer
+        Duration atraso = hedge.atrasoHedge();
+        assertTrue(atraso.compareTo(Duration.ofMillis(10)) >= 0, "Atraso " + atraso);
+        assertTrue(atraso.compareTo(Duration.ofSeconds(1)) < 0, "Atraso " + atraso);
+    }
+
+    private ChamadasComHedge novoHedge(Duration atrasoInicial, double taxaMaxima) {
+        return new ChamadasComHedge("produtos",
+            new ConfiguracaoHedge(true, 0.95, atrasoInicial, Duration.ZERO, taxaMaxima), executor, meterRegistry);
+    }
+
+    private static Supplier<String> primeiraLenta(Duration demora) {
+        AtomicInteger tentativas = new AtomicInteger();
+        return () -> {
+            int tentativa = tentativas.incrementAndGet();
+            if (tentativa == 1) {
+                dormir(demora);
+            }
+            return "tentativa-" + tentativa;
+        };
+    }
+
+    private double contador(String evento) {
+        return meterRegistry.get(ChamadasComHedge.METRICA_HEDGE)
+            .tag("servico", "produtos").tag("evento", evento).counter().count();
+    }
+
+    private static void dormir(Duration duracao) {
+        try {
+            Thread.sleep(duracao);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -3,6 +3,10 @@ package br.com.fiap.postechfasfood.infrastructure.external.service;
 import br.com.fiap.postechfasfood.infrastructure.external.client.PessoaFeignClient;
 import br.com.fiap.postechfasfood.infrastructure.external.dto.PessoaExternaDTO;
 import feign.FeignException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -10,6 +14,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -20,11 +27,16 @@ class PessoaExternaServiceTest {
     @Mock
     private PessoaFeignClient pessoaFeignClient;
 
+    private final AtomicLong relogioNanos = new AtomicLong();
+
+    private SimpleMeterRegistry meterRegistry;
+
     private PessoaExternaService pessoaExternaService;
 
     @BeforeEach
     void setUp() {
-        pessoaExternaService = new PessoaExternaService(pessoaFeignClient);
+        meterRegistry = new SimpleMeterRegistry();
+        pessoaExternaService = novoService(CircuitBreaker.ofDefaults("pessoas"), false);
     }
 
     @Test
@@ -191,7 +203,9 @@ class PessoaExternaServiceTest {
         String cpf = "12345678901";
         FeignException.InternalServerError feignError = mock(FeignException.InternalServerError.class);
         when(feignError.status()).thenReturn(500);
-        when(feignError.getMessage()).thenReturn("Internal Server Error");
+        // A mensagem do Feign traz a URL da consulta, com o CPF no caminho
+        lenient().when(feignError.getMessage())
+            .thenReturn("[500 Internal Server Error] during [GET] to [http://pessoas/api/v1/pessoa/" + cpf + "]");
 
         when(pessoaFeignClient.buscarPessoaPorCpf(cpf)).thenThrow(feignError);
 
@@ -201,6 +215,7 @@ class PessoaExternaServiceTest {
         );
 
         assertTrue(exception.getMessage().contains("Erro ao comunicar com serviço de pessoas"));
+        assertFalse(exception.getMessage().contains(cpf));
         verify(pessoaFeignClient, times(1)).buscarPessoaPorCpf(cpf);
     }
 
@@ -222,6 +237,187 @@ class PessoaExternaServiceTest {
         verify(pessoaFeignClient, times(1)).buscarPessoaPorCpf(cpf);
     }
 
+    @Test
+    @DisplayName("Deve reaproveitar a verificação de CPF válido até o TTL de válidos")
+    void deveReaproveitarVerificacaoDeCpfValido() {
+        // Arrange
+        String cpf = "12345678901";
+        when(pessoaFeignClient.buscarPessoaPorCpf(cpf)).thenReturn(pessoaValida(cpf));
+
+        // Act
+        pessoaExternaService.verificarSeCpfExiste(cpf);
+        relogioNanos.addAndGet(Duration.ofMinutes(29).toNanos());
+        pessoaExternaService.verificarSeCpfExiste(cpf);
+        relogioNanos.addAndGet(Duration.ofMinutes(2).toNanos());
+        pessoaExternaService.verificarSeCpfExiste(cpf);
 
+        // Assert
+        verify(pessoaFeignClient, times(2)).buscarPessoaPorCpf(cpf);
+    }
 
+    @Test
+    @DisplayName("Deve reaproveitar o fallback anônimo de CPF não encontrado até o TTL de anônimos")
+    void deveReaproveitarFallbackAnonimo() {
+        // Arrange
+        String cpf = "99999999999";
+        when(pessoaFeignClient.buscarPessoaPorCpf(cpf)).thenThrow(FeignException.NotFound.class);
+
+        // Act
+        pessoaExternaService.verificarSeCpfExiste(cpf);
+        relogioNanos.addAndGet(Duration.ofMinutes(9).toNanos());
+        pessoaExternaService.verificarSeCpfExiste(cpf);
+        relogioNanos.addAndGet(Duration.ofMinutes(2).toNanos());
+        pessoaExternaService.verificarSeCpfExiste(cpf);
+
+        // Assert
+        verify(pessoaFeignClient, times(2)).buscarPessoaPorCpf(cpf);
+    }
+
+    @Test
+    @DisplayName("Deve consultar novamente cadastro incompleto após o TTL de inválidos")
+    void deveConsultarNovamenteCadastroIncompletoAposTtlDeInvalidos() {
+        // Arrange
+        String cpf = "11122233344";
+        PessoaExternaDTO pessoaSemEmail = pessoaValida(cpf);
+        pessoaSemEmail.setDsEmail(null);
+        when(pessoaFeignClient.buscarPessoaPorCpf(cpf))
+            .thenReturn(pessoaSemEmail)
+            .thenReturn(pessoaValida(cpf));
+
+        // Act
+        pessoaExternaService.verificarSeCpfExiste(cpf);
+        pessoaExternaService.verificarSeCpfExiste(cpf);
+        relogioNanos.addAndGet(Duration.ofMinutes(6).toNanos());
+        pessoaExternaService.verificarSeCpfExiste(cpf);
+
+        // Assert
+        verify(pessoaFeignClient, times(2)).buscarPessoaPorCpf(cpf);
+    }
+
+    @Test
+    @DisplayName("Não deve guardar em cache falhas de comunicação com a API")
+    void naoDeveGuardarFalhasDeComunicacao() {
+        // Arrange
+        String cpf = "12345678901";
+        when(pessoaFeignClient.buscarPessoaPorCpf(cpf))
+            .thenThrow(new IllegalStateException("Conexão recusada"))
+            .thenReturn(pessoaValida(cpf));
+
+        // Act
+        assertThrows(RuntimeException.class, () -> pessoaExternaService.verificarSeCpfExiste(cpf));
+        assertDoesNotThrow(() -> pessoaExternaService.verificarSeCpfExiste(cpf));
+
+        // Assert
+        verify(pessoaFeignClient, times(2)).buscarPessoaPorCpf(cpf);
+    }
+
+    @Test
+    @DisplayName("Deve publicar métricas do cache de CPFs")
+    void devePublicarMetricasDoCacheDeCpfs() {
+        // Arrange
+        String cpf = "12345678901";
+        when(pessoaFeignClient.buscarPessoaPorCpf(cpf)).thenReturn(pessoaValida(cpf));
+
+        // Act
+        pessoaExternaService.verificarSeCpfExiste(cpf);
+        pessoaExternaService.verificarSeCpfExiste(cpf);
+
+        // Assert
+        assertEquals(1.0, meterRegistry.get("cache.gets")
+            .tag("cache", PessoaExternaService.NOME_CACHE).tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets")
+            .tag("cache", PessoaExternaService.NOME_CACHE).tag("result", "miss").functionCounter().count());
+    }
+
+    private static PessoaExternaDTO pessoaValida(String cpf) {
+        PessoaExternaDTO pessoa = new PessoaExternaDTO();
+        pessoa.setCdDocPessoa(cpf);
+        pessoa.setNmPessoa("João Silva");
+        pessoa.setDsEmail("joao@teste.com");
+        pessoa.setTpPessoa("CLIENTE");
+        return pessoa;
+    }
+
+    @Test
+    @DisplayName("Deve seguir como pedido anônimo quando a API falhar e a degradação estiver ligada")
+    void deveSeguirComoAnonimoQuandoApiFalharComDegradacao() {
+        // Arrange
+        String cpf = "12345678901";
+        pessoaExternaService = novoService(CircuitBreaker.ofDefaults("pessoas"), true);
+        FeignException.ServiceUnavailable indisponivel = mock(FeignException.ServiceUnavailable.class);
+        when(pessoaFeignClient.buscarPessoaPorCpf(cpf)).thenThrow(indisponivel).thenReturn(pessoaValida(cpf));
+
+        // Act & Assert - a falha não é guardada: a próxima verificação volta à API
+        assertDoesNotThrow(() -> pessoaExternaService.verificarSeCpfExiste(cpf));
+        assertDoesNotThrow(() -> pessoaExternaService.verificarSeCpfExiste(cpf));
+        verify(pessoaFeignClient, times(2)).buscarPessoaPorCpf(cpf);
+    }
+
+    @Test
+    @DisplayName("Não deve degradar erros inesperados que não são de comunicação")
+    void naoDeveDegradarErrosInesperados() {
+        // Arrange
+        String cpf = "12345678901";
+        pessoaExternaService = novoService(CircuitBreaker.ofDefaults("pessoas"), true);
+        when(pessoaFeignClient.buscarPessoaPorCpf(cpf)).thenThrow(new IllegalStateException("Erro inesperado"));
+
+        // Act & Assert
+        assertThrows(RuntimeException.class, () -> pessoaExternaService.verificarSeCpfExiste(cpf));
+    }
+
+    @Test
+    @DisplayName("Deve recusar chamadas com o circuito aberto sem chamar a API")
+    void deveRecusarChamadasComCircuitoAberto() {
+        // Arrange - circuito abre após 2 falhas em 2 chamadas
+        String cpf = "12345678901";
+        CircuitBreaker circuito = CircuitBreaker.of("pessoas", CircuitBreakerConfig.custom()
+            .slidingWindowSize(2)
+            .minimumNumberOfCalls(2)
+            .failureRateThreshold(50)
+            .waitDurationInOpenState(Duration.ofMinutes(1))
+            .build());
+        pessoaExternaService = novoService(circuito, true);
+        FeignException.ServiceUnavailable indisponivel = mock(FeignException.ServiceUnavailable.class);
+        when(pessoaFeignClient.buscarPessoaPorCpf(cpf)).thenThrow(indisponivel);
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            assertDoesNotThrow(() -> pessoaExternaService.verificarSeCpfExiste(cpf));
+        }
+
+        // Assert
+        assertEquals(CircuitBreaker.State.OPEN, circuito.getState());
+        verify(pessoaFeignClient, times(2)).buscarPessoaPorCpf(cpf);
+        assertEquals(3.0, meterRegistry.get(ProtecaoChamadaExterna.METRICA_REJEITADAS)
+            .tag("servico", "pessoas").tag("motivo", "circuito-aberto").counter().count());
+    }
+
+    @Test
+    @DisplayName("Não deve contar CPF não encontrado como falha no circuito")
+    void naoDeveContarCpfNaoEncontradoComoFalha() {
+        // Arrange
+        String cpf = "99999999999";
+        CircuitBreaker circuito = CircuitBreaker.of("pessoas", CircuitBreakerConfig.custom()
+            .slidingWindowSize(2)
+            .minimumNumberOfCalls(2)
+            .ignoreExceptions(FeignException.NotFound.class)
+            .build());
+        pessoaExternaService = novoService(circuito, false);
+        when(pessoaFeignClient.buscarPessoaPorCpf(anyString())).thenThrow(FeignException.NotFound.class);
+
+        // Act
+        pessoaExternaService.verificarSeCpfExiste(cpf);
+        pessoaExternaService.verificarSeCpfExiste("88888888888");
+        pessoaExternaService.verificarSeCpfExiste("77777777777");
+
+        // Assert
+        assertEquals(CircuitBreaker.State.CLOSED, circuito.getState());
+    }
+
+    private PessoaExternaService novoService(CircuitBreaker circuito, boolean pedidoAnonimoEmFalha) {
+        ProtecaoChamadaExterna protecaoPessoas = new ProtecaoChamadaExterna("pessoas", circuito,
+            Bulkhead.ofDefaults("pessoas"), meterRegistry);
+        return new PessoaExternaService(pessoaFeignClient, protecaoPessoas, meterRegistry, pedidoAnonimoEmFalha,
+            Duration.ofMinutes(30), Duration.ofMinutes(5), Duration.ofMinutes(10), 100, relogioNanos::get);
+    }
 }
@@ -0,0 +1,162 @@
+package br.com.fiap.postechfasfood.infrastructure.external.service;
+
+import br.com.fiap.postechfasfood.domain.entities.Produto;
+import br.com.fiap.postechfasfood.infrastructure.external.client.ProdutoFeignClient;
+import br.com.fiap.postechfasfood.infrastructure.external.dto.ProdutoExternoDTO;
+import br.com.fiap.postechfasfood.infrastructure.external.service.ChamadasComHedge.ConfiguracaoHedge;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import feign.Feign;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.openfeign.support.SpringMvcContract;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Hedging das buscas de produto com o client Feign real contra uma API de produtos simulada
+ * com o HttpServer do JDK, em que a primeira requisição sofre uma latência injetada.
+ */
+@DisplayName("ProdutoExternoService via HTTP - Testes de hedging")
+class ProdutoExternoServiceHttpTest {
+
+    private static final Duration LATENCIA_INJETADA = Duration.ofSeconds(3);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicInteger requisicoes = new AtomicInteger();
+
+    private HttpServer servidor;
+    private ExecutorService executorHedge;
+    private SimpleMeterRegistry meterRegistry;
+    private ProdutoFeignClient produtoFeignClient;
+    private ProtecaoChamadaExterna protecaoProdutos;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        servidor = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        servidor.createContext("/api/v1/produtos", this::responder);
+        servidor.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        servidor.start();
+
+        produtoFeignClient = Feign.builder()
+            .contract(new SpringMvcContract())
+            .decoder((response, type) ->
+                objectMapper.readValue(response.body().asInputStream(), objectMapper.constructType(type)))
+            .target(ProdutoFeignClient.class, "http://localhost:" + servidor.getAddress().getPort());
+
+        meterRegistry = new SimpleMeterRegistry();
+        executorHedge = Executors.newVirtualThreadPerTaskExecutor();
+        protecaoProdutos = new ProtecaoChamadaExterna("produtos",
+            CircuitBreaker.ofDefaults("produtos"), Bulkhead.ofDefaults("produtos"), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        servidor.stop(0);
+        executorHedge.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Deve responder pela segunda requisição quando a primeira fica lenta")
+    void deveResponderPelaSegundaRequisicaoQuandoPrimeiraFicaLenta() {
+        // Arrange
+        ProdutoExternoService service = novoService(true);
+
+        // Act
+        long inicio = System.nanoTime();
+        Produto produto = service.buscarProdutoPorId("lanche-001");
+        Duration duracao = Duration.ofNanos(System.nanoTime() - inicio);
+
+        // Assert
+        assertEquals("X-Burger", produto.getNome());
+        assertEquals(2, requisicoes.get());
+        assertTrue(duracao.compareTo(LATENCIA_INJETADA) < 0, "Demorou " + duracao);
+        assertEquals(1.0, meterRegistry.get(ChamadasComHedge.METRICA_HEDGE)
+            .tag("servico", "produtos").tag("evento", "vitoria").counter().count());
+    }
+
+    @Test
+    @DisplayName("Deve responder a consulta em lote pela segunda requisição quando a primeira fica lenta")
+    void deveResponderConsultaEmLotePelaSegundaRequisicao() {
+        // Arrange
+        ProdutoExternoService service = novoService(true);
+
+        // Act
+        long inicio = System.nanoTime();
+        List<Produto> produtos = service.buscarProdutosPorIds(List.of("lanche-001"));
+        Duration duracao = Duration.ofNanos(System.nanoTime() - inicio);
+
+        // Assert
+        assertEquals(1, produtos.size());
+        assertEquals("X-Burger", produtos.getFirst().getNome());
+        assertEquals(2, requisicoes.get());
+        assertTrue(duracao.compareTo(LATENCIA_INJETADA) < 0, "Demorou " + duracao);
+    }
+
+    @Test
+    @DisplayName("Deve aguardar a requisição lenta quando o hedging está desabilitado")
+    void deveAguardarRequisicaoLentaSemHedging() {
+        // Arrange
+        ProdutoExternoService service = novoService(false);
+
+        // Act
+        long inicio = System.nanoTime();
+        Produto produto = service.buscarProdutoPorId("lanche-001");
+        Duration duracao = Duration.ofNanos(System.nanoTime() - inicio);
+
+        // Assert
+        assertEquals("X-Burger", produto.getNome());
+        assertEquals(1, requisicoes.get());
+        assertTrue(duracao.compareTo(LATENCIA_INJETADA) >= 0, "Demorou " + duracao);
+    }
+
+    private ProdutoExternoService novoService(boolean hedgeHabilitado) {
+        ConfiguracaoHedge configuracao = new ConfiguracaoHedge(hedgeHabilitado, 0.95,
+            Duration.ofMillis(100), Duration.ofMillis(20), 0.05);
+        return new ProdutoExternoService(produtoFeignClient, protecaoProdutos,
+            new ChamadasComHedge("produtos", configuracao, executorHedge, meterRegistry), meterRegistry);
+    }
+
+    private void responder(HttpExchange troca) throws IOException {
+        // Latência injetada só na primeira requisição, como uma resposta lenta isolada da API
+        if (requisicoes.incrementAndGet() == 1) {
+            try {
+                Thread.sleep(LATENCIA_INJETADA);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        ProdutoExternoDTO produto = new ProdutoExternoDTO();
+        produto.setCdProduto("lanche-001");
+        produto.setNmProduto("X-Burger");
+        produto.setDsDescricao("X-Burger");
+        produto.setVlPreco(25.0);
+        produto.setSnAtivo(true);
+        produto.setTpCategoria("LANCHE");
+
+        // A rota de lote responde a mesma lista para qualquer conjunto de códigos
+        boolean consultaEmLote = troca.getRequestURI().getPath().equals("/api/v1/produtos");
+        byte[] corpo = objectMapper.writeValueAsBytes(consultaEmLote ? List.of(produto) : produto);
+        troca.getResponseHeaders().add("Content-Type", "application/json");
+        troca.sendResponseHeaders(200, corpo.length);
+        try (OutputStream saida = troca.getResponseBody()) {
+            saida.write(corpo);
+        }
+    }
+}
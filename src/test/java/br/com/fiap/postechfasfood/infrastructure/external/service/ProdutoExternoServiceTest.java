@@ -4,7 +4,11 @@ import br.com.fiap.postechfasfood.domain.entities.Produto;
 import br.com.fiap.postechfasfood.domain.valueobjects.CategoriaProduto;
 import br.com.fiap.postechfasfood.infrastructure.external.client.ProdutoFeignClient;
 import br.com.fiap.postechfasfood.infrastructure.external.dto.ProdutoExternoDTO;
+import br.com.fiap.postechfasfood.infrastructure.external.service.ChamadasComHedge.ConfiguracaoHedge;
 import feign.FeignException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -12,6 +16,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -26,7 +32,11 @@ class ProdutoExternoServiceTest {
 
     @BeforeEach
     void setUp() {
-        produtoExternoService = new ProdutoExternoService(produtoFeignClient);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ProtecaoChamadaExterna protecaoProdutos = new ProtecaoChamadaExterna("produtos",
+            CircuitBreaker.ofDefaults("produtos"), Bulkhead.ofDefaults("produtos"), meterRegistry);
+        produtoExternoService = new ProdutoExternoService(produtoFeignClient, protecaoProdutos,
+            new ChamadasComHedge("produtos", ConfiguracaoHedge.desabilitado(), null, meterRegistry), meterRegistry);
     }
 
     @Test
@@ -275,4 +285,56 @@ class ProdutoExternoServiceTest {
         assertTrue(exception.getMessage().contains("Erro interno ao processar produto"));
         verify(produtoFeignClient, times(1)).buscarProdutoPorId(cdProduto);
     }
+
+    @Test
+    @DisplayName("Deve buscar produtos em lote ignorando inativos e não solicitados")
+    void deveBuscarProdutosEmLoteIgnorandoInativosENaoSolicitados() {
+        // Arrange
+        ProdutoExternoDTO lanche = new ProdutoExternoDTO();
+        lanche.setCdProduto("lanche-001");
+        lanche.setNmProduto("X-Burger");
+        lanche.setVlPreco(25.90);
+        lanche.setSnAtivo(true);
+        lanche.setTpCategoria("LANCHE");
+
+        ProdutoExternoDTO inativo = new ProdutoExternoDTO();
+        inativo.setCdProduto("bebida-001");
+        inativo.setNmProduto("Refrigerante");
+        inativo.setVlPreco(8.00);
+        inativo.setSnAtivo(false);
+        inativo.setTpCategoria("BEBIDA");
+
+        ProdutoExternoDTO naoSolicitado = new ProdutoExternoDTO();
+        naoSolicitado.setCdProduto("sobremesa-001");
+        naoSolicitado.setNmProduto("Sorvete");
+        naoSolicitado.setVlPreco(12.00);
+        naoSolicitado.setSnAtivo(true);
+        naoSolicitado.setTpCategoria("SOBREMESA");
+
+        List<String> codigos = List.of("lanche-001", "bebida-001");
+        when(produtoFeignClient.buscarProdutosPorIds(codigos)).thenReturn(List.of(lanche, inativo, naoSolicitado));
+
+        // Act
+        List<Produto> produtos = produtoExternoService.buscarProdutosPorIds(codigos);
+
+        // Assert
+        assertEquals(1, produtos.size());
+        assertEquals("lanche-001", produtos.getFirst().getId());
+        verify(produtoFeignClient, times(1)).buscarProdutosPorIds(codigos);
+    }
+
+    @Test
+    @DisplayName("Deve sinalizar consulta em lote não suportada quando API retornar 404")
+    void deveSinalizarConsultaEmLoteNaoSuportadaQuandoApiRetornar404() {
+        // Arrange
+        List<String> codigos = List.of("lanche-001");
+        FeignException.NotFound notFoundException = mock(FeignException.NotFound.class);
+        when(produtoFeignClient.buscarProdutosPorIds(codigos)).thenThrow(notFoundException);
+
+        // Act & Assert
+        assertThrows(
+            UnsupportedOperationException.class,
+            () -> produtoExternoService.buscarProdutosPorIds(codigos)
+        );
+    }
 }
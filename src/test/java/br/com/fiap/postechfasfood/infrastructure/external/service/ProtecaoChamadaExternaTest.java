@@ -0,0 +1,121 @@
+package br.com.fiap.postechfasfood.infrastructure.external.service;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ProtecaoChamadaExterna - Testes")
+class ProtecaoChamadaExternaTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private CircuitBreaker circuitBreaker;
+    private Bulkhead bulkhead;
+    private ProtecaoChamadaExterna protecao;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        circuitBreaker = CircuitBreaker.of("produtos", CircuitBreakerConfig.custom()
+            .slidingWindowSize(4)
+            .minimumNumberOfCalls(4)
+            .failureRateThreshold(50)
+            .waitDurationInOpenState(Duration.ofMinutes(1))
+            .build());
+        bulkhead = Bulkhead.of("produtos", BulkheadConfig.custom()
+            .maxConcurrentCalls(1)
+            .maxWaitDuration(Duration.ZERO)
+            .build());
+        protecao = new ProtecaoChamadaExterna("produtos", circuitBreaker, bulkhead, meterRegistry);
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Deve devolver o resultado da chamada com o circuito fechado")
+    void deveDevolverResultadoComCircuitoFechado() {
+        // Act
+        String resultado = protecao.executar(() -> "X-Burger");
+
+        // Assert
+        assertEquals("X-Burger", resultado);
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    @DisplayName("Deve abrir o circuito e recusar chamadas depois de falhas seguidas")
+    void deveAbrirCircuitoERecusarChamadas() {
+        // Arrange
+        for (int i = 0; i < 4; i++) {
+            assertThrows(IllegalStateException.class, () -> protecao.executar(() -> {
+                throw new IllegalStateException("API de produtos fora do ar");
+            }));
+        }
+
+        // Act & Assert
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertThrows(CallNotPermittedException.class, () -> protecao.executar(() -> "não deve chamar"));
+        assertEquals(1.0, contadorRejeitadas("circuito-aberto"));
+        assertFalse(ProtecaoChamadaExterna.chamadaRejeitada(new IllegalStateException("API de produtos fora do ar")));
+    }
+
+    @Test
+    @DisplayName("Deve recusar na hora a chamada além do limite de concorrência")
+    void deveRecusarChamadaAlemDoLimiteDeConcorrencia() throws Exception {
+        // Arrange
+        CountDownLatch chamadaEmAndamento = new CountDownLatch(1);
+        CountDownLatch liberarChamada = new CountDownLatch(1);
+        Future<String> ocupante = executor.submit(() -> protecao.executar(() -> {
+            chamadaEmAndamento.countDown();
+            aguardar(liberarChamada);
+            return "X-Burger";
+        }));
+        assertTrue(chamadaEmAndamento.await(5, TimeUnit.SECONDS));
+
+        // Act
+        BulkheadFullException recusada = assertThrows(BulkheadFullException.class,
+            () -> protecao.executar(() -> "não deve chamar"));
+        liberarChamada.countDown();
+
+        // Assert
+        assertTrue(ProtecaoChamadaExterna.chamadaRejeitada(recusada));
+        assertEquals("X-Burger", ocupante.get(5, TimeUnit.SECONDS));
+        assertEquals(1.0, contadorRejeitadas("bulkhead-cheio"));
+        // A recusa do bulkhead não conta como falha do serviço
+        assertEquals(0, circuitBreaker.getMetrics().getNumberOfFailedCalls());
+    }
+
+    private double contadorRejeitadas(String motivo) {
+        return meterRegistry.get(ProtecaoChamadaExterna.METRICA_REJEITADAS)
+            .tag("servico", "produtos").tag("motivo", motivo).counter().count();
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}